@@ -0,0 +1,262 @@
+package ec.webmarket.restful.carga;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Driver de carga local: reproduce una mezcla ponderada de endpoints de api/v1.0 contra una
+ * instancia en localhost (normalmente {@link ServidorCarga}) y reporta, por endpoint,
+ * peticiones por segundo y percentiles de latencia.
+ *
+ * Dos modelos de carga:
+ * <ul>
+ * <li>cerrado (por defecto): {@code --concurrencia} clientes que envían una petición tras otra;
+ * mide la capacidad máxima;</li>
+ * <li>abierto ({@code --tasa} peticiones/s): las peticiones salen a intervalos fijos aunque el
+ * servidor se atrase, y la latencia se mide desde el instante programado, de modo que las
+ * esperas en cola cuentan (sin omisión coordinada).</li>
+ * </ul>
+ * Opciones: {@code --url}, {@code --volumen}, {@code --duracion} y {@code --calentamiento} en
+ * segundos, {@code --concurrencia}, {@code --tasa}, {@code --mezcla} (por ejemplo
+ * {@code RESERVAR=0,CITAS_POR_PACIENTE=50}), {@code --semilla} y {@code --salida} (CSV).
+ */
+public final class DriverCarga {
+
+    private static final long LATENCIA_MAXIMA_NANOS = TimeUnit.MINUTES.toNanos(2);
+
+    private final HttpClient cliente;
+    private final URI base;
+    private final Volumen volumen;
+    private final Operacion[] operaciones;
+    private final int[] pesosAcumulados;
+    private final Map<Operacion, Resultado> resultados = new EnumMap<>(Operacion.class);
+    private final Resultado total = new Resultado();
+
+    private volatile long medicionDesde;
+
+    private DriverCarga(URI base, Volumen volumen, Map<Operacion, Integer> pesos) {
+        this.cliente = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        this.base = base;
+        this.volumen = volumen;
+        this.operaciones = pesos.keySet().toArray(new Operacion[0]);
+        this.pesosAcumulados = new int[operaciones.length];
+        int acumulado = 0;
+        for (int i = 0; i < operaciones.length; i++) {
+            acumulado += pesos.get(operaciones[i]);
+            pesosAcumulados[i] = acumulado;
+            resultados.put(operaciones[i], new Resultado());
+        }
+        if (acumulado == 0) {
+            throw new IllegalArgumentException("La mezcla no tiene ninguna operación con peso");
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> opciones = opciones(args);
+        Volumen volumen = Volumen.cargar(Path.of(opciones.getOrDefault("volumen", "target/carga/volumen.properties")));
+        DriverCarga driver = new DriverCarga(URI.create(opciones.getOrDefault("url", "http://localhost:8080")),
+                volumen, mezcla(opciones.get("mezcla")));
+        long duracion = TimeUnit.SECONDS.toNanos(Long.parseLong(opciones.getOrDefault("duracion", "60")));
+        long calentamiento = TimeUnit.SECONDS.toNanos(Long.parseLong(opciones.getOrDefault("calentamiento", "10")));
+        SplittableRandom azar = new SplittableRandom(Long.parseLong(opciones.getOrDefault("semilla", "7")));
+        double tasa = Double.parseDouble(opciones.getOrDefault("tasa", "0"));
+
+        System.out.printf("Volumen: %s%n", volumen);
+        long inicio = System.nanoTime();
+        driver.medicionDesde = inicio + calentamiento;
+        long fin = driver.medicionDesde + duracion;
+        if (tasa > 0) {
+            System.out.printf("Carga abierta: %.1f peticiones/s durante %d s (+%d s de calentamiento)%n",
+                    tasa, TimeUnit.NANOSECONDS.toSeconds(duracion), TimeUnit.NANOSECONDS.toSeconds(calentamiento));
+            driver.abierta(tasa, inicio, fin, azar);
+        } else {
+            int concurrencia = Integer.parseInt(opciones.getOrDefault("concurrencia", "32"));
+            System.out.printf("Carga cerrada: %d clientes durante %d s (+%d s de calentamiento)%n",
+                    concurrencia, TimeUnit.NANOSECONDS.toSeconds(duracion), TimeUnit.NANOSECONDS.toSeconds(calentamiento));
+            driver.cerrada(concurrencia, fin, azar);
+        }
+        driver.reportar(duracion, Path.of(opciones.getOrDefault("salida", "target/carga/resultado.csv")));
+    }
+
+    /**
+     * Cada cliente envía la siguiente petición en cuanto recibe la respuesta anterior.
+     */
+    private void cerrada(int concurrencia, long fin, SplittableRandom azar) {
+        try (ExecutorService clientes = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrencia; i++) {
+                SplittableRandom propio = azar.split();
+                clientes.submit(() -> {
+                    while (System.nanoTime() < fin && !Thread.currentThread().isInterrupted()) {
+                        enviar(elegir(propio), System.nanoTime(), propio);
+                    }
+                });
+            }
+        }
+    }
+
+    /**
+     * Las peticiones salen en su instante programado, sin esperar a las anteriores.
+     */
+    private void abierta(double tasa, long inicio, long fin, SplittableRandom azar) {
+        double intervalo = TimeUnit.SECONDS.toNanos(1) / tasa;
+        try (ExecutorService peticiones = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long n = 0; ; n++) {
+                long programada = inicio + (long) (n * intervalo);
+                if (programada >= fin) {
+                    break;
+                }
+                long espera = programada - System.nanoTime();
+                if (espera > 0) {
+                    LockSupport.parkNanos(espera);
+                }
+                Operacion operacion = elegir(azar);
+                SplittableRandom propio = azar.split();
+                peticiones.submit(() -> enviar(operacion, programada, propio));
+            }
+        }
+    }
+
+    private Operacion elegir(SplittableRandom azar) {
+        int u = azar.nextInt(pesosAcumulados[pesosAcumulados.length - 1]);
+        for (int i = 0; i < operaciones.length; i++) {
+            if (u < pesosAcumulados[i]) {
+                return operaciones[i];
+            }
+        }
+        return operaciones[operaciones.length - 1];
+    }
+
+    private void enviar(Operacion operacion, long programada, SplittableRandom azar) {
+        HttpRequest peticion = operacion.peticion(base, volumen, azar);
+        int estado;
+        try {
+            estado = cliente.send(peticion, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (IOException e) {
+            estado = -1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        if (programada < medicionDesde) {
+            return;
+        }
+        long latencia = Math.min(System.nanoTime() - programada, LATENCIA_MAXIMA_NANOS);
+        resultados.get(operacion).registrar(latencia, estado);
+        total.registrar(latencia, estado);
+    }
+
+    private void reportar(long duracion, Path salida) throws IOException {
+        double segundos = duracion / 1e9;
+        String formato = "%-36s %10s %9s %8s %10s %8s %8s %8s %8s %8s%n";
+        System.out.printf(formato, "Endpoint", "Peticiones", "Pet/s", "Errores", "Conflictos",
+                "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        if (salida.getParent() != null) {
+            Files.createDirectories(salida.getParent());
+        }
+        try (PrintWriter csv = new PrintWriter(Files.newBufferedWriter(salida))) {
+            csv.println("endpoint,peticiones,peticiones_s,errores,conflictos,p50_ms,p90_ms,p99_ms,p999_ms,max_ms");
+            for (Operacion operacion : operaciones) {
+                imprimir(operacion.getPlantilla(), resultados.get(operacion), segundos, formato, csv);
+            }
+            imprimir("Total", total, segundos, formato, csv);
+        }
+        System.out.printf("Resultados en %s%n", salida);
+    }
+
+    private static void imprimir(String nombre, Resultado resultado, double segundos, String formato, PrintWriter csv) {
+        Histogram h = resultado.latencias;
+        long peticiones = h.getTotalCount();
+        String[] columnas = {
+            nombre,
+            Long.toString(peticiones),
+            String.format(Locale.ROOT, "%.1f", peticiones / segundos),
+            Long.toString(resultado.errores.sum()),
+            Long.toString(resultado.conflictos.sum()),
+            ms(h.getValueAtPercentile(50)),
+            ms(h.getValueAtPercentile(90)),
+            ms(h.getValueAtPercentile(99)),
+            ms(h.getValueAtPercentile(99.9)),
+            ms(h.getMaxValue())
+        };
+        System.out.printf(formato, (Object[]) columnas);
+        csv.println(String.join(",", columnas));
+    }
+
+    private static String ms(long nanos) {
+        return String.format(Locale.ROOT, "%.2f", nanos / 1e6);
+    }
+
+    private static Map<String, String> opciones(String[] args) {
+        Map<String, String> opciones = new HashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Opción no válida: " + args[i]);
+            }
+            opciones.put(args[i].substring(2), args[i + 1]);
+        }
+        return opciones;
+    }
+
+    /**
+     * Pesos de la mezcla: los de cada operación por defecto, reemplazados por los de {@code --mezcla}.
+     */
+    private static Map<Operacion, Integer> mezcla(String valor) {
+        Map<Operacion, Integer> pesos = new EnumMap<>(Operacion.class);
+        for (Operacion operacion : Operacion.values()) {
+            pesos.put(operacion, operacion.getPesoPorDefecto());
+        }
+        if (valor != null && !valor.isBlank()) {
+            for (String par : valor.split(",")) {
+                String[] partes = par.trim().split("=");
+                pesos.put(Operacion.valueOf(partes[0].trim()), Integer.parseInt(partes[1].trim()));
+            }
+        }
+        pesos.values().removeIf(peso -> peso <= 0);
+        return pesos;
+    }
+
+    /**
+     * Latencias y resultados de una operación durante la medición. Los 2xx cuentan como
+     * éxito, 409 como conflicto (un horario ya tomado es parte de la carga normal) y el resto,
+     * incluidos los errores de conexión, como error.
+     */
+    private static final class Resultado {
+
+        private final Histogram latencias = new ConcurrentHistogram(LATENCIA_MAXIMA_NANOS, 3);
+        private final LongAdder errores = new LongAdder();
+        private final LongAdder conflictos = new LongAdder();
+
+        void registrar(long latencia, int estado) {
+            latencias.recordValue(latencia);
+            if (estado == 409) {
+                conflictos.increment();
+            } else if (estado < 200 || estado >= 300) {
+                errores.increment();
+            }
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package ec.webmarket.restful.carga;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Llena la base con volúmenes configurables (propiedades {@code carga.*}) de odontólogos,
+ * pacientes, horarios y citas con un sesgo parecido al real:
+ * <ul>
+ * <li>la ocupación de cada odontólogo decrece con su posición, de modo que unos pocos
+ * tienen la agenda casi llena y el resto tiene huecos;</li>
+ * <li>los días pasados están más ocupados que los futuros, que se llenan menos cuanto más lejanos;</li>
+ * <li>los pacientes se eligen con una distribución de potencia: pocos pacientes concentran
+ * muchas citas y la mayoría tiene una o ninguna.</li>
+ * </ul>
+ * Las filas se insertan con JDBC en lote e IDs consecutivos desde 1, que luego usa el driver.
+ * La generación es determinista para una misma semilla y fecha.
+ */
+public class GeneradorDatos {
+
+    private static final Logger log = LoggerFactory.getLogger(GeneradorDatos.class);
+
+    private static final int TAMANO_LOTE = 1_000;
+    private static final LocalTime PRIMERA_FRANJA = LocalTime.of(8, 0);
+    private static final double OCUPACION_FINAL_FUTURO = 0.2;
+
+    private static final String[] NOMBRES = { "María", "José", "Ana", "Luis", "Carmen", "Jorge", "Rosa", "Carlos",
+        "Lucía", "Diego", "Elena", "Andrés", "Sofía", "Miguel", "Paula", "Juan" };
+    private static final String[] APELLIDOS = { "Pérez", "García", "Torres", "Andrade", "Vera", "Mora", "Castillo",
+        "Salazar", "Romero", "Zambrano", "Ortiz", "Cevallos", "Paredes", "Molina", "Guerrero", "Herrera" };
+    private static final String[] MOTIVOS = { "Limpieza dental", "Control", "Caries", "Ortodoncia", "Endodoncia",
+        "Extracción", "Blanqueamiento", "Urgencia" };
+    private static final double[] PESOS_MOTIVOS = { 0.30, 0.25, 0.15, 0.12, 0.06, 0.05, 0.04, 0.03 };
+
+    private static final String INSERTAR_USUARIO = "insert into usuario (id, nombre_usuario, clave, tipo_usuario) values (?, ?, ?, ?)";
+    private static final String INSERTAR_ODONTOLOGO = "insert into odontologo (id, cedula, nombre, apellido, telefono, email,"
+            + " direccion, usuario_id) values (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERTAR_PACIENTE = "insert into paciente (id, cedula, nombre, apellido, telefono, email,"
+            + " fecha_nacimiento, direccion, usuario_id) values (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERTAR_HORARIO = "insert into horario (id, fecha, hora_inicio, horafinal, disponibilidad,"
+            + " odontologo_id) values (?, ?, ?, ?, ?, ?)";
+    private static final String INSERTAR_CITA = "insert into cita (id, fechay_hora, estado, motivo, horario_id, paciente_id,"
+            + " odontologo_id) values (?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transaccion;
+
+    private final int odontologos;
+    private final long pacientes;
+    private final int dias;
+    private final int franjasPorDia;
+    private final int duracionMinutos;
+    private final double ocupacionMaxima;
+    private final double sesgoOdontologos;
+    private final double sesgoPacientes;
+    private final SplittableRandom azar;
+
+    public GeneradorDatos(JdbcTemplate jdbcTemplate, TransactionTemplate transaccion, Environment entorno) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transaccion = transaccion;
+        this.odontologos = entorno.getProperty("carga.odontologos", Integer.class, 400);
+        this.pacientes = entorno.getProperty("carga.pacientes", Long.class, 2_000_000L);
+        this.dias = entorno.getProperty("carga.dias", Integer.class, 260);
+        this.franjasPorDia = entorno.getProperty("carga.franjas-por-dia", Integer.class, 16);
+        this.duracionMinutos = entorno.getProperty("carga.duracion-minutos", Integer.class, 30);
+        this.ocupacionMaxima = entorno.getProperty("carga.ocupacion-maxima", Double.class, 0.95);
+        this.sesgoOdontologos = entorno.getProperty("carga.sesgo-odontologos", Double.class, 1.0);
+        this.sesgoPacientes = entorno.getProperty("carga.sesgo-pacientes", Double.class, 3.0);
+        this.azar = new SplittableRandom(entorno.getProperty("carga.semilla", Long.class, 42L));
+        if (odontologos <= 0 || pacientes <= 0 || dias <= 0 || franjasPorDia <= 0 || duracionMinutos <= 0
+                || franjasPorDia * duracionMinutos > 16 * 60) {
+            throw new IllegalArgumentException("Volúmenes de carga no válidos");
+        }
+    }
+
+    /**
+     * Indica si la base ya tiene datos; en ese caso no se genera nada.
+     */
+    public boolean hayDatos() {
+        Long filas = jdbcTemplate.queryForObject("select count(*) from odontologo", Long.class);
+        return filas != null && filas > 0;
+    }
+
+    /**
+     * Genera todos los datos en una base vacía.
+     * @return Volumen generado.
+     */
+    public Volumen generar() {
+        long inicio = System.nanoTime();
+        List<LocalDate> fechas = fechas(LocalDate.now());
+
+        Lotes usuarios = new Lotes();
+        Lotes filas = new Lotes();
+        for (int o = 1; o <= odontologos; o++) {
+            usuarios.agregar(INSERTAR_USUARIO, o, "odontologo" + o, "clave", true);
+            filas.agregar(INSERTAR_ODONTOLOGO, o, String.format("17%08d", o), elegir(NOMBRES), elegir(APELLIDOS),
+                    String.format("08%08d", o), "odontologo" + o + "@clinica.ec", "Av. Amazonas N" + o, o);
+            if (usuarios.lleno()) {
+                usuarios.vaciar();
+                filas.vaciar();
+            }
+        }
+        usuarios.vaciar();
+        filas.vaciar();
+        log.info("Odontólogos generados: {}", odontologos);
+
+        LocalDate nacimientoMinimo = LocalDate.of(1940, 1, 1);
+        for (long p = 1; p <= pacientes; p++) {
+            long usuarioId = odontologos + p;
+            usuarios.agregar(INSERTAR_USUARIO, usuarioId, "paciente" + p, "clave", false);
+            filas.agregar(INSERTAR_PACIENTE, p, String.format("09%08d", p), elegir(NOMBRES), elegir(APELLIDOS),
+                    String.format("09%08d", p), "paciente" + p + "@correo.ec",
+                    nacimientoMinimo.plusDays(azar.nextInt(80 * 365)), "Calle " + p, usuarioId);
+            if (usuarios.lleno()) {
+                // Los usuarios se insertan antes que las filas que los referencian.
+                usuarios.vaciar();
+                filas.vaciar();
+            }
+            progreso("Pacientes", p, pacientes);
+        }
+        usuarios.vaciar();
+        filas.vaciar();
+
+        LocalDate hoy = LocalDate.now();
+        long futuros = fechas.stream().filter(f -> !f.isBefore(hoy)).count();
+        long horarioId = 0;
+        long citaId = 0;
+        long total = (long) odontologos * fechas.size() * franjasPorDia;
+        Lotes horarios = new Lotes();
+        Lotes citas = new Lotes();
+        for (int o = 1; o <= odontologos; o++) {
+            double ocupacion = ocupacionMaxima * Math.pow(1.0 - (double) (o - 1) / odontologos, sesgoOdontologos);
+            long diaFuturo = 0;
+            for (LocalDate fecha : fechas) {
+                double ocupacionDia = ocupacion;
+                if (!fecha.isBefore(hoy)) {
+                    ocupacionDia *= 1.0 - (1.0 - OCUPACION_FINAL_FUTURO) * diaFuturo++ / Math.max(1, futuros - 1);
+                }
+                for (int s = 0; s < franjasPorDia; s++) {
+                    LocalTime inicioFranja = PRIMERA_FRANJA.plusMinutes((long) s * duracionMinutos);
+                    boolean ocupado = azar.nextDouble() < ocupacionDia;
+                    horarios.agregar(INSERTAR_HORARIO, ++horarioId, fecha, inicioFranja,
+                            inicioFranja.plusMinutes(duracionMinutos), !ocupado, o);
+                    if (ocupado) {
+                        long pacienteId = 1 + Math.min(pacientes - 1, (long) (pacientes * Math.pow(azar.nextDouble(), sesgoPacientes)));
+                        citas.agregar(INSERTAR_CITA, ++citaId, LocalDateTime.of(fecha, inicioFranja),
+                                estado(fecha.isBefore(hoy)), elegir(MOTIVOS, PESOS_MOTIVOS), horarioId, pacienteId, o);
+                    }
+                    if (horarios.lleno()) {
+                        horarios.vaciar();
+                        citas.vaciar();
+                    }
+                    progreso("Horarios", horarioId, total);
+                }
+            }
+        }
+        horarios.vaciar();
+        citas.vaciar();
+
+        reiniciarIdentidad("usuario", odontologos + pacientes);
+        reiniciarIdentidad("odontologo", odontologos);
+        reiniciarIdentidad("paciente", pacientes);
+        reiniciarIdentidad("horario", horarioId);
+        reiniciarIdentidad("cita", citaId);
+
+        Volumen volumen = new Volumen(odontologos, pacientes, horarioId, citaId, fechas.get(0), fechas.get(fechas.size() - 1));
+        log.info("Datos generados en {} s: {}", (System.nanoTime() - inicio) / 1_000_000_000L, volumen);
+        return volumen;
+    }
+
+    /**
+     * Días hábiles de la agenda: la mitad antes de hoy y el resto desde hoy.
+     */
+    private List<LocalDate> fechas(LocalDate hoy) {
+        LocalDate fecha = hoy;
+        for (int anteriores = 0; anteriores < dias / 2; ) {
+            fecha = fecha.minusDays(1);
+            if (esHabil(fecha)) {
+                anteriores++;
+            }
+        }
+        List<LocalDate> fechas = new ArrayList<>(dias);
+        for (; fechas.size() < dias; fecha = fecha.plusDays(1)) {
+            if (esHabil(fecha)) {
+                fechas.add(fecha);
+            }
+        }
+        return fechas;
+    }
+
+    private static boolean esHabil(LocalDate fecha) {
+        return fecha.getDayOfWeek() != DayOfWeek.SATURDAY && fecha.getDayOfWeek() != DayOfWeek.SUNDAY;
+    }
+
+    private String estado(boolean pasada) {
+        double u = azar.nextDouble();
+        if (pasada) {
+            return u < 0.9 ? "Atendida" : "No asistió";
+        }
+        return u < 0.7 ? "Pendiente" : "Confirmada";
+    }
+
+    private String elegir(String[] valores) {
+        return valores[azar.nextInt(valores.length)];
+    }
+
+    private String elegir(String[] valores, double[] pesos) {
+        double u = azar.nextDouble();
+        for (int i = 0; i < valores.length - 1; i++) {
+            u -= pesos[i];
+            if (u < 0) {
+                return valores[i];
+            }
+        }
+        return valores[valores.length - 1];
+    }
+
+    private void reiniciarIdentidad(String tabla, long ultimoId) {
+        jdbcTemplate.execute("alter table " + tabla + " alter column id restart with " + (ultimoId + 1));
+    }
+
+    private static void progreso(String que, long actual, long total) {
+        if (total >= 10 && actual % (total / 10) == 0) {
+            log.info("{}: {}%", que, actual * 100 / total);
+        }
+    }
+
+    /**
+     * Filas pendientes de una sentencia; cada vaciado es un batch JDBC en su propia transacción.
+     */
+    private final class Lotes {
+
+        private String sql;
+        private final List<Object[]> filas = new ArrayList<>(TAMANO_LOTE);
+
+        void agregar(String sentencia, Object... valores) {
+            sql = sentencia;
+            filas.add(valores);
+        }
+
+        boolean lleno() {
+            return filas.size() >= TAMANO_LOTE;
+        }
+
+        void vaciar() {
+            if (filas.isEmpty()) {
+                return;
+            }
+            transaccion.executeWithoutResult(estado -> jdbcTemplate.batchUpdate(sql, filas));
+            filas.clear();
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package ec.webmarket.restful.carga;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.SplittableRandom;
+
+import ec.webmarket.restful.common.ApiConstants;
+
+/**
+ * Endpoints de api/v1.0 que reproduce {@link DriverCarga}, con su peso por defecto en la mezcla.
+ * Los odontólogos y pacientes se eligen con el mismo sesgo que usa {@link GeneradorDatos}:
+ * los de ID bajo son los más solicitados.
+ */
+public enum Operacion {
+
+    HORARIOS_POR_FECHA("GET /horario/fecha/{fecha}", 20) {
+        @Override
+        String ruta(Volumen volumen, SplittableRandom azar) {
+            return ApiConstants.URI_API_V1_HORARIO + "/fecha/" + fecha(volumen, azar);
+        }
+    },
+    FRANJAS_LIBRES("GET /horario/odontologo/{id}/libre", 20) {
+        @Override
+        String ruta(Volumen volumen, SplittableRandom azar) {
+            LocalDate desde = fecha(volumen, azar);
+            return ApiConstants.URI_API_V1_HORARIO + "/odontologo/" + odontologo(volumen, azar)
+                    + "/libre?desde=" + desde + "&hasta=" + desde.plusDays(6);
+        }
+    },
+    HORARIOS_POR_ODONTOLOGO("GET /horario/odontologo/{id}", 5) {
+        @Override
+        String ruta(Volumen volumen, SplittableRandom azar) {
+            return ApiConstants.URI_API_V1_HORARIO + "/odontologo/" + odontologo(volumen, azar);
+        }
+    },
+    HORARIOS_DISPONIBLES("GET /horario/disponibilidad/true", 5) {
+        @Override
+        String ruta(Volumen volumen, SplittableRandom azar) {
+            return ApiConstants.URI_API_V1_HORARIO + "/disponibilidad/true";
+        }
+    },
+    CITAS_POR_PACIENTE("GET /cita/paciente/{id}", 20) {
+        @Override
+        String ruta(Volumen volumen, SplittableRandom azar) {
+            return ApiConstants.URI_API_V1_CITA + "/paciente/" + paciente(volumen, azar);
+        }
+    },
+    CITAS_POR_ODONTOLOGO("GET /cita/odontologo/{id}", 10) {
+        @Override
+        String ruta(Volumen volumen, SplittableRandom azar) {
+            return ApiConstants.URI_API_V1_CITA + "/odontologo/" + odontologo(volumen, azar);
+        }
+    },
+    AGENDA_ODONTOLOGO("GET /odontologo/{id}/citas", 5) {
+        @Override
+        String ruta(Volumen volumen, SplittableRandom azar) {
+            return ApiConstants.URI_API_V1_ODONTOLOGO + "/" + odontologo(volumen, azar) + "/citas";
+        }
+    },
+    RESERVAR("POST /cita", 15) {
+        @Override
+        String ruta(Volumen volumen, SplittableRandom azar) {
+            return ApiConstants.URI_API_V1_CITA;
+        }
+
+        @Override
+        HttpRequest.Builder metodo(HttpRequest.Builder peticion, Volumen volumen, SplittableRandom azar) {
+            String cuerpo = String.format(
+                    "{\"horario\":{\"id\":%d},\"paciente\":{\"id\":%d},\"estado\":\"Pendiente\",\"motivo\":\"Control\"}",
+                    1 + azar.nextLong(volumen.getHorarios()), paciente(volumen, azar));
+            return peticion.header("Content-Type", "application/json").POST(HttpRequest.BodyPublishers.ofString(cuerpo));
+        }
+    };
+
+    private static final Duration TIEMPO_MAXIMO = Duration.ofSeconds(30);
+
+    private final String plantilla;
+    private final int pesoPorDefecto;
+
+    Operacion(String plantilla, int pesoPorDefecto) {
+        this.plantilla = plantilla;
+        this.pesoPorDefecto = pesoPorDefecto;
+    }
+
+    /**
+     * Ruta con los parámetros ya elegidos, relativa a la URL base.
+     */
+    abstract String ruta(Volumen volumen, SplittableRandom azar);
+
+    HttpRequest.Builder metodo(HttpRequest.Builder peticion, Volumen volumen, SplittableRandom azar) {
+        return peticion.GET();
+    }
+
+    HttpRequest peticion(URI base, Volumen volumen, SplittableRandom azar) {
+        HttpRequest.Builder peticion = HttpRequest.newBuilder(base.resolve(ruta(volumen, azar))).timeout(TIEMPO_MAXIMO);
+        return metodo(peticion, volumen, azar).build();
+    }
+
+    public String getPlantilla() {
+        return plantilla;
+    }
+
+    public int getPesoPorDefecto() {
+        return pesoPorDefecto;
+    }
+
+    private static LocalDate fecha(Volumen volumen, SplittableRandom azar) {
+        long dias = ChronoUnit.DAYS.between(volumen.getDesde(), volumen.getHasta()) + 1;
+        return volumen.getDesde().plusDays(azar.nextLong(dias));
+    }
+
+    private static long odontologo(Volumen volumen, SplittableRandom azar) {
+        return sesgado(volumen.getOdontologos(), 2.0, azar);
+    }
+
+    private static long paciente(Volumen volumen, SplittableRandom azar) {
+        return sesgado(volumen.getPacientes(), 3.0, azar);
+    }
+
+    /**
+     * ID entre 1 y n, con más probabilidad cuanto más bajo (u^exponente).
+     */
+    private static long sesgado(long n, double exponente, SplittableRandom azar) {
+        return 1 + Math.min(n - 1, (long) (n * Math.pow(azar.nextDouble(), exponente)));
+    }
+}
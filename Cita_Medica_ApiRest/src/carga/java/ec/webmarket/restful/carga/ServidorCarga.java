@@ -0,0 +1,60 @@
+package ec.webmarket.restful.carga;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import ec.webmarket.restful.ApiResTfulExampleApplication;
+import ec.webmarket.restful.service.agenda.ResumenDisponibilidad;
+
+/**
+ * Arranca la API con el perfil "carga" (H2 en archivo bajo target/carga) y, si la base está
+ * vacía, la llena con {@link GeneradorDatos}. La aplicación queda escuchando para que
+ * {@link DriverCarga} le envíe peticiones:
+ * <pre>
+ * mvn -Pcarga compile exec:java
+ * mvn -Pcarga compile exec:java -Dcarga.main=ec.webmarket.restful.carga.DriverCarga -Dexec.args="--duracion 120"
+ * </pre>
+ * Los volúmenes se cambian con las propiedades {@code carga.*}, por ejemplo
+ * {@code -Dexec.args="--carga.pacientes=100000"}; para regenerar hay que borrar target/carga.
+ */
+public final class ServidorCarga {
+
+    private static final Logger log = LoggerFactory.getLogger(ServidorCarga.class);
+
+    private ServidorCarga() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        ConfigurableApplicationContext contexto = new SpringApplicationBuilder(ApiResTfulExampleApplication.class)
+                .profiles("carga")
+                .run(args);
+        Environment entorno = contexto.getEnvironment();
+        Path archivo = Path.of(entorno.getProperty("carga.volumen", "target/carga/volumen.properties"));
+        GeneradorDatos generador = new GeneradorDatos(contexto.getBean(JdbcTemplate.class),
+                new TransactionTemplate(contexto.getBean(PlatformTransactionManager.class)), entorno);
+
+        if (generador.hayDatos()) {
+            if (!Files.exists(archivo)) {
+                log.warn("La base ya tiene datos pero falta {}; borre target/carga para regenerarla", archivo);
+            } else {
+                log.info("Se reutiliza la base existente: {}", Volumen.cargar(archivo));
+            }
+        } else {
+            log.info("Generando datos sintéticos; la API ya responde pero los datos aún están incompletos");
+            generador.generar().guardar(archivo);
+            // Los horarios se insertaron por JDBC, sin pasar por los servicios que mantienen el resumen.
+            log.info("Resumen de disponibilidad: {} días", contexto.getBean(ResumenDisponibilidad.class).reconstruir());
+        }
+        log.info("Listo para la prueba de carga en http://localhost:{}", entorno.getProperty("local.server.port"));
+    }
+}
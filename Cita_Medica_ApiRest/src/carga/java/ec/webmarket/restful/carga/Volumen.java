@@ -0,0 +1,89 @@
+package ec.webmarket.restful.carga;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Properties;
+
+/**
+ * Volumen de datos generado: rangos de IDs y de fechas que el driver usa para armar las
+ * peticiones. El generador lo escribe junto a la base y el driver lo lee.
+ * Los IDs de cada tabla son consecutivos desde 1.
+ */
+public final class Volumen {
+
+    private final long odontologos;
+    private final long pacientes;
+    private final long horarios;
+    private final long citas;
+    private final LocalDate desde;
+    private final LocalDate hasta;
+
+    public Volumen(long odontologos, long pacientes, long horarios, long citas, LocalDate desde, LocalDate hasta) {
+        this.odontologos = odontologos;
+        this.pacientes = pacientes;
+        this.horarios = horarios;
+        this.citas = citas;
+        this.desde = desde;
+        this.hasta = hasta;
+    }
+
+    public static Volumen cargar(Path archivo) throws IOException {
+        Properties p = new Properties();
+        try (Reader lector = Files.newBufferedReader(archivo)) {
+            p.load(lector);
+        }
+        return new Volumen(Long.parseLong(p.getProperty("odontologos")), Long.parseLong(p.getProperty("pacientes")),
+                Long.parseLong(p.getProperty("horarios")), Long.parseLong(p.getProperty("citas")),
+                LocalDate.parse(p.getProperty("desde")), LocalDate.parse(p.getProperty("hasta")));
+    }
+
+    public void guardar(Path archivo) throws IOException {
+        Properties p = new Properties();
+        p.setProperty("odontologos", Long.toString(odontologos));
+        p.setProperty("pacientes", Long.toString(pacientes));
+        p.setProperty("horarios", Long.toString(horarios));
+        p.setProperty("citas", Long.toString(citas));
+        p.setProperty("desde", desde.toString());
+        p.setProperty("hasta", hasta.toString());
+        if (archivo.getParent() != null) {
+            Files.createDirectories(archivo.getParent());
+        }
+        try (Writer escritor = Files.newBufferedWriter(archivo)) {
+            p.store(escritor, "Volumen generado por GeneradorDatos");
+        }
+    }
+
+    public long getOdontologos() {
+        return odontologos;
+    }
+
+    public long getPacientes() {
+        return pacientes;
+    }
+
+    public long getHorarios() {
+        return horarios;
+    }
+
+    public long getCitas() {
+        return citas;
+    }
+
+    public LocalDate getDesde() {
+        return desde;
+    }
+
+    public LocalDate getHasta() {
+        return hasta;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%,d odontólogos, %,d pacientes, %,d horarios, %,d citas, %s a %s",
+                odontologos, pacientes, horarios, citas, desde, hasta);
+    }
+}
@@ -0,0 +1,122 @@
+package ec.webmarket.restful.bench;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import ec.webmarket.restful.dto.v1.CitaResumenDTO;
+import ec.webmarket.restful.dto.v1.HorarioResumenDTO;
+import ec.webmarket.restful.dto.v1.PaginaDTO;
+import ec.webmarket.restful.persistence.CitaRepository;
+import ec.webmarket.restful.persistence.HorarioRepository;
+import ec.webmarket.restful.service.archivo.ArchivadorHistorico;
+import ec.webmarket.restful.service.crud.HorarioService;
+
+/**
+ * Consultas de todos los días con {@link #HISTORICO} horarios pasados (la mitad reservados, con
+ * su cita) en las tablas vigentes frente a los mismos datos movidos a horario_archivo y cita_archivo.
+ * Los datos de {@link SpringBenchState} (desde 2025) no se archivan; el histórico se inserta
+ * antes de {@link #CORTE}. Las filas de cada tabla se registran en el log al inicio de la ejecución.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ArchivoBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(ArchivoBenchmark.class);
+
+    private static final int HISTORICO = 100_000;
+    private static final int PAGINA = 100;
+    private static final LocalDate CORTE = LocalDate.of(2025, 1, 1);
+    private static final LocalDate DESDE = LocalDate.of(2010, 1, 1);
+
+    private static final String INSERTAR_HORARIO = "insert into horario (fecha, hora_inicio, horafinal, disponibilidad, odontologo_id)"
+            + " values (?, ?, ?, ?, ?)";
+
+    private static final String INSERTAR_CITA = "insert into cita (fechay_hora, estado, motivo, horario_id, paciente_id, odontologo_id)"
+            + " select ?, 'Atendida', 'Histórico', id, ?, odontologo_id from horario where odontologo_id = ? and fecha = ? and hora_inicio = ?";
+
+    @Param({"false", "true"})
+    public boolean archivado;
+
+    private HorarioService horarioService;
+    private HorarioRepository horarioRepository;
+    private CitaRepository citaRepository;
+    private Pageable limite;
+    private Long pacienteId;
+    private LocalDate fechaVigente;
+
+    @Setup(Level.Trial)
+    public void setup(SpringBenchState spring) {
+        horarioService = spring.bean(HorarioService.class);
+        horarioRepository = spring.bean(HorarioRepository.class);
+        citaRepository = spring.bean(CitaRepository.class);
+        limite = PageRequest.of(0, PAGINA);
+        pacienteId = spring.pacienteId;
+        fechaVigente = BenchFixtures.horario(SpringBenchState.ROWS / 2, null).getFecha();
+
+        JdbcTemplate jdbcTemplate = spring.bean(JdbcTemplate.class);
+        List<Object[]> horarios = new ArrayList<>(HISTORICO);
+        List<Object[]> citas = new ArrayList<>(HISTORICO / 2);
+        for (int i = 0; i < HISTORICO; i++) {
+            // 18 horarios de 30 minutos por día, desde las 08:00.
+            LocalDate fecha = DESDE.plusDays(i / 18);
+            LocalTime inicio = LocalTime.of(8, 0).plusMinutes(30L * (i % 18));
+            boolean reservado = i % 2 == 0;
+            horarios.add(new Object[] {fecha, inicio, inicio.plusMinutes(30), !reservado, spring.odontologoId});
+            if (reservado) {
+                citas.add(new Object[] {LocalDateTime.of(fecha, inicio), pacienteId, spring.odontologoId, fecha, inicio});
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERTAR_HORARIO, horarios);
+        jdbcTemplate.batchUpdate(INSERTAR_CITA, citas);
+
+        ArchivadorHistorico archivador = spring.bean(ArchivadorHistorico.class);
+        if (archivado) {
+            archivador.archivar(CORTE, Integer.MAX_VALUE);
+        }
+        archivador.medir();
+        log.info("Archivado={}: horario={}, cita={}, horario_archivo={}, cita_archivo={} filas",
+                archivado, archivador.getFilas("horario"), archivador.getFilas("cita"),
+                archivador.getFilas("horario_archivo"), archivador.getFilas("cita_archivo"));
+    }
+
+    @Benchmark
+    public List<HorarioResumenDTO> horariosDisponibles() {
+        return horarioRepository.findResumenByDisponibilidad(true, limite).getContent();
+    }
+
+    @Benchmark
+    public PaginaDTO<HorarioResumenDTO> horariosPorFecha() {
+        return horarioService.findByFecha(fechaVigente, null, PAGINA);
+    }
+
+    @Benchmark
+    public List<CitaResumenDTO> citasPorPaciente() {
+        return citaRepository.findResumenByPacienteId(pacienteId, limite).getContent();
+    }
+}
@@ -0,0 +1,108 @@
+package ec.webmarket.restful.bench;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import ec.webmarket.restful.domain.Cita;
+import ec.webmarket.restful.domain.Horario;
+import ec.webmarket.restful.domain.Odontologo;
+import ec.webmarket.restful.domain.Paciente;
+import ec.webmarket.restful.domain.Usuario;
+
+/**
+ * Grafos de entidades representativos para los benchmarks:
+ * Cita → Paciente/Odontologo/Horario → Usuario, con todos los campos poblados.
+ */
+public final class BenchFixtures {
+
+    private BenchFixtures() {
+    }
+
+    public static Usuario usuario(long id, boolean odontologo) {
+        Usuario usuario = new Usuario();
+        usuario.setId(id);
+        usuario.setNombreUsuario("usuario" + id);
+        usuario.setClave("clave-" + id);
+        usuario.setTipoUsuario(odontologo);
+        return usuario;
+    }
+
+    public static Odontologo odontologo(long id) {
+        Odontologo odontologo = new Odontologo();
+        odontologo.setId(id);
+        odontologo.setCedula(String.format("17%08d", id));
+        odontologo.setNombre("Nombre" + id);
+        odontologo.setApellido("Apellido" + id);
+        odontologo.setTelefono(String.format("09%08d", id));
+        odontologo.setEmail("odontologo" + id + "@clinica.ec");
+        odontologo.setDireccion("Av. Amazonas N" + id);
+        odontologo.setUsuario(usuario(1_000_000 + id, true));
+        return odontologo;
+    }
+
+    public static Paciente paciente(long id) {
+        Paciente paciente = new Paciente();
+        paciente.setId(id);
+        paciente.setCedula(String.format("09%08d", id));
+        paciente.setNombre("Paciente" + id);
+        paciente.setApellido("Apellido" + id);
+        paciente.setTelefono(String.format("09%08d", id));
+        paciente.setEmail("paciente" + id + "@correo.ec");
+        paciente.setFechaNacimiento(LocalDate.of(1980, 1, 1).plusDays(id % 10_000));
+        paciente.setDireccion("Calle " + id);
+        paciente.setUsuario(usuario(id, false));
+        return paciente;
+    }
+
+    public static Horario horario(long id, Odontologo odontologo) {
+        LocalTime inicio = LocalTime.of(8, 0).plusMinutes(30 * (id % 18));
+        Horario horario = new Horario();
+        horario.setId(id);
+        horario.setFecha(LocalDate.of(2025, 1, 1).plusDays(id / 18));
+        horario.setHoraInicio(inicio);
+        horario.setHorafinal(inicio.plusMinutes(30));
+        horario.setDisponibilidad(id % 3 != 0);
+        horario.setOdontologo(odontologo);
+        return horario;
+    }
+
+    public static Cita cita(long id, Paciente paciente, Horario horario) {
+        Cita cita = new Cita();
+        cita.setId(id);
+        cita.setPaciente(paciente);
+        cita.setOdontologo(horario.getOdontologo());
+        cita.setHorario(horario);
+        cita.setFechayHora(LocalDateTime.of(horario.getFecha(), horario.getHoraInicio()));
+        cita.setEstado("Pendiente");
+        cita.setMotivo("Limpieza dental " + id);
+        return cita;
+    }
+
+    /**
+     * Lista de citas de un mismo odontólogo con pacientes distintos,
+     * como la que devuelve un endpoint de listado.
+     */
+    public static List<Cita> citas(int size) {
+        Odontologo odontologo = odontologo(1);
+        List<Cita> citas = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++) {
+            citas.add(cita(i, paciente(i), horario(i, odontologo)));
+        }
+        return citas;
+    }
+
+    /**
+     * Lista de horarios de un mismo odontólogo.
+     */
+    public static List<Horario> horarios(int size) {
+        Odontologo odontologo = odontologo(1);
+        List<Horario> horarios = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++) {
+            horarios.add(horario(i, odontologo));
+        }
+        return horarios;
+    }
+}
@@ -0,0 +1,75 @@
+package ec.webmarket.restful.bench;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ec.webmarket.restful.dto.v1.HorarioDTO;
+import ec.webmarket.restful.dto.v1.OdontologoDTO;
+import ec.webmarket.restful.dto.v1.UsuarioDTO;
+import ec.webmarket.restful.service.crud.HorarioService;
+import ec.webmarket.restful.service.crud.OdontologoService;
+import ec.webmarket.restful.service.crud.UsuarioService;
+
+/**
+ * Operaciones create/update/findAll de GenericCrudServiceImpl contra la base embebida.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CrudServiceBenchmark {
+
+    private UsuarioService usuarioService;
+    private HorarioService horarioService;
+    private OdontologoService odontologoService;
+
+    private long secuencia = 10_000_000L;
+    private HorarioDTO horario;
+    private OdontologoDTO ejemploOdontologo;
+
+    @Setup(Level.Trial)
+    public void setup(SpringBenchState spring) {
+        usuarioService = spring.bean(UsuarioService.class);
+        horarioService = spring.bean(HorarioService.class);
+        odontologoService = spring.bean(OdontologoService.class);
+
+        horario = horarioService.findByOdontologoId(spring.odontologoId).get(0);
+        ejemploOdontologo = new OdontologoDTO();
+        ejemploOdontologo.setApellido("Apellido" + (SpringBenchState.ROWS / 2));
+    }
+
+    @Benchmark
+    public UsuarioDTO create() {
+        // Sin id: con uno asignado save() hace merge (SELECT previo) en lugar de persist.
+        UsuarioDTO dto = new UsuarioDTO();
+        dto.setNombreUsuario("bench" + secuencia++);
+        dto.setClave("clave");
+        dto.setTipoUsuario(false);
+        return usuarioService.create(dto);
+    }
+
+    @Benchmark
+    public HorarioDTO update() {
+        horario.setDisponibilidad(!Boolean.TRUE.equals(horario.getDisponibilidad()));
+        return horarioService.update(horario);
+    }
+
+    @Benchmark
+    public List<OdontologoDTO> findAll() {
+        return odontologoService.findAll(ejemploOdontologo);
+    }
+}
@@ -0,0 +1,116 @@
+package ec.webmarket.restful.bench;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+
+import ec.webmarket.restful.common.FormatosRespuesta;
+import ec.webmarket.restful.dto.v1.CitaDTO;
+import ec.webmarket.restful.dto.v1.HorarioDTO;
+import ec.webmarket.restful.security.ApiResponseDTO;
+import ec.webmarket.restful.service.mapper.DtoMapper;
+
+/**
+ * Codificación y decodificación de ApiResponseDTO con listas de citas y de horarios en JSON,
+ * CBOR y Smile ({@link FormatosRespuesta}), con la configuración de fechas de Spring Boot.
+ * El tamaño de cada respuesta se registra en el log al inicio de la ejecución.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FormatosBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(FormatosBenchmark.class);
+
+    private static final TypeReference<Respuesta<List<CitaDTO>>> CITAS = new TypeReference<>() {
+    };
+    private static final TypeReference<Respuesta<List<HorarioDTO>>> HORARIOS = new TypeReference<>() {
+    };
+
+    @Param({ "json", "cbor", "smile" })
+    public String formato;
+
+    @Param({ "100", "1000" })
+    public int size;
+
+    private ObjectMapper objectMapper;
+    private ApiResponseDTO<List<CitaDTO>> citas;
+    private ApiResponseDTO<List<HorarioDTO>> horarios;
+    private byte[] citasCodificadas;
+    private byte[] horariosCodificados;
+
+    @Setup
+    public void setup() throws IOException {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        switch (formato) {
+            case "cbor" -> builder.factory(new CBORFactory());
+            case "smile" -> builder.factory(FormatosRespuesta.smileFactory());
+            default -> {
+            }
+        }
+        objectMapper = builder.build();
+        citas = new ApiResponseDTO<>(true, BenchFixtures.citas(size).stream()
+                .map(DtoMapper::toDto)
+                .collect(Collectors.toList()));
+        horarios = new ApiResponseDTO<>(true, BenchFixtures.horarios(size).stream()
+                .map(DtoMapper::toDto)
+                .collect(Collectors.toList()));
+        citasCodificadas = codificarCitas();
+        horariosCodificados = codificarHorarios();
+        log.info("Bytes {} con {} elementos: citas={}, horarios={}",
+                formato, size, citasCodificadas.length, horariosCodificados.length);
+    }
+
+    @Benchmark
+    public byte[] codificarCitas() throws IOException {
+        return objectMapper.writeValueAsBytes(citas);
+    }
+
+    @Benchmark
+    public Respuesta<List<CitaDTO>> decodificarCitas() throws IOException {
+        return objectMapper.readValue(citasCodificadas, CITAS);
+    }
+
+    @Benchmark
+    public byte[] codificarHorarios() throws IOException {
+        return objectMapper.writeValueAsBytes(horarios);
+    }
+
+    @Benchmark
+    public Respuesta<List<HorarioDTO>> decodificarHorarios() throws IOException {
+        return objectMapper.readValue(horariosCodificados, HORARIOS);
+    }
+
+    /**
+     * Forma en que un cliente lee ApiResponseDTO (que no tiene constructor sin argumentos).
+     */
+    public static class Respuesta<T> {
+        public boolean success;
+        public T result;
+    }
+}
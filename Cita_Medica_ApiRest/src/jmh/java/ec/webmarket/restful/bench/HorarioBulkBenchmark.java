@@ -0,0 +1,111 @@
+package ec.webmarket.restful.bench;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import ec.webmarket.restful.domain.Odontologo;
+import ec.webmarket.restful.dto.v1.HorarioDTO;
+import ec.webmarket.restful.dto.v1.OdontologoDTO;
+import ec.webmarket.restful.dto.v1.PlantillaHorarioDTO;
+import ec.webmarket.restful.dto.v1.ResultadoPlantillaDTO;
+import ec.webmarket.restful.persistence.OdontologoRepository;
+import ec.webmarket.restful.service.crud.HorarioService;
+
+/**
+ * Filas de horario por segundo: un {@code HorarioService.create} por horario frente a
+ * {@code HorarioService.generarDesdePlantilla} con inserciones JDBC en lote.
+ * Ambos caminos crean los mismos {@link #HORARIOS} horarios (lunes a viernes, 08:00-16:00
+ * cada 30 minutos, cuatro semanas) para un odontólogo nuevo en cada invocación.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HorarioBulkBenchmark {
+
+    private static final List<DayOfWeek> DIAS = List.of(DayOfWeek.MONDAY, DayOfWeek.TUESDAY,
+            DayOfWeek.WEDNESDAY, DayOfWeek.THURSDAY, DayOfWeek.FRIDAY);
+    private static final LocalTime INICIO = LocalTime.of(8, 0);
+    private static final LocalTime FIN = LocalTime.of(16, 0);
+    private static final int DURACION = 30;
+    private static final LocalDate DESDE = LocalDate.of(2026, 1, 5);
+    private static final LocalDate HASTA = DESDE.plusWeeks(4).minusDays(1);
+
+    private static final int HORARIOS = 5 * 4 * 16;
+
+    private HorarioService horarioService;
+    private OdontologoRepository odontologoRepository;
+
+    private long secuencia = 2_000_000L;
+    private long horarioId = 20_000_000L;
+    private Long odontologoId;
+
+    @Setup(Level.Trial)
+    public void setup(SpringBenchState spring) {
+        horarioService = spring.bean(HorarioService.class);
+        odontologoRepository = spring.bean(OdontologoRepository.class);
+    }
+
+    @Setup(Level.Invocation)
+    public void nuevoOdontologo() {
+        Odontologo odontologo = BenchFixtures.odontologo(secuencia++);
+        odontologo.setId(null);
+        odontologo.getUsuario().setId(null);
+        odontologoId = odontologoRepository.save(odontologo).getId();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(HORARIOS)
+    public void porHorario(Blackhole bh) {
+        OdontologoDTO odontologo = new OdontologoDTO();
+        odontologo.setId(odontologoId);
+        for (LocalDate fecha = DESDE; !fecha.isAfter(HASTA); fecha = fecha.plusDays(1)) {
+            if (!DIAS.contains(fecha.getDayOfWeek())) {
+                continue;
+            }
+            for (LocalTime inicio = INICIO; inicio.isBefore(FIN); inicio = inicio.plusMinutes(DURACION)) {
+                HorarioDTO dto = new HorarioDTO();
+                dto.setId(horarioId++);
+                dto.setFecha(fecha);
+                dto.setHoraInicio(inicio);
+                dto.setHorafinal(inicio.plusMinutes(DURACION));
+                dto.setDisponibilidad(true);
+                dto.setOdontologo(odontologo);
+                bh.consume(horarioService.create(dto));
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(HORARIOS)
+    public ResultadoPlantillaDTO plantilla() {
+        PlantillaHorarioDTO plantilla = new PlantillaHorarioDTO();
+        plantilla.setOdontologoId(odontologoId);
+        plantilla.setDias(DIAS);
+        plantilla.setHoraInicio(INICIO);
+        plantilla.setHoraFin(FIN);
+        plantilla.setDuracionMinutos(DURACION);
+        plantilla.setFechaDesde(DESDE);
+        plantilla.setFechaHasta(HASTA);
+        return horarioService.generarDesdePlantilla(plantilla);
+    }
+}
@@ -0,0 +1,111 @@
+package ec.webmarket.restful.bench;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ec.webmarket.restful.domain.Cita;
+import ec.webmarket.restful.domain.Horario;
+import ec.webmarket.restful.dto.v1.CitaDTO;
+import ec.webmarket.restful.dto.v1.HorarioDTO;
+import ec.webmarket.restful.service.mapper.DtoMapper;
+
+/**
+ * Compara el mapeo reflexivo de ModelMapper con {@link DtoMapper}.
+ * El tiempo por llamada se reporta en modo AverageTime y la asignación de memoria
+ * por operación con el profiler gc (gc.alloc.rate.norm).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MappingBenchmark {
+
+    @Param({ "1", "100" })
+    public int size;
+
+    private final ModelMapper modelMapper = new ModelMapper();
+
+    private List<Cita> citas;
+    private List<CitaDTO> citaDtos;
+    private List<Horario> horarios;
+
+    @Setup
+    public void setup() {
+        citas = BenchFixtures.citas(size);
+        horarios = BenchFixtures.horarios(size);
+        citaDtos = new ArrayList<>(size);
+        for (Cita cita : citas) {
+            citaDtos.add(DtoMapper.toDto(cita));
+        }
+    }
+
+    @Benchmark
+    public List<CitaDTO> citaToDtoModelMapper() {
+        List<CitaDTO> result = new ArrayList<>(citas.size());
+        for (Cita cita : citas) {
+            result.add(modelMapper.map(cita, CitaDTO.class));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<CitaDTO> citaToDtoDtoMapper() {
+        List<CitaDTO> result = new ArrayList<>(citas.size());
+        for (Cita cita : citas) {
+            result.add(DtoMapper.toDto(cita));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<Cita> citaToDomainModelMapper() {
+        List<Cita> result = new ArrayList<>(citaDtos.size());
+        for (CitaDTO dto : citaDtos) {
+            result.add(modelMapper.map(dto, Cita.class));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<Cita> citaToDomainDtoMapper() {
+        List<Cita> result = new ArrayList<>(citaDtos.size());
+        for (CitaDTO dto : citaDtos) {
+            result.add(DtoMapper.toDomain(dto));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<HorarioDTO> horarioToDtoModelMapper() {
+        List<HorarioDTO> result = new ArrayList<>(horarios.size());
+        for (Horario horario : horarios) {
+            result.add(modelMapper.map(horario, HorarioDTO.class));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<HorarioDTO> horarioToDtoDtoMapper() {
+        List<HorarioDTO> result = new ArrayList<>(horarios.size());
+        for (Horario horario : horarios) {
+            result.add(DtoMapper.toDto(horario));
+        }
+        return result;
+    }
+}
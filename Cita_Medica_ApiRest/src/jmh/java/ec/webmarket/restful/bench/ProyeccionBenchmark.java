@@ -0,0 +1,138 @@
+package ec.webmarket.restful.bench;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.hibernate.jpa.SpecHints;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import ec.webmarket.restful.domain.Cita;
+import ec.webmarket.restful.domain.Horario;
+import ec.webmarket.restful.domain.Odontologo;
+import ec.webmarket.restful.domain.Paciente;
+import ec.webmarket.restful.dto.v1.CitaDTO;
+import ec.webmarket.restful.dto.v1.CitaResumenDTO;
+import ec.webmarket.restful.dto.v1.HorarioDTO;
+import ec.webmarket.restful.dto.v1.HorarioResumenDTO;
+import ec.webmarket.restful.persistence.CitaRepository;
+import ec.webmarket.restful.persistence.HorarioRepository;
+import ec.webmarket.restful.persistence.OdontologoRepository;
+import ec.webmarket.restful.persistence.PacienteRepository;
+import ec.webmarket.restful.security.ApiResponseDTO;
+import ec.webmarket.restful.service.mapper.DtoMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Página de {@link #PAGINA} citas de un paciente y de horarios disponibles: entidades completas
+ * mapeadas con DtoMapper frente a las proyecciones CitaResumenDTO/HorarioResumenDTO.
+ * Cada benchmark mide consulta + serialización JSON; el tamaño de cada respuesta se registra
+ * en el log al inicio de la ejecución. Las consultas de entidades solo sirven de referencia
+ * y se hacen aquí con el EntityManager, con el mismo orden y plan de carga que tenían en los
+ * repositorios.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProyeccionBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(ProyeccionBenchmark.class);
+
+    private static final int PAGINA = 100;
+
+    private EntityManagerFactory entityManagerFactory;
+    private CitaRepository citaRepository;
+    private HorarioRepository horarioRepository;
+    private ObjectMapper objectMapper;
+    private Pageable limite;
+    private Long pacienteId;
+
+    @Setup(Level.Trial)
+    public void setup(SpringBenchState spring) throws JsonProcessingException {
+        entityManagerFactory = spring.bean(EntityManagerFactory.class);
+        citaRepository = spring.bean(CitaRepository.class);
+        horarioRepository = spring.bean(HorarioRepository.class);
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        limite = PageRequest.of(0, PAGINA);
+        pacienteId = spring.pacienteId;
+
+        Paciente paciente = spring.bean(PacienteRepository.class).findById(pacienteId).orElseThrow();
+        Odontologo odontologo = spring.bean(OdontologoRepository.class).findById(spring.odontologoId).orElseThrow();
+        for (long i = 100_001; i <= 100_000 + PAGINA; i++) {
+            Horario horario = BenchFixtures.horario(i, odontologo);
+            horario.setId(null);
+            horario = horarioRepository.save(horario);
+            Cita cita = BenchFixtures.cita(i, paciente, horario);
+            cita.setId(null);
+            citaRepository.save(cita);
+        }
+
+        log.info("Bytes por página de {}: citas entidad={}, citas resumen={}, horarios entidad={}, horarios resumen={}",
+                PAGINA, citasEntidad().length, citasResumen().length, horariosEntidad().length, horariosResumen().length);
+    }
+
+    @Benchmark
+    public byte[] citasEntidad() throws JsonProcessingException {
+        List<CitaDTO> citas = primeraPagina(Cita.class, "Cita.detalle",
+                "select c from Cita c where c.paciente.id = ?1 order by c.fechayHora, c.id", pacienteId)
+                .stream().map(DtoMapper::toDto).collect(Collectors.toList());
+        return objectMapper.writeValueAsBytes(new ApiResponseDTO<>(true, citas));
+    }
+
+    @Benchmark
+    public byte[] citasResumen() throws JsonProcessingException {
+        List<CitaResumenDTO> citas = citaRepository.findResumenByPacienteId(pacienteId, limite).getContent();
+        return objectMapper.writeValueAsBytes(new ApiResponseDTO<>(true, citas));
+    }
+
+    @Benchmark
+    public byte[] horariosEntidad() throws JsonProcessingException {
+        List<HorarioDTO> horarios = primeraPagina(Horario.class, "Horario.odontologo",
+                "select h from Horario h where h.disponibilidad = ?1 order by h.fecha, h.horaInicio, h.id", true)
+                .stream().map(DtoMapper::toDto).collect(Collectors.toList());
+        return objectMapper.writeValueAsBytes(new ApiResponseDTO<>(true, horarios));
+    }
+
+    @Benchmark
+    public byte[] horariosResumen() throws JsonProcessingException {
+        List<HorarioResumenDTO> horarios = horarioRepository.findResumenByDisponibilidad(true, limite).getContent();
+        return objectMapper.writeValueAsBytes(new ApiResponseDTO<>(true, horarios));
+    }
+
+    /**
+     * Primera página de entidades con el plan de carga indicado. Como el Slice de las
+     * proyecciones, pide una fila de más para saber si hay otra página.
+     */
+    private <T> List<T> primeraPagina(Class<T> tipo, String plan, String jpql, Object parametro) {
+        try (EntityManager entityManager = entityManagerFactory.createEntityManager()) {
+            List<T> filas = entityManager.createQuery(jpql, tipo)
+                    .setParameter(1, parametro)
+                    .setHint(SpecHints.HINT_SPEC_FETCH_GRAPH, entityManager.getEntityGraph(plan))
+                    .setMaxResults(PAGINA + 1)
+                    .getResultList();
+            return filas.size() > PAGINA ? filas.subList(0, PAGINA) : filas;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package ec.webmarket.restful.bench;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ec.webmarket.restful.domain.Cita;
+import ec.webmarket.restful.domain.Horario;
+import ec.webmarket.restful.persistence.CitaRepository;
+import ec.webmarket.restful.persistence.HorarioRepository;
+
+/**
+ * Finders de CitaRepository y HorarioRepository contra la base embebida.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RepositoryBenchmark {
+
+    private CitaRepository citaRepository;
+    private HorarioRepository horarioRepository;
+    private Long odontologoId;
+    private Long pacienteId;
+    private LocalDate fecha;
+
+    @Setup(Level.Trial)
+    public void setup(SpringBenchState spring) {
+        citaRepository = spring.bean(CitaRepository.class);
+        horarioRepository = spring.bean(HorarioRepository.class);
+        odontologoId = spring.odontologoId;
+        pacienteId = spring.pacienteId;
+        fecha = horarioRepository.findByOdontologo_Id(odontologoId).get(0).getFecha();
+    }
+
+    @Benchmark
+    public List<Cita> citaFindByPacienteId() {
+        return citaRepository.findByPacienteId(pacienteId);
+    }
+
+    @Benchmark
+    public List<Cita> citaFindByOdontologoId() {
+        return citaRepository.findByOdontologoId(odontologoId);
+    }
+
+    @Benchmark
+    public List<Horario> horarioFindByOdontologoId() {
+        return horarioRepository.findByOdontologo_Id(odontologoId);
+    }
+
+    @Benchmark
+    public List<Horario> horarioFindByFecha() {
+        return horarioRepository.findByFecha(fecha);
+    }
+
+    @Benchmark
+    public List<Horario> horarioFindByDisponibilidad() {
+        return horarioRepository.findByDisponibilidad(true);
+    }
+}
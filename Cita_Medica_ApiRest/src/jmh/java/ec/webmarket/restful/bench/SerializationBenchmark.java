@@ -0,0 +1,82 @@
+package ec.webmarket.restful.bench;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import ec.webmarket.restful.dto.v1.CitaDTO;
+import ec.webmarket.restful.dto.v1.json.ModuloJsonV1;
+import ec.webmarket.restful.security.ApiResponseDTO;
+import ec.webmarket.restful.service.mapper.DtoMapper;
+
+/**
+ * Serialización Jackson de ApiResponseDTO&lt;List&lt;CitaDTO&gt;&gt; y lectura de List&lt;CitaDTO&gt;
+ * con la misma configuración que aplica Spring Boot al ObjectMapper de los controladores, por
+ * reflexión o con los serializadores dedicados de {@link ModuloJsonV1}. Ambas variantes producen
+ * los mismos bytes (SerializacionDtoTests).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    private static final TypeReference<List<CitaDTO>> CITAS = new TypeReference<>() {
+    };
+
+    @Param({ "10", "100", "1000" })
+    public int size;
+
+    @Param({ "reflexion", "modulo" })
+    public String serializadores;
+
+    private ObjectMapper objectMapper;
+    private ApiResponseDTO<List<CitaDTO>> response;
+    private byte[] citasCodificadas;
+
+    @Setup
+    public void setup() throws JsonProcessingException {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        if ("modulo".equals(serializadores)) {
+            builder.modulesToInstall(new ModuloJsonV1());
+        }
+        objectMapper = builder.build();
+        List<CitaDTO> citas = BenchFixtures.citas(size).stream()
+                .map(DtoMapper::toDto)
+                .collect(Collectors.toList());
+        response = new ApiResponseDTO<>(true, citas);
+        citasCodificadas = objectMapper.writeValueAsBytes(citas);
+    }
+
+    @Benchmark
+    public byte[] citasJson() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public List<CitaDTO> citasDesdeJson() throws IOException {
+        return objectMapper.readValue(citasCodificadas, CITAS);
+    }
+}
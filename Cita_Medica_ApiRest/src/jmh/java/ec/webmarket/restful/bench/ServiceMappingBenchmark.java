@@ -0,0 +1,77 @@
+package ec.webmarket.restful.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ec.webmarket.restful.domain.Cita;
+import ec.webmarket.restful.dto.v1.CitaDTO;
+import ec.webmarket.restful.dto.v1.HorarioDTO;
+import ec.webmarket.restful.dto.v1.OdontologoDTO;
+import ec.webmarket.restful.dto.v1.PacienteDTO;
+import ec.webmarket.restful.dto.v1.UsuarioDTO;
+import ec.webmarket.restful.service.crud.CitaService;
+import ec.webmarket.restful.service.crud.HorarioService;
+import ec.webmarket.restful.service.crud.OdontologoService;
+import ec.webmarket.restful.service.crud.PacienteService;
+import ec.webmarket.restful.service.crud.UsuarioService;
+
+/**
+ * mapToDto de cada servicio CRUD sobre un grafo completo de Cita.
+ * Los servicios se instancian sin contexto porque el mapeo no usa el repositorio.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ServiceMappingBenchmark {
+
+    private final CitaService citaService = new CitaService();
+    private final HorarioService horarioService = new HorarioService();
+    private final OdontologoService odontologoService = new OdontologoService();
+    private final PacienteService pacienteService = new PacienteService();
+    private final UsuarioService usuarioService = new UsuarioService();
+
+    private Cita cita;
+
+    @Setup
+    public void setup() {
+        cita = BenchFixtures.citas(1).get(0);
+    }
+
+    @Benchmark
+    public CitaDTO cita() {
+        return citaService.mapToDto(cita);
+    }
+
+    @Benchmark
+    public HorarioDTO horario() {
+        return horarioService.mapToDto(cita.getHorario());
+    }
+
+    @Benchmark
+    public OdontologoDTO odontologo() {
+        return odontologoService.mapToDto(cita.getOdontologo());
+    }
+
+    @Benchmark
+    public PacienteDTO paciente() {
+        return pacienteService.mapToDto(cita.getPaciente());
+    }
+
+    @Benchmark
+    public UsuarioDTO usuario() {
+        return usuarioService.mapToDto(cita.getPaciente().getUsuario());
+    }
+}
@@ -0,0 +1,84 @@
+package ec.webmarket.restful.bench;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import ec.webmarket.restful.ApiResTfulExampleApplication;
+import ec.webmarket.restful.domain.Cita;
+import ec.webmarket.restful.domain.Horario;
+import ec.webmarket.restful.domain.Odontologo;
+import ec.webmarket.restful.domain.Paciente;
+import ec.webmarket.restful.persistence.CitaRepository;
+import ec.webmarket.restful.persistence.HorarioRepository;
+import ec.webmarket.restful.persistence.OdontologoRepository;
+import ec.webmarket.restful.persistence.PacienteRepository;
+
+/**
+ * Contexto de Spring compartido por los benchmarks que necesitan base de datos.
+ * Arranca la aplicación con el perfil "bench" (H2 en memoria) y carga {@link #ROWS}
+ * odontólogos, pacientes, horarios y citas.
+ */
+@State(Scope.Benchmark)
+public class SpringBenchState {
+
+    public static final int ROWS = 1_000;
+
+    public ConfigurableApplicationContext context;
+
+    public Long odontologoId;
+    public Long pacienteId;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(ApiResTfulExampleApplication.class)
+                .profiles("bench")
+                .run();
+        seed();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    private void seed() {
+        OdontologoRepository odontologos = bean(OdontologoRepository.class);
+        PacienteRepository pacientes = bean(PacienteRepository.class);
+        HorarioRepository horarios = bean(HorarioRepository.class);
+        CitaRepository citas = bean(CitaRepository.class);
+
+        for (int i = 1; i <= ROWS; i++) {
+            Odontologo odontologo = BenchFixtures.odontologo(i);
+            odontologo.setId(null);
+            odontologo.getUsuario().setId(null);
+            odontologo = odontologos.save(odontologo);
+
+            Paciente paciente = BenchFixtures.paciente(i);
+            paciente.setId(null);
+            paciente.getUsuario().setId(null);
+            paciente = pacientes.save(paciente);
+
+            Horario horario = BenchFixtures.horario(i, odontologo);
+            horario.setId(null);
+            horario = horarios.save(horario);
+
+            Cita cita = BenchFixtures.cita(i, paciente, horario);
+            cita.setId(null);
+            citas.save(cita);
+
+            if (i == ROWS / 2) {
+                odontologoId = odontologo.getId();
+                pacienteId = paciente.getId();
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package ec.webmarket.restful.bench;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ec.webmarket.restful.domain.Usuario;
+import ec.webmarket.restful.persistence.PacienteRepository;
+import ec.webmarket.restful.persistence.UsuarioRepository;
+import ec.webmarket.restful.security.SesionUsuario;
+import ec.webmarket.restful.security.TokenService;
+import ec.webmarket.restful.service.mapper.DtoMapper;
+
+/**
+ * Costo de autenticar una petición: reenviar las credenciales (consulta a Usuario)
+ * frente a verificar en memoria el token de sesión firmado.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TokenBenchmark {
+
+    private UsuarioRepository usuarioRepository;
+    private TokenService tokenService;
+    private String nombreUsuario;
+    private String clave;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setup(SpringBenchState spring) {
+        usuarioRepository = spring.bean(UsuarioRepository.class);
+        tokenService = spring.bean(TokenService.class);
+        Usuario usuario = spring.bean(PacienteRepository.class).findById(spring.pacienteId).orElseThrow().getUsuario();
+        nombreUsuario = usuario.getNombreUsuario();
+        clave = usuario.getClave();
+        token = tokenService.emitir(DtoMapper.toDto(usuario)).getToken();
+    }
+
+    @Benchmark
+    public Optional<Usuario> credenciales() {
+        return usuarioRepository.findByNombreUsuarioAndClave(nombreUsuario, clave);
+    }
+
+    @Benchmark
+    public SesionUsuario token() {
+        return tokenService.verificar(token);
+    }
+}
@@ -1,13 +1,22 @@
 package ec.webmarket.restful.api.v1;
 
+import java.time.LocalDate;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ec.webmarket.restful.common.ApiConstants;
 import ec.webmarket.restful.dto.v1.CitaDTO;
+import ec.webmarket.restful.dto.v1.LoteCitasDTO;
+import ec.webmarket.restful.dto.v1.ResultadoLoteCitasDTO;
 import ec.webmarket.restful.security.ApiResponseDTO;
 import ec.webmarket.restful.service.crud.CitaService;
+import ec.webmarket.restful.service.exportacion.ExportacionConfig;
+import ec.webmarket.restful.service.exportacion.ExportadorCitas;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 
 /**
@@ -22,26 +31,75 @@ public class CitaController {
     @Autowired
     private CitaService citaService;
 
+    @Autowired
+    private ExportadorCitas exportadorCitas;
+
     /**
-     * Obtiene todas las citas asociadas a un paciente específico.
+     * Obtiene una página de las citas asociadas a un paciente específico.
+     * Sin rango devuelve las citas vigentes; con desde y hasta incluye las citas archivadas.
      *
      * @param pacienteId ID del paciente cuyas citas se desean consultar.
-     * @return ResponseEntity con la lista de citas del paciente.
+     * @param desde      Primer día del rango (yyyy-MM-dd); opcional, junto con hasta.
+     * @param hasta      Último día del rango, incluido (yyyy-MM-dd); opcional, junto con desde.
+     * @param cursor     Cursor de la página anterior; se omite para la primera página.
+     * @param size       Tamaño de página (máximo ApiConstants.PAGE_SIZE_MAX).
+     * @return ResponseEntity con la página de citas del paciente.
      */
     @GetMapping("/paciente/{pacienteId}")
-    public ResponseEntity<?> getCitasByPaciente(@PathVariable Long pacienteId) {
-        return new ResponseEntity<>(new ApiResponseDTO<>(true, citaService.findByPaciente(pacienteId)), HttpStatus.OK);
+    public ResponseEntity<?> getCitasByPaciente(@PathVariable Long pacienteId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hasta,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = ApiConstants.PAGE_SIZE_DEFAULT) int size) {
+        return new ResponseEntity<>(new ApiResponseDTO<>(true, citaService.findByPaciente(pacienteId, desde, hasta, cursor, size)), HttpStatus.OK);
     }
 
     /**
-     * Obtiene todas las citas asociadas a un odontólogo específico.
+     * Obtiene una página de las citas asociadas a un odontólogo específico.
+     * Sin rango devuelve las citas vigentes; con desde y hasta incluye las citas archivadas.
      *
      * @param odontologoId ID del odontólogo cuyas citas se desean consultar.
-     * @return ResponseEntity con la lista de citas del odontólogo.
+     * @param desde        Primer día del rango (yyyy-MM-dd); opcional, junto con hasta.
+     * @param hasta        Último día del rango, incluido (yyyy-MM-dd); opcional, junto con desde.
+     * @param cursor       Cursor de la página anterior; se omite para la primera página.
+     * @param size         Tamaño de página (máximo ApiConstants.PAGE_SIZE_MAX).
+     * @return ResponseEntity con la página de citas del odontólogo.
      */
     @GetMapping("/odontologo/{odontologoId}")
-    public ResponseEntity<?> getCitasByOdontologo(@PathVariable Long odontologoId) {
-        return new ResponseEntity<>(new ApiResponseDTO<>(true, citaService.findByOdontologo(odontologoId)), HttpStatus.OK);
+    public ResponseEntity<?> getCitasByOdontologo(@PathVariable Long odontologoId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hasta,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = ApiConstants.PAGE_SIZE_DEFAULT) int size) {
+        return new ResponseEntity<>(new ApiResponseDTO<>(true, citaService.findByOdontologo(odontologoId, desde, hasta, cursor, size)), HttpStatus.OK);
+    }
+
+    /**
+     * Exporta las citas de un odontólogo en un rango de fechas como NDJSON (una cita por línea).
+     * La respuesta se escribe a medida que se leen las filas, sin cargar todas las citas en memoria.
+     * Si ya corren demasiadas exportaciones responde 503 sin empezar.
+     *
+     * @param odontologoId ID del odontólogo cuyas citas se exportan.
+     * @param desde        Primer día del rango (yyyy-MM-dd).
+     * @param hasta        Último día del rango, incluido (yyyy-MM-dd).
+     * @param estado       Estado de las citas a exportar; se omite para exportar todas.
+     * @param peticion     Petición HTTP, que se marca como exportación para su tiempo máximo.
+     * @return ResponseEntity con el flujo NDJSON de las citas.
+     */
+    @GetMapping(value = "/odontologo/{odontologoId}/exportar", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportarCitasByOdontologo(@PathVariable Long odontologoId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hasta,
+            @RequestParam(required = false) String estado, HttpServletRequest peticion) {
+        exportadorCitas.validarRango(desde, hasta);
+        ExportadorCitas.Permiso permiso = exportadorCitas.reservar();
+        peticion.setAttribute(ExportacionConfig.EXPORTACION, Boolean.TRUE);
+        StreamingResponseBody cuerpo = salida -> {
+            try (permiso) {
+                exportadorCitas.exportar(odontologoId, desde, hasta, estado, salida);
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(cuerpo);
     }
 
     /**
@@ -55,6 +113,21 @@ public class CitaController {
         return new ResponseEntity<>(new ApiResponseDTO<>(true, citaService.create(citaDTO)), HttpStatus.CREATED);
     }
 
+    /**
+     * Registra un lote de citas (por ejemplo, las sesiones de un tratamiento) en una sola transacción.
+     * En modo todo o nada ({@code parcial = false}) se crean todas o ninguna; en modo parcial se
+     * crean las válidas. La respuesta indica el resultado de cada cita.
+     *
+     * @param lote Citas a registrar y modo del lote.
+     * @return ResponseEntity con el resultado por cita y código 201, o 409 si no se creó ninguna.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<?> crearCitas(@RequestBody LoteCitasDTO lote) {
+        ResultadoLoteCitasDTO resultado = citaService.createLote(lote);
+        boolean creadas = resultado.getCreadas() > 0;
+        return new ResponseEntity<>(new ApiResponseDTO<>(creadas, resultado), creadas ? HttpStatus.CREATED : HttpStatus.CONFLICT);
+    }
+
     /**
      * Modifica una cita existente, permitiendo su actualización o reprogramación.
      *
@@ -7,7 +7,12 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ec.webmarket.restful.common.ApiConstants;
+import ec.webmarket.restful.dto.v1.DisponibilidadDiaDTO;
+import ec.webmarket.restful.dto.v1.FranjaLibreDTO;
 import ec.webmarket.restful.dto.v1.HorarioDTO;
+import ec.webmarket.restful.dto.v1.HorarioResumenDTO;
+import ec.webmarket.restful.dto.v1.PaginaDTO;
+import ec.webmarket.restful.dto.v1.PlantillaHorarioDTO;
 import ec.webmarket.restful.security.ApiResponseDTO;
 import ec.webmarket.restful.service.crud.HorarioService;
 
@@ -33,6 +38,18 @@ public class HorarioController {
         return new ResponseEntity<>(new ApiResponseDTO<>(true, horarioService.create(horarioDTO)), HttpStatus.CREATED);
     }
 
+    /**
+     * Genera en lote los horarios de un odontólogo a partir de una plantilla semanal.
+     * Si algún horario se solapa con la agenda del odontólogo no se crea ninguno.
+     *
+     * @param plantilla Días de la semana, hora de inicio y fin, duración y rango de fechas.
+     * @return ResponseEntity con el número de horarios creados y código de estado HTTP 201.
+     */
+    @PostMapping("/plantilla")
+    public ResponseEntity<?> generarHorarios(@RequestBody PlantillaHorarioDTO plantilla) {
+        return new ResponseEntity<>(new ApiResponseDTO<>(true, horarioService.generarDesdePlantilla(plantilla)), HttpStatus.CREATED);
+    }
+
     /**
      * Bloquea un horario específico, cambiando su disponibilidad a "false".
      *
@@ -50,14 +67,18 @@ public class HorarioController {
     }
 
     /**
-     * Obtiene una lista de horarios filtrados por disponibilidad.
+     * Obtiene una página de horarios filtrados por disponibilidad.
      *
      * @param estado Estado de disponibilidad (true: disponible, false: no disponible).
-     * @return ResponseEntity con la lista de horarios filtrados.
+     * @param cursor Cursor de la página anterior; se omite para la primera página.
+     * @param size   Tamaño de página (máximo ApiConstants.PAGE_SIZE_MAX).
+     * @return ResponseEntity con la página de horarios filtrados.
      */
     @GetMapping("/disponibilidad/{estado}")
-    public ResponseEntity<?> obtenerHorariosPorDisponibilidad(@PathVariable Boolean estado) {
-        List<HorarioDTO> horarios = horarioService.findByDisponibilidad(estado);
+    public ResponseEntity<?> obtenerHorariosPorDisponibilidad(@PathVariable Boolean estado,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = ApiConstants.PAGE_SIZE_DEFAULT) int size) {
+        PaginaDTO<HorarioResumenDTO> horarios = horarioService.findByDisponibilidad(estado, cursor, size);
         return new ResponseEntity<>(new ApiResponseDTO<>(true, horarios), HttpStatus.OK);
     }
 
@@ -69,20 +90,56 @@ public class HorarioController {
      */
     @GetMapping("/odontologo/{odontologoId}")
     public ResponseEntity<?> obtenerHorariosPorOdontologo(@PathVariable Long odontologoId) {
-        List<HorarioDTO> horarios = horarioService.findByOdontologoId(odontologoId);
+        List<HorarioResumenDTO> horarios = horarioService.findResumenByOdontologoId(odontologoId);
         return new ResponseEntity<>(new ApiResponseDTO<>(true, horarios), HttpStatus.OK);
     }
 
     /**
-     * Obtiene los horarios registrados para una fecha específica.
+     * Obtiene las franjas libres de un odontólogo entre dos fechas.
+     * Se calculan desde el índice de agenda en memoria, sin consultar la base de datos.
+     *
+     * @param odontologoId ID del odontólogo.
+     * @param desde        Fecha inicial en formato "yyyy-MM-dd" (inclusive).
+     * @param hasta        Fecha final en formato "yyyy-MM-dd" (inclusive).
+     * @return ResponseEntity con la lista de franjas libres.
+     */
+    @GetMapping("/odontologo/{odontologoId}/libre")
+    public ResponseEntity<?> obtenerFranjasLibres(@PathVariable Long odontologoId,
+            @RequestParam String desde, @RequestParam String hasta) {
+        List<FranjaLibreDTO> franjas = horarioService.findFranjasLibres(odontologoId, LocalDate.parse(desde), LocalDate.parse(hasta));
+        return new ResponseEntity<>(new ApiResponseDTO<>(true, franjas), HttpStatus.OK);
+    }
+
+    /**
+     * Obtiene los horarios libres y totales por día de un odontólogo, para pintar un calendario.
+     * Se leen del resumen diario de disponibilidad con una sola consulta; el rango admite hasta 90 días.
+     *
+     * @param odontologoId ID del odontólogo.
+     * @param desde        Fecha inicial en formato "yyyy-MM-dd" (inclusive).
+     * @param hasta        Fecha final en formato "yyyy-MM-dd" (inclusive).
+     * @return ResponseEntity con el resumen de los días que tienen horarios.
+     */
+    @GetMapping("/odontologo/{odontologoId}/disponibilidad-diaria")
+    public ResponseEntity<?> obtenerDisponibilidadDiaria(@PathVariable Long odontologoId,
+            @RequestParam String desde, @RequestParam String hasta) {
+        List<DisponibilidadDiaDTO> dias = horarioService.findDisponibilidadDiaria(odontologoId, LocalDate.parse(desde), LocalDate.parse(hasta));
+        return new ResponseEntity<>(new ApiResponseDTO<>(true, dias), HttpStatus.OK);
+    }
+
+    /**
+     * Obtiene una página de los horarios registrados para una fecha específica.
      *
-     * @param fecha Fecha en formato "yyyy-MM-dd" a consultar.
-     * @return ResponseEntity con la lista de horarios en esa fecha.
+     * @param fecha  Fecha en formato "yyyy-MM-dd" a consultar.
+     * @param cursor Cursor de la página anterior; se omite para la primera página.
+     * @param size   Tamaño de página (máximo ApiConstants.PAGE_SIZE_MAX).
+     * @return ResponseEntity con la página de horarios en esa fecha.
      */
     @GetMapping("/fecha/{fecha}")
-    public ResponseEntity<?> obtenerHorariosPorFecha(@PathVariable String fecha) {
+    public ResponseEntity<?> obtenerHorariosPorFecha(@PathVariable String fecha,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = ApiConstants.PAGE_SIZE_DEFAULT) int size) {
         LocalDate localDate = LocalDate.parse(fecha);
-        List<HorarioDTO> horarios = horarioService.findByFecha(localDate);
+        PaginaDTO<HorarioResumenDTO> horarios = horarioService.findByFecha(localDate, cursor, size);
         return new ResponseEntity<>(new ApiResponseDTO<>(true, horarios), HttpStatus.OK);
     }
 }
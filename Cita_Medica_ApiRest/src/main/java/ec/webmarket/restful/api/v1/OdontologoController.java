@@ -13,7 +13,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import ec.webmarket.restful.common.ApiConstants;
 import ec.webmarket.restful.dto.v1.OdontologoDTO;
-import ec.webmarket.restful.dto.v1.HorarioDTO;
+import ec.webmarket.restful.dto.v1.HorarioResumenDTO;
 import ec.webmarket.restful.security.ApiResponseDTO;
 import ec.webmarket.restful.service.crud.OdontologoService;
 import ec.webmarket.restful.service.crud.HorarioService;
@@ -52,7 +52,7 @@ public class OdontologoController {
      */
     @GetMapping("/{odontologoId}/citas")
     public ResponseEntity<?> getCitasByOdontologo(@PathVariable Long odontologoId) {
-        List<HorarioDTO> citas = horarioService.findByOdontologoId(odontologoId);
+        List<HorarioResumenDTO> citas = horarioService.findResumenByOdontologoId(odontologoId);
         return new ResponseEntity<>(new ApiResponseDTO<>(true, citas), HttpStatus.OK);
     }
 }
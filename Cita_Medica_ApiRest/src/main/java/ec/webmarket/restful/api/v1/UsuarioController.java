@@ -1,10 +1,13 @@
 package ec.webmarket.restful.api.v1;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ec.webmarket.restful.common.ApiConstants;
+import ec.webmarket.restful.dto.v1.SesionDTO;
 import ec.webmarket.restful.dto.v1.UsuarioDTO;
+import ec.webmarket.restful.security.SesionUsuario;
 import ec.webmarket.restful.service.crud.UsuarioService;
 import java.util.Optional;
 
@@ -32,40 +35,60 @@ public class UsuarioController {
     }
 
     /**
-     * Autentica un usuario con sus credenciales.
+     * Autentica un usuario con sus credenciales y emite un token de sesión.
+     * Las peticiones siguientes envían el token en la cabecera {@code Authorization: Bearer}.
      *
      * @param nombreUsuario Nombre de usuario.
      * @param clave Contraseña del usuario.
-     * @return ResponseEntity con los datos del usuario autenticado o un código de estado HTTP 401 si la autenticación falla.
+     * @return ResponseEntity con la sesión del usuario autenticado o un código de estado HTTP 401 si la autenticación falla.
      */
     @PostMapping("/login")
-    public ResponseEntity<UsuarioDTO> login(@RequestParam String nombreUsuario, @RequestParam String clave) {
-        Optional<UsuarioDTO> user = usuarioService.authenticate(nombreUsuario, clave);
+    public ResponseEntity<SesionDTO> login(@RequestParam String nombreUsuario, @RequestParam String clave) {
+        Optional<SesionDTO> user = usuarioService.login(nombreUsuario, clave);
         return user.map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.status(401).build());
     }
 
     /**
      * Asigna un rol específico a un usuario (paciente u odontólogo).
+     * Requiere la sesión de un odontólogo.
      *
      * @param id ID del usuario.
      * @param tipoUsuario Tipo de usuario (true = odontólogo, false = paciente).
-     * @return ResponseEntity con mensaje de éxito o código de estado HTTP 404 si el usuario no es encontrado.
+     * @param sesion Sesión del token de la petición, o null sin token.
+     * @return ResponseEntity con mensaje de éxito, 401 sin sesión, 403 si quien llama no es odontólogo
+     *         o 404 si el usuario no es encontrado.
      */
     @PutMapping("/assignRole/{id}")
-    public ResponseEntity<String> assignRole(@PathVariable Long id, @RequestParam Boolean tipoUsuario) {
+    public ResponseEntity<String> assignRole(@PathVariable Long id, @RequestParam Boolean tipoUsuario,
+            @RequestAttribute(name = SesionUsuario.ATRIBUTO, required = false) SesionUsuario sesion) {
+        if (sesion == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        if (!sesion.isOdontologo()) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
         boolean success = usuarioService.assignRole(id, tipoUsuario);
         return success ? ResponseEntity.ok("Rol asignado correctamente") : ResponseEntity.notFound().build();
     }
 
     /**
-     * Cambia la contraseña de un usuario registrado.
+     * Cambia la contraseña de un usuario registrado. Solo el propio usuario puede cambiarla.
      *
      * @param id ID del usuario.
      * @param newPassword Nueva contraseña del usuario.
-     * @return ResponseEntity con mensaje de éxito o código de estado HTTP 404 si el usuario no es encontrado.
+     * @param sesion Sesión del token de la petición, o null sin token.
+     * @return ResponseEntity con mensaje de éxito, 401 sin sesión, 403 si la sesión es de otro usuario
+     *         o 404 si el usuario no es encontrado.
      */
     @PutMapping("/updatePassword/{id}")
-    public ResponseEntity<String> updatePassword(@PathVariable Long id, @RequestParam String newPassword) {
+    public ResponseEntity<String> updatePassword(@PathVariable Long id, @RequestParam String newPassword,
+            @RequestAttribute(name = SesionUsuario.ATRIBUTO, required = false) SesionUsuario sesion) {
+        if (sesion == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        if (!sesion.getUsuarioId().equals(id)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
         boolean success = usuarioService.updatePassword(id, newPassword);
         return success ? ResponseEntity.ok("Contraseña actualizada correctamente") : ResponseEntity.notFound().build();
     }
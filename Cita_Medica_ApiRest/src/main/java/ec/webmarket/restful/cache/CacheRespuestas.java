@@ -0,0 +1,216 @@
+package ec.webmarket.restful.cache;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import ec.webmarket.restful.service.HorariosModificadosEvent;
+
+/**
+ * Caché LRU de respuestas ya serializadas (JSON en UTF-8, CBOR o Smile), limitada por tamaño
+ * total en bytes.
+ * Cada entrada lleva etiquetas ("fecha:2025-01-01", "odontologo:7") que permiten invalidar
+ * solo las respuestas afectadas por una escritura.
+ *
+ * Para no guardar una respuesta leída antes de una escritura y terminada después de su
+ * invalidación, cada etiqueta tiene un contador de versión (agrupado en franjas): el filtro
+ * toma una {@link #marca} antes de ejecutar la petición y {@link #guardar} descarta la
+ * respuesta si alguna de sus etiquetas se invalidó entretanto.
+ *
+ * La misma marca sirve de ETag fuerte ({@link #etag}): cambia cada vez que se invalida una
+ * de las etiquetas de la respuesta, por lo que el filtro puede responder 304 sin ejecutar
+ * la consulta. Una colisión de franjas solo provoca una invalidación de más, nunca un ETag
+ * que se mantenga ante un cambio.
+ *
+ * Con réplica de lectura, cada franja recuerda también cuándo se invalidó por última vez
+ * ({@link #invalidadaHaceMenosDe}), para que el filtro lea de la primaria las respuestas que
+ * una réplica atrasada todavía podría devolver sin el cambio.
+ */
+@Component
+public class CacheRespuestas {
+
+    private static final int FRANJAS = 4096;
+
+    private final long maxBytes;
+    private final String arranque = Long.toString(System.currentTimeMillis(), 36);
+    private final long[] versiones = new long[FRANJAS];
+    private final long[] invalidadas = new long[FRANJAS];
+    private final LinkedHashMap<String, Entrada> entradas = new LinkedHashMap<>(256, 0.75f, true);
+    private final Map<String, Set<String>> clavesPorEtiqueta = new HashMap<>();
+    private long bytes;
+    private long aciertos;
+    private long fallos;
+
+    public CacheRespuestas(@Value("${cache.respuestas.max-bytes:16777216}") long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Respuesta guardada para la clave, o null si no está.
+     */
+    public synchronized Entrada obtener(String clave) {
+        Entrada entrada = entradas.get(clave);
+        if (entrada == null) {
+            fallos++;
+        } else {
+            aciertos++;
+        }
+        return entrada;
+    }
+
+    /**
+     * Marca de versión de las etiquetas, a tomar antes de ejecutar la petición.
+     */
+    public synchronized long marca(List<String> etiquetas) {
+        long marca = 0;
+        for (String etiqueta : etiquetas) {
+            marca += versiones[franja(etiqueta)];
+        }
+        return marca;
+    }
+
+    /**
+     * ETag fuerte para una marca. Incluye el instante de arranque, porque los contadores
+     * vuelven a cero al reiniciar y un ETag anterior no debe coincidir con el nuevo contenido.
+     * @param variante Formato de la representación ("cbor", "x-jackson-smile"), o null para JSON;
+     *                 cada representación de un recurso tiene su propio ETag.
+     */
+    public String etag(long marca, String variante) {
+        String etag = arranque + "-" + Long.toString(marca, 36);
+        return "\"" + (variante == null ? etag : etag + "-" + variante) + "\"";
+    }
+
+    /**
+     * Guarda una respuesta si ninguna de sus etiquetas se invalidó desde que se tomó la marca.
+     */
+    public synchronized void guardar(String clave, List<String> etiquetas, long marca, String contentType, byte[] cuerpo) {
+        if (cuerpo.length > maxBytes || marca(etiquetas) != marca) {
+            return;
+        }
+        quitar(clave);
+        entradas.put(clave, new Entrada(contentType, cuerpo, etiquetas));
+        bytes += cuerpo.length;
+        for (String etiqueta : etiquetas) {
+            clavesPorEtiqueta.computeIfAbsent(etiqueta, e -> new HashSet<>()).add(clave);
+        }
+        Iterator<Map.Entry<String, Entrada>> antiguas = entradas.entrySet().iterator();
+        while (bytes > maxBytes && antiguas.hasNext()) {
+            Map.Entry<String, Entrada> antigua = antiguas.next();
+            antiguas.remove();
+            olvidar(antigua.getKey(), antigua.getValue());
+        }
+    }
+
+    /**
+     * Indica si alguna de las etiquetas se invalidó hace menos del intervalo indicado.
+     */
+    public synchronized boolean invalidadaHaceMenosDe(List<String> etiquetas, long nanos) {
+        long ahora = System.nanoTime();
+        for (String etiqueta : etiquetas) {
+            long invalidada = invalidadas[franja(etiqueta)];
+            if (invalidada != 0 && ahora - invalidada < nanos) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Elimina todas las respuestas con la etiqueta indicada.
+     */
+    public synchronized void invalidar(String etiqueta) {
+        versiones[franja(etiqueta)]++;
+        invalidadas[franja(etiqueta)] = System.nanoTime() | 1;
+        Set<String> claves = clavesPorEtiqueta.remove(etiqueta);
+        if (claves != null) {
+            for (String clave : new HashSet<>(claves)) {
+                quitar(clave);
+            }
+        }
+    }
+
+    /**
+     * Invalida las fechas y odontólogos afectados una vez confirmada la transacción
+     * (o de inmediato si la escritura no corría en una transacción).
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void horariosModificados(HorariosModificadosEvent evento) {
+        evento.getFechas().forEach(fecha -> invalidar(etiquetaFecha(fecha.toString())));
+        evento.getOdontologoIds().forEach(id -> invalidar(etiquetaOdontologo(id)));
+    }
+
+    public synchronized long getAciertos() {
+        return aciertos;
+    }
+
+    public synchronized long getFallos() {
+        return fallos;
+    }
+
+    public synchronized long getBytes() {
+        return bytes;
+    }
+
+    public static String etiquetaFecha(String fecha) {
+        return "fecha:" + fecha;
+    }
+
+    public static String etiquetaOdontologo(Long odontologoId) {
+        return "odontologo:" + odontologoId;
+    }
+
+    private void quitar(String clave) {
+        Entrada entrada = entradas.remove(clave);
+        if (entrada != null) {
+            olvidar(clave, entrada);
+        }
+    }
+
+    private void olvidar(String clave, Entrada entrada) {
+        bytes -= entrada.cuerpo.length;
+        for (String etiqueta : entrada.etiquetas) {
+            Set<String> claves = clavesPorEtiqueta.get(etiqueta);
+            if (claves != null && claves.remove(clave) && claves.isEmpty()) {
+                clavesPorEtiqueta.remove(etiqueta);
+            }
+        }
+    }
+
+    private static int franja(String etiqueta) {
+        int h = etiqueta.hashCode();
+        h ^= (h >>> 16);
+        return h & (FRANJAS - 1);
+    }
+
+    /**
+     * Respuesta serializada con su tipo de contenido.
+     */
+    public static final class Entrada {
+
+        private final String contentType;
+        private final byte[] cuerpo;
+        private final List<String> etiquetas;
+
+        private Entrada(String contentType, byte[] cuerpo, List<String> etiquetas) {
+            this.contentType = contentType;
+            this.cuerpo = cuerpo;
+            this.etiquetas = etiquetas;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public byte[] getCuerpo() {
+            return cuerpo;
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package ec.webmarket.restful.cache;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import ec.webmarket.restful.common.ApiConstants;
+import ec.webmarket.restful.common.FormatosRespuesta;
+import ec.webmarket.restful.replica.ConsistenciaLectura;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Sirve desde {@link CacheRespuestas} las lecturas más frecuentes:
+ * horarios por fecha, horarios por odontólogo y citas de un odontólogo.
+ * En un acierto los bytes se escriben directamente en la respuesta, sin pasar por el
+ * DispatcherServlet, los servicios ni Jackson. En un fallo se ejecuta la petición y,
+ * si responde 200, se guarda el cuerpo ya serializado.
+ *
+ * Las tres respuestas son listas de {@code HorarioResumenDTO}: además del horario muestran el
+ * nombre del odontólogo, pero ningún dato del paciente. Se invalidan con los horarios y con
+ * las modificaciones del odontólogo ({@code OdontologoService}).
+ *
+ * Las respuestas llevan un ETag fuerte derivado de las versiones de sus etiquetas y
+ * {@code Cache-Control: no-cache}, de modo que los clientes que consultan periódicamente
+ * revalidan con If-None-Match y reciben 304 sin que se consulte la caché ni la base de datos.
+ * {@code If-None-Match: *} solo responde 304 si existe la representación: una entrada en la
+ * caché o una respuesta 200 de la petición, nunca un error.
+ *
+ * Cada formato de {@link FormatosRespuesta} (JSON, CBOR, Smile) se guarda por separado: el
+ * formato que corresponde a la cabecera Accept forma parte de la clave y del ETag, y todas las
+ * respuestas llevan {@code Vary: Accept}. Una petición cuyo Accept no admite ninguno de esos
+ * formatos no pasa por la caché.
+ *
+ * Con réplica de lectura, un fallo cuyas etiquetas se invalidaron hace menos de
+ * {@code replica.retraso-maximo-ms} se lee de la primaria: así no se cachea ni se etiqueta con
+ * el ETag nuevo una respuesta de una réplica que aún no recibe la escritura.
+ *
+ * Las citas por paciente ({@code /cita/paciente/{id}}) y por odontólogo
+ * ({@code /cita/odontologo/{id}}) no pasan por aquí: llevan datos del paciente y cambian con
+ * cada reserva, así que no tienen ETag.
+ */
+@Component
+public class CacheRespuestasFilter extends OncePerRequestFilter {
+
+    private static final Pattern HORARIOS_POR_FECHA = Pattern.compile(
+            "^" + Pattern.quote(ApiConstants.URI_API_V1_HORARIO) + "/fecha/([0-9]{4}-[0-9]{2}-[0-9]{2})$");
+    private static final Pattern HORARIOS_POR_ODONTOLOGO = Pattern.compile(
+            "^" + Pattern.quote(ApiConstants.URI_API_V1_HORARIO) + "/odontologo/([0-9]{1,18})$");
+    private static final Pattern CITAS_POR_ODONTOLOGO = Pattern.compile(
+            "^" + Pattern.quote(ApiConstants.URI_API_V1_ODONTOLOGO) + "/([0-9]{1,18})/citas$");
+
+    private static final String NO_CACHE = "no-cache";
+
+    @Autowired
+    private CacheRespuestas cache;
+
+    @Value("${replica.retraso-maximo-ms:5000}")
+    private long retrasoReplicaMs;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"GET".equals(request.getMethod()) || etiquetas(ruta(request)) == null
+                || FormatosRespuesta.negociar(request.getHeader(HttpHeaders.ACCEPT)) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String ruta = ruta(request);
+        List<String> etiquetas = etiquetas(ruta);
+        MediaType formato = FormatosRespuesta.negociar(request.getHeader(HttpHeaders.ACCEPT));
+        String variante = MediaType.APPLICATION_JSON.equals(formato) ? null : formato.getSubtype();
+        String clave = request.getQueryString() == null ? ruta : ruta + "?" + request.getQueryString();
+        if (variante != null) {
+            clave = variante + " " + clave;
+        }
+
+        long marca = cache.marca(etiquetas);
+        String etag = cache.etag(marca, variante);
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (coincide(ifNoneMatch, etag)) {
+            noModificado(response, etag);
+            return;
+        }
+
+        CacheRespuestas.Entrada entrada = cache.obtener(clave);
+        if (entrada != null) {
+            if (comodin(ifNoneMatch)) {
+                noModificado(response, etag);
+                return;
+            }
+            response.setStatus(HttpStatus.OK.value());
+            response.setContentType(entrada.getContentType());
+            response.setContentLength(entrada.getCuerpo().length);
+            response.setHeader("X-Cache", "HIT");
+            response.setHeader(HttpHeaders.ETAG, etag);
+            response.setHeader(HttpHeaders.CACHE_CONTROL, NO_CACHE);
+            response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+            response.getOutputStream().write(entrada.getCuerpo());
+            return;
+        }
+
+        ContentCachingResponseWrapper envoltura = new ContentCachingResponseWrapper(response);
+        envoltura.setHeader("X-Cache", "MISS");
+        if (cache.invalidadaHaceMenosDe(etiquetas, TimeUnit.MILLISECONDS.toNanos(retrasoReplicaMs))) {
+            try (ConsistenciaLectura.Ambito ambito = ConsistenciaLectura.primaria()) {
+                chain.doFilter(request, envoltura);
+            }
+        } else {
+            chain.doFilter(request, envoltura);
+        }
+        if (envoltura.getStatus() == HttpStatus.OK.value() && envoltura.getContentType() != null
+                && formato.isCompatibleWith(MediaType.parseMediaType(envoltura.getContentType()))) {
+            cache.guardar(clave, etiquetas, marca, envoltura.getContentType(), envoltura.getContentAsByteArray());
+            if (comodin(ifNoneMatch)) {
+                envoltura.resetBuffer();
+                noModificado(envoltura, etag);
+            } else {
+                envoltura.setHeader(HttpHeaders.ETAG, etag);
+                envoltura.setHeader(HttpHeaders.CACHE_CONTROL, NO_CACHE);
+            }
+        }
+        envoltura.copyBodyToResponse();
+    }
+
+    private static void noModificado(HttpServletResponse response, String etag) {
+        response.setStatus(HttpStatus.NOT_MODIFIED.value());
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, NO_CACHE);
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+    }
+
+    /**
+     * Comparación débil de If-None-Match (RFC 9110) con un ETag: acepta listas y el prefijo W/.
+     * "*" no coincide aquí, porque depende de que exista la representación ({@link #comodin}).
+     */
+    private static boolean coincide(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidato : ifNoneMatch.split(",")) {
+            String valor = candidato.trim();
+            if (valor.startsWith("W/")) {
+                valor = valor.substring(2);
+            }
+            if (valor.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean comodin(String ifNoneMatch) {
+        return ifNoneMatch != null && ifNoneMatch.trim().equals("*");
+    }
+
+    private static String ruta(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    /**
+     * Etiquetas de invalidación de la ruta, o null si la ruta no se cachea.
+     */
+    private static List<String> etiquetas(String ruta) {
+        Matcher m = HORARIOS_POR_FECHA.matcher(ruta);
+        if (m.matches()) {
+            return List.of(CacheRespuestas.etiquetaFecha(m.group(1)));
+        }
+        m = HORARIOS_POR_ODONTOLOGO.matcher(ruta);
+        if (m.matches()) {
+            return List.of(CacheRespuestas.etiquetaOdontologo(Long.valueOf(m.group(1))));
+        }
+        m = CITAS_POR_ODONTOLOGO.matcher(ruta);
+        if (m.matches()) {
+            return List.of(CacheRespuestas.etiquetaOdontologo(Long.valueOf(m.group(1))));
+        }
+        return null;
+    }
+}
@@ -12,4 +12,7 @@ public final class ApiConstants {
 	public static final String URI_API_V1_HORARIO = URI_API_V1 + "horario";
 	public static final String URI_API_V1_CITA = URI_API_V1 + "cita";
 	public static final String URI_API_V1_USUARIO = URI_API_V1 + "usuario";
+
+	public static final String PAGE_SIZE_DEFAULT = "20";
+	public static final int PAGE_SIZE_MAX = 100;
 }
@@ -0,0 +1,41 @@
+package ec.webmarket.restful.common;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import ec.webmarket.restful.security.ApiResponseDTO;
+
+/**
+ * Traduce los cursores inválidos a respuestas HTTP 400, las excepciones de conflicto a HTTP 409
+ * y las de saturación a HTTP 503, con el formato de ApiResponseDTO.
+ */
+@RestControllerAdvice
+public class ApiExceptionHandler {
+
+	@ExceptionHandler(CursorInvalidoException.class)
+	public ResponseEntity<ApiResponseDTO<String>> handleCursorInvalido(CursorInvalidoException e) {
+		return new ResponseEntity<>(new ApiResponseDTO<>(false, e.getMessage()), HttpStatus.BAD_REQUEST);
+	}
+
+	@ExceptionHandler(ConflictException.class)
+	public ResponseEntity<ApiResponseDTO<String>> handleConflict(ConflictException e) {
+		return new ResponseEntity<>(new ApiResponseDTO<>(false, e.getMessage()), HttpStatus.CONFLICT);
+	}
+
+	@ExceptionHandler(DataIntegrityViolationException.class)
+	public ResponseEntity<ApiResponseDTO<String>> handleDataIntegrity(DataIntegrityViolationException e) {
+		return new ResponseEntity<>(new ApiResponseDTO<>(false, "El registro entra en conflicto con uno existente"),
+				HttpStatus.CONFLICT);
+	}
+
+	@ExceptionHandler(ServicioSaturadoException.class)
+	public ResponseEntity<ApiResponseDTO<String>> handleSaturado(ServicioSaturadoException e) {
+		return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+				.header(HttpHeaders.RETRY_AFTER, "1")
+				.body(new ApiResponseDTO<>(false, e.getMessage()));
+	}
+}
@@ -0,0 +1,13 @@
+package ec.webmarket.restful.common;
+
+/**
+ * Error de negocio que se responde con HTTP 409, por ejemplo cuando el horario
+ * solicitado ya fue tomado por otra cita.
+ */
+public class ConflictException extends ApiException {
+	private static final long serialVersionUID = 1L;
+
+	public ConflictException(String message) {
+		super(message);
+	}
+}
@@ -0,0 +1,13 @@
+package ec.webmarket.restful.common;
+
+/**
+ * Error que se responde con HTTP 400 cuando el cursor de paginación recibido no se puede
+ * decodificar o no corresponde a la consulta.
+ */
+public class CursorInvalidoException extends ApiException {
+	private static final long serialVersionUID = 1L;
+
+	public CursorInvalidoException() {
+		super("Cursor inválido");
+	}
+}
@@ -0,0 +1,91 @@
+package ec.webmarket.restful.common;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+
+/**
+ * Formatos binarios de las respuestas de la API, elegidos con la cabecera Accept:
+ * {@code application/cbor} y {@code application/x-jackson-smile}, además de JSON, que sigue
+ * siendo el formato por defecto (sin Accept, con comodines o con application/json).
+ * Los cuerpos de las peticiones se aceptan en los mismos formatos según su Content-Type.
+ *
+ * Los convertidores usan el ObjectMapper configurado por Spring Boot, así que los campos, las
+ * fechas y los nulos se escriben igual que en JSON. Smile escribe cada nombre de campo y cada
+ * texto corto repetido (estados, nombres, fechas) como referencia a su primera aparición, lo que
+ * reduce las listas largas de citas y horarios; CBOR se deja en su forma estándar para que lo
+ * lea cualquier decodificador.
+ */
+@Configuration
+public class FormatosRespuesta {
+
+    public static final MediaType SMILE = new MediaType("application", "x-jackson-smile");
+
+    /**
+     * Formatos que producen los controladores, en orden de preferencia ante un Accept ambiguo.
+     */
+    public static final List<MediaType> PRODUCIBLES = List.of(MediaType.APPLICATION_JSON, MediaType.APPLICATION_CBOR, SMILE);
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(smileFactory()).build());
+    }
+
+    /**
+     * Fábrica Smile con referencias a nombres de campo y a textos repetidos.
+     */
+    public static SmileFactory smileFactory() {
+        return SmileFactory.builder()
+                .enable(SmileGenerator.Feature.CHECK_SHARED_NAMES)
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .build();
+    }
+
+    /**
+     * Formato de {@link #PRODUCIBLES} que corresponde a una cabecera Accept: el primero aceptado
+     * con la mayor calidad. JSON si no hay cabecera.
+     * @param accept Valor de la cabecera Accept, o null.
+     * @return El formato elegido, o null si la cabecera no es válida o no acepta ninguno.
+     */
+    public static MediaType negociar(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return MediaType.APPLICATION_JSON;
+        }
+        List<MediaType> aceptados;
+        try {
+            aceptados = new ArrayList<>(MediaType.parseMediaTypes(accept));
+        } catch (InvalidMediaTypeException e) {
+            return null;
+        }
+        // Orden estable: a igual calidad se respeta el orden de la cabecera.
+        aceptados.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed());
+        for (MediaType aceptado : aceptados) {
+            if (aceptado.getQualityValue() == 0) {
+                break;
+            }
+            for (MediaType producible : PRODUCIBLES) {
+                if (aceptado.includes(producible)) {
+                    return producible;
+                }
+            }
+        }
+        return null;
+    }
+}
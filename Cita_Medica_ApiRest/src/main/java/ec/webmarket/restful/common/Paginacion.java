@@ -0,0 +1,125 @@
+package ec.webmarket.restful.common;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import ec.webmarket.restful.dto.v1.PaginaDTO;
+
+/**
+ * Utilidades para paginación por clave (keyset).
+ * El cursor es opaco para el cliente: codifica en Base64 los valores de la clave
+ * de ordenamiento del último elemento devuelto.
+ */
+public final class Paginacion {
+
+	private static final String VERSION = "v1";
+	private static final String SEPARADOR = "|";
+
+	private Paginacion() {
+	}
+
+	/**
+	 * Limita el tamaño solicitado a [1, PAGE_SIZE_MAX] y devuelve la primera página,
+	 * ya que el desplazamiento lo aporta el cursor y no un offset.
+	 */
+	public static Pageable limite(int size) {
+		int limite = Math.max(1, Math.min(size, ApiConstants.PAGE_SIZE_MAX));
+		return PageRequest.of(0, limite);
+	}
+
+	/**
+	 * Construye la página de respuesta a partir del Slice consultado.
+	 * @param slice Resultado de la consulta keyset.
+	 * @param mapper Conversión de cada entidad a DTO.
+	 * @param cursor Cálculo del cursor a partir de la última entidad.
+	 */
+	public static <E, D> PaginaDTO<D> pagina(Slice<E> slice, Function<E, D> mapper, Function<E, String> cursor) {
+		List<E> contenido = slice.getContent();
+		List<D> elementos = contenido.stream().map(mapper).collect(Collectors.toList());
+		String siguiente = slice.hasNext() ? cursor.apply(contenido.get(contenido.size() - 1)) : null;
+		return new PaginaDTO<>(elementos, siguiente, slice.hasNext());
+	}
+
+	/**
+	 * Codifica los valores de la clave en un cursor opaco.
+	 */
+	public static String cursor(Object... valores) {
+		StringBuilder sb = new StringBuilder(VERSION);
+		for (Object valor : valores) {
+			sb.append(SEPARADOR).append(valor);
+		}
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(sb.toString().getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Decodifica un cursor y valida que tenga el número de partes esperado.
+	 * @throws CursorInvalidoException si el cursor no es válido.
+	 */
+	public static Cursor leer(String cursor, int partes) {
+		try {
+			String texto = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+			String[] valores = texto.split("\\" + SEPARADOR, -1);
+			if (valores.length != partes + 1 || !VERSION.equals(valores[0])) {
+				throw new CursorInvalidoException();
+			}
+			return new Cursor(valores);
+		} catch (IllegalArgumentException e) {
+			throw new CursorInvalidoException();
+		}
+	}
+
+	/**
+	 * Valores decodificados de un cursor; el índice 0 es la primera columna de la clave.
+	 */
+	public static final class Cursor {
+
+		private final String[] valores;
+
+		private Cursor(String[] valores) {
+			this.valores = valores;
+		}
+
+		public LocalDate fecha(int i) {
+			try {
+				return LocalDate.parse(valores[i + 1]);
+			} catch (DateTimeParseException e) {
+				throw new CursorInvalidoException();
+			}
+		}
+
+		public LocalTime hora(int i) {
+			try {
+				return LocalTime.parse(valores[i + 1]);
+			} catch (DateTimeParseException e) {
+				throw new CursorInvalidoException();
+			}
+		}
+
+		public LocalDateTime fechaHora(int i) {
+			try {
+				return LocalDateTime.parse(valores[i + 1]);
+			} catch (DateTimeParseException e) {
+				throw new CursorInvalidoException();
+			}
+		}
+
+		public Long id(int i) {
+			try {
+				return Long.valueOf(valores[i + 1]);
+			} catch (NumberFormatException e) {
+				throw new CursorInvalidoException();
+			}
+		}
+	}
+}
@@ -0,0 +1,13 @@
+package ec.webmarket.restful.common;
+
+/**
+ * Error que se responde con HTTP 503 cuando no se obtuvo acceso a la base de datos
+ * dentro del tiempo de espera del bulkhead.
+ */
+public class ServicioSaturadoException extends ApiException {
+	private static final long serialVersionUID = 1L;
+
+	public ServicioSaturadoException(String message) {
+		super(message);
+	}
+}
@@ -0,0 +1,35 @@
+package ec.webmarket.restful.common;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Agrega {@code Vary: Accept} a las respuestas con cuerpo: el mismo recurso se sirve en JSON,
+ * CBOR o Smile según la cabecera Accept ({@link FormatosRespuesta}), y un proxy o navegador no
+ * debe devolver una representación guardada a un cliente que pidió otra.
+ */
+@RestControllerAdvice
+public class VaryAcceptAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+            Class<? extends HttpMessageConverter<?>> selectedConverterType, ServerHttpRequest request,
+            ServerHttpResponse response) {
+        HttpHeaders cabeceras = response.getHeaders();
+        if (!cabeceras.getVary().contains(HttpHeaders.ACCEPT)) {
+            cabeceras.add(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        }
+        return body;
+    }
+}
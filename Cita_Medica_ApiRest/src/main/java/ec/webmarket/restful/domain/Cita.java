@@ -4,12 +4,19 @@ import java.time.LocalDateTime;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.NamedSubgraph;
 import jakarta.persistence.OneToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -20,6 +27,28 @@ import lombok.Setter;
 @Getter
 @Setter
 @Entity
+// Plan de carga de los finders que devuelven citas completas: paciente, odontólogo y horario
+// con sus usuarios en una sola consulta.
+@NamedEntityGraph(name = "Cita.detalle", attributeNodes = {
+    @NamedAttributeNode(value = "paciente", subgraph = "conUsuario"),
+    @NamedAttributeNode(value = "odontologo", subgraph = "conUsuario"),
+    @NamedAttributeNode(value = "horario", subgraph = "horario")
+}, subgraphs = {
+    @NamedSubgraph(name = "conUsuario", attributeNodes = @NamedAttributeNode("usuario")),
+    @NamedSubgraph(name = "horario", attributeNodes = @NamedAttributeNode(value = "odontologo", subgraph = "conUsuario"))
+})
+@Table(uniqueConstraints = {
+    // Un odontólogo no atiende dos citas a la misma hora. El índice también sirve la
+    // paginación por clave (fechayHora, id) y la exportación por rango de las citas de un odontólogo.
+    @UniqueConstraint(name = "uk_cita_odontologo_fecha", columnNames = { "odontologo_id", "fechayHora" })
+}, indexes = {
+    // Paginación por clave (fechayHora, id) de las citas de un paciente.
+    @Index(name = "idx_cita_paciente_fecha", columnList = "paciente_id, fechayHora, id"),
+    // Búsquedas por fecha y hora, por estado y por motivo (CitaRepository.findByFechayHora/Estado/Motivo).
+    @Index(name = "idx_cita_fecha", columnList = "fechayHora"),
+    @Index(name = "idx_cita_estado", columnList = "estado, fechayHora"),
+    @Index(name = "idx_cita_motivo", columnList = "motivo")
+})
 public class Cita {
 
     /**
@@ -35,7 +64,7 @@ public class Cita {
      * Paciente que solicita la cita.
      * Relación muchos a uno con la entidad Paciente.
      */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "paciente_id", nullable = false)
     private Paciente paciente;
 
@@ -43,7 +72,7 @@ public class Cita {
      * Odontólogo que atenderá la cita.
      * Relación muchos a uno con la entidad Odontólogo.
      */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "odontologo_id", nullable = false)
     private Odontologo odontologo;
 
@@ -51,28 +80,26 @@ public class Cita {
      * Horario asignado a la cita.
      * Relación uno a uno con la entidad Horario.
      */
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "horario_id", nullable = false)
     private Horario horario;
 
     /**
      * Fecha y hora exacta de la cita.
-     * Debe ser única para evitar solapamientos.
+     * Es única por odontólogo (uk_cita_odontologo_fecha) para evitar solapamientos.
      */
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false)
     private LocalDateTime fechayHora;
 
     /**
      * Estado actual de la cita (Ejemplo: "Pendiente", "Confirmada", "Cancelada").
-     * Debe ser único, pero esto podría causar problemas en la base de datos.
      */
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false)
     private String estado;
 
     /**
      * Motivo de la cita, indicando la razón de la consulta.
-     * Debe ser único, lo cual podría no ser adecuado para esta propiedad.
      */
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false)
     private String motivo;
 }
@@ -0,0 +1,99 @@
+package ec.webmarket.restful.domain;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Cita pasada movida a la tabla de archivo junto con su horario por {@code ArchivadorHistorico}.
+ * Tiene las mismas columnas y el mismo ID que tenía en {@link Cita}; solo se lee.
+ * El horario se guarda como ID: está en horario_archivo, no en horario.
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "cita_archivo", indexes = {
+    // Exportación por rango de las citas de un odontólogo, ordenada por (fechayHora, id).
+    @Index(name = "idx_cita_archivo_odontologo_fecha", columnList = "odontologo_id, fechayHora, id"),
+    // Listado por rango de las citas de un paciente, con la misma clave.
+    @Index(name = "idx_cita_archivo_paciente_fecha", columnList = "paciente_id, fechayHora, id"),
+    // Búsquedas por fecha y hora.
+    @Index(name = "idx_cita_archivo_fecha", columnList = "fechayHora")
+})
+public class CitaArchivada {
+
+    /**
+     * Identificador que tenía la cita en la tabla cita.
+     */
+    @Id
+    @Column(updatable = false, nullable = false)
+    private Long id;
+
+    /**
+     * Paciente de la cita.
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "paciente_id", nullable = false)
+    private Paciente paciente;
+
+    /**
+     * Odontólogo de la cita.
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "odontologo_id", nullable = false)
+    private Odontologo odontologo;
+
+    /**
+     * ID del horario de la cita, archivado en horario_archivo.
+     */
+    @Column(name = "horario_id", nullable = false)
+    private Long horarioId;
+
+    /**
+     * Fecha y hora de la cita.
+     */
+    @Column(nullable = false)
+    private LocalDateTime fechayHora;
+
+    /**
+     * Estado de la cita al archivarse.
+     */
+    @Column(nullable = false)
+    private String estado;
+
+    /**
+     * Motivo de la cita.
+     */
+    @Column(nullable = false)
+    private String motivo;
+
+    /**
+     * Copia no administrada como {@link Cita}, para reutilizar el mapeo y la exportación de las
+     * citas vigentes.
+     * @param horario Horario de la cita, o null para dejar solo su ID.
+     */
+    public Cita aCita(Horario horario) {
+        if (horario == null) {
+            horario = new Horario();
+            horario.setId(horarioId);
+        }
+        Cita cita = new Cita();
+        cita.setId(id);
+        cita.setPaciente(paciente);
+        cita.setOdontologo(odontologo);
+        cita.setHorario(horario);
+        cita.setFechayHora(fechayHora);
+        cita.setEstado(estado);
+        cita.setMotivo(motivo);
+        return cita;
+    }
+}
@@ -0,0 +1,68 @@
+package ec.webmarket.restful.domain;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Resumen de los horarios de un odontólogo en un día: cuántos hay y cuántos siguen libres.
+ * Se mantiene en la misma transacción que cada escritura de horarios y citas (ver
+ * {@code ResumenDisponibilidad}); la clave primaria (odontologo_id, fecha) permite leer un rango
+ * de días de un odontólogo con un solo recorrido de índice.
+ */
+@Getter
+@Setter
+@Entity
+@IdClass(DisponibilidadDiaria.Clave.class)
+public class DisponibilidadDiaria {
+
+    /**
+     * Odontólogo al que pertenecen los horarios.
+     */
+    @Id
+    @Column(nullable = false)
+    private Long odontologoId;
+
+    /**
+     * Día de los horarios.
+     */
+    @Id
+    @Column(nullable = false)
+    private LocalDate fecha;
+
+    /**
+     * Horarios del día que siguen disponibles.
+     */
+    @Column(nullable = false)
+    private int libres;
+
+    /**
+     * Total de horarios del día.
+     */
+    @Column(nullable = false)
+    private int total;
+
+    /**
+     * Clave compuesta (odontologoId, fecha).
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Clave implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private Long odontologoId;
+
+        private LocalDate fecha;
+    }
+}
@@ -5,11 +5,18 @@ import java.time.LocalTime;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
-import jakarta.persistence.OneToOne;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.NamedSubgraph;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -19,6 +26,18 @@ import lombok.Setter;
 @Getter
 @Setter
 @Entity
+// Plan de carga de los finders que devuelven horarios completos: odontólogo y su usuario.
+@NamedEntityGraph(name = "Horario.odontologo", attributeNodes = @NamedAttributeNode(value = "odontologo", subgraph = "conUsuario"),
+    subgraphs = @NamedSubgraph(name = "conUsuario", attributeNodes = @NamedAttributeNode("usuario")))
+@Table(uniqueConstraints = {
+    // Un odontólogo no tiene dos horarios que empiecen a la misma hora; sirve también los
+    // listados y el índice de agenda por odontólogo, ordenados por (fecha, horaInicio).
+    @UniqueConstraint(name = "uk_horario_odontologo_inicio", columnNames = { "odontologo_id", "fecha", "horaInicio" })
+}, indexes = {
+    // Paginación por clave (fecha, horaInicio, id) por disponibilidad y por fecha.
+    @Index(name = "idx_horario_disponibilidad_fecha", columnList = "disponibilidad, fecha, horaInicio, id"),
+    @Index(name = "idx_horario_fecha_hora", columnList = "fecha, horaInicio, id")
+})
 public class Horario {
 
     /**
@@ -60,9 +79,9 @@ public class Horario {
 
     /**
      * Odontólogo al que pertenece este horario.
-     * Relación uno a uno con la entidad Odontólogo.
+     * Relación muchos a uno con la entidad Odontólogo: un odontólogo publica varios horarios.
      */
-    @OneToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "odontologo_id", nullable = false)
     private Odontologo odontologo;  
 }
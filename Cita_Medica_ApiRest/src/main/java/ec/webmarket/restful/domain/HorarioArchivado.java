@@ -0,0 +1,81 @@
+package ec.webmarket.restful.domain;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Horario pasado movido a la tabla de archivo por {@code ArchivadorHistorico}.
+ * Tiene las mismas columnas y el mismo ID que tenía en {@link Horario}; solo se lee.
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "horario_archivo", indexes = {
+    // Consultas por fecha, paginadas por (horaInicio, id), y fecha máxima archivada.
+    @Index(name = "idx_horario_archivo_fecha_hora", columnList = "fecha, horaInicio, id")
+})
+public class HorarioArchivado {
+
+    /**
+     * Identificador que tenía el horario en la tabla horario.
+     */
+    @Id
+    @Column(updatable = false, nullable = false)
+    private Long id;
+
+    /**
+     * Fecha del horario.
+     */
+    @Column(nullable = false)
+    private LocalDate fecha;
+
+    /**
+     * Hora de inicio del horario.
+     */
+    @Column(nullable = false)
+    private LocalTime horaInicio;
+
+    /**
+     * Hora de finalización del horario.
+     */
+    @Column(nullable = false)
+    private LocalTime horafinal;
+
+    /**
+     * Disponibilidad del horario al archivarse.
+     */
+    @Column(nullable = false)
+    private Boolean disponibilidad;
+
+    /**
+     * Odontólogo al que pertenecía el horario.
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "odontologo_id", nullable = false)
+    private Odontologo odontologo;
+
+    /**
+     * Copia no administrada como {@link Horario}, para reutilizar el mapeo a DTO de los horarios vigentes.
+     */
+    public Horario aHorario() {
+        Horario horario = new Horario();
+        horario.setId(id);
+        horario.setFecha(fecha);
+        horario.setHoraInicio(horaInicio);
+        horario.setHorafinal(horafinal);
+        horario.setDisponibilidad(disponibilidad);
+        horario.setOdontologo(odontologo);
+        return horario;
+    }
+}
@@ -2,12 +2,19 @@ package ec.webmarket.restful.domain;
 
 import java.time.LocalDate;
 import jakarta.persistence.CascadeType;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
 import jakarta.persistence.OneToOne;
 import lombok.Getter;
 import lombok.Setter;
@@ -18,6 +25,9 @@ import lombok.Setter;
 @Getter
 @Setter
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "odontologo")
+@NamedEntityGraph(name = "Odontologo.usuario", attributeNodes = @NamedAttributeNode("usuario"))
 public class Odontologo {
 
     /**
@@ -73,7 +83,7 @@ public class Odontologo {
      * Un odontólogo tiene asociado un usuario en el sistema.
      * Se utiliza `CascadeType.ALL` para que los cambios en `Odontologo` afecten a `Usuario`.
      */
-    @OneToOne(cascade = CascadeType.ALL)
+    @OneToOne(cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @JoinColumn(name = "usuario_id", nullable = false, unique = true)
     private Usuario usuario;
 }
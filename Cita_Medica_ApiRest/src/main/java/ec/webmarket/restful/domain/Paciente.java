@@ -1,6 +1,10 @@
 package ec.webmarket.restful.domain;
 
 import java.time.LocalDate;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
@@ -18,6 +22,9 @@ import jakarta.persistence.*;
 @Getter
 @Setter
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "paciente")
+@NamedEntityGraph(name = "Paciente.usuario", attributeNodes = @NamedAttributeNode("usuario"))
 public class Paciente {
 
     /**
@@ -79,7 +86,7 @@ public class Paciente {
      * Un paciente tiene asociado un usuario en el sistema.
      * Se utiliza `CascadeType.ALL` para que los cambios en `Paciente` afecten a `Usuario`.
      */
-    @OneToOne(cascade = CascadeType.ALL)
+    @OneToOne(cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @JoinColumn(name = "usuario_id", nullable = false, unique = true)
     private Usuario usuario;
 }
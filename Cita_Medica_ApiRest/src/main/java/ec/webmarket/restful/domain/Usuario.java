@@ -1,5 +1,8 @@
 package ec.webmarket.restful.domain;
 
+import org.hibernate.annotations.CacheLayout;
+import org.hibernate.annotations.QueryCacheLayout;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
@@ -11,10 +14,13 @@ import lombok.Setter;
 /**
  * Representa un usuario dentro del sistema.
  * Un usuario puede ser un odontólogo o un paciente.
+ * No usa la caché de segundo nivel para no retener la clave en memoria; en la caché de
+ * consultas (búsquedas de odontólogo y paciente que traen su usuario) solo se guarda el ID.
  */
 @Getter
 @Setter
 @Entity
+@QueryCacheLayout(layout = CacheLayout.SHALLOW)
 public class Usuario {
 
     /**
@@ -0,0 +1,36 @@
+package ec.webmarket.restful.dto.v1;
+
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO (Data Transfer Object) con lo mínimo de una cita próxima para programar sus recordatorios.
+ * Se construye directamente en la consulta JPQL.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CitaProximaDTO {
+
+    /**
+     * Identificador de la cita.
+     */
+    private Long id;
+
+    /**
+     * Fecha y hora de la cita.
+     */
+    private LocalDateTime fechayHora;
+
+    /**
+     * Paciente de la cita.
+     */
+    private Long pacienteId;
+
+    /**
+     * Odontólogo de la cita.
+     */
+    private Long odontologoId;
+}
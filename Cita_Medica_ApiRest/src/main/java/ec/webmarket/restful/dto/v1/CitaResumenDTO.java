@@ -0,0 +1,72 @@
+package ec.webmarket.restful.dto.v1;
+
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO (Data Transfer Object) de solo lectura para los listados de citas.
+ * Contiene únicamente las columnas que necesita una vista de lista; se construye directamente
+ * en la consulta JPQL, sin cargar las entidades Paciente, Odontologo, Horario ni Usuario.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CitaResumenDTO {
+
+    /**
+     * Identificador único de la cita.
+     */
+    private Long id;
+
+    /**
+     * Fecha y hora de la cita.
+     */
+    private LocalDateTime fechayHora;
+
+    /**
+     * Estado de la cita.
+     */
+    private String estado;
+
+    /**
+     * Motivo de la cita.
+     */
+    private String motivo;
+
+    /**
+     * Identificador del horario reservado.
+     */
+    private Long horarioId;
+
+    /**
+     * Identificador del paciente.
+     */
+    private Long pacienteId;
+
+    /**
+     * Nombre del paciente.
+     */
+    private String pacienteNombre;
+
+    /**
+     * Apellido del paciente.
+     */
+    private String pacienteApellido;
+
+    /**
+     * Identificador del odontólogo.
+     */
+    private Long odontologoId;
+
+    /**
+     * Nombre del odontólogo.
+     */
+    private String odontologoNombre;
+
+    /**
+     * Apellido del odontólogo.
+     */
+    private String odontologoApellido;
+}
@@ -0,0 +1,31 @@
+package ec.webmarket.restful.dto.v1;
+
+import java.time.LocalDate;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO (Data Transfer Object) con los horarios libres y totales de un odontólogo en un día.
+ * Los días sin horarios no se incluyen en la respuesta.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DisponibilidadDiaDTO {
+
+    /**
+     * Día consultado.
+     */
+    private LocalDate fecha;
+
+    /**
+     * Horarios del día que siguen disponibles.
+     */
+    private int libres;
+
+    /**
+     * Total de horarios del día.
+     */
+    private int total;
+}
@@ -0,0 +1,26 @@
+package ec.webmarket.restful.dto.v1;
+
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO (Data Transfer Object) para una franja continua de tiempo libre de un odontólogo.
+ * Se forma uniendo horarios disponibles y sin cita que son contiguos.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FranjaLibreDTO {
+
+    /**
+     * Inicio de la franja libre.
+     */
+    private LocalDateTime inicio;
+
+    /**
+     * Fin de la franja libre.
+     */
+    private LocalDateTime fin;
+}
@@ -0,0 +1,58 @@
+package ec.webmarket.restful.dto.v1;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO (Data Transfer Object) de solo lectura para los listados de horarios.
+ * Se construye directamente en la consulta JPQL con las columnas del horario y el nombre
+ * del odontólogo, sin cargar las entidades Odontologo ni Usuario.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HorarioResumenDTO {
+
+    /**
+     * Identificador único del horario.
+     */
+    private Long id;
+
+    /**
+     * Fecha en la que está programado el horario.
+     */
+    private LocalDate fecha;
+
+    /**
+     * Hora de inicio del horario.
+     */
+    private LocalTime horaInicio;
+
+    /**
+     * Hora de finalización del horario.
+     */
+    private LocalTime horafinal;
+
+    /**
+     * Indica si el horario está disponible para agendar citas.
+     */
+    private Boolean disponibilidad;
+
+    /**
+     * Identificador del odontólogo.
+     */
+    private Long odontologoId;
+
+    /**
+     * Nombre del odontólogo.
+     */
+    private String odontologoNombre;
+
+    /**
+     * Apellido del odontólogo.
+     */
+    private String odontologoApellido;
+}
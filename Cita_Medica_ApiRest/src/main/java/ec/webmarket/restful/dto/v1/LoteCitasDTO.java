@@ -0,0 +1,23 @@
+package ec.webmarket.restful.dto.v1;
+
+import java.util.List;
+import lombok.Data;
+
+/**
+ * DTO (Data Transfer Object) para reservar varias citas en una sola petición,
+ * por ejemplo las sesiones de un tratamiento o las limpiezas periódicas de un paciente.
+ */
+@Data
+public class LoteCitasDTO {
+
+    /**
+     * Citas a reservar; cada una requiere horario y paciente con ID, estado y motivo.
+     */
+    private List<CitaDTO> citas;
+
+    /**
+     * Modo del lote: {@code false} (por defecto) crea todas las citas o ninguna;
+     * {@code true} crea las válidas y rechaza el resto.
+     */
+    private boolean parcial;
+}
@@ -0,0 +1,31 @@
+package ec.webmarket.restful.dto.v1;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO (Data Transfer Object) para una página de resultados con paginación por cursor.
+ * Para pedir la página siguiente se envía {@code cursorSiguiente} en el parámetro {@code cursor}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaginaDTO<T> {
+
+    /**
+     * Elementos de la página actual.
+     */
+    private List<T> elementos;
+
+    /**
+     * Cursor opaco para obtener la página siguiente; null si no hay más resultados.
+     */
+    private String cursorSiguiente;
+
+    /**
+     * Indica si existen más resultados después de esta página.
+     */
+    private boolean haySiguiente;
+}
@@ -0,0 +1,52 @@
+package ec.webmarket.restful.dto.v1;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import lombok.Data;
+
+/**
+ * DTO (Data Transfer Object) para una plantilla semanal de horarios.
+ * El servidor la expande en un horario por cada intervalo de {@code duracionMinutos}
+ * entre {@code horaInicio} y {@code horaFin}, para cada día de la semana indicado
+ * dentro del rango de fechas.
+ */
+@Data
+public class PlantillaHorarioDTO {
+
+    /**
+     * Identificador del odontólogo al que pertenecen los horarios.
+     */
+    private Long odontologoId;
+
+    /**
+     * Días de la semana en los que atiende (ejemplo: "MONDAY", "WEDNESDAY").
+     */
+    private List<DayOfWeek> dias;
+
+    /**
+     * Hora de inicio de la jornada.
+     */
+    private LocalTime horaInicio;
+
+    /**
+     * Hora de fin de la jornada; el último horario termina a esta hora o antes.
+     */
+    private LocalTime horaFin;
+
+    /**
+     * Duración de cada horario en minutos.
+     */
+    private Integer duracionMinutos;
+
+    /**
+     * Primera fecha del rango (inclusive).
+     */
+    private LocalDate fechaDesde;
+
+    /**
+     * Última fecha del rango (inclusive).
+     */
+    private LocalDate fechaHasta;
+}
@@ -0,0 +1,34 @@
+package ec.webmarket.restful.dto.v1;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO (Data Transfer Object) con el resultado de una cita dentro de un lote.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadoCitaDTO {
+
+    /**
+     * Posición de la cita en el lote recibido, desde 0.
+     */
+    private int indice;
+
+    /**
+     * Identificador del horario solicitado.
+     */
+    private Long horarioId;
+
+    /**
+     * Identificador de la cita creada, o null si no se creó.
+     */
+    private Long citaId;
+
+    /**
+     * Motivo por el que no se creó la cita, o null si se creó.
+     */
+    private String error;
+}
@@ -0,0 +1,35 @@
+package ec.webmarket.restful.dto.v1;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO (Data Transfer Object) con el resultado de reservar un lote de citas.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadoLoteCitasDTO {
+
+    /**
+     * Modo en que se procesó el lote: true si fue parcial, false si fue todo o nada.
+     */
+    private boolean parcial;
+
+    /**
+     * Número de citas creadas.
+     */
+    private int creadas;
+
+    /**
+     * Número de citas rechazadas.
+     */
+    private int rechazadas;
+
+    /**
+     * Resultado de cada cita, en el mismo orden del lote recibido.
+     */
+    private List<ResultadoCitaDTO> resultados;
+}
@@ -0,0 +1,35 @@
+package ec.webmarket.restful.dto.v1;
+
+import java.time.LocalDate;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO (Data Transfer Object) con el resultado de generar horarios desde una plantilla.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadoPlantillaDTO {
+
+    /**
+     * Identificador del odontólogo.
+     */
+    private Long odontologoId;
+
+    /**
+     * Número de horarios creados.
+     */
+    private int creados;
+
+    /**
+     * Primera fecha del rango generado.
+     */
+    private LocalDate fechaDesde;
+
+    /**
+     * Última fecha del rango generado.
+     */
+    private LocalDate fechaHasta;
+}
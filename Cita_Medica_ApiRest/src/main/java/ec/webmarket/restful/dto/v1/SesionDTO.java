@@ -0,0 +1,38 @@
+package ec.webmarket.restful.dto.v1;
+
+import lombok.Data;
+
+/**
+ * DTO (Data Transfer Object) devuelto por el login.
+ * Contiene el token de sesión que el cliente envía en la cabecera {@code Authorization: Bearer}
+ * en lugar de reenviar sus credenciales; nunca incluye la clave.
+ */
+@Data
+public class SesionDTO {
+
+    /**
+     * Token de sesión firmado.
+     */
+    private String token;
+
+    /**
+     * Instante de expiración del token, en milisegundos desde la época Unix.
+     */
+    private Long expira;
+
+    /**
+     * Identificador del usuario autenticado.
+     */
+    private Long usuarioId;
+
+    /**
+     * Nombre de usuario.
+     */
+    private String nombreUsuario;
+
+    /**
+     * Tipo de usuario:
+     * true = Odontólogo, false = Paciente.
+     */
+    private Boolean tipoUsuario;
+}
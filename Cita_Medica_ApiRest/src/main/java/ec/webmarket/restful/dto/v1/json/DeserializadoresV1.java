@@ -0,0 +1,321 @@
+package ec.webmarket.restful.dto.v1.json;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.JsonTokenId;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.deser.ContextualDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import ec.webmarket.restful.dto.v1.CitaDTO;
+import ec.webmarket.restful.dto.v1.HorarioDTO;
+import ec.webmarket.restful.dto.v1.OdontologoDTO;
+import ec.webmarket.restful.dto.v1.PacienteDTO;
+import ec.webmarket.restful.dto.v1.UsuarioDTO;
+import ec.webmarket.restful.security.ApiResponseDTO;
+
+/**
+ * Deserializadores de los DTO que llegan en los cuerpos de las peticiones (cita, horario,
+ * paciente, odontólogo y usuario) y de ApiResponseDTO. Leen los campos conocidos directamente
+ * del parser; los tokens que no son la forma habitual de un campo (un número como texto, una
+ * fecha en otro formato) se delegan al deserializador estándar de su tipo, y los campos
+ * desconocidos se tratan con {@link DeserializationContext#handleUnknownProperty}, de modo que
+ * las coerciones, {@code FAIL_ON_UNKNOWN_PROPERTIES} y los errores son los de siempre.
+ */
+final class DeserializadoresV1 {
+
+    static final UsuarioDeserializer USUARIO_DTO = new UsuarioDeserializer();
+    static final PacienteDeserializer PACIENTE_DTO = new PacienteDeserializer();
+    static final OdontologoDeserializer ODONTOLOGO_DTO = new OdontologoDeserializer();
+    static final HorarioDeserializer HORARIO_DTO = new HorarioDeserializer();
+    static final CitaDeserializer CITA_DTO = new CitaDeserializer();
+
+    private DeserializadoresV1() {
+    }
+
+    /**
+     * Recorre los campos de un objeto y asigna cada uno con {@link #campo}.
+     */
+    abstract static class ObjetoDeserializer<T> extends StdDeserializer<T> {
+
+        private static final long serialVersionUID = 1L;
+
+        ObjetoDeserializer(Class<T> tipo) {
+            super(tipo);
+        }
+
+        abstract T crear();
+
+        /**
+         * Lee el valor del campo, con el parser en su primer token.
+         * @return false si el campo no es de la clase.
+         */
+        abstract boolean campo(JsonParser p, DeserializationContext ctxt, T dto, String nombre) throws IOException;
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            JsonToken token = p.currentToken();
+            if (token == JsonToken.START_OBJECT) {
+                token = p.nextToken();
+            } else if (token != JsonToken.FIELD_NAME && token != JsonToken.END_OBJECT) {
+                return (T) ctxt.handleUnexpectedToken(handledType(), p);
+            }
+            T dto = crear();
+            for (; token == JsonToken.FIELD_NAME; token = p.nextToken()) {
+                String nombre = p.currentName();
+                p.nextToken();
+                if (!campo(p, ctxt, dto, nombre)) {
+                    ctxt.handleUnknownProperty(p, this, dto, nombre);
+                }
+            }
+            return dto;
+        }
+    }
+
+    static final class UsuarioDeserializer extends ObjetoDeserializer<UsuarioDTO> {
+
+        private static final long serialVersionUID = 1L;
+
+        UsuarioDeserializer() {
+            super(UsuarioDTO.class);
+        }
+
+        @Override
+        UsuarioDTO crear() {
+            return new UsuarioDTO();
+        }
+
+        @Override
+        boolean campo(JsonParser p, DeserializationContext ctxt, UsuarioDTO usuario, String nombre) throws IOException {
+            switch (nombre) {
+                case "id" -> usuario.setId(numero(p, ctxt));
+                case "nombreUsuario" -> usuario.setNombreUsuario(texto(p, ctxt));
+                case "clave" -> usuario.setClave(texto(p, ctxt));
+                case "tipoUsuario" -> usuario.setTipoUsuario(logico(p, ctxt));
+                default -> {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    static final class PacienteDeserializer extends ObjetoDeserializer<PacienteDTO> {
+
+        private static final long serialVersionUID = 1L;
+
+        PacienteDeserializer() {
+            super(PacienteDTO.class);
+        }
+
+        @Override
+        PacienteDTO crear() {
+            return new PacienteDTO();
+        }
+
+        @Override
+        boolean campo(JsonParser p, DeserializationContext ctxt, PacienteDTO paciente, String nombre) throws IOException {
+            switch (nombre) {
+                case "id" -> paciente.setId(numero(p, ctxt));
+                case "cedula" -> paciente.setCedula(texto(p, ctxt));
+                case "nombre" -> paciente.setNombre(texto(p, ctxt));
+                case "apellido" -> paciente.setApellido(texto(p, ctxt));
+                case "telefono" -> paciente.setTelefono(texto(p, ctxt));
+                case "email" -> paciente.setEmail(texto(p, ctxt));
+                case "fechaNacimiento" -> paciente.setFechaNacimiento(FormatoIso.leerFecha(p, ctxt));
+                case "direccion" -> paciente.setDireccion(texto(p, ctxt));
+                case "usuario" -> paciente.setUsuario(objeto(p, ctxt, USUARIO_DTO));
+                default -> {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    static final class OdontologoDeserializer extends ObjetoDeserializer<OdontologoDTO> {
+
+        private static final long serialVersionUID = 1L;
+
+        OdontologoDeserializer() {
+            super(OdontologoDTO.class);
+        }
+
+        @Override
+        OdontologoDTO crear() {
+            return new OdontologoDTO();
+        }
+
+        @Override
+        boolean campo(JsonParser p, DeserializationContext ctxt, OdontologoDTO odontologo, String nombre) throws IOException {
+            switch (nombre) {
+                case "id" -> odontologo.setId(numero(p, ctxt));
+                case "cedula" -> odontologo.setCedula(texto(p, ctxt));
+                case "nombre" -> odontologo.setNombre(texto(p, ctxt));
+                case "apellido" -> odontologo.setApellido(texto(p, ctxt));
+                case "telefono" -> odontologo.setTelefono(texto(p, ctxt));
+                case "email" -> odontologo.setEmail(texto(p, ctxt));
+                case "usuario" -> odontologo.setUsuario(objeto(p, ctxt, USUARIO_DTO));
+                default -> {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    static final class HorarioDeserializer extends ObjetoDeserializer<HorarioDTO> {
+
+        private static final long serialVersionUID = 1L;
+
+        HorarioDeserializer() {
+            super(HorarioDTO.class);
+        }
+
+        @Override
+        HorarioDTO crear() {
+            return new HorarioDTO();
+        }
+
+        @Override
+        boolean campo(JsonParser p, DeserializationContext ctxt, HorarioDTO horario, String nombre) throws IOException {
+            switch (nombre) {
+                case "id" -> horario.setId(numero(p, ctxt));
+                case "fecha" -> horario.setFecha(FormatoIso.leerFecha(p, ctxt));
+                case "horaInicio" -> horario.setHoraInicio(FormatoIso.leerHora(p, ctxt));
+                case "horafinal" -> horario.setHorafinal(FormatoIso.leerHora(p, ctxt));
+                case "disponibilidad" -> horario.setDisponibilidad(logico(p, ctxt));
+                case "odontologo" -> horario.setOdontologo(objeto(p, ctxt, ODONTOLOGO_DTO));
+                default -> {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    static final class CitaDeserializer extends ObjetoDeserializer<CitaDTO> {
+
+        private static final long serialVersionUID = 1L;
+
+        CitaDeserializer() {
+            super(CitaDTO.class);
+        }
+
+        @Override
+        CitaDTO crear() {
+            return new CitaDTO();
+        }
+
+        @Override
+        boolean campo(JsonParser p, DeserializationContext ctxt, CitaDTO cita, String nombre) throws IOException {
+            switch (nombre) {
+                case "id" -> cita.setId(numero(p, ctxt));
+                case "paciente" -> cita.setPaciente(objeto(p, ctxt, PACIENTE_DTO));
+                case "odontologo" -> cita.setOdontologo(objeto(p, ctxt, ODONTOLOGO_DTO));
+                case "horario" -> cita.setHorario(objeto(p, ctxt, HORARIO_DTO));
+                case "fechayHora" -> cita.setFechayHora(FormatoIso.leerFechaHora(p, ctxt));
+                case "estado" -> cita.setEstado(texto(p, ctxt));
+                case "motivo" -> cita.setMotivo(texto(p, ctxt));
+                default -> {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * ApiResponseDTO no tiene constructor sin argumentos; el resultado se lee con el
+     * deserializador del tipo indicado en ApiResponseDTO&lt;T&gt;, que se resuelve una vez por tipo.
+     */
+    @SuppressWarnings("rawtypes")
+    static final class RespuestaDeserializer extends StdDeserializer<ApiResponseDTO> implements ContextualDeserializer {
+
+        private static final long serialVersionUID = 1L;
+
+        private final JsonDeserializer<Object> resultado;
+
+        RespuestaDeserializer() {
+            this(null);
+        }
+
+        private RespuestaDeserializer(JsonDeserializer<Object> resultado) {
+            super(ApiResponseDTO.class);
+            this.resultado = resultado;
+        }
+
+        @Override
+        public JsonDeserializer<?> createContextual(DeserializationContext ctxt, BeanProperty propiedad)
+                throws JsonMappingException {
+            JavaType tipo = ctxt.getContextualType();
+            if (tipo == null && propiedad != null) {
+                tipo = propiedad.getType();
+            }
+            JavaType tipoResultado = tipo != null ? tipo.containedTypeOrUnknown(0) : ctxt.constructType(Object.class);
+            return new RespuestaDeserializer(ctxt.findContextualValueDeserializer(tipoResultado, propiedad));
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public ApiResponseDTO deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            JsonToken token = p.currentToken();
+            if (token == JsonToken.START_OBJECT) {
+                token = p.nextToken();
+            } else if (token != JsonToken.FIELD_NAME && token != JsonToken.END_OBJECT) {
+                return (ApiResponseDTO) ctxt.handleUnexpectedToken(ApiResponseDTO.class, p);
+            }
+            ApiResponseDTO respuesta = new ApiResponseDTO<>(false, null);
+            for (; token == JsonToken.FIELD_NAME; token = p.nextToken()) {
+                String nombre = p.currentName();
+                token = p.nextToken();
+                if ("success".equals(nombre)) {
+                    Boolean exito = logico(p, ctxt);
+                    respuesta.setSuccess(exito != null && exito);
+                } else if ("result".equals(nombre)) {
+                    respuesta.setResult(token == JsonToken.VALUE_NULL ? resultado.getNullValue(ctxt) : resultado.deserialize(p, ctxt));
+                } else {
+                    ctxt.handleUnknownProperty(p, this, respuesta, nombre);
+                }
+            }
+            return respuesta;
+        }
+    }
+
+    private static Long numero(JsonParser p, DeserializationContext ctxt) throws IOException {
+        return switch (p.currentTokenId()) {
+            case JsonTokenId.ID_NUMBER_INT -> p.getLongValue();
+            case JsonTokenId.ID_NULL -> null;
+            default -> ctxt.readValue(p, Long.class);
+        };
+    }
+
+    private static String texto(JsonParser p, DeserializationContext ctxt) throws IOException {
+        return switch (p.currentTokenId()) {
+            case JsonTokenId.ID_STRING -> p.getText();
+            case JsonTokenId.ID_NULL -> null;
+            default -> ctxt.readValue(p, String.class);
+        };
+    }
+
+    private static Boolean logico(JsonParser p, DeserializationContext ctxt) throws IOException {
+        return switch (p.currentTokenId()) {
+            case JsonTokenId.ID_TRUE -> Boolean.TRUE;
+            case JsonTokenId.ID_FALSE -> Boolean.FALSE;
+            case JsonTokenId.ID_NULL -> null;
+            default -> ctxt.readValue(p, Boolean.class);
+        };
+    }
+
+    private static <T> T objeto(JsonParser p, DeserializationContext ctxt, ObjetoDeserializer<T> deserializador)
+            throws IOException {
+        return p.hasToken(JsonToken.VALUE_NULL) ? null : deserializador.deserialize(p, ctxt);
+    }
+}
@@ -0,0 +1,195 @@
+package ec.webmarket.restful.dto.v1.json;
+
+import java.io.IOException;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+
+/**
+ * Escritura y lectura de LocalDate, LocalTime y LocalDateTime en el mismo formato que
+ * jackson-datatype-jsr310 con {@code WRITE_DATES_AS_TIMESTAMPS} desactivado (la configuración
+ * de Spring Boot): ISO_LOCAL_DATE, ISO_LOCAL_TIME y ISO_LOCAL_DATE_TIME. Los dígitos se
+ * escriben en un arreglo de caracteres que se pasa al generador, sin crear un String ni
+ * recorrer el patrón de un DateTimeFormatter.
+ *
+ * La lectura reconoce directamente las formas habituales (yyyy-MM-dd, HH:mm, HH:mm:ss y
+ * sus combinaciones con 'T'); cualquier otra entrada, incluidas las fechas inválidas, se
+ * delega al deserializador de jsr310 para conservar sus reglas y sus errores.
+ */
+final class FormatoIso {
+
+    private FormatoIso() {
+    }
+
+    static void escribirFecha(JsonGenerator g, LocalDate fecha) throws IOException {
+        if (fecha == null) {
+            g.writeNull();
+            return;
+        }
+        char[] b = new char[10];
+        if (fecha(b, 0, fecha) < 0) {
+            g.writeString(DateTimeFormatter.ISO_LOCAL_DATE.format(fecha));
+            return;
+        }
+        g.writeString(b, 0, 10);
+    }
+
+    static void escribirHora(JsonGenerator g, LocalTime hora) throws IOException {
+        if (hora == null) {
+            g.writeNull();
+            return;
+        }
+        char[] b = new char[18];
+        g.writeString(b, 0, hora(b, 0, hora));
+    }
+
+    static void escribirFechaHora(JsonGenerator g, LocalDateTime fechaHora) throws IOException {
+        if (fechaHora == null) {
+            g.writeNull();
+            return;
+        }
+        char[] b = new char[29];
+        int i = fecha(b, 0, fechaHora.toLocalDate());
+        if (i < 0) {
+            g.writeString(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(fechaHora));
+            return;
+        }
+        b[i] = 'T';
+        g.writeString(b, 0, hora(b, i + 1, fechaHora.toLocalTime()));
+    }
+
+    static LocalDate leerFecha(JsonParser p, DeserializationContext ctxt) throws IOException {
+        if (p.hasToken(JsonToken.VALUE_NULL)) {
+            return null;
+        }
+        if (p.hasToken(JsonToken.VALUE_STRING) && p.getTextLength() == 10) {
+            char[] c = p.getTextCharacters();
+            int o = p.getTextOffset();
+            if (esFecha(c, o)) {
+                try {
+                    return LocalDate.of(numero(c, o, 4), numero(c, o + 5, 2), numero(c, o + 8, 2));
+                } catch (DateTimeException e) {
+                    // El deserializador de jsr310 informa el error.
+                }
+            }
+        }
+        return ctxt.readValue(p, LocalDate.class);
+    }
+
+    static LocalTime leerHora(JsonParser p, DeserializationContext ctxt) throws IOException {
+        if (p.hasToken(JsonToken.VALUE_NULL)) {
+            return null;
+        }
+        if (p.hasToken(JsonToken.VALUE_STRING)) {
+            char[] c = p.getTextCharacters();
+            int o = p.getTextOffset();
+            int n = p.getTextLength();
+            if ((n == 5 || n == 8) && esHora(c, o, n)) {
+                try {
+                    return LocalTime.of(numero(c, o, 2), numero(c, o + 3, 2), n == 8 ? numero(c, o + 6, 2) : 0);
+                } catch (DateTimeException e) {
+                    // El deserializador de jsr310 informa el error.
+                }
+            }
+        }
+        return ctxt.readValue(p, LocalTime.class);
+    }
+
+    static LocalDateTime leerFechaHora(JsonParser p, DeserializationContext ctxt) throws IOException {
+        if (p.hasToken(JsonToken.VALUE_NULL)) {
+            return null;
+        }
+        if (p.hasToken(JsonToken.VALUE_STRING)) {
+            char[] c = p.getTextCharacters();
+            int o = p.getTextOffset();
+            int n = p.getTextLength();
+            if ((n == 16 || n == 19) && esFecha(c, o) && c[o + 10] == 'T' && esHora(c, o + 11, n - 11)) {
+                try {
+                    return LocalDateTime.of(numero(c, o, 4), numero(c, o + 5, 2), numero(c, o + 8, 2),
+                            numero(c, o + 11, 2), numero(c, o + 14, 2), n == 19 ? numero(c, o + 17, 2) : 0);
+                } catch (DateTimeException e) {
+                    // El deserializador de jsr310 informa el error.
+                }
+            }
+        }
+        return ctxt.readValue(p, LocalDateTime.class);
+    }
+
+    /**
+     * Escribe yyyy-MM-dd desde la posición i y devuelve la posición siguiente, o -1 si el año
+     * no tiene cuatro dígitos (ISO_LOCAL_DATE le agrega signo).
+     */
+    private static int fecha(char[] b, int i, LocalDate fecha) {
+        int anio = fecha.getYear();
+        if (anio < 0 || anio > 9999) {
+            return -1;
+        }
+        dosDigitos(b, i, anio / 100);
+        dosDigitos(b, i + 2, anio % 100);
+        b[i + 4] = '-';
+        dosDigitos(b, i + 5, fecha.getMonthValue());
+        b[i + 7] = '-';
+        dosDigitos(b, i + 8, fecha.getDayOfMonth());
+        return i + 10;
+    }
+
+    /**
+     * Escribe HH:mm:ss y, si hay nanosegundos, la fracción sin ceros a la derecha, como
+     * ISO_LOCAL_TIME. Devuelve la posición siguiente.
+     */
+    private static int hora(char[] b, int i, LocalTime hora) {
+        dosDigitos(b, i, hora.getHour());
+        b[i + 2] = ':';
+        dosDigitos(b, i + 3, hora.getMinute());
+        b[i + 5] = ':';
+        dosDigitos(b, i + 6, hora.getSecond());
+        i += 8;
+        int nano = hora.getNano();
+        if (nano > 0) {
+            b[i++] = '.';
+            for (int divisor = 100_000_000; nano > 0; divisor /= 10) {
+                b[i++] = (char) ('0' + nano / divisor);
+                nano %= divisor;
+            }
+        }
+        return i;
+    }
+
+    private static void dosDigitos(char[] b, int i, int valor) {
+        b[i] = (char) ('0' + valor / 10);
+        b[i + 1] = (char) ('0' + valor % 10);
+    }
+
+    private static boolean esFecha(char[] c, int o) {
+        return digitos(c, o, 4) && c[o + 4] == '-' && digitos(c, o + 5, 2) && c[o + 7] == '-' && digitos(c, o + 8, 2);
+    }
+
+    private static boolean esHora(char[] c, int o, int n) {
+        return digitos(c, o, 2) && c[o + 2] == ':' && digitos(c, o + 3, 2)
+                && (n == 5 || (c[o + 5] == ':' && digitos(c, o + 6, 2)));
+    }
+
+    private static boolean digitos(char[] c, int o, int n) {
+        for (int i = o; i < o + n; i++) {
+            if (c[i] < '0' || c[i] > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int numero(char[] c, int o, int n) {
+        int valor = 0;
+        for (int i = o; i < o + n; i++) {
+            valor = valor * 10 + (c[i] - '0');
+        }
+        return valor;
+    }
+}
@@ -0,0 +1,56 @@
+package ec.webmarket.restful.dto.v1.json;
+
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.module.SimpleModule;
+
+import ec.webmarket.restful.dto.v1.CitaDTO;
+import ec.webmarket.restful.dto.v1.CitaResumenDTO;
+import ec.webmarket.restful.dto.v1.DisponibilidadDiaDTO;
+import ec.webmarket.restful.dto.v1.FranjaLibreDTO;
+import ec.webmarket.restful.dto.v1.HorarioDTO;
+import ec.webmarket.restful.dto.v1.HorarioResumenDTO;
+import ec.webmarket.restful.dto.v1.OdontologoDTO;
+import ec.webmarket.restful.dto.v1.PacienteDTO;
+import ec.webmarket.restful.dto.v1.PaginaDTO;
+import ec.webmarket.restful.dto.v1.UsuarioDTO;
+import ec.webmarket.restful.security.ApiResponseDTO;
+
+/**
+ * Módulo de Jackson con los serializadores y deserializadores dedicados de los DTO v1 y de
+ * ApiResponseDTO, que evitan la introspección y los accesos por reflexión del BeanSerializer
+ * en las respuestas más frecuentes. Spring Boot registra el módulo en el ObjectMapper de la
+ * aplicación, y con él en los convertidores JSON, CBOR y Smile.
+ *
+ * La salida es idéntica byte a byte a la serialización por reflexión con la configuración de
+ * Spring Boot (fechas ISO, nulls incluidos); SerializacionDtoTests lo comprueba contra los
+ * archivos de src/test/resources/golden. Los demás DTO se siguen serializando por reflexión.
+ */
+@Component
+public class ModuloJsonV1 extends SimpleModule {
+
+    private static final long serialVersionUID = 1L;
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public ModuloJsonV1() {
+        super("ModuloJsonV1");
+        addSerializer(UsuarioDTO.class, SerializadoresV1.USUARIO_DTO);
+        addSerializer(PacienteDTO.class, SerializadoresV1.PACIENTE_DTO);
+        addSerializer(OdontologoDTO.class, SerializadoresV1.ODONTOLOGO_DTO);
+        addSerializer(HorarioDTO.class, SerializadoresV1.HORARIO_DTO);
+        addSerializer(CitaDTO.class, SerializadoresV1.CITA_DTO);
+        addSerializer(CitaResumenDTO.class, new SerializadoresV1.CitaResumenSerializer());
+        addSerializer(HorarioResumenDTO.class, new SerializadoresV1.HorarioResumenSerializer());
+        addSerializer(DisponibilidadDiaDTO.class, new SerializadoresV1.DisponibilidadDiaSerializer());
+        addSerializer(FranjaLibreDTO.class, new SerializadoresV1.FranjaLibreSerializer());
+        addSerializer((Class) PaginaDTO.class, new SerializadoresV1.PaginaSerializer());
+        addSerializer((Class) ApiResponseDTO.class, new SerializadoresV1.RespuestaSerializer());
+
+        addDeserializer(UsuarioDTO.class, DeserializadoresV1.USUARIO_DTO);
+        addDeserializer(PacienteDTO.class, DeserializadoresV1.PACIENTE_DTO);
+        addDeserializer(OdontologoDTO.class, DeserializadoresV1.ODONTOLOGO_DTO);
+        addDeserializer(HorarioDTO.class, DeserializadoresV1.HORARIO_DTO);
+        addDeserializer(CitaDTO.class, DeserializadoresV1.CITA_DTO);
+        addDeserializer((Class) ApiResponseDTO.class, new DeserializadoresV1.RespuestaDeserializer());
+    }
+}
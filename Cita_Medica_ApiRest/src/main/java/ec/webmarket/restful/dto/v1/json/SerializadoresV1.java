@@ -0,0 +1,391 @@
+package ec.webmarket.restful.dto.v1.json;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import ec.webmarket.restful.dto.v1.CitaDTO;
+import ec.webmarket.restful.dto.v1.CitaResumenDTO;
+import ec.webmarket.restful.dto.v1.DisponibilidadDiaDTO;
+import ec.webmarket.restful.dto.v1.FranjaLibreDTO;
+import ec.webmarket.restful.dto.v1.HorarioDTO;
+import ec.webmarket.restful.dto.v1.HorarioResumenDTO;
+import ec.webmarket.restful.dto.v1.OdontologoDTO;
+import ec.webmarket.restful.dto.v1.PacienteDTO;
+import ec.webmarket.restful.dto.v1.PaginaDTO;
+import ec.webmarket.restful.dto.v1.UsuarioDTO;
+import ec.webmarket.restful.security.ApiResponseDTO;
+
+/**
+ * Serializadores de los DTO de lectura de la API. Cada uno escribe los campos en el orden de
+ * declaración de la clase, con los mismos nombres y con null explícito, igual que el
+ * BeanSerializer de Jackson para estas clases; los nombres de campo van precodificados.
+ * Un campo nuevo en uno de estos DTO debe agregarse aquí y en los archivos de referencia de
+ * SerializacionDtoTests.
+ */
+final class SerializadoresV1 {
+
+    private static final SerializableString ID = new SerializedString("id");
+    private static final SerializableString CEDULA = new SerializedString("cedula");
+    private static final SerializableString NOMBRE = new SerializedString("nombre");
+    private static final SerializableString APELLIDO = new SerializedString("apellido");
+    private static final SerializableString TELEFONO = new SerializedString("telefono");
+    private static final SerializableString EMAIL = new SerializedString("email");
+    private static final SerializableString FECHA_NACIMIENTO = new SerializedString("fechaNacimiento");
+    private static final SerializableString DIRECCION = new SerializedString("direccion");
+    private static final SerializableString USUARIO = new SerializedString("usuario");
+    private static final SerializableString NOMBRE_USUARIO = new SerializedString("nombreUsuario");
+    private static final SerializableString CLAVE = new SerializedString("clave");
+    private static final SerializableString TIPO_USUARIO = new SerializedString("tipoUsuario");
+    private static final SerializableString PACIENTE = new SerializedString("paciente");
+    private static final SerializableString ODONTOLOGO = new SerializedString("odontologo");
+    private static final SerializableString HORARIO = new SerializedString("horario");
+    private static final SerializableString FECHAY_HORA = new SerializedString("fechayHora");
+    private static final SerializableString ESTADO = new SerializedString("estado");
+    private static final SerializableString MOTIVO = new SerializedString("motivo");
+    private static final SerializableString FECHA = new SerializedString("fecha");
+    private static final SerializableString HORA_INICIO = new SerializedString("horaInicio");
+    private static final SerializableString HORAFINAL = new SerializedString("horafinal");
+    private static final SerializableString DISPONIBILIDAD = new SerializedString("disponibilidad");
+    private static final SerializableString HORARIO_ID = new SerializedString("horarioId");
+    private static final SerializableString PACIENTE_ID = new SerializedString("pacienteId");
+    private static final SerializableString PACIENTE_NOMBRE = new SerializedString("pacienteNombre");
+    private static final SerializableString PACIENTE_APELLIDO = new SerializedString("pacienteApellido");
+    private static final SerializableString ODONTOLOGO_ID = new SerializedString("odontologoId");
+    private static final SerializableString ODONTOLOGO_NOMBRE = new SerializedString("odontologoNombre");
+    private static final SerializableString ODONTOLOGO_APELLIDO = new SerializedString("odontologoApellido");
+    private static final SerializableString LIBRES = new SerializedString("libres");
+    private static final SerializableString TOTAL = new SerializedString("total");
+    private static final SerializableString INICIO = new SerializedString("inicio");
+    private static final SerializableString FIN = new SerializedString("fin");
+    private static final SerializableString ELEMENTOS = new SerializedString("elementos");
+    private static final SerializableString CURSOR_SIGUIENTE = new SerializedString("cursorSiguiente");
+    private static final SerializableString HAY_SIGUIENTE = new SerializedString("haySiguiente");
+    private static final SerializableString SUCCESS = new SerializedString("success");
+    private static final SerializableString RESULT = new SerializedString("result");
+
+    static final UsuarioSerializer USUARIO_DTO = new UsuarioSerializer();
+    static final PacienteSerializer PACIENTE_DTO = new PacienteSerializer();
+    static final OdontologoSerializer ODONTOLOGO_DTO = new OdontologoSerializer();
+    static final HorarioSerializer HORARIO_DTO = new HorarioSerializer();
+    static final CitaSerializer CITA_DTO = new CitaSerializer();
+
+    private SerializadoresV1() {
+    }
+
+    static final class UsuarioSerializer extends StdSerializer<UsuarioDTO> {
+
+        private static final long serialVersionUID = 1L;
+
+        UsuarioSerializer() {
+            super(UsuarioDTO.class);
+        }
+
+        @Override
+        public void serialize(UsuarioDTO usuario, JsonGenerator g, SerializerProvider proveedor) throws IOException {
+            g.writeStartObject(usuario);
+            numero(g, ID, usuario.getId());
+            texto(g, NOMBRE_USUARIO, usuario.getNombreUsuario());
+            texto(g, CLAVE, usuario.getClave());
+            logico(g, TIPO_USUARIO, usuario.getTipoUsuario());
+            g.writeEndObject();
+        }
+    }
+
+    static final class PacienteSerializer extends StdSerializer<PacienteDTO> {
+
+        private static final long serialVersionUID = 1L;
+
+        PacienteSerializer() {
+            super(PacienteDTO.class);
+        }
+
+        @Override
+        public void serialize(PacienteDTO paciente, JsonGenerator g, SerializerProvider proveedor) throws IOException {
+            g.writeStartObject(paciente);
+            numero(g, ID, paciente.getId());
+            texto(g, CEDULA, paciente.getCedula());
+            texto(g, NOMBRE, paciente.getNombre());
+            texto(g, APELLIDO, paciente.getApellido());
+            texto(g, TELEFONO, paciente.getTelefono());
+            texto(g, EMAIL, paciente.getEmail());
+            g.writeFieldName(FECHA_NACIMIENTO);
+            FormatoIso.escribirFecha(g, paciente.getFechaNacimiento());
+            texto(g, DIRECCION, paciente.getDireccion());
+            g.writeFieldName(USUARIO);
+            if (paciente.getUsuario() == null) {
+                g.writeNull();
+            } else {
+                USUARIO_DTO.serialize(paciente.getUsuario(), g, proveedor);
+            }
+            g.writeEndObject();
+        }
+    }
+
+    static final class OdontologoSerializer extends StdSerializer<OdontologoDTO> {
+
+        private static final long serialVersionUID = 1L;
+
+        OdontologoSerializer() {
+            super(OdontologoDTO.class);
+        }
+
+        @Override
+        public void serialize(OdontologoDTO odontologo, JsonGenerator g, SerializerProvider proveedor) throws IOException {
+            g.writeStartObject(odontologo);
+            numero(g, ID, odontologo.getId());
+            texto(g, CEDULA, odontologo.getCedula());
+            texto(g, NOMBRE, odontologo.getNombre());
+            texto(g, APELLIDO, odontologo.getApellido());
+            texto(g, TELEFONO, odontologo.getTelefono());
+            texto(g, EMAIL, odontologo.getEmail());
+            g.writeFieldName(USUARIO);
+            if (odontologo.getUsuario() == null) {
+                g.writeNull();
+            } else {
+                USUARIO_DTO.serialize(odontologo.getUsuario(), g, proveedor);
+            }
+            g.writeEndObject();
+        }
+    }
+
+    static final class HorarioSerializer extends StdSerializer<HorarioDTO> {
+
+        private static final long serialVersionUID = 1L;
+
+        HorarioSerializer() {
+            super(HorarioDTO.class);
+        }
+
+        @Override
+        public void serialize(HorarioDTO horario, JsonGenerator g, SerializerProvider proveedor) throws IOException {
+            g.writeStartObject(horario);
+            numero(g, ID, horario.getId());
+            g.writeFieldName(FECHA);
+            FormatoIso.escribirFecha(g, horario.getFecha());
+            g.writeFieldName(HORA_INICIO);
+            FormatoIso.escribirHora(g, horario.getHoraInicio());
+            g.writeFieldName(HORAFINAL);
+            FormatoIso.escribirHora(g, horario.getHorafinal());
+            logico(g, DISPONIBILIDAD, horario.getDisponibilidad());
+            g.writeFieldName(ODONTOLOGO);
+            if (horario.getOdontologo() == null) {
+                g.writeNull();
+            } else {
+                ODONTOLOGO_DTO.serialize(horario.getOdontologo(), g, proveedor);
+            }
+            g.writeEndObject();
+        }
+    }
+
+    static final class CitaSerializer extends StdSerializer<CitaDTO> {
+
+        private static final long serialVersionUID = 1L;
+
+        CitaSerializer() {
+            super(CitaDTO.class);
+        }
+
+        @Override
+        public void serialize(CitaDTO cita, JsonGenerator g, SerializerProvider proveedor) throws IOException {
+            g.writeStartObject(cita);
+            numero(g, ID, cita.getId());
+            g.writeFieldName(PACIENTE);
+            if (cita.getPaciente() == null) {
+                g.writeNull();
+            } else {
+                PACIENTE_DTO.serialize(cita.getPaciente(), g, proveedor);
+            }
+            g.writeFieldName(ODONTOLOGO);
+            if (cita.getOdontologo() == null) {
+                g.writeNull();
+            } else {
+                ODONTOLOGO_DTO.serialize(cita.getOdontologo(), g, proveedor);
+            }
+            g.writeFieldName(HORARIO);
+            if (cita.getHorario() == null) {
+                g.writeNull();
+            } else {
+                HORARIO_DTO.serialize(cita.getHorario(), g, proveedor);
+            }
+            g.writeFieldName(FECHAY_HORA);
+            FormatoIso.escribirFechaHora(g, cita.getFechayHora());
+            texto(g, ESTADO, cita.getEstado());
+            texto(g, MOTIVO, cita.getMotivo());
+            g.writeEndObject();
+        }
+    }
+
+    static final class CitaResumenSerializer extends StdSerializer<CitaResumenDTO> {
+
+        private static final long serialVersionUID = 1L;
+
+        CitaResumenSerializer() {
+            super(CitaResumenDTO.class);
+        }
+
+        @Override
+        public void serialize(CitaResumenDTO cita, JsonGenerator g, SerializerProvider proveedor) throws IOException {
+            g.writeStartObject(cita);
+            numero(g, ID, cita.getId());
+            g.writeFieldName(FECHAY_HORA);
+            FormatoIso.escribirFechaHora(g, cita.getFechayHora());
+            texto(g, ESTADO, cita.getEstado());
+            texto(g, MOTIVO, cita.getMotivo());
+            numero(g, HORARIO_ID, cita.getHorarioId());
+            numero(g, PACIENTE_ID, cita.getPacienteId());
+            texto(g, PACIENTE_NOMBRE, cita.getPacienteNombre());
+            texto(g, PACIENTE_APELLIDO, cita.getPacienteApellido());
+            numero(g, ODONTOLOGO_ID, cita.getOdontologoId());
+            texto(g, ODONTOLOGO_NOMBRE, cita.getOdontologoNombre());
+            texto(g, ODONTOLOGO_APELLIDO, cita.getOdontologoApellido());
+            g.writeEndObject();
+        }
+    }
+
+    static final class HorarioResumenSerializer extends StdSerializer<HorarioResumenDTO> {
+
+        private static final long serialVersionUID = 1L;
+
+        HorarioResumenSerializer() {
+            super(HorarioResumenDTO.class);
+        }
+
+        @Override
+        public void serialize(HorarioResumenDTO horario, JsonGenerator g, SerializerProvider proveedor) throws IOException {
+            g.writeStartObject(horario);
+            numero(g, ID, horario.getId());
+            g.writeFieldName(FECHA);
+            FormatoIso.escribirFecha(g, horario.getFecha());
+            g.writeFieldName(HORA_INICIO);
+            FormatoIso.escribirHora(g, horario.getHoraInicio());
+            g.writeFieldName(HORAFINAL);
+            FormatoIso.escribirHora(g, horario.getHorafinal());
+            logico(g, DISPONIBILIDAD, horario.getDisponibilidad());
+            numero(g, ODONTOLOGO_ID, horario.getOdontologoId());
+            texto(g, ODONTOLOGO_NOMBRE, horario.getOdontologoNombre());
+            texto(g, ODONTOLOGO_APELLIDO, horario.getOdontologoApellido());
+            g.writeEndObject();
+        }
+    }
+
+    static final class DisponibilidadDiaSerializer extends StdSerializer<DisponibilidadDiaDTO> {
+
+        private static final long serialVersionUID = 1L;
+
+        DisponibilidadDiaSerializer() {
+            super(DisponibilidadDiaDTO.class);
+        }
+
+        @Override
+        public void serialize(DisponibilidadDiaDTO dia, JsonGenerator g, SerializerProvider proveedor) throws IOException {
+            g.writeStartObject(dia);
+            g.writeFieldName(FECHA);
+            FormatoIso.escribirFecha(g, dia.getFecha());
+            g.writeFieldName(LIBRES);
+            g.writeNumber(dia.getLibres());
+            g.writeFieldName(TOTAL);
+            g.writeNumber(dia.getTotal());
+            g.writeEndObject();
+        }
+    }
+
+    static final class FranjaLibreSerializer extends StdSerializer<FranjaLibreDTO> {
+
+        private static final long serialVersionUID = 1L;
+
+        FranjaLibreSerializer() {
+            super(FranjaLibreDTO.class);
+        }
+
+        @Override
+        public void serialize(FranjaLibreDTO franja, JsonGenerator g, SerializerProvider proveedor) throws IOException {
+            g.writeStartObject(franja);
+            g.writeFieldName(INICIO);
+            FormatoIso.escribirFechaHora(g, franja.getInicio());
+            g.writeFieldName(FIN);
+            FormatoIso.escribirFechaHora(g, franja.getFin());
+            g.writeEndObject();
+        }
+    }
+
+    /**
+     * Los elementos se serializan según su clase en tiempo de ejecución, como hace Jackson con
+     * un campo de tipo genérico.
+     */
+    @SuppressWarnings("rawtypes")
+    static final class PaginaSerializer extends StdSerializer<PaginaDTO> {
+
+        private static final long serialVersionUID = 1L;
+
+        PaginaSerializer() {
+            super(PaginaDTO.class);
+        }
+
+        @Override
+        public void serialize(PaginaDTO pagina, JsonGenerator g, SerializerProvider proveedor) throws IOException {
+            g.writeStartObject(pagina);
+            g.writeFieldName(ELEMENTOS);
+            proveedor.defaultSerializeValue(pagina.getElementos(), g);
+            texto(g, CURSOR_SIGUIENTE, pagina.getCursorSiguiente());
+            g.writeFieldName(HAY_SIGUIENTE);
+            g.writeBoolean(pagina.isHaySiguiente());
+            g.writeEndObject();
+        }
+    }
+
+    /**
+     * El resultado se serializa según su clase en tiempo de ejecución, como hace Jackson con
+     * un campo de tipo genérico.
+     */
+    @SuppressWarnings("rawtypes")
+    static final class RespuestaSerializer extends StdSerializer<ApiResponseDTO> {
+
+        private static final long serialVersionUID = 1L;
+
+        RespuestaSerializer() {
+            super(ApiResponseDTO.class);
+        }
+
+        @Override
+        public void serialize(ApiResponseDTO respuesta, JsonGenerator g, SerializerProvider proveedor) throws IOException {
+            g.writeStartObject(respuesta);
+            g.writeFieldName(SUCCESS);
+            g.writeBoolean(respuesta.isSuccess());
+            g.writeFieldName(RESULT);
+            proveedor.defaultSerializeValue(respuesta.getResult(), g);
+            g.writeEndObject();
+        }
+    }
+
+    private static void numero(JsonGenerator g, SerializableString campo, Long valor) throws IOException {
+        g.writeFieldName(campo);
+        if (valor == null) {
+            g.writeNull();
+        } else {
+            g.writeNumber(valor.longValue());
+        }
+    }
+
+    private static void texto(JsonGenerator g, SerializableString campo, String valor) throws IOException {
+        g.writeFieldName(campo);
+        if (valor == null) {
+            g.writeNull();
+        } else {
+            g.writeString(valor);
+        }
+    }
+
+    private static void logico(JsonGenerator g, SerializableString campo, Boolean valor) throws IOException {
+        g.writeFieldName(campo);
+        if (valor == null) {
+            g.writeNull();
+        } else {
+            g.writeBoolean(valor.booleanValue());
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package ec.webmarket.restful.metricas;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import ec.webmarket.restful.cache.CacheRespuestas;
+import ec.webmarket.restful.persistence.BulkheadBaseDatos;
+import ec.webmarket.restful.service.agenda.IndiceAgenda;
+import ec.webmarket.restful.service.archivo.ArchivadorHistorico;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Publica como métricas los contadores que ya llevan el bulkhead de base de datos,
+ * la caché de respuestas, el índice de agendas y el archivador de horarios y citas pasados.
+ */
+@Component
+public class MetricasBinder implements MeterBinder {
+
+    @Autowired
+    private BulkheadBaseDatos bulkhead;
+
+    @Autowired
+    private CacheRespuestas cache;
+
+    @Autowired
+    private IndiceAgenda indiceAgenda;
+
+    @Autowired
+    private ArchivadorHistorico archivador;
+
+    @Override
+    public void bindTo(MeterRegistry registro) {
+        Gauge.builder("bulkhead.bd.permisos.max", bulkhead, BulkheadBaseDatos::getMaxConcurrentes).register(registro);
+        Gauge.builder("bulkhead.bd.permisos.en.uso", bulkhead, BulkheadBaseDatos::getEnUso).register(registro);
+        Gauge.builder("bulkhead.bd.en.espera", bulkhead, BulkheadBaseDatos::getEnEspera).register(registro);
+        FunctionCounter.builder("bulkhead.bd.adquisiciones", bulkhead, BulkheadBaseDatos::getAdquisiciones)
+                .register(registro);
+        FunctionCounter.builder("bulkhead.bd.rechazos", bulkhead, BulkheadBaseDatos::getRechazos).register(registro);
+        FunctionCounter.builder("bulkhead.bd.espera", bulkhead, b -> b.getEsperaTotalNanos() / (double) TimeUnit.SECONDS.toNanos(1))
+                .baseUnit("seconds").register(registro);
+        Gauge.builder("bulkhead.bd.espera.maxima", bulkhead, b -> b.getEsperaMaximaNanos() / (double) TimeUnit.SECONDS.toNanos(1))
+                .baseUnit("seconds").register(registro);
+
+        FunctionCounter.builder("cache.respuestas.aciertos", cache, CacheRespuestas::getAciertos).register(registro);
+        FunctionCounter.builder("cache.respuestas.fallos", cache, CacheRespuestas::getFallos).register(registro);
+        Gauge.builder("cache.respuestas.bytes", cache, CacheRespuestas::getBytes).baseUnit("bytes").register(registro);
+
+        Gauge.builder("agenda.odontologos", indiceAgenda, IndiceAgenda::getOdontologos).register(registro);
+
+        for (String tabla : ArchivadorHistorico.TABLAS) {
+            // -1 hasta la primera medición.
+            Gauge.builder("archivo.filas", archivador, a -> a.getFilas(tabla)).tag("tabla", tabla).register(registro);
+        }
+        FunctionCounter.builder("archivo.movidos", archivador, ArchivadorHistorico::getHorariosArchivados)
+                .tag("tabla", "horario").register(registro);
+        FunctionCounter.builder("archivo.movidos", archivador, ArchivadorHistorico::getCitasArchivadas)
+                .tag("tabla", "cita").register(registro);
+    }
+}
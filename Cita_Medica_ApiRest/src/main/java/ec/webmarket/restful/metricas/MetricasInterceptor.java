@@ -0,0 +1,107 @@
+package ec.webmarket.restful.metricas;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+
+import ec.webmarket.restful.service.GenericCrudService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Mide con timers de Micrometer las operaciones de los servicios CRUD ({@value #SERVICIO})
+ * y los finders de los repositorios ({@value #REPOSITORIO}). Cada timer lleva las etiquetas
+ * {@code entidad}, {@code metodo}, {@code resultado} (exito/error) y {@code excepcion}, y publica
+ * un histograma para calcular percentiles en Prometheus.
+ *
+ * El registro se obtiene en la primera llamada: el interceptor se crea junto con los
+ * BeanPostProcessor, antes de que Spring Boot configure el MeterRegistry.
+ */
+public class MetricasInterceptor implements MethodInterceptor {
+
+    public static final String SERVICIO = "servicio.crud";
+    public static final String REPOSITORIO = "repositorio.consulta";
+    public static final String MAPEO = "servicio.mapeo";
+
+    private static final String SIN_EXCEPCION = "none";
+
+    private final ObjectProvider<MeterRegistry> proveedor;
+    private volatile MeterRegistry registro;
+
+    /**
+     * Timers de las llamadas exitosas por clase del objeto destino y método (las operaciones
+     * heredadas de GenericCrudServiceImpl comparten el Method); los de error se registran al ocurrir.
+     */
+    private final Map<Class<?>, Map<Method, Timer>> exitos = new ConcurrentHashMap<>();
+
+    public MetricasInterceptor(ObjectProvider<MeterRegistry> proveedor) {
+        this.proveedor = proveedor;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        MeterRegistry registro = registro();
+        if (registro == null) {
+            return invocation.proceed();
+        }
+        long inicio = System.nanoTime();
+        try {
+            Object resultado = invocation.proceed();
+            exitos.computeIfAbsent(invocation.getThis().getClass(), c -> new ConcurrentHashMap<>())
+                    .computeIfAbsent(invocation.getMethod(), m -> timer(registro, invocation, "exito", SIN_EXCEPCION))
+                    .record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+            return resultado;
+        } catch (Throwable e) {
+            timer(registro, invocation, "error", e.getClass().getSimpleName())
+                    .record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+
+    private MeterRegistry registro() {
+        MeterRegistry actual = registro;
+        if (actual == null) {
+            actual = proveedor.getIfAvailable();
+            registro = actual;
+        }
+        return actual;
+    }
+
+    private static Timer timer(MeterRegistry registro, MethodInvocation invocation, String resultado, String excepcion) {
+        boolean servicio = invocation.getThis() instanceof GenericCrudService;
+        String entidad = servicio
+                ? entidad(invocation.getThis().getClass(), "Service")
+                : entidad(invocation.getMethod().getDeclaringClass(), "Repository");
+        return Timer.builder(servicio ? SERVICIO : REPOSITORIO)
+                .tag("entidad", entidad)
+                .tag("metodo", invocation.getMethod().getName())
+                .tag("resultado", resultado)
+                .tag("excepcion", excepcion)
+                .publishPercentileHistogram()
+                .register(registro);
+    }
+
+    /**
+     * Timer de mapToDomain/mapToDto de un servicio. No publica histograma: se registra una
+     * vez por elemento mapeado y basta con el conteo, el total y el máximo.
+     */
+    public static Timer timerMapeo(MeterRegistry registro, String entidad, String metodo) {
+        return Timer.builder(MAPEO)
+                .tag("entidad", entidad)
+                .tag("metodo", metodo)
+                .register(registro);
+    }
+
+    /**
+     * Nombre de la entidad a partir de la clase: CitaService o CitaRepository → Cita.
+     */
+    public static String entidad(Class<?> clase, String sufijo) {
+        String nombre = clase.getSimpleName();
+        return nombre.endsWith(sufijo) ? nombre.substring(0, nombre.length() - sufijo.length()) : nombre;
+    }
+}
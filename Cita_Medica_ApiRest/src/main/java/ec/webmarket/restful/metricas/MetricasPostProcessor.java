@@ -0,0 +1,52 @@
+package ec.webmarket.restful.metricas;
+
+import java.lang.reflect.Method;
+import java.util.Set;
+
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcher;
+import org.springframework.aop.framework.AbstractAdvisingBeanPostProcessor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import ec.webmarket.restful.persistence.CitaRepository;
+import ec.webmarket.restful.persistence.HorarioRepository;
+import ec.webmarket.restful.service.GenericCrudService;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Aplica {@link MetricasInterceptor} a las operaciones de los servicios CRUD
+ * (create, update, delete, find y findAll) y a los métodos declarados en
+ * CitaRepository y HorarioRepository. Los servicios se inyectan por su clase, por eso
+ * el proxy, cuando hace falta crearlo, es de clase y no de interfaz.
+ */
+@Component
+public class MetricasPostProcessor extends AbstractAdvisingBeanPostProcessor {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final Set<String> OPERACIONES = Set.of("create", "update", "delete", "find", "findAll");
+
+    public MetricasPostProcessor(ObjectProvider<MeterRegistry> registro) {
+        ComposablePointcut servicios = new ComposablePointcut(GenericCrudService.class::isAssignableFrom)
+                .intersection(new StaticMethodMatcher() {
+                    @Override
+                    public boolean matches(Method method, Class<?> targetClass) {
+                        return OPERACIONES.contains(method.getName());
+                    }
+                });
+        ComposablePointcut repositorios = new ComposablePointcut(
+                c -> CitaRepository.class.isAssignableFrom(c) || HorarioRepository.class.isAssignableFrom(c))
+                .intersection(new StaticMethodMatcher() {
+                    @Override
+                    public boolean matches(Method method, Class<?> targetClass) {
+                        return method.getDeclaringClass() == CitaRepository.class
+                                || method.getDeclaringClass() == HorarioRepository.class;
+                    }
+                });
+        this.advisor = new DefaultPointcutAdvisor(servicios.union(repositorios), new MetricasInterceptor(registro));
+        setBeforeExistingAdvisors(true);
+        setProxyTargetClass(true);
+    }
+}
@@ -0,0 +1,138 @@
+package ec.webmarket.restful.persistence;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import ec.webmarket.restful.common.ServicioSaturadoException;
+
+/**
+ * Bulkhead de acceso a la base de datos: un semáforo limita cuántos hilos usan los
+ * repositorios a la vez, de modo que miles de peticiones en hilos virtuales esperen aquí,
+ * con un tiempo máximo, en lugar de acumularse en el pool de conexiones de Hikari.
+ *
+ * El permiso es reentrante por hilo. Si se obtiene dentro de una transacción se conserva
+ * hasta que la transacción termina, porque la conexión también queda tomada hasta entonces;
+ * fuera de una transacción se libera al terminar la llamada al repositorio.
+ */
+@Component
+public class BulkheadBaseDatos implements MethodInterceptor {
+
+    private static final ThreadLocal<Boolean> PERMISO = new ThreadLocal<>();
+
+    private final Semaphore permisos;
+    private final int maxConcurrentes;
+    private final long esperaMaximaNanos;
+
+    private final LongAdder adquisiciones = new LongAdder();
+    private final LongAdder esperaTotalNanos = new LongAdder();
+    private final AtomicLong esperaMaximaObservadaNanos = new AtomicLong();
+    private final LongAdder rechazos = new LongAdder();
+
+    public BulkheadBaseDatos(@Value("${bulkhead.bd.max-concurrentes:10}") int maxConcurrentes,
+            @Value("${bulkhead.bd.espera-maxima-ms:2000}") long esperaMaximaMs) {
+        this.permisos = new Semaphore(maxConcurrentes, true);
+        this.maxConcurrentes = maxConcurrentes;
+        this.esperaMaximaNanos = TimeUnit.MILLISECONDS.toNanos(esperaMaximaMs);
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        if (PERMISO.get() != null) {
+            return invocation.proceed();
+        }
+        adquirir();
+        PERMISO.set(Boolean.TRUE);
+        boolean hastaFinDeTransaccion = TransactionSynchronizationManager.isSynchronizationActive();
+        if (hastaFinDeTransaccion) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    liberar();
+                }
+            });
+        }
+        try {
+            return invocation.proceed();
+        } finally {
+            if (!hastaFinDeTransaccion) {
+                liberar();
+            }
+        }
+    }
+
+    private void adquirir() throws InterruptedException {
+        long inicio = System.nanoTime();
+        boolean obtenido = permisos.tryAcquire(esperaMaximaNanos, TimeUnit.NANOSECONDS);
+        long espera = System.nanoTime() - inicio;
+        esperaTotalNanos.add(espera);
+        esperaMaximaObservadaNanos.accumulateAndGet(espera, Math::max);
+        if (!obtenido) {
+            rechazos.increment();
+            throw new ServicioSaturadoException("La base de datos está saturada, intente nuevamente");
+        }
+        adquisiciones.increment();
+    }
+
+    private void liberar() {
+        PERMISO.remove();
+        permisos.release();
+    }
+
+    /**
+     * Número máximo de hilos que pueden usar los repositorios a la vez.
+     */
+    public int getMaxConcurrentes() {
+        return maxConcurrentes;
+    }
+
+    /**
+     * Permisos en uso en este momento.
+     */
+    public int getEnUso() {
+        return maxConcurrentes - permisos.availablePermits();
+    }
+
+    /**
+     * Hilos esperando un permiso (estimado).
+     */
+    public int getEnEspera() {
+        return permisos.getQueueLength();
+    }
+
+    /**
+     * Permisos concedidos desde el arranque.
+     */
+    public long getAdquisiciones() {
+        return adquisiciones.sum();
+    }
+
+    /**
+     * Peticiones rechazadas por superar el tiempo máximo de espera.
+     */
+    public long getRechazos() {
+        return rechazos.sum();
+    }
+
+    /**
+     * Tiempo total de espera por un permiso, concedido o no, en nanosegundos.
+     */
+    public long getEsperaTotalNanos() {
+        return esperaTotalNanos.sum();
+    }
+
+    /**
+     * Mayor espera observada por un permiso, en nanosegundos.
+     */
+    public long getEsperaMaximaNanos() {
+        return esperaMaximaObservadaNanos.get();
+    }
+}
@@ -0,0 +1,24 @@
+package ec.webmarket.restful.persistence;
+
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.framework.AbstractAdvisingBeanPostProcessor;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+
+/**
+ * Aplica {@link BulkheadBaseDatos} a todos los repositorios de Spring Data, de modo que las
+ * operaciones de GenericCrudServiceImpl y los finders de los servicios pasan por el bulkhead.
+ * El consejo se agrega antes del interceptor transaccional del repositorio para que la
+ * espera por el permiso ocurra antes de pedir una conexión.
+ */
+@Component
+public class BulkheadRepositoriosPostProcessor extends AbstractAdvisingBeanPostProcessor {
+
+    private static final long serialVersionUID = 1L;
+
+    public BulkheadRepositoriosPostProcessor(BulkheadBaseDatos bulkhead) {
+        this.advisor = new DefaultPointcutAdvisor(new ComposablePointcut(Repository.class::isAssignableFrom), bulkhead);
+        setBeforeExistingAdvisors(true);
+    }
+}
@@ -0,0 +1,124 @@
+package ec.webmarket.restful.persistence;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.hibernate.jpa.HibernateHints;
+import ec.webmarket.restful.domain.CitaArchivada;
+import ec.webmarket.restful.dto.v1.CitaResumenDTO;
+import jakarta.persistence.QueryHint;
+
+/**
+ * Repositorio de las citas archivadas (tabla cita_archivo).
+ * Las escrituras se hacen con SQL nativo desde {@code ArchivadorHistorico}; los listados
+ * devuelven la misma proyección que {@link CitaRepository}.
+ */
+public interface CitaArchivoRepository extends JpaRepository<CitaArchivada, Long> {
+
+    /**
+     * Proyección de las citas archivadas, igual a {@link CitaRepository#SELECT_RESUMEN}.
+     */
+    String SELECT_RESUMEN = "select new ec.webmarket.restful.dto.v1.CitaResumenDTO(c.id, c.fechayHora, c.estado, c.motivo,"
+            + " c.horarioId, p.id, p.nombre, p.apellido, o.id, o.nombre, o.apellido)"
+            + " from CitaArchivada c join c.paciente p join c.odontologo o";
+
+    /**
+     * Busca las citas archivadas de una fecha y hora, con paciente y odontólogo.
+     * @param fechayHora Fecha y hora de la cita.
+     * @return Lista de citas archivadas.
+     */
+    @EntityGraph(attributePaths = { "paciente.usuario", "odontologo.usuario" })
+    List<CitaArchivada> findByFechayHora(LocalDateTime fechayHora);
+
+    /**
+     * Recorre las citas archivadas de un odontólogo en un rango de fechas, ordenadas por
+     * (fechayHora, id), igual que {@link CitaRepository#streamByOdontologoId}.
+     * @param odontologoId ID del odontólogo.
+     * @param desde Inicio del rango (inclusive).
+     * @param hasta Fin del rango (exclusivo).
+     * @param estado Estado de la cita, o null para todos.
+     * @return Stream de citas archivadas con paciente y odontólogo cargados.
+     */
+    @Query("select c from CitaArchivada c where c.odontologo.id = :odontologoId"
+            + " and c.fechayHora >= :desde and c.fechayHora < :hasta"
+            + " and (:estado is null or c.estado = :estado)"
+            + " order by c.fechayHora, c.id")
+    @EntityGraph(attributePaths = { "paciente", "odontologo" })
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<CitaArchivada> streamByOdontologoId(@Param("odontologoId") Long odontologoId,
+            @Param("desde") LocalDateTime desde, @Param("hasta") LocalDateTime hasta, @Param("estado") String estado);
+
+    /**
+     * Primera página del resumen de citas archivadas de un paciente en un rango de fechas,
+     * ordenadas por (fechayHora, id).
+     * @param pacienteId ID del paciente.
+     * @param desde Inicio del rango (inclusive).
+     * @param hasta Fin del rango (exclusivo).
+     * @param pageable Límite de la página.
+     * @return Slice de resúmenes de cita.
+     */
+    @Query(SELECT_RESUMEN + " where p.id = :pacienteId and c.fechayHora >= :desde and c.fechayHora < :hasta"
+            + " order by c.fechayHora, c.id")
+    Slice<CitaResumenDTO> findResumenByPacienteIdEntre(@Param("pacienteId") Long pacienteId,
+            @Param("desde") LocalDateTime desde, @Param("hasta") LocalDateTime hasta, Pageable pageable);
+
+    /**
+     * Página del resumen de citas archivadas de un paciente en un rango de fechas, posterior a
+     * la clave (fechayHora, id) indicada.
+     * @param pacienteId ID del paciente.
+     * @param desde Inicio del rango (inclusive).
+     * @param hasta Fin del rango (exclusivo).
+     * @param fechayHora Fecha y hora de la última cita de la página anterior.
+     * @param id ID de la última cita de la página anterior.
+     * @param pageable Límite de la página.
+     * @return Slice de resúmenes de cita.
+     */
+    @Query(SELECT_RESUMEN + " where p.id = :pacienteId and c.fechayHora >= :desde and c.fechayHora < :hasta"
+            + " and (c.fechayHora > :fechayHora or (c.fechayHora = :fechayHora and c.id > :id))"
+            + " order by c.fechayHora, c.id")
+    Slice<CitaResumenDTO> findResumenByPacienteIdEntreAfter(@Param("pacienteId") Long pacienteId,
+            @Param("desde") LocalDateTime desde, @Param("hasta") LocalDateTime hasta,
+            @Param("fechayHora") LocalDateTime fechayHora, @Param("id") Long id, Pageable pageable);
+
+    /**
+     * Primera página del resumen de citas archivadas de un odontólogo en un rango de fechas,
+     * ordenadas por (fechayHora, id).
+     * @param odontologoId ID del odontólogo.
+     * @param desde Inicio del rango (inclusive).
+     * @param hasta Fin del rango (exclusivo).
+     * @param pageable Límite de la página.
+     * @return Slice de resúmenes de cita.
+     */
+    @Query(SELECT_RESUMEN + " where o.id = :odontologoId and c.fechayHora >= :desde and c.fechayHora < :hasta"
+            + " order by c.fechayHora, c.id")
+    Slice<CitaResumenDTO> findResumenByOdontologoIdEntre(@Param("odontologoId") Long odontologoId,
+            @Param("desde") LocalDateTime desde, @Param("hasta") LocalDateTime hasta, Pageable pageable);
+
+    /**
+     * Página del resumen de citas archivadas de un odontólogo en un rango de fechas, posterior a
+     * la clave (fechayHora, id) indicada.
+     * @param odontologoId ID del odontólogo.
+     * @param desde Inicio del rango (inclusive).
+     * @param hasta Fin del rango (exclusivo).
+     * @param fechayHora Fecha y hora de la última cita de la página anterior.
+     * @param id ID de la última cita de la página anterior.
+     * @param pageable Límite de la página.
+     * @return Slice de resúmenes de cita.
+     */
+    @Query(SELECT_RESUMEN + " where o.id = :odontologoId and c.fechayHora >= :desde and c.fechayHora < :hasta"
+            + " and (c.fechayHora > :fechayHora or (c.fechayHora = :fechayHora and c.id > :id))"
+            + " order by c.fechayHora, c.id")
+    Slice<CitaResumenDTO> findResumenByOdontologoIdEntreAfter(@Param("odontologoId") Long odontologoId,
+            @Param("desde") LocalDateTime desde, @Param("hasta") LocalDateTime hasta,
+            @Param("fechayHora") LocalDateTime fechayHora, @Param("id") Long id, Pageable pageable);
+}
@@ -2,10 +2,23 @@ package ec.webmarket.restful.persistence;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Example;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.hibernate.jpa.HibernateHints;
 
 import ec.webmarket.restful.domain.Cita;
 import ec.webmarket.restful.domain.Horario;
+import ec.webmarket.restful.dto.v1.CitaProximaDTO;
+import ec.webmarket.restful.dto.v1.CitaResumenDTO;
+import jakarta.persistence.QueryHint;
 
 /**
  * Repositorio para la entidad Cita.
@@ -18,6 +31,7 @@ public interface CitaRepository extends JpaRepository<Cita, Long> {
      * @param pacienteId ID del paciente.
      * @return Lista de citas del paciente.
      */
+    @EntityGraph("Cita.detalle")
     List<Cita> findByPacienteId(Long pacienteId);
 
     /**
@@ -25,6 +39,7 @@ public interface CitaRepository extends JpaRepository<Cita, Long> {
      * @param odontologoId ID del odontólogo.
      * @return Lista de citas del odontólogo.
      */
+    @EntityGraph("Cita.detalle")
     List<Cita> findByOdontologoId(Long odontologoId);
 
     /**
@@ -32,6 +47,7 @@ public interface CitaRepository extends JpaRepository<Cita, Long> {
      * @param horario Horario en el que se agendaron las citas.
      * @return Lista de citas en ese horario.
      */
+    @EntityGraph("Cita.detalle")
     List<Cita> findByHorario(Horario horario);
 
     /**
@@ -39,6 +55,7 @@ public interface CitaRepository extends JpaRepository<Cita, Long> {
      * @param fechayHora Fecha y hora de la cita.
      * @return Lista de citas en ese horario exacto.
      */
+    @EntityGraph("Cita.detalle")
     List<Cita> findByFechayHora(LocalDateTime fechayHora);
 
     /**
@@ -46,6 +63,7 @@ public interface CitaRepository extends JpaRepository<Cita, Long> {
      * @param estado Estado de la cita (Ejemplo: "Confirmada", "Cancelada", "Pendiente").
      * @return Lista de citas con el estado indicado.
      */
+    @EntityGraph("Cita.detalle")
     List<Cita> findByEstado(String estado);
 
     /**
@@ -53,5 +71,178 @@ public interface CitaRepository extends JpaRepository<Cita, Long> {
      * @param motivo Motivo de la cita (Ejemplo: "Limpieza dental", "Extracción", etc.).
      * @return Lista de citas con el motivo especificado.
      */
+    @EntityGraph("Cita.detalle")
     List<Cita> findByMotivo(String motivo);
+
+    /**
+     * Obtiene los IDs de los horarios ocupados por citas de un odontólogo.
+     * @param odontologoId ID del odontólogo.
+     * @return Lista de IDs de horario con cita.
+     */
+    @Query("select c.horario.id from Cita c where c.odontologo.id = :odontologoId")
+    List<Long> findHorarioIdsByOdontologoId(@Param("odontologoId") Long odontologoId);
+
+    /**
+     * Obtiene las citas con fecha y hora en el rango (desde, hasta], para programar sus recordatorios.
+     * @param desde Inicio del rango (exclusivo).
+     * @param hasta Fin del rango (inclusive).
+     * @return Citas próximas, sin cargar entidades.
+     */
+    @Query("select new ec.webmarket.restful.dto.v1.CitaProximaDTO(c.id, c.fechayHora, c.paciente.id, c.odontologo.id)"
+            + " from Cita c where c.fechayHora > :desde and c.fechayHora <= :hasta")
+    List<CitaProximaDTO> findProximas(@Param("desde") LocalDateTime desde, @Param("hasta") LocalDateTime hasta);
+
+    /**
+     * Proyección usada por los listados de citas: solo las columnas de la cita y los nombres
+     * del paciente y del odontólogo, sin cargar entidades.
+     */
+    String SELECT_RESUMEN = "select new ec.webmarket.restful.dto.v1.CitaResumenDTO(c.id, c.fechayHora, c.estado, c.motivo,"
+            + " c.horario.id, p.id, p.nombre, p.apellido, o.id, o.nombre, o.apellido)"
+            + " from Cita c join c.paciente p join c.odontologo o";
+
+    /**
+     * Primera página del resumen de citas de un paciente, ordenadas por (fechayHora, id).
+     * @param pacienteId ID del paciente.
+     * @param pageable Límite de la página.
+     * @return Slice de resúmenes de cita.
+     */
+    @Query(SELECT_RESUMEN + " where p.id = :pacienteId order by c.fechayHora, c.id")
+    Slice<CitaResumenDTO> findResumenByPacienteId(@Param("pacienteId") Long pacienteId, Pageable pageable);
+
+    /**
+     * Página del resumen de citas de un paciente posterior a la clave (fechayHora, id) indicada.
+     * @param pacienteId ID del paciente.
+     * @param fechayHora Fecha y hora de la última cita de la página anterior.
+     * @param id ID de la última cita de la página anterior.
+     * @param pageable Límite de la página.
+     * @return Slice de resúmenes de cita.
+     */
+    @Query(SELECT_RESUMEN + " where p.id = :pacienteId"
+            + " and (c.fechayHora > :fechayHora or (c.fechayHora = :fechayHora and c.id > :id))"
+            + " order by c.fechayHora, c.id")
+    Slice<CitaResumenDTO> findResumenByPacienteIdAfter(@Param("pacienteId") Long pacienteId,
+            @Param("fechayHora") LocalDateTime fechayHora, @Param("id") Long id, Pageable pageable);
+
+    /**
+     * Primera página del resumen de citas de un odontólogo, ordenadas por (fechayHora, id).
+     * @param odontologoId ID del odontólogo.
+     * @param pageable Límite de la página.
+     * @return Slice de resúmenes de cita.
+     */
+    @Query(SELECT_RESUMEN + " where o.id = :odontologoId order by c.fechayHora, c.id")
+    Slice<CitaResumenDTO> findResumenByOdontologoId(@Param("odontologoId") Long odontologoId, Pageable pageable);
+
+    /**
+     * Página del resumen de citas de un odontólogo posterior a la clave (fechayHora, id) indicada.
+     * @param odontologoId ID del odontólogo.
+     * @param fechayHora Fecha y hora de la última cita de la página anterior.
+     * @param id ID de la última cita de la página anterior.
+     * @param pageable Límite de la página.
+     * @return Slice de resúmenes de cita.
+     */
+    @Query(SELECT_RESUMEN + " where o.id = :odontologoId"
+            + " and (c.fechayHora > :fechayHora or (c.fechayHora = :fechayHora and c.id > :id))"
+            + " order by c.fechayHora, c.id")
+    Slice<CitaResumenDTO> findResumenByOdontologoIdAfter(@Param("odontologoId") Long odontologoId,
+            @Param("fechayHora") LocalDateTime fechayHora, @Param("id") Long id, Pageable pageable);
+
+    /**
+     * Primera página del resumen de citas de un paciente en un rango de fechas, ordenadas por (fechayHora, id).
+     * @param pacienteId ID del paciente.
+     * @param desde Inicio del rango (inclusive).
+     * @param hasta Fin del rango (exclusivo).
+     * @param pageable Límite de la página.
+     * @return Slice de resúmenes de cita.
+     */
+    @Query(SELECT_RESUMEN + " where p.id = :pacienteId and c.fechayHora >= :desde and c.fechayHora < :hasta"
+            + " order by c.fechayHora, c.id")
+    Slice<CitaResumenDTO> findResumenByPacienteIdEntre(@Param("pacienteId") Long pacienteId,
+            @Param("desde") LocalDateTime desde, @Param("hasta") LocalDateTime hasta, Pageable pageable);
+
+    /**
+     * Página del resumen de citas de un paciente en un rango de fechas, posterior a la clave (fechayHora, id) indicada.
+     * @param pacienteId ID del paciente.
+     * @param desde Inicio del rango (inclusive).
+     * @param hasta Fin del rango (exclusivo).
+     * @param fechayHora Fecha y hora de la última cita de la página anterior.
+     * @param id ID de la última cita de la página anterior.
+     * @param pageable Límite de la página.
+     * @return Slice de resúmenes de cita.
+     */
+    @Query(SELECT_RESUMEN + " where p.id = :pacienteId and c.fechayHora >= :desde and c.fechayHora < :hasta"
+            + " and (c.fechayHora > :fechayHora or (c.fechayHora = :fechayHora and c.id > :id))"
+            + " order by c.fechayHora, c.id")
+    Slice<CitaResumenDTO> findResumenByPacienteIdEntreAfter(@Param("pacienteId") Long pacienteId,
+            @Param("desde") LocalDateTime desde, @Param("hasta") LocalDateTime hasta,
+            @Param("fechayHora") LocalDateTime fechayHora, @Param("id") Long id, Pageable pageable);
+
+    /**
+     * Primera página del resumen de citas de un odontólogo en un rango de fechas, ordenadas por (fechayHora, id).
+     * @param odontologoId ID del odontólogo.
+     * @param desde Inicio del rango (inclusive).
+     * @param hasta Fin del rango (exclusivo).
+     * @param pageable Límite de la página.
+     * @return Slice de resúmenes de cita.
+     */
+    @Query(SELECT_RESUMEN + " where o.id = :odontologoId and c.fechayHora >= :desde and c.fechayHora < :hasta"
+            + " order by c.fechayHora, c.id")
+    Slice<CitaResumenDTO> findResumenByOdontologoIdEntre(@Param("odontologoId") Long odontologoId,
+            @Param("desde") LocalDateTime desde, @Param("hasta") LocalDateTime hasta, Pageable pageable);
+
+    /**
+     * Página del resumen de citas de un odontólogo en un rango de fechas, posterior a la clave (fechayHora, id) indicada.
+     * @param odontologoId ID del odontólogo.
+     * @param desde Inicio del rango (inclusive).
+     * @param hasta Fin del rango (exclusivo).
+     * @param fechayHora Fecha y hora de la última cita de la página anterior.
+     * @param id ID de la última cita de la página anterior.
+     * @param pageable Límite de la página.
+     * @return Slice de resúmenes de cita.
+     */
+    @Query(SELECT_RESUMEN + " where o.id = :odontologoId and c.fechayHora >= :desde and c.fechayHora < :hasta"
+            + " and (c.fechayHora > :fechayHora or (c.fechayHora = :fechayHora and c.id > :id))"
+            + " order by c.fechayHora, c.id")
+    Slice<CitaResumenDTO> findResumenByOdontologoIdEntreAfter(@Param("odontologoId") Long odontologoId,
+            @Param("desde") LocalDateTime desde, @Param("hasta") LocalDateTime hasta,
+            @Param("fechayHora") LocalDateTime fechayHora, @Param("id") Long id, Pageable pageable);
+
+    /**
+     * Busca por ID cargando las asociaciones según el plan "Cita.detalle".
+     * @param id ID del registro.
+     * @return Optional con la entidad si existe.
+     */
+    @Override
+    @EntityGraph("Cita.detalle")
+    Optional<Cita> findById(Long id);
+
+    /**
+     * Búsqueda por ejemplo (GenericCrudServiceImpl.findAll) con el plan "Cita.detalle".
+     * @param example Ejemplo con los valores a comparar.
+     * @return Lista de entidades que coinciden.
+     */
+    @Override
+    @EntityGraph("Cita.detalle")
+    <S extends Cita> List<S> findAll(Example<S> example);
+
+    /**
+     * Recorre las citas de un odontólogo en un rango de fechas, ordenadas por (fechayHora, id),
+     * sin materializar la lista completa. Debe consumirse dentro de una transacción y cerrarse.
+     * El driver trae las filas en bloques de 500 (con MySQL, dentro de {@link LecturaPorCursor}).
+     * @param odontologoId ID del odontólogo.
+     * @param desde Inicio del rango (inclusive).
+     * @param hasta Fin del rango (exclusivo).
+     * @param estado Estado de la cita, o null para todos.
+     * @return Stream de citas con paciente y odontólogo cargados.
+     */
+    @Query("select c from Cita c where c.odontologo.id = :odontologoId"
+            + " and c.fechayHora >= :desde and c.fechayHora < :hasta"
+            + " and (:estado is null or c.estado = :estado)"
+            + " order by c.fechayHora, c.id")
+    @EntityGraph(attributePaths = { "paciente", "odontologo" })
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Cita> streamByOdontologoId(@Param("odontologoId") Long odontologoId, @Param("desde") LocalDateTime desde,
+            @Param("hasta") LocalDateTime hasta, @Param("estado") String estado);
 }
@@ -0,0 +1,32 @@
+package ec.webmarket.restful.persistence;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Cuenta por hilo las sentencias SQL que prepara Hibernate. Se registra con
+ * {@code spring.jpa.properties.hibernate.session_factory.statement_inspector}.
+ *
+ * El contador es acumulativo: quien quiera medir un tramo (una petición, un test) toma
+ * {@link #actual()} al inicio y al final y resta, de modo que varias mediciones anidadas
+ * no se pisan. Las sentencias que se ejecutan con JdbcTemplate no pasan por Hibernate
+ * y no se cuentan.
+ */
+public class ContadorSentencias implements StatementInspector {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final ThreadLocal<long[]> CONTADOR = ThreadLocal.withInitial(() -> new long[1]);
+
+    @Override
+    public String inspect(String sql) {
+        CONTADOR.get()[0]++;
+        return sql;
+    }
+
+    /**
+     * Sentencias preparadas hasta ahora en el hilo actual.
+     */
+    public static long actual() {
+        return CONTADOR.get()[0];
+    }
+}
@@ -0,0 +1,29 @@
+package ec.webmarket.restful.persistence;
+
+import java.time.LocalDate;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ec.webmarket.restful.domain.DisponibilidadDiaria;
+import ec.webmarket.restful.dto.v1.DisponibilidadDiaDTO;
+
+/**
+ * Repositorio para el resumen diario de disponibilidad por odontólogo.
+ * Las escrituras se hacen con SQL nativo desde {@code ResumenDisponibilidad}.
+ */
+public interface DisponibilidadDiariaRepository extends JpaRepository<DisponibilidadDiaria, DisponibilidadDiaria.Clave> {
+
+    /**
+     * Obtiene el resumen de los días de un odontólogo en un rango, recorriendo solo la clave primaria.
+     * @param odontologoId ID del odontólogo.
+     * @param desde Fecha inicial (inclusive).
+     * @param hasta Fecha final (inclusive).
+     * @return Resúmenes por día ordenados por fecha; los días sin horarios no aparecen.
+     */
+    @Query("select new ec.webmarket.restful.dto.v1.DisponibilidadDiaDTO(d.fecha, d.libres, d.total)"
+            + " from DisponibilidadDiaria d where d.odontologoId = :odontologoId and d.fecha between :desde and :hasta"
+            + " order by d.fecha")
+    List<DisponibilidadDiaDTO> findResumen(@Param("odontologoId") Long odontologoId,
+            @Param("desde") LocalDate desde, @Param("hasta") LocalDate hasta);
+}
@@ -0,0 +1,65 @@
+package ec.webmarket.restful.persistence;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ec.webmarket.restful.domain.HorarioArchivado;
+import ec.webmarket.restful.dto.v1.HorarioResumenDTO;
+
+/**
+ * Repositorio de los horarios archivados (tabla horario_archivo).
+ * Las escrituras se hacen con SQL nativo desde {@code ArchivadorHistorico}; las consultas
+ * devuelven las mismas proyecciones que {@link HorarioRepository}.
+ */
+public interface HorarioArchivoRepository extends JpaRepository<HorarioArchivado, Long> {
+
+    /**
+     * Proyección de los horarios archivados, igual a {@link HorarioRepository#SELECT_RESUMEN}.
+     */
+    String SELECT_RESUMEN = "select new ec.webmarket.restful.dto.v1.HorarioResumenDTO(h.id, h.fecha, h.horaInicio,"
+            + " h.horafinal, h.disponibilidad, o.id, o.nombre, o.apellido)"
+            + " from HorarioArchivado h join h.odontologo o";
+
+    /**
+     * Fecha del horario archivado más reciente.
+     * @return Fecha máxima, o null si el archivo está vacío.
+     */
+    @Query("select max(h.fecha) from HorarioArchivado h")
+    LocalDate findFechaMaxima();
+
+    /**
+     * Fechas en las que el odontólogo tiene horarios archivados.
+     * @param odontologoId ID del odontólogo.
+     * @return Lista de fechas sin repetir.
+     */
+    @Query("select distinct h.fecha from HorarioArchivado h where h.odontologo.id = :odontologoId")
+    List<LocalDate> findFechasByOdontologoId(@Param("odontologoId") Long odontologoId);
+
+    /**
+     * Primera página del resumen de horarios archivados de una fecha, ordenados por (horaInicio, id).
+     * @param fecha Fecha de los horarios.
+     * @param pageable Límite de la página.
+     * @return Slice de resúmenes de horario.
+     */
+    @Query(SELECT_RESUMEN + " where h.fecha = :fecha order by h.horaInicio, h.id")
+    Slice<HorarioResumenDTO> findResumenByFecha(@Param("fecha") LocalDate fecha, Pageable pageable);
+
+    /**
+     * Página del resumen de horarios archivados de una fecha posterior a la clave (horaInicio, id) indicada.
+     * @param fecha Fecha de los horarios.
+     * @param horaInicio Hora de inicio del último horario de la página anterior.
+     * @param id ID del último horario de la página anterior.
+     * @param pageable Límite de la página.
+     * @return Slice de resúmenes de horario.
+     */
+    @Query(SELECT_RESUMEN + " where h.fecha = :fecha"
+            + " and (h.horaInicio > :horaInicio or (h.horaInicio = :horaInicio and h.id > :id))"
+            + " order by h.horaInicio, h.id")
+    Slice<HorarioResumenDTO> findResumenByFechaAfter(@Param("fecha") LocalDate fecha,
+            @Param("horaInicio") LocalTime horaInicio, @Param("id") Long id, Pageable pageable);
+}
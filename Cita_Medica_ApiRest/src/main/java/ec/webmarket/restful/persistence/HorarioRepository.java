@@ -2,10 +2,22 @@ package ec.webmarket.restful.persistence;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Example;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import ec.webmarket.restful.domain.Horario;
 import ec.webmarket.restful.domain.Odontologo;
+import ec.webmarket.restful.dto.v1.HorarioResumenDTO;
+import jakarta.persistence.LockModeType;
 
 /**
  * Repositorio para la entidad Horario.
@@ -18,6 +30,7 @@ public interface HorarioRepository extends JpaRepository<Horario, Long> {
      * @param odontologoId ID del odontólogo.
      * @return Lista de horarios del odontólogo.
      */
+    @EntityGraph("Horario.odontologo")
     List<Horario> findByOdontologo_Id(Long odontologoId);
 
     /**
@@ -25,27 +38,15 @@ public interface HorarioRepository extends JpaRepository<Horario, Long> {
      * @param fecha Fecha de los horarios.
      * @return Lista de horarios en esa fecha.
      */
+    @EntityGraph("Horario.odontologo")
     List<Horario> findByFecha(LocalDate fecha);
 
-    /**
-     * Busca todos los horarios que comienzan a una hora específica.
-     * @param horaInicio Hora de inicio del horario.
-     * @return Lista de horarios que inician a la hora indicada.
-     */
-    List<Horario> findByHoraInicio(LocalTime horaInicio);
-
-    /**
-     * Busca todos los horarios que terminan a una hora específica.
-     * @param horafinal Hora de finalización del horario.
-     * @return Lista de horarios que finalizan a la hora indicada.
-     */
-    List<Horario> findByHorafinal(LocalTime horafinal);
-
     /**
      * Busca todos los horarios según su disponibilidad.
      * @param disponibilidad `true` si el horario está disponible, `false` si no lo está.
      * @return Lista de horarios según disponibilidad.
      */
+    @EntityGraph("Horario.odontologo")
     List<Horario> findByDisponibilidad(Boolean disponibilidad);
 
     /**
@@ -53,5 +54,135 @@ public interface HorarioRepository extends JpaRepository<Horario, Long> {
      * @param odontologo Objeto odontólogo.
      * @return Lista de horarios del odontólogo dado.
      */
+    @EntityGraph("Horario.odontologo")
     List<Horario> findByOdontologo(Odontologo odontologo);
+
+    /**
+     * Reclama un horario de forma atómica: solo lo marca como no disponible si aún lo estaba.
+     * @param id ID del horario.
+     * @return 1 si el horario fue reclamado, 0 si ya estaba tomado o no existe.
+     */
+    @Modifying
+    @Query("update Horario h set h.disponibilidad = false where h.id = :id and h.disponibilidad = true")
+    int reclamar(@Param("id") Long id);
+
+    /**
+     * Vuelve a marcar un horario como disponible, si no lo estaba ya.
+     * @param id ID del horario.
+     * @return 1 si el horario fue liberado, 0 si ya estaba disponible o no existe.
+     */
+    @Modifying
+    @Query("update Horario h set h.disponibilidad = true where h.id = :id and h.disponibilidad = false")
+    int liberar(@Param("id") Long id);
+
+    /**
+     * Carga los horarios de un lote de reservas bloqueándolos (SELECT ... FOR UPDATE) hasta
+     * el fin de la transacción. Se ordenan por ID para que dos lotes concurrentes tomen los
+     * bloqueos en el mismo orden.
+     * @param ids IDs de los horarios.
+     * @return Horarios existentes, ordenados por ID.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select h from Horario h where h.id in :ids order by h.id")
+    List<Horario> findParaReservar(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Reclama varios horarios con un único UPDATE condicional.
+     * @param ids IDs de los horarios.
+     * @return Número de horarios reclamados.
+     */
+    @Modifying
+    @Query("update Horario h set h.disponibilidad = false where h.id in :ids and h.disponibilidad = true")
+    int reclamarTodos(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Proyección usada por los listados de horarios: columnas del horario y nombre del
+     * odontólogo, sin cargar entidades.
+     */
+    String SELECT_RESUMEN = "select new ec.webmarket.restful.dto.v1.HorarioResumenDTO(h.id, h.fecha, h.horaInicio,"
+            + " h.horafinal, h.disponibilidad, o.id, o.nombre, o.apellido)"
+            + " from Horario h join h.odontologo o";
+
+    /**
+     * Resumen de los horarios de un odontólogo, ordenados por (fecha, horaInicio, id).
+     * @param odontologoId ID del odontólogo.
+     * @return Lista de resúmenes de horario.
+     */
+    @Query(SELECT_RESUMEN + " where o.id = :odontologoId order by h.fecha, h.horaInicio, h.id")
+    List<HorarioResumenDTO> findResumenByOdontologoId(@Param("odontologoId") Long odontologoId);
+
+    /**
+     * Primera página del resumen de horarios según disponibilidad, ordenados por (fecha, horaInicio, id).
+     * @param disponibilidad `true` si el horario está disponible, `false` si no lo está.
+     * @param pageable Límite de la página.
+     * @return Slice de resúmenes de horario.
+     */
+    @Query(SELECT_RESUMEN + " where h.disponibilidad = :disponibilidad order by h.fecha, h.horaInicio, h.id")
+    Slice<HorarioResumenDTO> findResumenByDisponibilidad(@Param("disponibilidad") Boolean disponibilidad, Pageable pageable);
+
+    /**
+     * Página del resumen de horarios según disponibilidad posterior a la clave (fecha, horaInicio, id) indicada.
+     * @param disponibilidad `true` si el horario está disponible, `false` si no lo está.
+     * @param fecha Fecha del último horario de la página anterior.
+     * @param horaInicio Hora de inicio del último horario de la página anterior.
+     * @param id ID del último horario de la página anterior.
+     * @param pageable Límite de la página.
+     * @return Slice de resúmenes de horario.
+     */
+    @Query(SELECT_RESUMEN + " where h.disponibilidad = :disponibilidad"
+            + " and (h.fecha > :fecha or (h.fecha = :fecha and (h.horaInicio > :horaInicio"
+            + " or (h.horaInicio = :horaInicio and h.id > :id))))"
+            + " order by h.fecha, h.horaInicio, h.id")
+    Slice<HorarioResumenDTO> findResumenByDisponibilidadAfter(@Param("disponibilidad") Boolean disponibilidad,
+            @Param("fecha") LocalDate fecha, @Param("horaInicio") LocalTime horaInicio,
+            @Param("id") Long id, Pageable pageable);
+
+    /**
+     * Primera página del resumen de horarios de una fecha, ordenados por (horaInicio, id).
+     * @param fecha Fecha de los horarios.
+     * @param pageable Límite de la página.
+     * @return Slice de resúmenes de horario.
+     */
+    @Query(SELECT_RESUMEN + " where h.fecha = :fecha order by h.horaInicio, h.id")
+    Slice<HorarioResumenDTO> findResumenByFecha(@Param("fecha") LocalDate fecha, Pageable pageable);
+
+    /**
+     * Página del resumen de horarios de una fecha posterior a la clave (horaInicio, id) indicada.
+     * @param fecha Fecha de los horarios.
+     * @param horaInicio Hora de inicio del último horario de la página anterior.
+     * @param id ID del último horario de la página anterior.
+     * @param pageable Límite de la página.
+     * @return Slice de resúmenes de horario.
+     */
+    @Query(SELECT_RESUMEN + " where h.fecha = :fecha"
+            + " and (h.horaInicio > :horaInicio or (h.horaInicio = :horaInicio and h.id > :id))"
+            + " order by h.horaInicio, h.id")
+    Slice<HorarioResumenDTO> findResumenByFechaAfter(@Param("fecha") LocalDate fecha,
+            @Param("horaInicio") LocalTime horaInicio, @Param("id") Long id, Pageable pageable);
+
+    /**
+     * Busca por ID cargando las asociaciones según el plan "Horario.odontologo".
+     * @param id ID del registro.
+     * @return Optional con la entidad si existe.
+     */
+    @Override
+    @EntityGraph("Horario.odontologo")
+    Optional<Horario> findById(Long id);
+
+    /**
+     * Búsqueda por ejemplo (GenericCrudServiceImpl.findAll) con el plan "Horario.odontologo".
+     * @param example Ejemplo con los valores a comparar.
+     * @return Lista de entidades que coinciden.
+     */
+    @Override
+    @EntityGraph("Horario.odontologo")
+    <S extends Horario> List<S> findAll(Example<S> example);
+
+    /**
+     * Fechas en las que el odontólogo tiene horarios.
+     * @param odontologoId ID del odontólogo.
+     * @return Lista de fechas sin repetir.
+     */
+    @Query("select distinct h.fecha from Horario h where h.odontologo.id = :odontologoId")
+    List<LocalDate> findFechasByOdontologoId(@Param("odontologoId") Long odontologoId);
 }
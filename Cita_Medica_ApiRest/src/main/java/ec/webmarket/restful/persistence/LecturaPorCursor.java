@@ -0,0 +1,66 @@
+package ec.webmarket.restful.persistence;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.Session;
+
+import com.mysql.cj.conf.PropertyKey;
+import com.mysql.cj.conf.RuntimeProperty;
+import com.mysql.cj.jdbc.JdbcConnection;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Activa la lectura por cursor de MySQL ({@code useCursorFetch}) solo en la conexión de la
+ * transacción actual, para que las consultas con {@code HINT_FETCH_SIZE} reciban las filas por
+ * bloques. Connector/J lee la propiedad al preparar cada sentencia y al leer sus filas, así
+ * que el resto de las conexiones del pool sigue con sentencias preparadas en el cliente.
+ * <pre>
+ * try (LecturaPorCursor.Ambito cursor = LecturaPorCursor.activar(entityManager);
+ *         Stream&lt;Cita&gt; citas = ...) {
+ *     ...
+ * }
+ * </pre>
+ * El ámbito debe cerrarse dentro de la transacción, antes de que la conexión vuelva al pool.
+ * Con otros drivers (H2 en las pruebas) no tiene efecto.
+ */
+public final class LecturaPorCursor {
+
+    private LecturaPorCursor() {
+    }
+
+    /**
+     * Activa la lectura por cursor en la conexión de la transacción actual hasta cerrar el
+     * ámbito devuelto.
+     */
+    public static Ambito activar(EntityManager entityManager) {
+        List<RuntimeProperty<Boolean>> activadas = new ArrayList<>(2);
+        entityManager.unwrap(Session.class).doWork(conexion -> {
+            if (conexion.isWrapperFor(JdbcConnection.class)) {
+                var propiedades = conexion.unwrap(JdbcConnection.class).getPropertySet();
+                // El cursor solo existe en sentencias preparadas en el servidor.
+                activar(propiedades.getBooleanProperty(PropertyKey.useCursorFetch), activadas);
+                activar(propiedades.getBooleanProperty(PropertyKey.useServerPrepStmts), activadas);
+            }
+        });
+        return () -> activadas.forEach(propiedad -> propiedad.setValue(Boolean.FALSE));
+    }
+
+    private static void activar(RuntimeProperty<Boolean> propiedad, List<RuntimeProperty<Boolean>> activadas) {
+        if (!propiedad.getValue()) {
+            propiedad.setValue(Boolean.TRUE);
+            activadas.add(propiedad);
+        }
+    }
+
+    /**
+     * Ámbito abierto por {@link #activar(EntityManager)}; al cerrarlo se restaura la conexión.
+     */
+    @FunctionalInterface
+    public interface Ambito extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+}
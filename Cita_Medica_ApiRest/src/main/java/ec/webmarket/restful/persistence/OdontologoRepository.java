@@ -2,8 +2,13 @@ package ec.webmarket.restful.persistence;
 
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Example;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.hibernate.jpa.HibernateHints;
 import ec.webmarket.restful.domain.Odontologo;
+import jakarta.persistence.QueryHint;
 
 /**
  * Repositorio para la entidad Odontologo.
@@ -16,6 +21,7 @@ public interface OdontologoRepository extends JpaRepository<Odontologo, Long> {
      * @param nombre Nombre del odontólogo.
      * @return Lista de odontólogos con el nombre especificado.
      */
+    @EntityGraph("Odontologo.usuario")
     List<Odontologo> findByNombre(String nombre);
 
     /**
@@ -23,6 +29,7 @@ public interface OdontologoRepository extends JpaRepository<Odontologo, Long> {
      * @param apellido Apellido del odontólogo.
      * @return Lista de odontólogos con el apellido especificado.
      */
+    @EntityGraph("Odontologo.usuario")
     List<Odontologo> findByApellido(String apellido);
 
     /**
@@ -30,6 +37,7 @@ public interface OdontologoRepository extends JpaRepository<Odontologo, Long> {
      * @param telefono Número de teléfono del odontólogo.
      * @return Lista de odontólogos con el teléfono especificado.
      */
+    @EntityGraph("Odontologo.usuario")
     List<Odontologo> findByTelefono(String telefono);
 
     /**
@@ -37,6 +45,7 @@ public interface OdontologoRepository extends JpaRepository<Odontologo, Long> {
      * @param email Correo electrónico del odontólogo.
      * @return Lista de odontólogos con el correo electrónico especificado.
      */
+    @EntityGraph("Odontologo.usuario")
     List<Odontologo> findByEmail(String email);
 
     /**
@@ -44,6 +53,8 @@ public interface OdontologoRepository extends JpaRepository<Odontologo, Long> {
      * @param usuarioId ID del usuario asociado al odontólogo.
      * @return Un Optional con el odontólogo si se encuentra, de lo contrario, vacío.
      */
+    @EntityGraph("Odontologo.usuario")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Odontologo> findByUsuario_Id(Long usuarioId);
 
     /**
@@ -51,6 +62,8 @@ public interface OdontologoRepository extends JpaRepository<Odontologo, Long> {
      * @param nombreUsuario Nombre de usuario asociado al odontólogo.
      * @return Un Optional con el odontólogo si se encuentra, de lo contrario, vacío.
      */
+    @EntityGraph("Odontologo.usuario")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Odontologo> findByUsuario_NombreUsuario(String nombreUsuario);
 
     /**
@@ -58,5 +71,33 @@ public interface OdontologoRepository extends JpaRepository<Odontologo, Long> {
      * @param cedula Número de cédula del odontólogo.
      * @return Un Optional con el odontólogo si se encuentra, de lo contrario, vacío.
      */
+    @EntityGraph("Odontologo.usuario")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Odontologo> findByCedula(String cedula);
+
+    /**
+     * Busca por ID cargando las asociaciones según el plan "Odontologo.usuario".
+     * @param id ID del registro.
+     * @return Optional con la entidad si existe.
+     */
+    @Override
+    @EntityGraph("Odontologo.usuario")
+    Optional<Odontologo> findById(Long id);
+
+    /**
+     * Búsqueda por ejemplo (GenericCrudServiceImpl.findAll) con el plan "Odontologo.usuario".
+     * @param example Ejemplo con los valores a comparar.
+     * @return Lista de entidades que coinciden.
+     */
+    @Override
+    @EntityGraph("Odontologo.usuario")
+    <S extends Odontologo> List<S> findAll(Example<S> example);
+
+    /**
+     * Obtiene todos los registros con el plan "Odontologo.usuario".
+     * @return Lista de entidades.
+     */
+    @Override
+    @EntityGraph("Odontologo.usuario")
+    List<Odontologo> findAll();
 }
@@ -1,10 +1,18 @@
 package ec.webmarket.restful.persistence;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Example;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.hibernate.jpa.HibernateHints;
 import ec.webmarket.restful.domain.Paciente;
+import jakarta.persistence.QueryHint;
 
 /**
  * Repositorio para la entidad Paciente.
@@ -17,6 +25,7 @@ public interface PacienteRepository extends JpaRepository<Paciente, Long> {
      * @param nombre Nombre del paciente.
      * @return Lista de pacientes con el nombre especificado.
      */
+    @EntityGraph("Paciente.usuario")
     List<Paciente> findByNombre(String nombre);
 
     /**
@@ -24,6 +33,7 @@ public interface PacienteRepository extends JpaRepository<Paciente, Long> {
      * @param apellido Apellido del paciente.
      * @return Lista de pacientes con el apellido especificado.
      */
+    @EntityGraph("Paciente.usuario")
     List<Paciente> findByApellido(String apellido);
 
     /**
@@ -31,6 +41,7 @@ public interface PacienteRepository extends JpaRepository<Paciente, Long> {
      * @param telefono Número de teléfono del paciente.
      * @return Lista de pacientes con el teléfono especificado.
      */
+    @EntityGraph("Paciente.usuario")
     List<Paciente> findByTelefono(String telefono);
 
     /**
@@ -38,6 +49,7 @@ public interface PacienteRepository extends JpaRepository<Paciente, Long> {
      * @param email Correo electrónico del paciente.
      * @return Lista de pacientes con el correo electrónico especificado.
      */
+    @EntityGraph("Paciente.usuario")
     List<Paciente> findByEmail(String email);
 
     /**
@@ -45,6 +57,7 @@ public interface PacienteRepository extends JpaRepository<Paciente, Long> {
      * @param fechaNacimiento Fecha de nacimiento del paciente.
      * @return Lista de pacientes con la fecha de nacimiento especificada.
      */
+    @EntityGraph("Paciente.usuario")
     List<Paciente> findByFechaNacimiento(LocalDate fechaNacimiento);
 
     /**
@@ -52,6 +65,7 @@ public interface PacienteRepository extends JpaRepository<Paciente, Long> {
      * @param direccion Dirección del paciente.
      * @return Lista de pacientes con la dirección especificada.
      */
+    @EntityGraph("Paciente.usuario")
     List<Paciente> findByDireccion(String direccion);
 
     /**
@@ -59,6 +73,8 @@ public interface PacienteRepository extends JpaRepository<Paciente, Long> {
      * @param usuarioId ID del usuario asociado al paciente.
      * @return Un Optional con el paciente si se encuentra, de lo contrario, vacío.
      */
+    @EntityGraph("Paciente.usuario")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Paciente> findByUsuario_Id(Long usuarioId);
 
     /**
@@ -66,6 +82,8 @@ public interface PacienteRepository extends JpaRepository<Paciente, Long> {
      * @param nombreUsuario Nombre de usuario asociado al paciente.
      * @return Un Optional con el paciente si se encuentra, de lo contrario, vacío.
      */
+    @EntityGraph("Paciente.usuario")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Paciente> findByUsuario_NombreUsuario(String nombreUsuario);
 
     /**
@@ -73,5 +91,41 @@ public interface PacienteRepository extends JpaRepository<Paciente, Long> {
      * @param cedula Número de cédula del paciente.
      * @return Un Optional con el paciente si se encuentra, de lo contrario, vacío.
      */
+    @EntityGraph("Paciente.usuario")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Paciente> findByCedula(String cedula);
+
+    /**
+     * IDs de los pacientes que existen entre los indicados, en una sola consulta.
+     * @param ids IDs a comprobar.
+     * @return IDs existentes.
+     */
+    @Query("select p.id from Paciente p where p.id in :ids")
+    List<Long> findIdsExistentes(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Busca por ID cargando las asociaciones según el plan "Paciente.usuario".
+     * @param id ID del registro.
+     * @return Optional con la entidad si existe.
+     */
+    @Override
+    @EntityGraph("Paciente.usuario")
+    Optional<Paciente> findById(Long id);
+
+    /**
+     * Búsqueda por ejemplo (GenericCrudServiceImpl.findAll) con el plan "Paciente.usuario".
+     * @param example Ejemplo con los valores a comparar.
+     * @return Lista de entidades que coinciden.
+     */
+    @Override
+    @EntityGraph("Paciente.usuario")
+    <S extends Paciente> List<S> findAll(Example<S> example);
+
+    /**
+     * Obtiene todos los registros con el plan "Paciente.usuario".
+     * @return Lista de entidades.
+     */
+    @Override
+    @EntityGraph("Paciente.usuario")
+    List<Paciente> findAll();
 }
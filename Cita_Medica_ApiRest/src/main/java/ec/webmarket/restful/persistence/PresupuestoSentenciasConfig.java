@@ -0,0 +1,23 @@
+package ec.webmarket.restful.persistence;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import ec.webmarket.restful.common.ApiConstants;
+
+/**
+ * Registra {@link PresupuestoSentenciasInterceptor} para los endpoints de la API.
+ */
+@Configuration
+public class PresupuestoSentenciasConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private PresupuestoSentenciasInterceptor interceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(interceptor).addPathPatterns(ApiConstants.URI_API_V1 + "**");
+    }
+}
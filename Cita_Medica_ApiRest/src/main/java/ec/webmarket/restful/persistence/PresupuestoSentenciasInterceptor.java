@@ -0,0 +1,96 @@
+package ec.webmarket.restful.persistence;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Presupuesto de sentencias SQL por petición. Al terminar cada petición compara las
+ * sentencias que contó {@link ContadorSentencias} con el presupuesto del endpoint y,
+ * si lo supera, registra una advertencia con el método y la ruta; así un N+1 que
+ * aparece en producción queda en el log aunque la respuesta sea correcta.
+ *
+ * El presupuesto de cada endpoint se configura con
+ * {@code sql.presupuesto.<Controlador>.<metodo>} (por ejemplo
+ * {@code sql.presupuesto.CitaController.getCitasByPaciente=3}); los demás usan
+ * {@code sql.presupuesto.defecto}. El conteo se publica también en la métrica
+ * {@code http.server.sentencias}.
+ */
+@Component
+public class PresupuestoSentenciasInterceptor implements AsyncHandlerInterceptor {
+
+    private static final Logger log = LoggerFactory.getLogger(PresupuestoSentenciasInterceptor.class);
+
+    private static final String INICIO = PresupuestoSentenciasInterceptor.class.getName() + ".INICIO";
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private ObjectProvider<MeterRegistry> registro;
+
+    @Value("${sql.presupuesto.defecto:10}")
+    private int defecto;
+
+    private final Map<HandlerMethod, Integer> presupuestos = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        request.setAttribute(INICIO, ContadorSentencias.actual());
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // La respuesta continúa en otro hilo (p. ej. la exportación NDJSON); sus sentencias no se atribuyen aquí.
+        request.removeAttribute(INICIO);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object inicio = request.getAttribute(INICIO);
+        if (!(inicio instanceof Long) || !(handler instanceof HandlerMethod metodo)) {
+            return;
+        }
+        request.removeAttribute(INICIO);
+        long sentencias = ContadorSentencias.actual() - (Long) inicio;
+        String ruta = String.valueOf(request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE));
+
+        MeterRegistry meterRegistry = registro.getIfAvailable();
+        if (meterRegistry != null) {
+            DistributionSummary.builder("http.server.sentencias")
+                    .tag("method", request.getMethod())
+                    .tag("uri", ruta)
+                    .register(meterRegistry)
+                    .record(sentencias);
+        }
+
+        int presupuesto = presupuesto(metodo);
+        if (sentencias > presupuesto) {
+            log.warn("{} {} ejecutó {} sentencias SQL (presupuesto {})", request.getMethod(), ruta, sentencias, presupuesto);
+        }
+    }
+
+    /**
+     * Presupuesto configurado para el método del controlador.
+     */
+    public int presupuesto(HandlerMethod metodo) {
+        return presupuestos.computeIfAbsent(metodo, m -> environment.getProperty(
+                "sql.presupuesto." + m.getBeanType().getSimpleName() + "." + m.getMethod().getName(), Integer.class, defecto));
+    }
+}
@@ -0,0 +1,53 @@
+package ec.webmarket.restful.replica;
+
+/**
+ * Obliga a que las lecturas del hilo actual vayan a la base primaria aunque la transacción
+ * sea de solo lectura. Se usa cuando una réplica atrasada daría un resultado incorrecto:
+ * el cliente acaba de escribir (lectura propia), la respuesta se va a cachear tras una
+ * invalidación reciente, o se carga un estado en memoria que luego se mantiene por diferencias.
+ * <pre>
+ * try (ConsistenciaLectura.Ambito ambito = ConsistenciaLectura.primaria()) {
+ *     ...
+ * }
+ * </pre>
+ * Sin réplica configurada no tiene efecto.
+ */
+public final class ConsistenciaLectura {
+
+    private static final ThreadLocal<Boolean> PRIMARIA = new ThreadLocal<>();
+
+    private ConsistenciaLectura() {
+    }
+
+    /**
+     * Envía a la primaria las lecturas del hilo hasta cerrar el ámbito devuelto.
+     */
+    public static Ambito primaria() {
+        Boolean anterior = PRIMARIA.get();
+        PRIMARIA.set(Boolean.TRUE);
+        return () -> {
+            if (anterior == null) {
+                PRIMARIA.remove();
+            } else {
+                PRIMARIA.set(anterior);
+            }
+        };
+    }
+
+    /**
+     * Indica si las lecturas del hilo deben ir a la primaria.
+     */
+    public static boolean enPrimaria() {
+        return Boolean.TRUE.equals(PRIMARIA.get());
+    }
+
+    /**
+     * Ámbito abierto por {@link #primaria()}; al cerrarlo se restaura el estado anterior.
+     */
+    @FunctionalInterface
+    public interface Ambito extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+}
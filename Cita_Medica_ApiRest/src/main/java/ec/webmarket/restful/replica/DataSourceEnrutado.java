@@ -0,0 +1,32 @@
+package ec.webmarket.restful.replica;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Elige la base de cada conexión: las transacciones de solo lectura van a la réplica y todo
+ * lo demás (escrituras, DDL, sentencias fuera de transacción) a la primaria.
+ * {@link ConsistenciaLectura} puede forzar la primaria también para las de solo lectura.
+ *
+ * La marca de solo lectura se publica después de que el gestor de transacciones pide la
+ * conexión, por eso este DataSource se usa detrás de un
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}, que pide la
+ * conexión real recién con la primera sentencia.
+ */
+public class DataSourceEnrutado extends AbstractRoutingDataSource {
+
+    /**
+     * Claves de los DataSource destino.
+     */
+    public enum Destino {
+        PRIMARIA, REPLICA
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly() && !ConsistenciaLectura.enPrimaria()) {
+            return Destino.REPLICA;
+        }
+        return Destino.PRIMARIA;
+    }
+}
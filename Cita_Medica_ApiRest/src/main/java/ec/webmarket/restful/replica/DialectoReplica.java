@@ -0,0 +1,54 @@
+package ec.webmarket.restful.replica;
+
+import java.sql.SQLException;
+
+import org.hibernate.jpa.SpecHints;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.transaction.TransactionDefinition;
+
+import jakarta.persistence.CacheStoreMode;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+
+/**
+ * Las transacciones que leen de la réplica usan la caché de segundo nivel y la de consultas
+ * solo para leer ({@link CacheStoreMode#BYPASS}). La réplica puede estar atrasada respecto de la
+ * última escritura: si sus resultados se guardaran en la caché, quedarían marcados como
+ * posteriores a esa escritura y se servirían a todos, incluso a las transacciones que leen de
+ * la primaria (por ejemplo, "no existe" para una cédula recién registrada, o una entidad ya
+ * eliminada). Las transacciones que van a la primaria llenan la caché como siempre.
+ *
+ * La caché de consultas solo respeta este modo con {@link FabricaRegionesCache}.
+ */
+public class DialectoReplica extends HibernateJpaDialect {
+
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    public Object beginTransaction(EntityManager entityManager, TransactionDefinition definition)
+            throws PersistenceException, SQLException {
+        Object datos = super.beginTransaction(entityManager, definition);
+        // Misma condición que DataSourceEnrutado para elegir la réplica.
+        if (!definition.isReadOnly() || ConsistenciaLectura.enPrimaria()) {
+            return datos;
+        }
+        Object anterior = entityManager.getProperties().get(SpecHints.HINT_SPEC_CACHE_STORE_MODE);
+        entityManager.setProperty(SpecHints.HINT_SPEC_CACHE_STORE_MODE, CacheStoreMode.BYPASS);
+        return new EnReplica(datos, entityManager, anterior != null ? anterior : CacheStoreMode.USE);
+    }
+
+    @Override
+    public void cleanupTransaction(Object datos) {
+        if (datos instanceof EnReplica enReplica) {
+            if (enReplica.entityManager().isOpen()) {
+                enReplica.entityManager().setProperty(SpecHints.HINT_SPEC_CACHE_STORE_MODE, enReplica.anterior());
+            }
+            super.cleanupTransaction(enReplica.datos());
+        } else {
+            super.cleanupTransaction(datos);
+        }
+    }
+
+    private record EnReplica(Object datos, EntityManager entityManager, Object anterior) {
+    }
+}
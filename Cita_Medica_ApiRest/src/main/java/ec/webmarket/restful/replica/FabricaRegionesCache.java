@@ -0,0 +1,68 @@
+package ec.webmarket.restful.replica;
+
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.cache.spi.support.StorageAccess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+
+/**
+ * Fábrica de regiones JCache que respeta el modo de caché de la sesión también en la caché de
+ * consultas. Hibernate 6.5 guarda el resultado de una consulta cacheable tras un fallo aunque
+ * la sesión no admita escrituras en la caché ({@code CacheMode.GET}); con ello las consultas
+ * que {@link DialectoReplica} envía a la réplica llenarían la caché con datos atrasados.
+ */
+public class FabricaRegionesCache extends JCacheRegionFactory {
+
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    protected StorageAccess createQueryResultsRegionStorageAccess(String regionName,
+            SessionFactoryImplementor sessionFactory) {
+        return new SoloLecturaSegunSesion(super.createQueryResultsRegionStorageAccess(regionName, sessionFactory));
+    }
+
+    private record SoloLecturaSegunSesion(StorageAccess destino) implements StorageAccess {
+
+        @Override
+        public Object getFromCache(Object key, SharedSessionContractImplementor session) {
+            return destino.getFromCache(key, session);
+        }
+
+        @Override
+        public void putIntoCache(Object key, Object value, SharedSessionContractImplementor session) {
+            if (session.getCacheMode().isPutEnabled()) {
+                destino.putIntoCache(key, value, session);
+            }
+        }
+
+        @Override
+        public void removeFromCache(Object key, SharedSessionContractImplementor session) {
+            destino.removeFromCache(key, session);
+        }
+
+        @Override
+        public void clearCache(SharedSessionContractImplementor session) {
+            destino.clearCache(session);
+        }
+
+        @Override
+        public boolean contains(Object key) {
+            return destino.contains(key);
+        }
+
+        @Override
+        public void evictData() {
+            destino.evictData();
+        }
+
+        @Override
+        public void evictData(Object key) {
+            destino.evictData(key);
+        }
+
+        @Override
+        public void release() {
+            destino.release();
+        }
+    }
+}
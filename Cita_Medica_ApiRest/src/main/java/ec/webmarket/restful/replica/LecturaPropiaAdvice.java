@@ -0,0 +1,39 @@
+package ec.webmarket.restful.replica;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Agrega la cabecera {@value LecturaPropiaFilter#CABECERA} a las escrituras exitosas justo antes
+ * de escribir el cuerpo: después de {@code chain.doFilter} la respuesta ya está enviada y el
+ * filtro no puede agregar cabeceras. Las respuestas de escritura sin cuerpo las completa
+ * {@link LecturaPropiaFilter}.
+ */
+@RestControllerAdvice
+@ConditionalOnProperty(name = "replica.url")
+public class LecturaPropiaAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+            Class<? extends HttpMessageConverter<?>> selectedConverterType, ServerHttpRequest request,
+            ServerHttpResponse response) {
+        if (LecturaPropiaFilter.esEscritura(request.getMethod().name())
+                && response instanceof ServletServerHttpResponse servlet
+                && servlet.getServletResponse().getStatus() < 400) {
+            response.getHeaders().set(LecturaPropiaFilter.CABECERA, LecturaPropiaFilter.marca());
+        }
+        return body;
+    }
+}
@@ -0,0 +1,85 @@
+package ec.webmarket.restful.replica;
+
+import java.io.IOException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Lectura de las propias escrituras con réplica. Cada escritura que termina bien (POST, PUT,
+ * PATCH o DELETE con estado menor a 400) responde la cabecera {@value #CABECERA} con el
+ * instante de la escritura ({@link LecturaPropiaAdvice} la agrega antes del cuerpo). Si el cliente la reenvía en sus lecturas, mientras no hayan pasado
+ * {@code replica.retraso-maximo-ms} (el atraso tolerado de la réplica) sus lecturas se hacen
+ * en la primaria; después vuelven a la réplica.
+ *
+ * El valor no va firmado: un cliente solo puede hacer que sus propias lecturas vayan a la
+ * primaria, y se ignoran los instantes futuros o más antiguos que la ventana.
+ * Se ejecuta después de la autenticación y antes que la caché de respuestas.
+ */
+@Component
+@ConditionalOnProperty(name = "replica.url")
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+public class LecturaPropiaFilter extends OncePerRequestFilter {
+
+    /**
+     * Cabecera con el instante (milisegundos desde la época) de la última escritura del cliente.
+     */
+    public static final String CABECERA = "X-Lectura-Propia";
+
+    @Value("${replica.retraso-maximo-ms:5000}")
+    private long retrasoMaximoMs;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!esEscritura(request.getMethod())) {
+            if (reciente(request.getHeader(CABECERA))) {
+                try (ConsistenciaLectura.Ambito ambito = ConsistenciaLectura.primaria()) {
+                    chain.doFilter(request, response);
+                }
+            } else {
+                chain.doFilter(request, response);
+            }
+            return;
+        }
+        chain.doFilter(request, response);
+        // Escrituras sin cuerpo: la respuesta todavía no se envió.
+        if (response.getStatus() < 400 && !response.isCommitted() && !response.containsHeader(CABECERA)) {
+            response.setHeader(CABECERA, marca());
+        }
+    }
+
+    /**
+     * Valor de la cabecera para una escritura que termina ahora.
+     */
+    static String marca() {
+        return Long.toString(System.currentTimeMillis());
+    }
+
+    private boolean reciente(String valor) {
+        if (valor == null || valor.isBlank()) {
+            return false;
+        }
+        long escritura;
+        try {
+            escritura = Long.parseLong(valor.trim());
+        } catch (NumberFormatException e) {
+            return false;
+        }
+        long ahora = System.currentTimeMillis();
+        return escritura <= ahora && ahora - escritura < retrasoMaximoMs;
+    }
+
+    static boolean esEscritura(String metodo) {
+        return "POST".equals(metodo) || "PUT".equals(metodo) || "PATCH".equals(metodo) || "DELETE".equals(metodo);
+    }
+}
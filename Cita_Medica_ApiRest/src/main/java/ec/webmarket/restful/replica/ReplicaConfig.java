@@ -0,0 +1,93 @@
+package ec.webmarket.restful.replica;
+
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.AbstractEntityManagerFactoryBean;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Separa lecturas y escrituras cuando hay una réplica configurada ({@code replica.url}).
+ * Crea dos pools Hikari, la primaria con {@code spring.datasource.*} y la réplica con
+ * {@code replica.*} (url, username, password, hikari.*), y expone como DataSource principal
+ * un {@link DataSourceEnrutado} detrás de un {@link LazyConnectionDataSourceProxy}. JPA, los
+ * JdbcTemplate y el gestor de transacciones usan ese DataSource sin cambios.
+ *
+ * Las sesiones que leen de la réplica no escriben en la caché de segundo nivel ni en la de
+ * consultas ({@link DialectoReplica}).
+ *
+ * Sin {@code replica.url} esta configuración no se carga y Spring Boot crea el DataSource
+ * único de siempre.
+ */
+@Configuration
+@ConditionalOnProperty(name = "replica.url")
+public class ReplicaConfig {
+
+    @Bean(name = "dataSourcePrimaria")
+    public HikariDataSource dataSourcePrimaria(DataSourceProperties propiedades, Environment entorno) {
+        return pool(propiedades, "spring.datasource.hikari", "primaria", entorno);
+    }
+
+    @Bean(name = "dataSourceReplica")
+    public HikariDataSource dataSourceReplica(Environment entorno) throws Exception {
+        DataSourceProperties propiedades = Binder.get(entorno).bind("replica", DataSourceProperties.class)
+                .orElseThrow(() -> new IllegalStateException("Falta la configuración replica.*"));
+        propiedades.setBeanClassLoader(getClass().getClassLoader());
+        propiedades.afterPropertiesSet();
+        HikariDataSource replica = pool(propiedades, "replica.hikari", "replica", entorno);
+        replica.setReadOnly(true);
+        return replica;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("dataSourcePrimaria") HikariDataSource dataSourcePrimaria,
+            @Qualifier("dataSourceReplica") HikariDataSource dataSourceReplica) {
+        DataSourceEnrutado enrutado = new DataSourceEnrutado();
+        enrutado.setTargetDataSources(Map.<Object, Object>of(
+                DataSourceEnrutado.Destino.PRIMARIA, dataSourcePrimaria,
+                DataSourceEnrutado.Destino.REPLICA, dataSourceReplica));
+        enrutado.setDefaultTargetDataSource(dataSourcePrimaria);
+        enrutado.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(enrutado);
+    }
+
+    /**
+     * Instala {@link DialectoReplica} en la fábrica de EntityManager antes de que se inicialice;
+     * el gestor de transacciones JPA toma el dialecto de la fábrica.
+     */
+    @Bean
+    public static BeanPostProcessor dialectoReplica() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String nombre) throws BeansException {
+                if (bean instanceof AbstractEntityManagerFactoryBean fabrica) {
+                    fabrica.setJpaDialect(new DialectoReplica());
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static HikariDataSource pool(DataSourceProperties propiedades, String prefijoHikari, String nombre,
+            Environment entorno) {
+        HikariDataSource pool = propiedades.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(entorno).bind(prefijoHikari, Bindable.ofInstance(pool));
+        pool.setPoolName(nombre);
+        return pool;
+    }
+}
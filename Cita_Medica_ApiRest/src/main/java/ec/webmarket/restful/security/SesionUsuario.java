@@ -0,0 +1,36 @@
+package ec.webmarket.restful.security;
+
+/**
+ * Usuario autenticado de la petición actual, tal como lo describe su token de sesión.
+ * {@link TokenAuthFilter} lo deja en el atributo {@link #ATRIBUTO} de la petición.
+ */
+public final class SesionUsuario {
+
+    /**
+     * Nombre del atributo de la petición que contiene la sesión; constante para poder usarlo
+     * en {@code @RequestAttribute}.
+     */
+    public static final String ATRIBUTO = "ec.webmarket.restful.security.SesionUsuario";
+
+    private final Long usuarioId;
+    private final boolean odontologo;
+
+    public SesionUsuario(Long usuarioId, boolean odontologo) {
+        this.usuarioId = usuarioId;
+        this.odontologo = odontologo;
+    }
+
+    /**
+     * ID del usuario autenticado.
+     */
+    public Long getUsuarioId() {
+        return usuarioId;
+    }
+
+    /**
+     * true si el usuario es odontólogo, false si es paciente.
+     */
+    public boolean isOdontologo() {
+        return odontologo;
+    }
+}
@@ -0,0 +1,90 @@
+package ec.webmarket.restful.security;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import ec.webmarket.restful.common.ApiConstants;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Autentica las peticiones con el token de sesión de la cabecera
+ * {@code Authorization: Bearer <token>}, verificándolo en memoria con {@link TokenService}.
+ * Un token inválido, expirado o revocado responde 401, igual que una cabecera Authorization que
+ * no es {@code Bearer <token>}. Sin cabecera, la petición continúa como anónima salvo que
+ * {@code token.requerido=true}, en cuyo caso solo se admiten sin token el registro y el login.
+ * Las operaciones que dependen de quién llama (cambio de clave, asignación de rol) exigen la
+ * sesión aunque {@code token.requerido=false}.
+ *
+ * Se ejecuta antes que la caché de respuestas, para que un acierto de caché no la evite.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class TokenAuthFilter extends OncePerRequestFilter {
+
+    private static final String PREFIJO = "Bearer ";
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${token.requerido:false}")
+    private boolean requerido;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String ruta = request.getRequestURI().substring(request.getContextPath().length());
+        return !ruta.startsWith(ApiConstants.URI_API_V1)
+                || ruta.equals(ApiConstants.URI_API_V1_USUARIO + "/login")
+                || ruta.equals(ApiConstants.URI_API_V1_USUARIO + "/register");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String cabecera = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (cabecera == null) {
+            if (requerido) {
+                rechazar(response, "Se requiere un token de sesión");
+                return;
+            }
+            chain.doFilter(request, response);
+            return;
+        }
+        if (!cabecera.startsWith(PREFIJO)) {
+            rechazar(response, "La cabecera Authorization debe ser Bearer <token>");
+            return;
+        }
+        SesionUsuario sesion = tokenService.verificar(cabecera.substring(PREFIJO.length()).trim());
+        if (sesion == null) {
+            rechazar(response, "Token de sesión inválido o expirado");
+            return;
+        }
+        request.setAttribute(SesionUsuario.ATRIBUTO, sesion);
+        chain.doFilter(request, response);
+    }
+
+    private void rechazar(HttpServletResponse response, String mensaje) throws IOException {
+        response.setStatus(HttpStatus.UNAUTHORIZED.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.WWW_AUTHENTICATE, "Bearer");
+        objectMapper.writeValue(response.getOutputStream(), new ApiResponseDTO<>(false, mensaje));
+    }
+}
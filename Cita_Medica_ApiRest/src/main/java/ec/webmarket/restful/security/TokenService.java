@@ -0,0 +1,142 @@
+package ec.webmarket.restful.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import ec.webmarket.restful.dto.v1.SesionDTO;
+import ec.webmarket.restful.dto.v1.UsuarioDTO;
+
+/**
+ * Emite y verifica tokens de sesión firmados con HMAC-SHA256, sin consultar la base de datos.
+ * El token es {@code base64url(id:tipo:emitido:expira).base64url(firma)}, con tiempos en
+ * milisegundos. La revocación se resuelve en memoria: al cambiar la clave o el rol de un usuario
+ * se anota el instante, y se rechazan los tokens de ese usuario emitidos hasta entonces.
+ *
+ * Si {@code token.secreto} no está configurado se genera una clave aleatoria al arrancar, de modo
+ * que los tokens no sobreviven a un reinicio ni se comparten entre instancias. La revocación
+ * también es local a cada instancia.
+ */
+@Component
+public class TokenService {
+
+    private static final String ALGORITMO = "HmacSHA256";
+    private static final String SEPARADOR = ":";
+    private static final Base64.Encoder CODIFICADOR = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODIFICADOR = Base64.getUrlDecoder();
+
+    private final Mac prototipo;
+    private final long duracionMs;
+
+    /**
+     * Instante de la última revocación por usuario. Las entradas más antiguas que la duración
+     * de un token ya no afectan a ningún token vigente y se descartan.
+     */
+    private final Map<Long, Long> revocados = new ConcurrentHashMap<>();
+
+    public TokenService(@Value("${token.secreto:}") String secreto,
+            @Value("${token.duracion-minutos:480}") long duracionMinutos) throws GeneralSecurityException {
+        byte[] clave;
+        if (secreto.isBlank()) {
+            clave = new byte[32];
+            new SecureRandom().nextBytes(clave);
+        } else {
+            clave = Base64.getDecoder().decode(secreto);
+        }
+        this.prototipo = Mac.getInstance(ALGORITMO);
+        this.prototipo.init(new SecretKeySpec(clave, ALGORITMO));
+        this.duracionMs = TimeUnit.MINUTES.toMillis(duracionMinutos);
+    }
+
+    /**
+     * Emite un token para el usuario autenticado.
+     * @param usuario Usuario autenticado.
+     * @return Sesión con el token y su expiración.
+     */
+    public SesionDTO emitir(UsuarioDTO usuario) {
+        long emitido = System.currentTimeMillis();
+        long expira = emitido + duracionMs;
+        int tipo = Boolean.TRUE.equals(usuario.getTipoUsuario()) ? 1 : 0;
+        String carga = usuario.getId() + SEPARADOR + tipo + SEPARADOR + emitido + SEPARADOR + expira;
+        byte[] bytes = carga.getBytes(StandardCharsets.US_ASCII);
+        String token = CODIFICADOR.encodeToString(bytes) + "." + CODIFICADOR.encodeToString(firmar(bytes));
+
+        SesionDTO sesion = new SesionDTO();
+        sesion.setToken(token);
+        sesion.setExpira(expira);
+        sesion.setUsuarioId(usuario.getId());
+        sesion.setNombreUsuario(usuario.getNombreUsuario());
+        sesion.setTipoUsuario(usuario.getTipoUsuario());
+        return sesion;
+    }
+
+    /**
+     * Verifica la firma, la expiración y la revocación del token.
+     * @param token Token recibido.
+     * @return La sesión del usuario, o null si el token no es válido.
+     */
+    public SesionUsuario verificar(String token) {
+        int punto = token.indexOf('.');
+        if (punto <= 0 || punto != token.lastIndexOf('.')) {
+            return null;
+        }
+        byte[] carga;
+        byte[] firma;
+        try {
+            carga = DECODIFICADOR.decode(token.substring(0, punto));
+            firma = DECODIFICADOR.decode(token.substring(punto + 1));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        if (!MessageDigest.isEqual(firmar(carga), firma)) {
+            return null;
+        }
+
+        String[] partes = new String(carga, StandardCharsets.US_ASCII).split(SEPARADOR);
+        if (partes.length != 4) {
+            return null;
+        }
+        Long usuarioId = Long.valueOf(partes[0]);
+        long emitido = Long.parseLong(partes[2]);
+        long expira = Long.parseLong(partes[3]);
+        if (System.currentTimeMillis() >= expira) {
+            return null;
+        }
+        Long revocado = revocados.get(usuarioId);
+        if (revocado != null && emitido <= revocado) {
+            return null;
+        }
+        return new SesionUsuario(usuarioId, "1".equals(partes[1]));
+    }
+
+    /**
+     * Invalida los tokens emitidos hasta ahora para el usuario.
+     * @param usuarioId ID del usuario.
+     */
+    public void revocar(Long usuarioId) {
+        long ahora = System.currentTimeMillis();
+        revocados.put(usuarioId, ahora);
+        revocados.values().removeIf(instante -> instante < ahora - duracionMs);
+    }
+
+    private byte[] firmar(byte[] carga) {
+        Mac mac;
+        try {
+            mac = (Mac) prototipo.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(e);
+        }
+        return mac.doFinal(carga);
+    }
+}
@@ -9,8 +9,12 @@ import org.springframework.data.domain.Example;
 import org.springframework.data.domain.ExampleMatcher;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import ec.webmarket.restful.common.ApiException;
+import ec.webmarket.restful.metricas.MetricasInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 
 @Service
 public abstract class GenericCrudServiceImpl<DOMAIN, DTO> implements GenericCrudService<DOMAIN, DTO> {
@@ -18,7 +22,22 @@ public abstract class GenericCrudServiceImpl<DOMAIN, DTO> implements GenericCrud
 	@Autowired
 	private JpaRepository<DOMAIN, Long> repository;
 
+	private Timer mapeoDominio;
+	private Timer mapeoDto;
+
+	/**
+	 * Registra los timers de mapToDomain/mapToDto de este servicio. Sin registro de métricas
+	 * (por ejemplo, un servicio creado con new) el mapeo no se mide.
+	 */
+	@Autowired(required = false)
+	public void setMeterRegistry(MeterRegistry registry) {
+		String entidad = MetricasInterceptor.entidad(getClass(), "Service");
+		mapeoDominio = MetricasInterceptor.timerMapeo(registry, entidad, "mapToDomain");
+		mapeoDto = MetricasInterceptor.timerMapeo(registry, entidad, "mapToDto");
+	}
+
 	@Override
+	@Transactional
 	public DTO create(DTO dto) {
 		Optional<DOMAIN> optional = find(dto);
 		DOMAIN domainObjectResult = null;
@@ -32,6 +51,7 @@ public abstract class GenericCrudServiceImpl<DOMAIN, DTO> implements GenericCrud
 	}
 
 	@Override
+	@Transactional
 	public DTO update(DTO dto) {
 		Optional<DOMAIN> optional = find(dto);
 		DOMAIN domainObjectResult = null;
@@ -45,6 +65,7 @@ public abstract class GenericCrudServiceImpl<DOMAIN, DTO> implements GenericCrud
 	}
 
 	@Override
+	@Transactional
 	public void delete(DTO dto) {
 		Optional<DOMAIN> optional = find(dto);
 		if (!optional.isPresent()) {
@@ -56,6 +77,7 @@ public abstract class GenericCrudServiceImpl<DOMAIN, DTO> implements GenericCrud
 	}
 
 	@Override
+	@Transactional(readOnly = true)
 	public List<DTO> findAll(DTO dto) {
 		DOMAIN domain = mapToDomain(dto);
 		ExampleMatcher matcher = ExampleMatcher.matching().withIgnoreNullValues().withIgnorePaths("id");
@@ -64,8 +86,16 @@ public abstract class GenericCrudServiceImpl<DOMAIN, DTO> implements GenericCrud
 	}
 
 	@Override
-	public abstract DOMAIN mapToDomain(DTO dto);
+	public DOMAIN mapToDomain(DTO dto) {
+		return mapeoDominio == null ? toDomain(dto) : mapeoDominio.record(() -> toDomain(dto));
+	}
 
 	@Override
-	public abstract DTO mapToDto(DOMAIN domain);
+	public DTO mapToDto(DOMAIN domain) {
+		return mapeoDto == null ? toDto(domain) : mapeoDto.record(() -> toDto(domain));
+	}
+
+	protected abstract DOMAIN toDomain(DTO dto);
+
+	protected abstract DTO toDto(DOMAIN domain);
 }
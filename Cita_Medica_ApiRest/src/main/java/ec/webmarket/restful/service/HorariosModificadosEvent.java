@@ -0,0 +1,55 @@
+package ec.webmarket.restful.service;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import ec.webmarket.restful.domain.Horario;
+
+/**
+ * Evento publicado cuando una escritura cambia horarios: creación, modificación, eliminación
+ * o un cambio de disponibilidad al reservar o cancelar una cita. También cuando cambia un
+ * odontólogo, cuyo nombre aparece en los listados de horarios.
+ * Indica las fechas y los odontólogos afectados para que las cachés de lectura
+ * invaliden solo lo que corresponde.
+ */
+public final class HorariosModificadosEvent {
+
+    private final Set<LocalDate> fechas;
+    private final Set<Long> odontologoIds;
+
+    public HorariosModificadosEvent(Collection<LocalDate> fechas, Collection<Long> odontologoIds) {
+        this.fechas = Collections.unmodifiableSet(new HashSet<>(fechas));
+        this.odontologoIds = Collections.unmodifiableSet(new HashSet<>(odontologoIds));
+    }
+
+    /**
+     * Evento para los horarios indicados; se ignoran los nulos.
+     */
+    public static HorariosModificadosEvent de(Horario... horarios) {
+        Set<LocalDate> fechas = new HashSet<>();
+        Set<Long> odontologoIds = new HashSet<>();
+        for (Horario horario : horarios) {
+            if (horario == null) {
+                continue;
+            }
+            if (horario.getFecha() != null) {
+                fechas.add(horario.getFecha());
+            }
+            if (horario.getOdontologo() != null && horario.getOdontologo().getId() != null) {
+                odontologoIds.add(horario.getOdontologo().getId());
+            }
+        }
+        return new HorariosModificadosEvent(fechas, odontologoIds);
+    }
+
+    public Set<LocalDate> getFechas() {
+        return fechas;
+    }
+
+    public Set<Long> getOdontologoIds() {
+        return odontologoIds;
+    }
+}
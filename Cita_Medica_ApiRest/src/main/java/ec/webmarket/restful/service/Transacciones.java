@@ -0,0 +1,47 @@
+package ec.webmarket.restful.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Utilidades para ejecutar efectos en memoria solo cuando la transacción actual se confirma.
+ */
+public final class Transacciones {
+
+	private Transacciones() {
+	}
+
+	/**
+	 * Ejecuta la acción después del commit de la transacción actual,
+	 * o de inmediato si no hay una transacción activa.
+	 */
+	public static void despuesDeConfirmar(Runnable accion) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					accion.run();
+				}
+			});
+		} else {
+			accion.run();
+		}
+	}
+
+	/**
+	 * Ejecuta la acción si la transacción actual termina en rollback.
+	 * Sin transacción activa no hace nada.
+	 */
+	public static void siSeRevierte(Runnable accion) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCompletion(int status) {
+					if (status == STATUS_ROLLED_BACK) {
+						accion.run();
+					}
+				}
+			});
+		}
+	}
+}
@@ -0,0 +1,162 @@
+package ec.webmarket.restful.service.agenda;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import ec.webmarket.restful.common.ApiException;
+import ec.webmarket.restful.domain.Horario;
+import ec.webmarket.restful.dto.v1.PlantillaHorarioDTO;
+import ec.webmarket.restful.dto.v1.ResultadoPlantillaDTO;
+import ec.webmarket.restful.persistence.OdontologoRepository;
+import ec.webmarket.restful.service.HorariosModificadosEvent;
+import ec.webmarket.restful.service.Transacciones;
+
+/**
+ * Genera los horarios de un odontólogo a partir de una plantilla semanal.
+ * Las entidades usan {@code GenerationType.IDENTITY}, lo que impide que Hibernate agrupe
+ * los INSERT; por eso los horarios se insertan con {@link JdbcTemplate#batchUpdate} en lotes
+ * de {@link #TAMANO_LOTE}, dentro de una sola transacción. Con MySQL, la URL debe llevar
+ * {@code rewriteBatchedStatements=true} para que cada lote viaje como un INSERT multi-fila.
+ */
+@Service
+public class GeneradorHorarios {
+
+    /**
+     * Número máximo de horarios que puede generar una plantilla.
+     */
+    public static final int MAX_HORARIOS = 20_000;
+
+    private static final int TAMANO_LOTE = 500;
+
+    private static final String INSERTAR = "insert into horario (fecha, hora_inicio, horafinal, disponibilidad, odontologo_id)"
+            + " values (?, ?, ?, ?, ?)";
+
+    private static final String IDS = "select id, fecha, hora_inicio from horario"
+            + " where odontologo_id = ? and fecha between ? and ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private OdontologoRepository odontologoRepository;
+
+    @Autowired
+    private IndiceAgenda indiceAgenda;
+
+    @Autowired
+    private ResumenDisponibilidad resumenDisponibilidad;
+
+    @Autowired
+    private ApplicationEventPublisher eventos;
+
+    /**
+     * Expande la plantilla y guarda todos los horarios, o ninguno si alguno se solapa
+     * con la agenda del odontólogo.
+     * @param plantilla Plantilla semanal.
+     * @return Resultado con el número de horarios creados.
+     * @throws ApiException si la plantilla no es válida, el odontólogo no existe o hay solapamientos.
+     */
+    @Transactional
+    public ResultadoPlantillaDTO generar(PlantillaHorarioDTO plantilla) {
+        List<Horario> horarios = expandir(plantilla);
+        Long odontologoId = plantilla.getOdontologoId();
+        if (!odontologoRepository.existsById(odontologoId)) {
+            throw new ApiException("Odontólogo no encontrado");
+        }
+
+        List<IndiceAgenda.Reserva> reservas = indiceAgenda.reservarTodos(odontologoId, horarios);
+        Transacciones.siSeRevierte(() -> indiceAgenda.cancelarTodos(odontologoId, reservas));
+        jdbcTemplate.batchUpdate(INSERTAR, horarios, TAMANO_LOTE, (ps, horario) -> {
+            ps.setObject(1, horario.getFecha());
+            ps.setObject(2, horario.getHoraInicio());
+            ps.setObject(3, horario.getHorafinal());
+            ps.setBoolean(4, true);
+            ps.setLong(5, odontologoId);
+        });
+        // Los ID generados se leen de vuelta por su inicio: los horarios de un odontólogo no se solapan.
+        resumenDisponibilidad.ajustarTodos(horarios.stream()
+                .map(horario -> new ResumenDisponibilidad.Ajuste(odontologoId, horario.getFecha(), 1, 1))
+                .toList());
+        Map<LocalDateTime, Long> ids = new HashMap<>();
+        jdbcTemplate.query(IDS, rs -> {
+            ids.put(LocalDateTime.of(rs.getObject(2, LocalDate.class), rs.getObject(3, LocalTime.class)), rs.getLong(1));
+        }, odontologoId, plantilla.getFechaDesde(), plantilla.getFechaHasta());
+        Transacciones.despuesDeConfirmar(() -> indiceAgenda.confirmarTodos(odontologoId, reservas, ids, true));
+        eventos.publishEvent(new HorariosModificadosEvent(horarios.stream().map(Horario::getFecha).toList(),
+                List.of(odontologoId)));
+        return new ResultadoPlantillaDTO(odontologoId, horarios.size(), plantilla.getFechaDesde(), plantilla.getFechaHasta());
+    }
+
+    /**
+     * Expande la plantilla en horarios disponibles, ordenados por fecha y hora de inicio.
+     * @param plantilla Plantilla semanal.
+     * @return Lista de horarios sin persistir.
+     * @throws ApiException si la plantilla no es válida o genera más de {@link #MAX_HORARIOS} horarios.
+     */
+    private static List<Horario> expandir(PlantillaHorarioDTO plantilla) {
+        validar(plantilla);
+        Set<DayOfWeek> dias = EnumSet.copyOf(plantilla.getDias());
+        LocalTime horaInicio = plantilla.getHoraInicio();
+        LocalTime horaFin = plantilla.getHoraFin();
+        long duracion = plantilla.getDuracionMinutos();
+
+        List<Horario> horarios = new ArrayList<>();
+        for (LocalDate fecha = plantilla.getFechaDesde(); !fecha.isAfter(plantilla.getFechaHasta()); fecha = fecha.plusDays(1)) {
+            if (!dias.contains(fecha.getDayOfWeek())) {
+                continue;
+            }
+            for (LocalTime inicio = horaInicio; ; ) {
+                LocalTime fin = inicio.plusMinutes(duracion);
+                if (fin.isAfter(horaFin) || !fin.isAfter(inicio)) {
+                    break;
+                }
+                if (horarios.size() == MAX_HORARIOS) {
+                    throw new ApiException("La plantilla genera más de " + MAX_HORARIOS + " horarios");
+                }
+                Horario horario = new Horario();
+                horario.setFecha(fecha);
+                horario.setHoraInicio(inicio);
+                horario.setHorafinal(fin);
+                horario.setDisponibilidad(true);
+                horarios.add(horario);
+                inicio = fin;
+            }
+        }
+        if (horarios.isEmpty()) {
+            throw new ApiException("La plantilla no genera ningún horario");
+        }
+        return horarios;
+    }
+
+    private static void validar(PlantillaHorarioDTO plantilla) {
+        if (plantilla.getOdontologoId() == null || plantilla.getDias() == null || plantilla.getDias().isEmpty()
+                || plantilla.getHoraInicio() == null || plantilla.getHoraFin() == null
+                || plantilla.getDuracionMinutos() == null || plantilla.getFechaDesde() == null
+                || plantilla.getFechaHasta() == null) {
+            throw new ApiException("La plantilla requiere odontólogo, días, horas, duración y rango de fechas");
+        }
+        if (!plantilla.getHoraFin().isAfter(plantilla.getHoraInicio())) {
+            throw new ApiException("La hora de fin debe ser posterior a la hora de inicio");
+        }
+        if (plantilla.getDuracionMinutos() <= 0) {
+            throw new ApiException("La duración debe ser mayor que cero");
+        }
+        if (plantilla.getFechaHasta().isBefore(plantilla.getFechaDesde())) {
+            throw new ApiException("La fecha final debe ser igual o posterior a la fecha inicial");
+        }
+    }
+}
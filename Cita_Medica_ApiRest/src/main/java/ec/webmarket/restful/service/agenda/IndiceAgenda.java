@@ -0,0 +1,438 @@
+package ec.webmarket.restful.service.agenda;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import ec.webmarket.restful.common.ApiException;
+import ec.webmarket.restful.domain.Horario;
+import ec.webmarket.restful.dto.v1.FranjaLibreDTO;
+import ec.webmarket.restful.persistence.CitaRepository;
+import ec.webmarket.restful.persistence.HorarioRepository;
+import ec.webmarket.restful.replica.ConsistenciaLectura;
+
+/**
+ * Índice en memoria de los horarios de cada odontólogo, ordenado por hora de inicio.
+ * Como los horarios de un odontólogo nunca se solapan, basta con revisar el vecino
+ * anterior y el siguiente para validar un horario nuevo en O(log n).
+ * La agenda de un odontólogo se carga de la base de datos la primera vez que se usa
+ * y desde entonces se mantiene con las escrituras de HorarioService y CitaService.
+ * Una agenda que queda vacía (un ID sin horarios, o cuyos horarios se archivaron) no se
+ * conserva: el mapa solo crece con los odontólogos que tienen horarios vigentes.
+ */
+@Component
+public class IndiceAgenda {
+
+    @Autowired
+    private HorarioRepository horarioRepository;
+
+    @Autowired
+    private CitaRepository citaRepository;
+
+    private final Map<Long, Agenda> agendas = new ConcurrentHashMap<>();
+
+    /**
+     * Reserva el intervalo de un horario nuevo o modificado, validando que no se solape
+     * con los demás horarios del odontólogo.
+     * @param odontologoId Odontólogo dueño del horario.
+     * @param horarioId ID del horario si se está modificando, null si es nuevo.
+     * @param fecha Fecha del horario.
+     * @param horaInicio Hora de inicio.
+     * @param horafinal Hora de finalización.
+     * @return Reserva que debe confirmarse o cancelarse según el resultado de la escritura.
+     * @throws ApiException si el intervalo no es válido o se solapa con otro horario.
+     */
+    public Reserva reservar(Long odontologoId, Long horarioId, LocalDate fecha, LocalTime horaInicio, LocalTime horafinal) {
+        if (odontologoId == null || fecha == null || horaInicio == null || horafinal == null) {
+            throw new ApiException("El horario requiere odontólogo, fecha, hora de inicio y hora final");
+        }
+        if (!horafinal.isAfter(horaInicio)) {
+            throw new ApiException("La hora final debe ser posterior a la hora de inicio");
+        }
+        Franja nueva = new Franja(LocalDateTime.of(fecha, horaInicio), LocalDateTime.of(fecha, horafinal));
+        Agenda agenda = bloquear(odontologoId);
+        try {
+            Franja anterior = horarioId != null ? agenda.quitar(horarioId) : null;
+            Franja conflicto = agenda.solapada(nueva);
+            if (conflicto != null) {
+                if (anterior != null) {
+                    agenda.agregar(anterior);
+                }
+                throw new ApiException(String.format("El horario se solapa con otro horario del odontólogo (%s - %s)",
+                        conflicto.inicio, conflicto.fin));
+            }
+            if (anterior != null) {
+                nueva.disponible = anterior.disponible;
+                nueva.ocupado = anterior.ocupado;
+            }
+            agenda.agregar(nueva);
+            return new Reserva(odontologoId, nueva, anterior);
+        } finally {
+            liberar(odontologoId, agenda);
+        }
+    }
+
+    /**
+     * Reserva de una sola vez los intervalos de un lote de horarios nuevos del mismo odontólogo.
+     * Si alguno se solapa con la agenda o con otro del lote, no se reserva ninguno.
+     * @param odontologoId Odontólogo dueño de los horarios.
+     * @param horarios Horarios sin persistir (fecha, horaInicio y horafinal).
+     * @return Reservas en el mismo orden que los horarios.
+     * @throws ApiException si algún intervalo se solapa.
+     */
+    public List<Reserva> reservarTodos(Long odontologoId, List<Horario> horarios) {
+        List<Reserva> reservas = new ArrayList<>(horarios.size());
+        Agenda agenda = bloquear(odontologoId);
+        try {
+            for (Horario horario : horarios) {
+                Franja nueva = new Franja(LocalDateTime.of(horario.getFecha(), horario.getHoraInicio()),
+                        LocalDateTime.of(horario.getFecha(), horario.getHorafinal()));
+                Franja conflicto = agenda.solapada(nueva);
+                if (conflicto != null) {
+                    for (Reserva reserva : reservas) {
+                        agenda.quitar(reserva.franja);
+                    }
+                    throw new ApiException(String.format("El horario se solapa con otro horario del odontólogo (%s - %s)",
+                            conflicto.inicio, conflicto.fin));
+                }
+                agenda.agregar(nueva);
+                reservas.add(new Reserva(odontologoId, nueva, null));
+            }
+        } finally {
+            liberar(odontologoId, agenda);
+        }
+        return reservas;
+    }
+
+    /**
+     * Confirma las reservas de un lote una vez persistidos los horarios.
+     * @param odontologoId Odontólogo dueño de los horarios.
+     * @param reservas Reservas obtenidas con {@link #reservarTodos}.
+     * @param ids ID asignado a cada horario, indexado por su inicio.
+     * @param disponible Disponibilidad persistida de los horarios.
+     */
+    public void confirmarTodos(Long odontologoId, List<Reserva> reservas, Map<LocalDateTime, Long> ids, boolean disponible) {
+        Agenda agenda = bloquear(odontologoId);
+        try {
+            for (Reserva reserva : reservas) {
+                Long horarioId = ids.get(reserva.franja.inicio);
+                if (horarioId == null) {
+                    agenda.quitar(reserva.franja);
+                    continue;
+                }
+                reserva.franja.disponible = disponible;
+                agenda.asignarId(reserva.franja, horarioId);
+            }
+        } finally {
+            liberar(odontologoId, agenda);
+        }
+    }
+
+    /**
+     * Deshace las reservas de un lote cuando la escritura falla.
+     * @param odontologoId Odontólogo dueño de los horarios.
+     * @param reservas Reservas obtenidas con {@link #reservarTodos}.
+     */
+    public void cancelarTodos(Long odontologoId, List<Reserva> reservas) {
+        Agenda agenda = bloquear(odontologoId);
+        try {
+            for (Reserva reserva : reservas) {
+                agenda.quitar(reserva.franja);
+            }
+        } finally {
+            liberar(odontologoId, agenda);
+        }
+    }
+
+    /**
+     * Confirma una reserva una vez persistido el horario.
+     * @param reserva Reserva obtenida con {@link #reservar}.
+     * @param horarioId ID asignado al horario.
+     * @param disponible Disponibilidad persistida del horario.
+     */
+    public void confirmar(Reserva reserva, Long horarioId, Boolean disponible) {
+        Agenda agenda = bloquear(reserva.odontologoId);
+        try {
+            reserva.franja.disponible = Boolean.TRUE.equals(disponible);
+            agenda.asignarId(reserva.franja, horarioId);
+        } finally {
+            liberar(reserva.odontologoId, agenda);
+        }
+    }
+
+    /**
+     * Deshace una reserva cuando la escritura del horario falla.
+     * @param reserva Reserva obtenida con {@link #reservar}.
+     */
+    public void cancelar(Reserva reserva) {
+        Agenda agenda = bloquear(reserva.odontologoId);
+        try {
+            agenda.quitar(reserva.franja);
+            if (reserva.anterior != null) {
+                agenda.agregar(reserva.anterior);
+            }
+        } finally {
+            liberar(reserva.odontologoId, agenda);
+        }
+    }
+
+    /**
+     * Elimina un horario del índice.
+     * @param odontologoId Odontólogo dueño del horario.
+     * @param horarioId ID del horario eliminado.
+     */
+    public void eliminar(Long odontologoId, Long horarioId) {
+        Agenda agenda = bloquear(odontologoId);
+        try {
+            agenda.quitar(horarioId);
+        } finally {
+            liberar(odontologoId, agenda);
+        }
+    }
+
+    /**
+     * Quita del índice los horarios movidos al archivo; si no le quedan horarios, la agenda
+     * se descarta. Si la agenda del odontólogo no está cargada no hace nada: al cargarse ya
+     * no los encontrará.
+     * @param odontologoId Odontólogo dueño de los horarios.
+     * @param horarioIds IDs de los horarios archivados.
+     */
+    public void archivados(Long odontologoId, Collection<Long> horarioIds) {
+        Agenda agenda = agendas.get(odontologoId);
+        if (agenda == null) {
+            return;
+        }
+        agenda.candado.lock();
+        if (agenda.descartada) {
+            agenda.candado.unlock();
+            return;
+        }
+        try {
+            for (Long horarioId : horarioIds) {
+                agenda.quitar(horarioId);
+            }
+        } finally {
+            liberar(odontologoId, agenda);
+        }
+    }
+
+    /**
+     * Marca un horario como ocupado o liberado por una cita. Al reclamar un horario la base
+     * también lo deja no disponible, y al liberarlo lo vuelve a dejar disponible.
+     * @param odontologoId Odontólogo dueño del horario.
+     * @param horarioId ID del horario.
+     * @param ocupado true si una cita tomó el horario, false si se liberó.
+     */
+    public void marcarOcupado(Long odontologoId, Long horarioId, boolean ocupado) {
+        Agenda agenda = bloquear(odontologoId);
+        try {
+            Franja franja = agenda.porId.get(horarioId);
+            if (franja != null) {
+                franja.ocupado = ocupado;
+                franja.disponible = !ocupado;
+            }
+        } finally {
+            liberar(odontologoId, agenda);
+        }
+    }
+
+    /**
+     * Calcula las franjas libres de un odontólogo entre dos fechas (ambas inclusive),
+     * uniendo los horarios disponibles y sin cita que son contiguos.
+     * @param odontologoId ID del odontólogo.
+     * @param desde Fecha inicial.
+     * @param hasta Fecha final.
+     * @return Lista de franjas libres ordenadas por inicio.
+     */
+    public List<FranjaLibreDTO> franjasLibres(Long odontologoId, LocalDate desde, LocalDate hasta) {
+        LocalDateTime inicio = desde.atStartOfDay();
+        LocalDateTime fin = hasta.plusDays(1).atStartOfDay();
+        List<FranjaLibreDTO> franjas = new ArrayList<>();
+        Agenda agenda = bloquear(odontologoId);
+        try {
+            FranjaLibreDTO actual = null;
+            for (Franja franja : agenda.porInicio.subMap(inicio, true, fin, false).values()) {
+                if (!franja.libre()) {
+                    actual = null;
+                    continue;
+                }
+                if (actual != null && actual.getFin().equals(franja.inicio)) {
+                    actual.setFin(franja.fin);
+                } else {
+                    actual = new FranjaLibreDTO(franja.inicio, franja.fin);
+                    franjas.add(actual);
+                }
+            }
+        } finally {
+            liberar(odontologoId, agenda);
+        }
+        return franjas;
+    }
+
+    /**
+     * Odontólogos con la agenda en memoria.
+     */
+    public int getOdontologos() {
+        return agendas.size();
+    }
+
+    /**
+     * Devuelve con el candado tomado la agenda del odontólogo, cargándola de la base de datos
+     * si es la primera vez; se suelta con {@link #liberar}. La carga se hace siempre en la
+     * primaria: después la agenda solo se mantiene por diferencias y una réplica atrasada
+     * dejaría fuera horarios recién creados.
+     */
+    private Agenda bloquear(Long odontologoId) {
+        while (true) {
+            Agenda agenda = agendas.computeIfAbsent(odontologoId, id -> new Agenda());
+            agenda.candado.lock();
+            if (agenda.descartada) {
+                // Otro hilo la sacó del mapa mientras se esperaba el candado.
+                agenda.candado.unlock();
+                continue;
+            }
+            if (!agenda.cargada) {
+                try (ConsistenciaLectura.Ambito primaria = ConsistenciaLectura.primaria()) {
+                    cargar(agenda, odontologoId);
+                } catch (RuntimeException e) {
+                    liberar(odontologoId, agenda);
+                    throw e;
+                }
+            }
+            return agenda;
+        }
+    }
+
+    /**
+     * Suelta el candado de la agenda y la saca del mapa si quedó sin horarios. Una reserva
+     * pendiente ocupa su franja, así que nunca se descarta una agenda que la espera.
+     */
+    private void liberar(Long odontologoId, Agenda agenda) {
+        try {
+            if (agenda.porInicio.isEmpty()) {
+                agenda.descartada = true;
+                agendas.remove(odontologoId, agenda);
+            }
+        } finally {
+            agenda.candado.unlock();
+        }
+    }
+
+    private void cargar(Agenda agenda, Long odontologoId) {
+        Set<Long> ocupados = new HashSet<>(citaRepository.findHorarioIdsByOdontologoId(odontologoId));
+        for (Horario horario : horarioRepository.findByOdontologo_Id(odontologoId)) {
+            Franja franja = new Franja(LocalDateTime.of(horario.getFecha(), horario.getHoraInicio()),
+                    LocalDateTime.of(horario.getFecha(), horario.getHorafinal()));
+            franja.disponible = Boolean.TRUE.equals(horario.getDisponibilidad());
+            franja.ocupado = ocupados.contains(horario.getId());
+            agenda.agregar(franja);
+            agenda.asignarId(franja, horario.getId());
+        }
+        agenda.cargada = true;
+    }
+
+    /**
+     * Reserva de un intervalo pendiente de persistir.
+     */
+    public static final class Reserva {
+
+        private final Long odontologoId;
+        private final Franja franja;
+        private final Franja anterior;
+
+        private Reserva(Long odontologoId, Franja franja, Franja anterior) {
+            this.odontologoId = odontologoId;
+            this.franja = franja;
+            this.anterior = anterior;
+        }
+    }
+
+    /**
+     * Intervalo [inicio, fin) ocupado por un horario.
+     */
+    private static final class Franja {
+
+        private final LocalDateTime inicio;
+        private final LocalDateTime fin;
+        private Long horarioId;
+        private boolean disponible;
+        private boolean ocupado;
+
+        private Franja(LocalDateTime inicio, LocalDateTime fin) {
+            this.inicio = inicio;
+            this.fin = fin;
+        }
+
+        private boolean libre() {
+            return horarioId != null && disponible && !ocupado;
+        }
+    }
+
+    /**
+     * Horarios de un odontólogo. Se accede siempre con su candado tomado; se usa ReentrantLock
+     * y no synchronized porque la primera carga consulta la base de datos y, con hilos
+     * virtuales, un bloqueo de monitor fijaría el hilo portador durante la consulta.
+     */
+    private static final class Agenda {
+
+        private final ReentrantLock candado = new ReentrantLock();
+
+        private final NavigableMap<LocalDateTime, Franja> porInicio = new TreeMap<>();
+        private final Map<Long, Franja> porId = new HashMap<>();
+        private boolean cargada;
+        private boolean descartada;
+
+        private Franja solapada(Franja nueva) {
+            Map.Entry<LocalDateTime, Franja> previa = porInicio.floorEntry(nueva.inicio);
+            if (previa != null && previa.getValue().fin.isAfter(nueva.inicio)) {
+                return previa.getValue();
+            }
+            Map.Entry<LocalDateTime, Franja> siguiente = porInicio.higherEntry(nueva.inicio);
+            if (siguiente != null && siguiente.getValue().inicio.isBefore(nueva.fin)) {
+                return siguiente.getValue();
+            }
+            return null;
+        }
+
+        private void agregar(Franja franja) {
+            porInicio.put(franja.inicio, franja);
+            if (franja.horarioId != null) {
+                porId.put(franja.horarioId, franja);
+            }
+        }
+
+        private void asignarId(Franja franja, Long horarioId) {
+            franja.horarioId = horarioId;
+            porId.put(horarioId, franja);
+        }
+
+        private Franja quitar(Long horarioId) {
+            Franja franja = porId.remove(horarioId);
+            if (franja != null) {
+                porInicio.remove(franja.inicio, franja);
+            }
+            return franja;
+        }
+
+        private void quitar(Franja franja) {
+            porInicio.remove(franja.inicio, franja);
+            if (franja.horarioId != null) {
+                porId.remove(franja.horarioId, franja);
+            }
+        }
+    }
+}
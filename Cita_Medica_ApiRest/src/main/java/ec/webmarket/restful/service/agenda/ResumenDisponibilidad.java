@@ -0,0 +1,167 @@
+package ec.webmarket.restful.service.agenda;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import ec.webmarket.restful.common.ApiException;
+import ec.webmarket.restful.domain.DisponibilidadDiaria;
+import ec.webmarket.restful.dto.v1.DisponibilidadDiaDTO;
+import ec.webmarket.restful.persistence.DisponibilidadDiariaRepository;
+
+/**
+ * Mantiene la tabla {@link DisponibilidadDiaria}: por odontólogo y día, cuántos horarios hay y
+ * cuántos siguen libres. Cada escritura de horarios o citas suma sus diferencias con un
+ * {@code INSERT ... ON DUPLICATE KEY UPDATE} dentro de su propia transacción, así que el
+ * resumen se confirma o se revierte junto con los horarios.
+ *
+ * Las filas se bloquean después de los horarios y en orden de clave, igual en todas las
+ * escrituras, para no provocar interbloqueos. El costo es que las reservas de un mismo
+ * odontólogo y día esperan entre sí hasta el commit.
+ *
+ * Archivar horarios pasados no cambia el resumen; por eso la reconstrucción suma también
+ * los horarios de horario_archivo.
+ */
+@Service
+public class ResumenDisponibilidad implements SmartInitializingSingleton {
+
+    /**
+     * Número máximo de días que se pueden consultar de una vez.
+     */
+    public static final int MAX_DIAS = 90;
+
+    private static final Logger log = LoggerFactory.getLogger(ResumenDisponibilidad.class);
+
+    private static final String AJUSTAR = "insert into disponibilidad_diaria (odontologo_id, fecha, libres, total)"
+            + " values (?, ?, ?, ?) on duplicate key update libres = libres + ?, total = total + ?";
+
+    private static final String VACIAR = "delete from disponibilidad_diaria";
+
+    private static final String RECONSTRUIR = "insert into disponibilidad_diaria (odontologo_id, fecha, libres, total)"
+            + " select odontologo_id, fecha, sum(case when disponibilidad then 1 else 0 end), count(*)"
+            + " from (select odontologo_id, fecha, disponibilidad from horario"
+            + " union all select odontologo_id, fecha, disponibilidad from horario_archivo) h"
+            + " group by odontologo_id, fecha";
+
+    private static final String HAY_RESUMEN = "select exists (select 1 from disponibilidad_diaria)";
+
+    private static final String HAY_HORARIOS = "select exists (select 1 from horario)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DisponibilidadDiariaRepository repository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * Suma las diferencias de un día de un odontólogo.
+     * @param odontologoId ID del odontólogo.
+     * @param fecha Día de los horarios.
+     * @param libres Diferencia de horarios libres.
+     * @param total Diferencia de horarios totales.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void ajustar(Long odontologoId, LocalDate fecha, int libres, int total) {
+        if (libres != 0 || total != 0) {
+            jdbcTemplate.update(AJUSTAR, odontologoId, fecha, libres, total, libres, total);
+        }
+    }
+
+    /**
+     * Suma varias diferencias con un batch JDBC; las de un mismo día se agrupan antes de escribir.
+     * @param ajustes Diferencias en cualquier orden.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void ajustarTodos(List<Ajuste> ajustes) {
+        Map<DisponibilidadDiaria.Clave, int[]> porDia = new TreeMap<>(Comparator
+                .comparing(DisponibilidadDiaria.Clave::getOdontologoId)
+                .thenComparing(DisponibilidadDiaria.Clave::getFecha));
+        for (Ajuste ajuste : ajustes) {
+            int[] suma = porDia.computeIfAbsent(new DisponibilidadDiaria.Clave(ajuste.odontologoId(), ajuste.fecha()),
+                    clave -> new int[2]);
+            suma[0] += ajuste.libres();
+            suma[1] += ajuste.total();
+        }
+        porDia.values().removeIf(suma -> suma[0] == 0 && suma[1] == 0);
+        if (porDia.isEmpty()) {
+            return;
+        }
+        List<Map.Entry<DisponibilidadDiaria.Clave, int[]>> filas = new ArrayList<>(porDia.entrySet());
+        jdbcTemplate.batchUpdate(AJUSTAR, filas, filas.size(), (ps, fila) -> {
+            ps.setLong(1, fila.getKey().getOdontologoId());
+            ps.setObject(2, fila.getKey().getFecha());
+            ps.setInt(3, fila.getValue()[0]);
+            ps.setInt(4, fila.getValue()[1]);
+            ps.setInt(5, fila.getValue()[0]);
+            ps.setInt(6, fila.getValue()[1]);
+        });
+    }
+
+    /**
+     * Obtiene los horarios libres y totales por día de un odontólogo, en una sola lectura por índice.
+     * @param odontologoId ID del odontólogo.
+     * @param desde Fecha inicial (inclusive).
+     * @param hasta Fecha final (inclusive).
+     * @return Resumen de los días con horarios, ordenados por fecha.
+     * @throws ApiException si el rango está invertido o supera {@link #MAX_DIAS} días.
+     */
+    public List<DisponibilidadDiaDTO> consultar(Long odontologoId, LocalDate desde, LocalDate hasta) {
+        if (hasta.isBefore(desde)) {
+            throw new ApiException("La fecha final debe ser igual o posterior a la fecha inicial");
+        }
+        if (ChronoUnit.DAYS.between(desde, hasta) >= MAX_DIAS) {
+            throw new ApiException("El rango no puede superar " + MAX_DIAS + " días");
+        }
+        return repository.findResumen(odontologoId, desde, hasta);
+    }
+
+    /**
+     * Recalcula todo el resumen desde las tablas de horarios vigentes y archivados. Se usa
+     * cuando los horarios se cargaron por fuera de la aplicación.
+     * @return Número de días resumidos.
+     */
+    @Transactional
+    public int reconstruir() {
+        jdbcTemplate.update(VACIAR);
+        return jdbcTemplate.update(RECONSTRUIR);
+    }
+
+    /**
+     * Al arrancar, y antes de atender peticiones, llena el resumen si está vacío pero ya hay
+     * horarios: una base creada antes de que existiera esta tabla.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(estado -> {
+            if (!Boolean.TRUE.equals(jdbcTemplate.queryForObject(HAY_RESUMEN, Boolean.class))
+                    && Boolean.TRUE.equals(jdbcTemplate.queryForObject(HAY_HORARIOS, Boolean.class))) {
+                log.info("Resumen de disponibilidad vacío; se reconstruye desde los horarios");
+                log.info("Días resumidos: {}", jdbcTemplate.update(RECONSTRUIR));
+            }
+        });
+    }
+
+    /**
+     * Diferencia de horarios libres y totales de un odontólogo en un día.
+     */
+    public record Ajuste(Long odontologoId, LocalDate fecha, int libres, int total) {
+    }
+}
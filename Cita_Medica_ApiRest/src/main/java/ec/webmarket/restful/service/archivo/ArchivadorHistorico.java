@@ -0,0 +1,290 @@
+package ec.webmarket.restful.service.archivo;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import ec.webmarket.restful.service.HorariosModificadosEvent;
+import ec.webmarket.restful.service.Transacciones;
+import ec.webmarket.restful.service.agenda.IndiceAgenda;
+
+/**
+ * Mueve los horarios pasados, con sus citas, de las tablas horario y cita a horario_archivo y
+ * cita_archivo, para que las consultas de todos los días recorran solo los datos vigentes.
+ * Se archivan los horarios anteriores a {@link ArchivoHistorico#corte()} (hoy menos
+ * {@code archivo.retencion-dias}).
+ *
+ * Trabaja en lotes de {@code archivo.lote} horarios, cada uno en su propia transacción: bloquea
+ * los horarios del lote (como las reservas, en orden de ID), copia horarios y citas con
+ * {@code INSERT ... SELECT} y los borra de las tablas vigentes. Una reserva concurrente sobre un
+ * horario del lote espera al commit y luego no lo encuentra.
+ *
+ * Un hilo revisa cada {@code archivo.intervalo} si la hora está dentro de la ventana
+ * {@code archivo.hora-inicio}–{@code archivo.hora-fin} (fuera de las horas pico) y archiva
+ * hasta terminar o salir de la ventana, con una pausa de {@code archivo.pausa-ms} entre lotes.
+ * Cada ejecución registra las filas de las tablas vigentes antes y después.
+ */
+@Component
+public class ArchivadorHistorico implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(ArchivadorHistorico.class);
+
+    private static final String CANDIDATOS = "select id from horario where fecha < :corte"
+            + " order by fecha, hora_inicio, id limit :lote";
+
+    private static final String BLOQUEAR = "select id, odontologo_id, fecha from horario"
+            + " where id in (:ids) and fecha < :corte order by id for update";
+
+    private static final String COPIAR_HORARIOS = "insert into horario_archivo"
+            + " (id, fecha, hora_inicio, horafinal, disponibilidad, odontologo_id)"
+            + " select id, fecha, hora_inicio, horafinal, disponibilidad, odontologo_id from horario where id in (:ids)";
+
+    private static final String COPIAR_CITAS = "insert into cita_archivo"
+            + " (id, fechay_hora, estado, motivo, horario_id, paciente_id, odontologo_id)"
+            + " select id, fechay_hora, estado, motivo, horario_id, paciente_id, odontologo_id from cita"
+            + " where horario_id in (:ids)";
+
+    private static final String BORRAR_CITAS = "delete from cita where horario_id in (:ids)";
+
+    private static final String BORRAR_HORARIOS = "delete from horario where id in (:ids)";
+
+    /**
+     * Tablas cuyas filas se reportan: vigentes y de archivo.
+     */
+    public static final List<String> TABLAS = List.of("horario", "cita", "horario_archivo", "cita_archivo");
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ArchivoHistorico archivo;
+
+    @Autowired
+    private IndiceAgenda indiceAgenda;
+
+    @Autowired
+    private ApplicationEventPublisher eventos;
+
+    private final boolean habilitado;
+    private final int lote;
+    private final LocalTime horaInicio;
+    private final LocalTime horaFin;
+    private final Duration intervalo;
+    private final long pausaMs;
+
+    private final Map<String, AtomicLong> filas = new HashMap<>();
+    private final AtomicLong horariosArchivados = new AtomicLong();
+    private final AtomicLong citasArchivadas = new AtomicLong();
+
+    private ScheduledExecutorService hilo;
+    private volatile boolean activo;
+
+    public ArchivadorHistorico(@Value("${archivo.habilitado:true}") boolean habilitado,
+            @Value("${archivo.lote:500}") int lote,
+            @Value("${archivo.hora-inicio:01:00}") String horaInicio,
+            @Value("${archivo.hora-fin:05:00}") String horaFin,
+            @Value("${archivo.intervalo:15m}") Duration intervalo,
+            @Value("${archivo.pausa-ms:100}") long pausaMs) {
+        this.habilitado = habilitado;
+        this.lote = lote;
+        this.horaInicio = LocalTime.parse(horaInicio);
+        this.horaFin = LocalTime.parse(horaFin);
+        this.intervalo = intervalo;
+        this.pausaMs = pausaMs;
+        for (String tabla : TABLAS) {
+            filas.put(tabla, new AtomicLong(-1));
+        }
+    }
+
+    /**
+     * Archiva los horarios anteriores a la fecha de corte, lote por lote y sin pausas.
+     * @param corte Se archivan los horarios con fecha anterior a esta.
+     * @param maxLotes Número máximo de lotes.
+     * @return Horarios y citas archivados.
+     */
+    public Resultado archivar(LocalDate corte, int maxLotes) {
+        return archivar(corte, maxLotes, () -> true, 0);
+    }
+
+    /**
+     * Filas de una tabla en la última medición, o -1 si todavía no se midió.
+     * @param tabla Una de {@link #TABLAS}.
+     */
+    public long getFilas(String tabla) {
+        return filas.get(tabla).get();
+    }
+
+    /**
+     * Horarios archivados desde el arranque.
+     */
+    public long getHorariosArchivados() {
+        return horariosArchivados.get();
+    }
+
+    /**
+     * Citas archivadas desde el arranque.
+     */
+    public long getCitasArchivadas() {
+        return citasArchivadas.get();
+    }
+
+    /**
+     * Cuenta las filas de las tablas vigentes y de archivo.
+     */
+    public void medir() {
+        for (String tabla : TABLAS) {
+            Long total = jdbcTemplate.getJdbcTemplate().queryForObject("select count(*) from " + tabla, Long.class);
+            filas.get(tabla).set(total != null ? total : 0);
+        }
+    }
+
+    @Override
+    public synchronized void start() {
+        if (!habilitado) {
+            return;
+        }
+        activo = true;
+        hilo = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("archivador").daemon().factory());
+        hilo.execute(this::medirSinFallar);
+        hilo.scheduleWithFixedDelay(this::ejecutarSinFallar, intervalo.toMillis(), intervalo.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public synchronized void stop() {
+        activo = false;
+        if (hilo != null) {
+            hilo.shutdownNow();
+            hilo = null;
+        }
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return hilo != null;
+    }
+
+    private Resultado archivar(LocalDate corte, int maxLotes, BooleanSupplier seguir, long pausaMs) {
+        Resultado total = new Resultado(0, 0);
+        for (int i = 0; i < maxLotes && seguir.getAsBoolean(); i++) {
+            Resultado resultado = new TransactionTemplate(transactionManager).execute(estado -> archivarLote(corte));
+            total = new Resultado(total.horarios() + resultado.horarios(), total.citas() + resultado.citas());
+            if (resultado.horarios() < lote) {
+                break;
+            }
+            if (pausaMs > 0) {
+                try {
+                    Thread.sleep(pausaMs);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+        return total;
+    }
+
+    private Resultado archivarLote(LocalDate corte) {
+        List<Long> candidatos = jdbcTemplate.queryForList(CANDIDATOS, Map.of("corte", corte, "lote", lote), Long.class);
+        if (candidatos.isEmpty()) {
+            return new Resultado(0, 0);
+        }
+        List<Long> ids = new ArrayList<>(candidatos.size());
+        Map<Long, List<Long>> porOdontologo = new HashMap<>();
+        Set<LocalDate> fechas = new HashSet<>();
+        jdbcTemplate.query(BLOQUEAR, Map.of("ids", candidatos, "corte", corte), rs -> {
+            Long id = rs.getLong(1);
+            ids.add(id);
+            porOdontologo.computeIfAbsent(rs.getLong(2), odontologoId -> new ArrayList<>()).add(id);
+            fechas.add(rs.getObject(3, LocalDate.class));
+        });
+        if (ids.isEmpty()) {
+            // Otra escritura movió o borró los candidatos; la próxima ejecución vuelve a buscar.
+            return new Resultado(0, 0);
+        }
+        archivo.archivandoHasta(fechas.stream().max(LocalDate::compareTo).orElseThrow());
+
+        Map<String, List<Long>> parametros = Map.of("ids", ids);
+        jdbcTemplate.update(COPIAR_HORARIOS, parametros);
+        int citas = jdbcTemplate.update(COPIAR_CITAS, parametros);
+        jdbcTemplate.update(BORRAR_CITAS, parametros);
+        jdbcTemplate.update(BORRAR_HORARIOS, parametros);
+
+        eventos.publishEvent(new HorariosModificadosEvent(fechas, porOdontologo.keySet()));
+        Transacciones.despuesDeConfirmar(() -> {
+            porOdontologo.forEach(indiceAgenda::archivados);
+            horariosArchivados.addAndGet(ids.size());
+            citasArchivadas.addAndGet(citas);
+        });
+        return new Resultado(ids.size(), citas);
+    }
+
+    private void ejecutarSinFallar() {
+        try {
+            if (!enVentana(LocalTime.now())) {
+                return;
+            }
+            Map<String, Long> antes = new HashMap<>();
+            medir();
+            TABLAS.forEach(tabla -> antes.put(tabla, getFilas(tabla)));
+            long inicio = System.nanoTime();
+            Resultado resultado = archivar(archivo.corte(), Integer.MAX_VALUE,
+                    () -> activo && enVentana(LocalTime.now()), pausaMs);
+            long duracionMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio);
+            medir();
+            log.info("Archivo: {} horarios y {} citas anteriores a {} en {} ms; horario {} -> {} filas, cita {} -> {} filas",
+                    resultado.horarios(), resultado.citas(), archivo.corte(), duracionMs,
+                    antes.get("horario"), getFilas("horario"), antes.get("cita"), getFilas("cita"));
+        } catch (RuntimeException e) {
+            log.warn("Falló el archivo de horarios y citas pasados; se reintenta en la próxima revisión", e);
+        }
+    }
+
+    private void medirSinFallar() {
+        try {
+            medir();
+        } catch (RuntimeException e) {
+            log.warn("No se pudieron contar las filas de las tablas de horarios y citas", e);
+        }
+    }
+
+    private boolean enVentana(LocalTime hora) {
+        if (!horaInicio.isAfter(horaFin)) {
+            return !hora.isBefore(horaInicio) && hora.isBefore(horaFin);
+        }
+        // La ventana cruza la medianoche.
+        return !hora.isBefore(horaInicio) || hora.isBefore(horaFin);
+    }
+
+    /**
+     * Horarios y citas archivados.
+     * @param horarios Horarios movidos al archivo.
+     * @param citas Citas movidas al archivo.
+     */
+    public record Resultado(int horarios, int citas) {
+    }
+}
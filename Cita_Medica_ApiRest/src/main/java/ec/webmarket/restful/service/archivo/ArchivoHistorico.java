@@ -0,0 +1,264 @@
+package ec.webmarket.restful.service.archivo;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.stereotype.Service;
+
+import ec.webmarket.restful.domain.Cita;
+import ec.webmarket.restful.domain.CitaArchivada;
+import ec.webmarket.restful.domain.HorarioArchivado;
+import ec.webmarket.restful.dto.v1.CitaResumenDTO;
+import ec.webmarket.restful.dto.v1.HorarioResumenDTO;
+import ec.webmarket.restful.persistence.CitaArchivoRepository;
+import ec.webmarket.restful.persistence.HorarioArchivoRepository;
+import ec.webmarket.restful.replica.ConsistenciaLectura;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Lecturas de las tablas de archivo (horario_archivo y cita_archivo) para las consultas por
+ * fecha de los servicios. Solo se consulta el archivo cuando el rango pedido llega a fechas
+ * que pueden estar archivadas: anteriores a hoy menos {@code archivo.retencion-dias}, o
+ * hasta la fecha archivada más reciente. Los resultados se mezclan con los de las tablas
+ * vigentes respetando el orden de cada consulta.
+ *
+ * Las consultas sin rango de fechas (las citas por paciente o por odontólogo sin
+ * {@code desde}/{@code hasta}, los horarios por disponibilidad) y las búsquedas por ID solo
+ * leen las tablas vigentes.
+ */
+@Service
+public class ArchivoHistorico {
+
+    /**
+     * Orden de las citas en la exportación: (fechayHora, id).
+     */
+    public static final Comparator<Cita> ORDEN_CITAS = Comparator.comparing(Cita::getFechayHora).thenComparing(Cita::getId);
+
+    private static final Comparator<HorarioResumenDTO> ORDEN_HORARIOS_DEL_DIA =
+            Comparator.comparing(HorarioResumenDTO::getHoraInicio).thenComparing(HorarioResumenDTO::getId);
+
+    private static final Comparator<CitaResumenDTO> ORDEN_RESUMEN_CITAS =
+            Comparator.comparing(CitaResumenDTO::getFechayHora).thenComparing(CitaResumenDTO::getId);
+
+    @Autowired
+    private HorarioArchivoRepository horarioArchivoRepository;
+
+    @Autowired
+    private CitaArchivoRepository citaArchivoRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final int retencionDias;
+
+    private volatile boolean fronteraCargada;
+    private volatile LocalDate frontera;
+
+    public ArchivoHistorico(@Value("${archivo.retencion-dias:30}") int retencionDias) {
+        this.retencionDias = retencionDias;
+    }
+
+    /**
+     * Carga la fecha archivada más reciente al arrancar, para que la primera consulta por
+     * fecha no pague esa sentencia.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    void cargarFrontera() {
+        frontera();
+    }
+
+    /**
+     * Primer día que el archivador no mueve: se archivan los horarios anteriores a esta fecha.
+     */
+    public LocalDate corte() {
+        return LocalDate.now().minusDays(retencionDias);
+    }
+
+    /**
+     * Indica si un rango que empieza en la fecha indicada puede incluir filas archivadas.
+     */
+    public boolean incluye(LocalDate desde) {
+        if (desde.isBefore(corte())) {
+            return true;
+        }
+        LocalDate archivada = frontera();
+        return archivada != null && !desde.isAfter(archivada);
+    }
+
+    /**
+     * Avisa que se van a archivar horarios hasta la fecha indicada. Se llama antes de
+     * confirmar cada lote, de modo que las lecturas consulten el archivo desde ese momento.
+     */
+    void archivandoHasta(LocalDate fecha) {
+        frontera();
+        synchronized (this) {
+            if (frontera == null || fecha.isAfter(frontera)) {
+                frontera = fecha;
+            }
+        }
+    }
+
+    /**
+     * Mezcla una página de horarios vigentes de una fecha con la de horarios archivados de la
+     * misma fecha y clave, en el orden (horaInicio, id).
+     * @param vigentes Página leída de la tabla horario con el mismo límite.
+     * @param horaInicio Hora de inicio de la clave del cursor, o null para la primera página.
+     * @param id ID de la clave del cursor, o null para la primera página.
+     */
+    public Slice<HorarioResumenDTO> horariosPorFecha(Slice<HorarioResumenDTO> vigentes, LocalDate fecha,
+            LocalTime horaInicio, Long id, Pageable limite) {
+        Slice<HorarioResumenDTO> archivados = horaInicio == null
+                ? horarioArchivoRepository.findResumenByFecha(fecha, limite)
+                : horarioArchivoRepository.findResumenByFechaAfter(fecha, horaInicio, id, limite);
+        return mezclarPaginas(archivados, vigentes, ORDEN_HORARIOS_DEL_DIA, limite);
+    }
+
+    /**
+     * Mezcla una página de citas vigentes de un paciente en un rango con la de citas archivadas
+     * del mismo rango y clave, en el orden (fechayHora, id).
+     * @param vigentes Página leída de la tabla cita con el mismo límite.
+     * @param desde Inicio del rango (inclusive).
+     * @param hasta Fin del rango (exclusivo).
+     * @param fechayHora Fecha y hora de la clave del cursor, o null para la primera página.
+     * @param id ID de la clave del cursor, o null para la primera página.
+     */
+    public Slice<CitaResumenDTO> citasPorPaciente(Slice<CitaResumenDTO> vigentes, Long pacienteId,
+            LocalDateTime desde, LocalDateTime hasta, LocalDateTime fechayHora, Long id, Pageable limite) {
+        Slice<CitaResumenDTO> archivadas = fechayHora == null
+                ? citaArchivoRepository.findResumenByPacienteIdEntre(pacienteId, desde, hasta, limite)
+                : citaArchivoRepository.findResumenByPacienteIdEntreAfter(pacienteId, desde, hasta, fechayHora, id, limite);
+        return mezclarPaginas(archivadas, vigentes, ORDEN_RESUMEN_CITAS, limite);
+    }
+
+    /**
+     * Mezcla una página de citas vigentes de un odontólogo en un rango con la de citas
+     * archivadas del mismo rango y clave, en el orden (fechayHora, id).
+     * @param vigentes Página leída de la tabla cita con el mismo límite.
+     * @param desde Inicio del rango (inclusive).
+     * @param hasta Fin del rango (exclusivo).
+     * @param fechayHora Fecha y hora de la clave del cursor, o null para la primera página.
+     * @param id ID de la clave del cursor, o null para la primera página.
+     */
+    public Slice<CitaResumenDTO> citasPorOdontologo(Slice<CitaResumenDTO> vigentes, Long odontologoId,
+            LocalDateTime desde, LocalDateTime hasta, LocalDateTime fechayHora, Long id, Pageable limite) {
+        Slice<CitaResumenDTO> archivadas = fechayHora == null
+                ? citaArchivoRepository.findResumenByOdontologoIdEntre(odontologoId, desde, hasta, limite)
+                : citaArchivoRepository.findResumenByOdontologoIdEntreAfter(odontologoId, desde, hasta, fechayHora, id, limite);
+        return mezclarPaginas(archivadas, vigentes, ORDEN_RESUMEN_CITAS, limite);
+    }
+
+    /**
+     * Citas archivadas de una fecha y hora, como copias no administradas de {@link Cita} con
+     * su horario archivado.
+     */
+    public List<Cita> citasPorFechayHora(LocalDateTime fechayHora) {
+        List<CitaArchivada> citas = citaArchivoRepository.findByFechayHora(fechayHora);
+        if (citas.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, HorarioArchivado> horarios = horarioArchivoRepository
+                .findAllById(citas.stream().map(CitaArchivada::getHorarioId).toList())
+                .stream().collect(Collectors.toMap(HorarioArchivado::getId, Function.identity()));
+        List<Cita> resultado = new ArrayList<>(citas.size());
+        for (CitaArchivada cita : citas) {
+            HorarioArchivado horario = horarios.get(cita.getHorarioId());
+            resultado.add(cita.aCita(horario != null ? horario.aHorario() : null));
+        }
+        return resultado;
+    }
+
+    /**
+     * Recorre las citas archivadas de un odontólogo en un rango, en {@link #ORDEN_CITAS}, como
+     * copias no administradas de {@link Cita}. Cada cita archivada se separa del contexto de
+     * persistencia al convertirla; paciente y odontólogo siguen administrados.
+     * Debe consumirse dentro de una transacción y cerrarse.
+     */
+    public Stream<Cita> citasPorOdontologo(Long odontologoId, LocalDateTime desde, LocalDateTime hasta, String estado) {
+        return citaArchivoRepository.streamByOdontologoId(odontologoId, desde, hasta, estado).map(archivada -> {
+            Cita cita = archivada.aCita(null);
+            entityManager.detach(archivada);
+            return cita;
+        });
+    }
+
+    /**
+     * Une dos páginas leídas con el mismo límite y la misma clave en una sola página del tamaño
+     * pedido; hay página siguiente si la tenía alguna de las dos o si sobran elementos.
+     */
+    private static <T> Slice<T> mezclarPaginas(Slice<T> archivados, Slice<T> vigentes, Comparator<? super T> orden,
+            Pageable limite) {
+        if (archivados.isEmpty()) {
+            return vigentes;
+        }
+        List<T> todos = new ArrayList<>(vigentes.getNumberOfElements() + archivados.getNumberOfElements());
+        mezclar(archivados.iterator(), vigentes.iterator(), orden).forEachRemaining(todos::add);
+        int tamano = limite.getPageSize();
+        boolean haySiguiente = vigentes.hasNext() || archivados.hasNext() || todos.size() > tamano;
+        return new SliceImpl<>(todos.subList(0, Math.min(tamano, todos.size())), limite, haySiguiente);
+    }
+
+    /**
+     * Mezcla dos iteradores ya ordenados por el mismo criterio; ante empates va primero el primero.
+     */
+    public static <T> Iterator<T> mezclar(Iterator<? extends T> primero, Iterator<? extends T> segundo,
+            Comparator<? super T> orden) {
+        return new Iterator<T>() {
+
+            private T a = primero.hasNext() ? primero.next() : null;
+            private T b = segundo.hasNext() ? segundo.next() : null;
+
+            @Override
+            public boolean hasNext() {
+                return a != null || b != null;
+            }
+
+            @Override
+            public T next() {
+                if (a == null && b == null) {
+                    throw new NoSuchElementException();
+                }
+                T siguiente;
+                if (b == null || (a != null && orden.compare(a, b) <= 0)) {
+                    siguiente = a;
+                    a = primero.hasNext() ? primero.next() : null;
+                } else {
+                    siguiente = b;
+                    b = segundo.hasNext() ? segundo.next() : null;
+                }
+                return siguiente;
+            }
+        };
+    }
+
+    private LocalDate frontera() {
+        if (!fronteraCargada) {
+            synchronized (this) {
+                if (!fronteraCargada) {
+                    try (ConsistenciaLectura.Ambito primaria = ConsistenciaLectura.primaria()) {
+                        frontera = horarioArchivoRepository.findFechaMaxima();
+                    }
+                    fronteraCargada = true;
+                }
+            }
+        }
+        return frontera;
+    }
+}
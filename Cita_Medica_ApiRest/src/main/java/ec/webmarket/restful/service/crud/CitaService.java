@@ -1,18 +1,32 @@
 package ec.webmarket.restful.service.crud;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ec.webmarket.restful.common.ApiException;
+import ec.webmarket.restful.common.Paginacion;
 import ec.webmarket.restful.domain.Cita;
 import ec.webmarket.restful.domain.Horario;
 import ec.webmarket.restful.dto.v1.CitaDTO;
+import ec.webmarket.restful.dto.v1.CitaResumenDTO;
+import ec.webmarket.restful.dto.v1.LoteCitasDTO;
+import ec.webmarket.restful.dto.v1.PaginaDTO;
+import ec.webmarket.restful.dto.v1.ResultadoLoteCitasDTO;
 import ec.webmarket.restful.persistence.CitaRepository;
 import ec.webmarket.restful.service.GenericCrudServiceImpl;
+import ec.webmarket.restful.service.archivo.ArchivoHistorico;
+import ec.webmarket.restful.service.mapper.DtoMapper;
+import ec.webmarket.restful.service.reserva.MotorReservas;
 
 /**
  * Servicio para la gestión de citas odontológicas.
@@ -24,7 +38,11 @@ public class CitaService extends GenericCrudServiceImpl<Cita, CitaDTO> {
     @Autowired
     private CitaRepository repository; // Repositorio para interactuar con la base de datos.
 
-    private ModelMapper modelMapper = new ModelMapper(); // Mapper para convertir entre DTO y entidad.
+    @Autowired
+    private MotorReservas motorReservas; // Reserva atómica de horarios para las citas.
+
+    @Autowired
+    private ArchivoHistorico archivo; // Citas pasadas movidas a cita_archivo.
 
     /**
      * Busca una cita basada en el DTO proporcionado.
@@ -37,21 +55,127 @@ public class CitaService extends GenericCrudServiceImpl<Cita, CitaDTO> {
     }
 
     /**
-     * Busca todas las citas asociadas a un paciente específico.
+     * Crea una cita reclamando su horario de forma atómica.
+     * @param dto DTO de la cita a crear.
+     * @return CitaDTO con los datos guardados.
+     */
+    @Override
+    public CitaDTO create(CitaDTO dto) {
+        return motorReservas.reservar(dto);
+    }
+
+    /**
+     * Crea varias citas en una sola transacción, todas o ninguna o solo las válidas según el modo del lote.
+     * @param lote Citas a crear y modo del lote.
+     * @return Resultado de cada cita del lote.
+     */
+    public ResultadoLoteCitasDTO createLote(LoteCitasDTO lote) {
+        return motorReservas.reservarLote(lote);
+    }
+
+    /**
+     * Actualiza una cita; si cambia de horario, reclama el nuevo y libera el anterior.
+     * @param dto DTO de la cita a actualizar.
+     * @return CitaDTO con los datos guardados.
+     */
+    @Override
+    public CitaDTO update(CitaDTO dto) {
+        return motorReservas.reprogramar(dto);
+    }
+
+    /**
+     * Elimina una cita y libera su horario.
+     * @param dto DTO de la cita a eliminar.
+     */
+    @Override
+    public void delete(CitaDTO dto) {
+        motorReservas.cancelar(dto.getId());
+    }
+
+    /**
+     * Busca las citas de un paciente, paginando por la clave (fechayHora, id). Sin rango solo lee
+     * las citas vigentes; con {@code desde} y {@code hasta} incluye las archivadas del rango.
      * @param pacienteId Identificador del paciente.
-     * @return Lista de citas del paciente.
+     * @param desde Primer día del rango, o null para todas las citas vigentes.
+     * @param hasta Último día del rango (incluido), o null para todas las citas vigentes.
+     * @param cursor Cursor devuelto por la página anterior o null para la primera página.
+     * @param size Tamaño de página solicitado; se limita a ApiConstants.PAGE_SIZE_MAX.
+     * @return Página de resúmenes de las citas del paciente.
      */
-    public List<Cita> findByPaciente(Long pacienteId) {
-        return repository.findByPacienteId(pacienteId);
+    @Transactional(readOnly = true)
+    public PaginaDTO<CitaResumenDTO> findByPaciente(Long pacienteId, LocalDate desde, LocalDate hasta, String cursor, int size) {
+        Pageable limite = Paginacion.limite(size);
+        Paginacion.Cursor clave = cursor == null ? null : Paginacion.leer(cursor, 2);
+        Slice<CitaResumenDTO> citas;
+        if (desde == null && hasta == null) {
+            citas = clave == null
+                    ? repository.findResumenByPacienteId(pacienteId, limite)
+                    : repository.findResumenByPacienteIdAfter(pacienteId, clave.fechaHora(0), clave.id(1), limite);
+        } else {
+            validarRango(desde, hasta);
+            LocalDateTime inicio = desde.atStartOfDay();
+            LocalDateTime fin = hasta.plusDays(1).atStartOfDay();
+            LocalDateTime fechayHora = clave == null ? null : clave.fechaHora(0);
+            Long id = clave == null ? null : clave.id(1);
+            citas = clave == null
+                    ? repository.findResumenByPacienteIdEntre(pacienteId, inicio, fin, limite)
+                    : repository.findResumenByPacienteIdEntreAfter(pacienteId, inicio, fin, fechayHora, id, limite);
+            if (archivo.incluye(clave == null ? desde : fechayHora.toLocalDate())) {
+                citas = archivo.citasPorPaciente(citas, pacienteId, inicio, fin, fechayHora, id, limite);
+            }
+        }
+        return Paginacion.pagina(citas, Function.identity(), CitaService::cursor);
     }
 
     /**
-     * Busca todas las citas asociadas a un odontólogo específico.
+     * Busca las citas de un odontólogo, paginando por la clave (fechayHora, id). Sin rango solo
+     * lee las citas vigentes; con {@code desde} y {@code hasta} incluye las archivadas del rango.
      * @param odontologoId Identificador del odontólogo.
-     * @return Lista de citas del odontólogo.
+     * @param desde Primer día del rango, o null para todas las citas vigentes.
+     * @param hasta Último día del rango (incluido), o null para todas las citas vigentes.
+     * @param cursor Cursor devuelto por la página anterior o null para la primera página.
+     * @param size Tamaño de página solicitado; se limita a ApiConstants.PAGE_SIZE_MAX.
+     * @return Página de resúmenes de las citas del odontólogo.
      */
-    public List<Cita> findByOdontologo(Long odontologoId) {
-        return repository.findByOdontologoId(odontologoId);
+    @Transactional(readOnly = true)
+    public PaginaDTO<CitaResumenDTO> findByOdontologo(Long odontologoId, LocalDate desde, LocalDate hasta, String cursor, int size) {
+        Pageable limite = Paginacion.limite(size);
+        Paginacion.Cursor clave = cursor == null ? null : Paginacion.leer(cursor, 2);
+        Slice<CitaResumenDTO> citas;
+        if (desde == null && hasta == null) {
+            citas = clave == null
+                    ? repository.findResumenByOdontologoId(odontologoId, limite)
+                    : repository.findResumenByOdontologoIdAfter(odontologoId, clave.fechaHora(0), clave.id(1), limite);
+        } else {
+            validarRango(desde, hasta);
+            LocalDateTime inicio = desde.atStartOfDay();
+            LocalDateTime fin = hasta.plusDays(1).atStartOfDay();
+            LocalDateTime fechayHora = clave == null ? null : clave.fechaHora(0);
+            Long id = clave == null ? null : clave.id(1);
+            citas = clave == null
+                    ? repository.findResumenByOdontologoIdEntre(odontologoId, inicio, fin, limite)
+                    : repository.findResumenByOdontologoIdEntreAfter(odontologoId, inicio, fin, fechayHora, id, limite);
+            if (archivo.incluye(clave == null ? desde : fechayHora.toLocalDate())) {
+                citas = archivo.citasPorOdontologo(citas, odontologoId, inicio, fin, fechayHora, id, limite);
+            }
+        }
+        return Paginacion.pagina(citas, Function.identity(), CitaService::cursor);
+    }
+
+    /**
+     * Valida el rango de un listado de citas: se indican los dos días y el final no es anterior al inicial.
+     */
+    private static void validarRango(LocalDate desde, LocalDate hasta) {
+        if (desde == null || hasta == null || hasta.isBefore(desde)) {
+            throw new ApiException("El rango de fechas no es válido");
+        }
+    }
+
+    /**
+     * Cursor de paginación de una cita: (fechayHora, id).
+     */
+    private static String cursor(CitaResumenDTO cita) {
+        return Paginacion.cursor(cita.getFechayHora(), cita.getId());
     }
 
     /**
@@ -59,6 +183,7 @@ public class CitaService extends GenericCrudServiceImpl<Cita, CitaDTO> {
      * @param horario Horario en el que se buscan las citas.
      * @return Lista de CitaDTO con las citas en ese horario.
      */
+    @Transactional(readOnly = true)
     public List<CitaDTO> findByHorario(Horario horario) {
         return repository.findByHorario(horario)
                         .stream()
@@ -67,13 +192,18 @@ public class CitaService extends GenericCrudServiceImpl<Cita, CitaDTO> {
     }
 
     /**
-     * Busca citas por fecha y hora específica.
+     * Busca citas por fecha y hora específica, incluidas las archivadas si la fecha puede estarlo.
      * @param fechaYHora Fecha y hora en que se programó la cita.
      * @return Lista de CitaDTO con las citas en esa fecha y hora.
      */
+    @Transactional(readOnly = true)
     public List<CitaDTO> findByFechaYHora(LocalDateTime fechaYHora) {
-        return repository.findByFechayHora(fechaYHora)
-                        .stream()
+        List<Cita> citas = repository.findByFechayHora(fechaYHora);
+        if (archivo.incluye(fechaYHora.toLocalDate())) {
+            citas = new ArrayList<>(citas);
+            citas.addAll(archivo.citasPorFechayHora(fechaYHora));
+        }
+        return citas.stream()
                         .map(this::mapToDto)
                         .collect(Collectors.toList());
     }
@@ -83,6 +213,7 @@ public class CitaService extends GenericCrudServiceImpl<Cita, CitaDTO> {
      * @param estado Estado de la cita.
      * @return Lista de CitaDTO con las citas que coinciden con el estado.
      */
+    @Transactional(readOnly = true)
     public List<CitaDTO> findByEstado(String estado) {
         return repository.findByEstado(estado)
                         .stream()
@@ -95,6 +226,7 @@ public class CitaService extends GenericCrudServiceImpl<Cita, CitaDTO> {
      * @param motivo Motivo de la cita.
      * @return Lista de CitaDTO con las citas que coinciden con el motivo.
      */
+    @Transactional(readOnly = true)
     public List<CitaDTO> findByMotivo(String motivo) {
         return repository.findByMotivo(motivo)
                         .stream()
@@ -103,17 +235,12 @@ public class CitaService extends GenericCrudServiceImpl<Cita, CitaDTO> {
     }
 
     /**
-     * Elimina una cita por su ID.
+     * Elimina una cita por su ID y libera su horario.
      * @param id Identificador de la cita a eliminar.
      * @throws NoSuchElementException si la cita no existe.
      */
     public void delete(Long id) {
-        Optional<Cita> cita = repository.findById(id);
-        if (cita.isPresent()) {
-            repository.delete(cita.get());
-        } else {
-            throw new NoSuchElementException("Cita con ID " + id + " no encontrada");
-        }
+        motorReservas.cancelar(id);
     }
 
     /**
@@ -122,8 +249,8 @@ public class CitaService extends GenericCrudServiceImpl<Cita, CitaDTO> {
      * @return Entidad Cita.
      */
     @Override
-    public Cita mapToDomain(CitaDTO dto) {
-        return modelMapper.map(dto, Cita.class);
+    protected Cita toDomain(CitaDTO dto) {
+        return DtoMapper.toDomain(dto);
     }
 
     /**
@@ -132,8 +259,8 @@ public class CitaService extends GenericCrudServiceImpl<Cita, CitaDTO> {
      * @return DTO de Cita.
      */
     @Override
-    public CitaDTO mapToDto(Cita domain) {
-        return modelMapper.map(domain, CitaDTO.class);
+    protected CitaDTO toDto(Cita domain) {
+        return DtoMapper.toDto(domain);
     }
 }
 
@@ -3,14 +3,35 @@ package ec.webmarket.restful.service.crud;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ec.webmarket.restful.common.ApiException;
+import ec.webmarket.restful.common.CursorInvalidoException;
+import ec.webmarket.restful.common.Paginacion;
 import ec.webmarket.restful.domain.Horario;
+import ec.webmarket.restful.dto.v1.DisponibilidadDiaDTO;
+import ec.webmarket.restful.dto.v1.FranjaLibreDTO;
 import ec.webmarket.restful.dto.v1.HorarioDTO;
+import ec.webmarket.restful.dto.v1.HorarioResumenDTO;
+import ec.webmarket.restful.dto.v1.PaginaDTO;
+import ec.webmarket.restful.dto.v1.PlantillaHorarioDTO;
+import ec.webmarket.restful.dto.v1.ResultadoPlantillaDTO;
 import ec.webmarket.restful.persistence.HorarioRepository;
 import ec.webmarket.restful.service.GenericCrudServiceImpl;
+import ec.webmarket.restful.service.HorariosModificadosEvent;
+import ec.webmarket.restful.service.Transacciones;
+import ec.webmarket.restful.service.agenda.GeneradorHorarios;
+import ec.webmarket.restful.service.agenda.IndiceAgenda;
+import ec.webmarket.restful.service.agenda.ResumenDisponibilidad;
+import ec.webmarket.restful.service.archivo.ArchivoHistorico;
+import ec.webmarket.restful.service.mapper.DtoMapper;
+import ec.webmarket.restful.service.reserva.RegistroHorariosOcupados;
 
 /**
  * Servicio para la gestión de horarios.
@@ -22,7 +43,23 @@ public class HorarioService extends GenericCrudServiceImpl<Horario, HorarioDTO>
     @Autowired
     private HorarioRepository repository; // Repositorio para interactuar con la base de datos.
 
-    private ModelMapper modelMapper = new ModelMapper(); // Mapper para convertir entre DTO y entidad.
+    @Autowired
+    private IndiceAgenda indiceAgenda; // Índice en memoria de los horarios de cada odontólogo.
+
+    @Autowired
+    private RegistroHorariosOcupados registroHorariosOcupados; // Horarios que se sabe que ya están tomados.
+
+    @Autowired
+    private GeneradorHorarios generadorHorarios; // Inserción en lote de horarios desde plantillas.
+
+    @Autowired
+    private ResumenDisponibilidad resumenDisponibilidad; // Horarios libres y totales por odontólogo y día.
+
+    @Autowired
+    private ApplicationEventPublisher eventos; // Avisa a las cachés de lectura de los horarios modificados.
+
+    @Autowired
+    private ArchivoHistorico archivo; // Horarios pasados movidos a horario_archivo.
 
     /**
      * Busca un horario basado en el DTO proporcionado.
@@ -31,17 +68,132 @@ public class HorarioService extends GenericCrudServiceImpl<Horario, HorarioDTO>
      */
     @Override
     public Optional<Horario> find(HorarioDTO dto) {
-        return repository.findById(dto.getId());
+        // Un horario nuevo llega sin id.
+        return dto.getId() == null ? Optional.empty() : repository.findById(dto.getId());
+    }
+
+    /**
+     * Crea un horario validando antes que no se solape con otro horario del mismo odontólogo.
+     * El índice de agenda se confirma después del commit y se deshace si hay rollback;
+     * el resumen diario de disponibilidad se actualiza en la misma transacción.
+     * @param dto DTO del horario a crear.
+     * @return HorarioDTO con los datos guardados.
+     */
+    @Override
+    @Transactional
+    public HorarioDTO create(HorarioDTO dto) {
+        IndiceAgenda.Reserva reserva = indiceAgenda.reservar(odontologoId(dto), null,
+                dto.getFecha(), dto.getHoraInicio(), dto.getHorafinal());
+        Transacciones.siSeRevierte(() -> indiceAgenda.cancelar(reserva));
+        HorarioDTO creado = super.create(dto);
+        resumenDisponibilidad.ajustar(odontologoId(dto), creado.getFecha(), libre(creado.getDisponibilidad()), 1);
+        Transacciones.despuesDeConfirmar(() -> indiceAgenda.confirmar(reserva, creado.getId(), creado.getDisponibilidad()));
+        eventos.publishEvent(new HorariosModificadosEvent(List.of(dto.getFecha()), List.of(odontologoId(dto))));
+        return creado;
+    }
+
+    /**
+     * Actualiza un horario validando que el nuevo intervalo no se solape con otro horario del odontólogo.
+     * @param dto DTO del horario a actualizar.
+     * @return HorarioDTO con los datos guardados.
+     */
+    @Override
+    @Transactional
+    public HorarioDTO update(HorarioDTO dto) {
+        Horario actual = find(dto).orElseThrow(() -> new ApiException("Registro no encontrado"));
+        Long horarioId = actual.getId();
+        Long odontologoAnterior = actual.getOdontologo().getId();
+        LocalDate fechaAnterior = actual.getFecha();
+        int libreAnterior = libre(actual.getDisponibilidad());
+        Long odontologoId = odontologoId(dto);
+        boolean mismoOdontologo = odontologoAnterior.equals(odontologoId);
+        IndiceAgenda.Reserva reserva = indiceAgenda.reservar(odontologoId, mismoOdontologo ? horarioId : null,
+                dto.getFecha(), dto.getHoraInicio(), dto.getHorafinal());
+        Transacciones.siSeRevierte(() -> indiceAgenda.cancelar(reserva));
+        HorarioDTO actualizado = super.update(dto);
+        // El UPDATE del horario se envía antes que el del resumen: el mismo orden de bloqueo que las reservas.
+        repository.flush();
+        resumenDisponibilidad.ajustarTodos(List.of(
+                new ResumenDisponibilidad.Ajuste(odontologoAnterior, fechaAnterior, -libreAnterior, -1),
+                new ResumenDisponibilidad.Ajuste(odontologoId, actualizado.getFecha(), libre(actualizado.getDisponibilidad()), 1)));
+        Transacciones.despuesDeConfirmar(() -> {
+            if (!mismoOdontologo) {
+                indiceAgenda.eliminar(odontologoAnterior, horarioId);
+            }
+            indiceAgenda.confirmar(reserva, actualizado.getId(), actualizado.getDisponibilidad());
+            if (Boolean.TRUE.equals(actualizado.getDisponibilidad())) {
+                registroHorariosOcupados.liberado(actualizado.getId());
+            }
+        });
+        eventos.publishEvent(new HorariosModificadosEvent(List.of(fechaAnterior, dto.getFecha()),
+                List.of(odontologoAnterior, odontologoId)));
+        return actualizado;
+    }
+
+    /**
+     * Elimina un horario y lo retira del índice de su odontólogo.
+     * @param dto DTO del horario a eliminar.
+     */
+    @Override
+    @Transactional
+    public void delete(HorarioDTO dto) {
+        Optional<Horario> actual = find(dto);
+        Optional<HorariosModificadosEvent> evento = actual.map(HorariosModificadosEvent::de);
+        // super.delete fusiona el DTO (solo con id) sobre la entidad administrada: se leen antes sus datos.
+        Long odontologoId = actual.map(horario -> horario.getOdontologo().getId()).orElse(null);
+        LocalDate fecha = actual.map(Horario::getFecha).orElse(null);
+        int libre = actual.map(horario -> libre(horario.getDisponibilidad())).orElse(0);
+        super.delete(dto);
+        if (actual.isPresent()) {
+            Long horarioId = dto.getId();
+            repository.flush();
+            resumenDisponibilidad.ajustar(odontologoId, fecha, -libre, -1);
+            Transacciones.despuesDeConfirmar(() -> indiceAgenda.eliminar(odontologoId, horarioId));
+        }
+        evento.ifPresent(eventos::publishEvent);
+    }
+
+    /**
+     * Genera los horarios de un odontólogo a partir de una plantilla semanal, en una sola transacción.
+     * @param plantilla Plantilla con días, horas, duración y rango de fechas.
+     * @return Resultado con el número de horarios creados.
+     */
+    public ResultadoPlantillaDTO generarDesdePlantilla(PlantillaHorarioDTO plantilla) {
+        return generadorHorarios.generar(plantilla);
     }
 
     /**
-     * Busca horarios por su disponibilidad.
+     * Obtiene las franjas libres de un odontólogo entre dos fechas sin consultar la base de datos.
+     * @param odontologoId Identificador del odontólogo.
+     * @param desde Fecha inicial (inclusive).
+     * @param hasta Fecha final (inclusive).
+     * @return Lista de franjas libres ordenadas por inicio.
+     */
+    public List<FranjaLibreDTO> findFranjasLibres(Long odontologoId, LocalDate desde, LocalDate hasta) {
+        if (hasta.isBefore(desde)) {
+            throw new ApiException("La fecha final debe ser igual o posterior a la fecha inicial");
+        }
+        return indiceAgenda.franjasLibres(odontologoId, desde, hasta);
+    }
+
+    /**
+     * Busca horarios por su disponibilidad, paginando por la clave (fecha, horaInicio, id).
      * @param disponibilidad Booleano que indica si el horario está disponible.
-     * @return Lista de HorarioDTO con los horarios que coinciden.
+     * @param cursor Cursor devuelto por la página anterior o null para la primera página.
+     * @param size Tamaño de página solicitado; se limita a ApiConstants.PAGE_SIZE_MAX.
+     * @return Página de resúmenes de horario que coinciden.
      */
-    public List<HorarioDTO> findByDisponibilidad(Boolean disponibilidad) {
-        List<Horario> horarios = repository.findByDisponibilidad(disponibilidad);
-        return horarios.stream().map(this::mapToDto).collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public PaginaDTO<HorarioResumenDTO> findByDisponibilidad(Boolean disponibilidad, String cursor, int size) {
+        Pageable limite = Paginacion.limite(size);
+        Slice<HorarioResumenDTO> horarios;
+        if (cursor == null) {
+            horarios = repository.findResumenByDisponibilidad(disponibilidad, limite);
+        } else {
+            Paginacion.Cursor clave = Paginacion.leer(cursor, 3);
+            horarios = repository.findResumenByDisponibilidadAfter(disponibilidad, clave.fecha(0), clave.hora(1), clave.id(2), limite);
+        }
+        return Paginacion.pagina(horarios, Function.identity(), HorarioService::cursor);
     }
 
     /**
@@ -49,6 +201,7 @@ public class HorarioService extends GenericCrudServiceImpl<Horario, HorarioDTO>
      * @param id Identificador del horario.
      * @return Un Optional con HorarioDTO si se encuentra.
      */
+    @Transactional(readOnly = true)
     public Optional<HorarioDTO> findById(Long id) {
         Optional<Horario> horario = repository.findById(id);
         return horario.map(this::mapToDto);
@@ -59,19 +212,83 @@ public class HorarioService extends GenericCrudServiceImpl<Horario, HorarioDTO>
      * @param odontologoId Identificador del odontólogo.
      * @return Lista de HorarioDTO con los horarios asignados al odontólogo.
      */
+    @Transactional(readOnly = true)
     public List<HorarioDTO> findByOdontologoId(Long odontologoId) {
         List<Horario> horarios = repository.findByOdontologo_Id(odontologoId);
         return horarios.stream().map(this::mapToDto).collect(Collectors.toList());
     }
 
     /**
-     * Busca horarios por fecha.
+     * Obtiene el resumen de los horarios de un odontólogo, sin cargar entidades.
+     * @param odontologoId Identificador del odontólogo.
+     * @return Lista de resúmenes de horario ordenados por fecha y hora de inicio.
+     */
+    @Transactional(readOnly = true)
+    public List<HorarioResumenDTO> findResumenByOdontologoId(Long odontologoId) {
+        return repository.findResumenByOdontologoId(odontologoId);
+    }
+
+    /**
+     * Busca horarios por fecha, paginando por la clave (horaInicio, id).
+     * Si la fecha puede estar archivada se mezclan también los horarios de horario_archivo.
      * @param fecha Fecha del horario.
-     * @return Lista de HorarioDTO con los horarios encontrados en esa fecha.
+     * @param cursor Cursor devuelto por la página anterior o null para la primera página.
+     * @param size Tamaño de página solicitado; se limita a ApiConstants.PAGE_SIZE_MAX.
+     * @return Página de resúmenes de los horarios encontrados en esa fecha.
+     * @throws CursorInvalidoException si el cursor no es válido o es de otra fecha.
      */
-    public List<HorarioDTO> findByFecha(LocalDate fecha) {
-        List<Horario> horarios = repository.findByFecha(fecha);
-        return horarios.stream().map(this::mapToDto).collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public PaginaDTO<HorarioResumenDTO> findByFecha(LocalDate fecha, String cursor, int size) {
+        Pageable limite = Paginacion.limite(size);
+        Slice<HorarioResumenDTO> horarios;
+        Paginacion.Cursor clave = cursor != null ? Paginacion.leer(cursor, 3) : null;
+        // El cursor de otra fecha no es una posición dentro de esta.
+        if (clave != null && !clave.fecha(0).equals(fecha)) {
+            throw new CursorInvalidoException();
+        }
+        if (clave == null) {
+            horarios = repository.findResumenByFecha(fecha, limite);
+        } else {
+            horarios = repository.findResumenByFechaAfter(fecha, clave.hora(1), clave.id(2), limite);
+        }
+        if (archivo.incluye(fecha)) {
+            horarios = archivo.horariosPorFecha(horarios, fecha, clave != null ? clave.hora(1) : null,
+                    clave != null ? clave.id(2) : null, limite);
+        }
+        return Paginacion.pagina(horarios, Function.identity(), HorarioService::cursor);
+    }
+
+    /**
+     * Cursor de paginación de un horario: (fecha, horaInicio, id).
+     */
+    private static String cursor(HorarioResumenDTO horario) {
+        return Paginacion.cursor(horario.getFecha(), horario.getHoraInicio(), horario.getId());
+    }
+
+    /**
+     * Obtiene los horarios libres y totales por día de un odontólogo, para un calendario.
+     * @param odontologoId Identificador del odontólogo.
+     * @param desde Fecha inicial (inclusive).
+     * @param hasta Fecha final (inclusive); como máximo ResumenDisponibilidad.MAX_DIAS días después.
+     * @return Resumen de los días con horarios, ordenados por fecha.
+     */
+    @Transactional(readOnly = true)
+    public List<DisponibilidadDiaDTO> findDisponibilidadDiaria(Long odontologoId, LocalDate desde, LocalDate hasta) {
+        return resumenDisponibilidad.consultar(odontologoId, desde, hasta);
+    }
+
+    /**
+     * 1 si el horario está disponible, 0 si no.
+     */
+    private static int libre(Boolean disponibilidad) {
+        return Boolean.TRUE.equals(disponibilidad) ? 1 : 0;
+    }
+
+    /**
+     * ID del odontólogo indicado en el DTO, o null si no se indicó.
+     */
+    private static Long odontologoId(HorarioDTO dto) {
+        return dto.getOdontologo() != null ? dto.getOdontologo().getId() : null;
     }
 
     /**
@@ -80,8 +297,8 @@ public class HorarioService extends GenericCrudServiceImpl<Horario, HorarioDTO>
      * @return Entidad Horario.
      */
     @Override
-    public Horario mapToDomain(HorarioDTO dto) {
-        return modelMapper.map(dto, Horario.class);
+    protected Horario toDomain(HorarioDTO dto) {
+        return DtoMapper.toDomain(dto);
     }
 
     /**
@@ -90,7 +307,7 @@ public class HorarioService extends GenericCrudServiceImpl<Horario, HorarioDTO>
      * @return DTO de Horario.
      */
     @Override
-    public HorarioDTO mapToDto(Horario domain) {
-        return modelMapper.map(domain, HorarioDTO.class);
+    protected HorarioDTO toDto(Horario domain) {
+        return DtoMapper.toDto(domain);
     }
 }
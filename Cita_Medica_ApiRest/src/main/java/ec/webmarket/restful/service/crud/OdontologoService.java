@@ -1,28 +1,45 @@
 package ec.webmarket.restful.service.crud;
 
+import java.time.LocalDate;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ec.webmarket.restful.domain.Odontologo;
 import ec.webmarket.restful.dto.v1.OdontologoDTO;
+import ec.webmarket.restful.persistence.HorarioArchivoRepository;
+import ec.webmarket.restful.persistence.HorarioRepository;
 import ec.webmarket.restful.persistence.OdontologoRepository;
 import ec.webmarket.restful.service.GenericCrudServiceImpl;
+import ec.webmarket.restful.service.HorariosModificadosEvent;
+import ec.webmarket.restful.service.mapper.DtoMapper;
 
 /**
  * Servicio para la gestión de odontólogos.
  * Extiende de GenericCrudServiceImpl para proporcionar operaciones CRUD genéricas.
+ * Los listados de horarios muestran el nombre del odontólogo, por eso cada modificación o
+ * eliminación publica un {@link HorariosModificadosEvent} con el odontólogo y sus fechas.
  */
 @Service
 public class OdontologoService extends GenericCrudServiceImpl<Odontologo, OdontologoDTO> {
     
     @Autowired
     private OdontologoRepository repository; // Repositorio para interactuar con la base de datos.
-    
-    private final ModelMapper modelMapper = new ModelMapper(); // Mapper para convertir entre DTO y entidad.
 
+    @Autowired
+    private HorarioRepository horarioRepository;
+
+    @Autowired
+    private HorarioArchivoRepository horarioArchivoRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventos; // Avisa a las cachés de lectura de los horarios modificados.
+    
     /**
      * Busca un odontólogo basado en el DTO proporcionado.
      * @param dto DTO del odontólogo a buscar.
@@ -37,6 +54,7 @@ public class OdontologoService extends GenericCrudServiceImpl<Odontologo, Odonto
      * Obtiene todos los odontólogos almacenados en la base de datos.
      * @return Lista de OdontologoDTO.
      */
+    @Transactional(readOnly = true)
     public List<OdontologoDTO> findAll() {
         List<Odontologo> odontologos = repository.findAll();
         return odontologos.stream().map(this::mapToDto).collect(Collectors.toList());
@@ -47,6 +65,7 @@ public class OdontologoService extends GenericCrudServiceImpl<Odontologo, Odonto
      * @param id Identificador del odontólogo.
      * @return Un Optional con OdontologoDTO si se encuentra.
      */
+    @Transactional(readOnly = true)
     public Optional<OdontologoDTO> findById(Long id) {
         Optional<Odontologo> odontologo = repository.findById(id);
         return odontologo.map(this::mapToDto);
@@ -57,6 +76,7 @@ public class OdontologoService extends GenericCrudServiceImpl<Odontologo, Odonto
      * @param usuarioId Identificador del usuario.
      * @return Un Optional con OdontologoDTO si se encuentra.
      */
+    @Transactional(readOnly = true)
     public Optional<OdontologoDTO> findByUsuarioId(Long usuarioId) {
         Optional<Odontologo> odontologo = repository.findByUsuario_Id(usuarioId);
         return odontologo.map(this::mapToDto);
@@ -67,6 +87,7 @@ public class OdontologoService extends GenericCrudServiceImpl<Odontologo, Odonto
      * @param nombreUsuario Nombre de usuario.
      * @return Un Optional con OdontologoDTO si se encuentra.
      */
+    @Transactional(readOnly = true)
     public Optional<OdontologoDTO> findByUsuarioNombreUsuario(String nombreUsuario) {
         Optional<Odontologo> odontologo = repository.findByUsuario_NombreUsuario(nombreUsuario);
         return odontologo.map(this::mapToDto);
@@ -77,17 +98,46 @@ public class OdontologoService extends GenericCrudServiceImpl<Odontologo, Odonto
      * @param cedula Número de cédula del odontólogo.
      * @return Un Optional con OdontologoDTO si se encuentra.
      */
+    @Transactional(readOnly = true)
     public Optional<OdontologoDTO> findByCedula(String cedula) {
         Optional<Odontologo> odontologo = repository.findByCedula(cedula);
         return odontologo.map(this::mapToDto);
     }
 
+    /**
+     * Actualiza un odontólogo e invalida los listados de horarios que lo muestran.
+     * @param dto DTO del odontólogo a actualizar.
+     * @return OdontologoDTO con los datos actualizados.
+     */
+    @Override
+    @Transactional
+    public OdontologoDTO update(OdontologoDTO dto) {
+        OdontologoDTO actualizado = super.update(dto);
+        publicarModificado(dto.getId());
+        return actualizado;
+    }
+
+    /**
+     * Elimina un odontólogo e invalida los listados de horarios que lo mostraban.
+     * @param dto DTO del odontólogo a eliminar.
+     */
+    @Override
+    @Transactional
+    public void delete(OdontologoDTO dto) {
+        publicarModificado(dto.getId());
+        super.delete(dto);
+    }
+
     /**
      * Guarda un odontólogo en la base de datos.
      * @param dto DTO del odontólogo a guardar.
      * @return OdontologoDTO con los datos guardados.
      */
+    @Transactional
     public OdontologoDTO save(OdontologoDTO dto) {
+        if (dto.getId() != null) {
+            publicarModificado(dto.getId());
+        }
         Odontologo odontologo = mapToDomain(dto);
         odontologo = repository.save(odontologo);
         return mapToDto(odontologo);
@@ -98,22 +148,38 @@ public class OdontologoService extends GenericCrudServiceImpl<Odontologo, Odonto
      * @param id Identificador del odontólogo a eliminar.
      * @return true si la eliminación fue exitosa, false si el odontólogo no existe.
      */
+    @Transactional
     public boolean deleteById(Long id) {
         if (repository.existsById(id)) {
+            publicarModificado(id);
             repository.deleteById(id);
             return true;
         }
         return false;
     }
 
+    /**
+     * Publica el odontólogo y las fechas de sus horarios, vigentes y archivados; las fechas se
+     * leen antes de escribir, porque una eliminación puede llevarse los horarios.
+     * @param odontologoId ID del odontólogo modificado.
+     */
+    private void publicarModificado(Long odontologoId) {
+        if (odontologoId == null) {
+            return;
+        }
+        Set<LocalDate> fechas = new HashSet<>(horarioRepository.findFechasByOdontologoId(odontologoId));
+        fechas.addAll(horarioArchivoRepository.findFechasByOdontologoId(odontologoId));
+        eventos.publishEvent(new HorariosModificadosEvent(fechas, List.of(odontologoId)));
+    }
+
     /**
      * Convierte un DTO de odontólogo en su entidad correspondiente.
      * @param dto DTO de odontólogo.
      * @return Entidad Odontologo.
      */
     @Override
-    public Odontologo mapToDomain(OdontologoDTO dto) {
-        return modelMapper.map(dto, Odontologo.class);
+    protected Odontologo toDomain(OdontologoDTO dto) {
+        return DtoMapper.toDomain(dto);
     }
 
     /**
@@ -122,8 +188,8 @@ public class OdontologoService extends GenericCrudServiceImpl<Odontologo, Odonto
      * @return DTO de Odontologo.
      */
     @Override
-    public OdontologoDTO mapToDto(Odontologo domain) {
-        return modelMapper.map(domain, OdontologoDTO.class);
+    protected OdontologoDTO toDto(Odontologo domain) {
+        return DtoMapper.toDto(domain);
     }
 }
 
@@ -3,13 +3,14 @@ package ec.webmarket.restful.service.crud;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ec.webmarket.restful.domain.Paciente;
 import ec.webmarket.restful.dto.v1.PacienteDTO;
 import ec.webmarket.restful.persistence.PacienteRepository;
 import ec.webmarket.restful.service.GenericCrudServiceImpl;
+import ec.webmarket.restful.service.mapper.DtoMapper;
 
 /**
  * Servicio para la gestión de pacientes.
@@ -21,8 +22,6 @@ public class PacienteService extends GenericCrudServiceImpl<Paciente, PacienteDT
     @Autowired
     private PacienteRepository repository; // Repositorio para interactuar con la base de datos.
 
-    private final ModelMapper modelMapper = new ModelMapper(); // Mapper para convertir entre DTO y entidad.
-
     /**
      * Busca un paciente basado en el DTO proporcionado.
      * @param dto DTO del paciente a buscar.
@@ -37,6 +36,7 @@ public class PacienteService extends GenericCrudServiceImpl<Paciente, PacienteDT
      * Obtiene la lista de todos los pacientes registrados.
      * @return Lista de PacienteDTO con la información de los pacientes.
      */
+    @Transactional(readOnly = true)
     public List<PacienteDTO> findAll() {
         List<Paciente> pacientes = repository.findAll();
         return pacientes.stream().map(this::mapToDto).collect(Collectors.toList());
@@ -47,6 +47,7 @@ public class PacienteService extends GenericCrudServiceImpl<Paciente, PacienteDT
      * @param id Identificador del paciente.
      * @return Un Optional con el PacienteDTO si se encuentra.
      */
+    @Transactional(readOnly = true)
     public Optional<PacienteDTO> findById(Long id) {
         Optional<Paciente> paciente = repository.findById(id);
         return paciente.map(this::mapToDto);
@@ -57,6 +58,7 @@ public class PacienteService extends GenericCrudServiceImpl<Paciente, PacienteDT
      * @param usuarioId Identificador del usuario asociado al paciente.
      * @return Un Optional con el PacienteDTO si se encuentra.
      */
+    @Transactional(readOnly = true)
     public Optional<PacienteDTO> findByUsuarioId(Long usuarioId) {
         Optional<Paciente> paciente = repository.findByUsuario_Id(usuarioId);
         return paciente.map(this::mapToDto);
@@ -67,6 +69,7 @@ public class PacienteService extends GenericCrudServiceImpl<Paciente, PacienteDT
      * @param nombreUsuario Nombre de usuario del paciente.
      * @return Un Optional con el PacienteDTO si se encuentra.
      */
+    @Transactional(readOnly = true)
     public Optional<PacienteDTO> findByUsuarioNombreUsuario(String nombreUsuario) {
         Optional<Paciente> paciente = repository.findByUsuario_NombreUsuario(nombreUsuario);
         return paciente.map(this::mapToDto);
@@ -77,6 +80,7 @@ public class PacienteService extends GenericCrudServiceImpl<Paciente, PacienteDT
      * @param cedula Número de cédula del paciente.
      * @return Un Optional con el PacienteDTO si se encuentra.
      */
+    @Transactional(readOnly = true)
     public Optional<PacienteDTO> findByCedula(String cedula) {
         Optional<Paciente> paciente = repository.findByCedula(cedula);
         return paciente.map(this::mapToDto);
@@ -98,6 +102,7 @@ public class PacienteService extends GenericCrudServiceImpl<Paciente, PacienteDT
      * @param id Identificador del paciente.
      * @return true si el paciente fue eliminado, false si no se encontró.
      */
+    @Transactional
     public boolean deleteById(Long id) {
         if (repository.existsById(id)) {
             repository.deleteById(id);
@@ -112,8 +117,8 @@ public class PacienteService extends GenericCrudServiceImpl<Paciente, PacienteDT
      * @return Entidad Paciente.
      */
     @Override
-    public Paciente mapToDomain(PacienteDTO dto) {
-        return modelMapper.map(dto, Paciente.class);
+    protected Paciente toDomain(PacienteDTO dto) {
+        return DtoMapper.toDomain(dto);
     }
 
     /**
@@ -122,7 +127,7 @@ public class PacienteService extends GenericCrudServiceImpl<Paciente, PacienteDT
      * @return DTO de Paciente.
      */
     @Override
-    public PacienteDTO mapToDto(Paciente domain) {
-        return modelMapper.map(domain, PacienteDTO.class);
+    protected PacienteDTO toDto(Paciente domain) {
+        return DtoMapper.toDto(domain);
     }
 }
@@ -1,13 +1,15 @@
 package ec.webmarket.restful.service.crud;
 
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import ec.webmarket.restful.domain.Usuario;
+import ec.webmarket.restful.dto.v1.SesionDTO;
 import ec.webmarket.restful.dto.v1.UsuarioDTO;
 import ec.webmarket.restful.persistence.UsuarioRepository;
+import ec.webmarket.restful.security.TokenService;
 import ec.webmarket.restful.service.GenericCrudServiceImpl;
+import ec.webmarket.restful.service.mapper.DtoMapper;
 
 import java.util.Optional;
 
@@ -21,7 +23,8 @@ public class UsuarioService extends GenericCrudServiceImpl<Usuario, UsuarioDTO>
     @Autowired
     private UsuarioRepository repository; // Repositorio para la interacción con la base de datos.
 
-    private final ModelMapper modelMapper = new ModelMapper(); // Mapper para convertir entre DTO y entidad.
+    @Autowired
+    private TokenService tokenService; // Emisión y revocación de tokens de sesión.
 
     /**
      * Busca un usuario basado en el DTO proporcionado.
@@ -30,7 +33,8 @@ public class UsuarioService extends GenericCrudServiceImpl<Usuario, UsuarioDTO>
      */
     @Override
     public Optional<Usuario> find(UsuarioDTO dto) {
-        return repository.findById(dto.getId());
+        // Un usuario nuevo llega sin id.
+        return dto.getId() == null ? Optional.empty() : repository.findById(dto.getId());
     }
 
     /**
@@ -55,9 +59,21 @@ public class UsuarioService extends GenericCrudServiceImpl<Usuario, UsuarioDTO>
         return usuario.map(this::mapToDto);
     }
 
+    /**
+     * Autentica al usuario y emite un token de sesión firmado, para que las peticiones
+     * siguientes se autentiquen sin volver a consultar la base de datos.
+     * @param nombreUsuario Nombre de usuario del usuario.
+     * @param clave Contraseña del usuario.
+     * @return Un Optional con la sesión si las credenciales son correctas.
+     */
+    public Optional<SesionDTO> login(String nombreUsuario, String clave) {
+        return authenticate(nombreUsuario, clave).map(tokenService::emitir);
+    }
+
     /**
      * Actualiza la contraseña de un usuario.
      * (Nota: Se recomienda cifrar la contraseña antes de almacenarla en la base de datos).
+     * Los tokens de sesión emitidos antes del cambio dejan de ser válidos.
      * @param id Identificador del usuario.
      * @param newPassword Nueva contraseña a establecer.
      * @return true si la contraseña fue actualizada, false si el usuario no fue encontrado.
@@ -67,6 +83,7 @@ public class UsuarioService extends GenericCrudServiceImpl<Usuario, UsuarioDTO>
         if (usuario.isPresent()) {
             usuario.get().setClave(newPassword);
             repository.save(usuario.get());
+            tokenService.revocar(id);
             return true;
         }
         return false;
@@ -74,6 +91,7 @@ public class UsuarioService extends GenericCrudServiceImpl<Usuario, UsuarioDTO>
 
     /**
      * Asigna un rol al usuario (paciente u odontólogo).
+     * Los tokens de sesión emitidos antes del cambio dejan de ser válidos, porque llevan el rol anterior.
      * @param id Identificador del usuario.
      * @param tipoUsuario Booleano que indica el tipo de usuario (true para odontólogo, false para paciente).
      * @return true si el rol fue asignado correctamente, false si el usuario no fue encontrado.
@@ -83,6 +101,7 @@ public class UsuarioService extends GenericCrudServiceImpl<Usuario, UsuarioDTO>
         if (usuario.isPresent()) {
             usuario.get().setTipoUsuario(tipoUsuario);
             repository.save(usuario.get());
+            tokenService.revocar(id);
             return true;
         }
         return false;
@@ -94,8 +113,8 @@ public class UsuarioService extends GenericCrudServiceImpl<Usuario, UsuarioDTO>
      * @return Entidad Usuario.
      */
     @Override
-    public Usuario mapToDomain(UsuarioDTO dto) {
-        return modelMapper.map(dto, Usuario.class);
+    protected Usuario toDomain(UsuarioDTO dto) {
+        return DtoMapper.toDomain(dto);
     }
 
     /**
@@ -104,8 +123,8 @@ public class UsuarioService extends GenericCrudServiceImpl<Usuario, UsuarioDTO>
      * @return DTO de Usuario.
      */
     @Override
-    public UsuarioDTO mapToDto(Usuario domain) {
-        return modelMapper.map(domain, UsuarioDTO.class);
+    protected UsuarioDTO toDto(Usuario domain) {
+        return DtoMapper.toDto(domain);
     }
 }
 
@@ -0,0 +1,44 @@
+package ec.webmarket.restful.service.exportacion;
+
+import java.util.concurrent.Callable;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Tiempo máximo de las respuestas de exportación. El resto de las respuestas asíncronas
+ * conserva el tiempo por defecto ({@code spring.mvc.async.request-timeout}); las peticiones
+ * que el controlador marca con {@link #EXPORTACION} reciben {@code exportacion.tiempo-maximo-ms}.
+ * Al vencer, el contenedor cierra la respuesta, la siguiente escritura falla y la exportación
+ * libera su conexión.
+ */
+@Configuration
+public class ExportacionConfig implements WebMvcConfigurer {
+
+    /**
+     * Atributo de la petición que marca una exportación.
+     */
+    public static final String EXPORTACION = ExportacionConfig.class.getName() + ".exportacion";
+
+    @Value("${exportacion.tiempo-maximo-ms:600000}")
+    private long tiempoMaximoMs;
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.registerCallableInterceptors(new CallableProcessingInterceptor() {
+            @Override
+            public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+                if (request.getAttribute(EXPORTACION, RequestAttributes.SCOPE_REQUEST) != null
+                        && request instanceof AsyncWebRequest asincrona) {
+                    asincrona.setTimeout(tiempoMaximoMs);
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,177 @@
+package ec.webmarket.restful.service.exportacion;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import ec.webmarket.restful.common.ApiException;
+import ec.webmarket.restful.common.ServicioSaturadoException;
+import ec.webmarket.restful.domain.Cita;
+import ec.webmarket.restful.persistence.CitaRepository;
+import ec.webmarket.restful.persistence.LecturaPorCursor;
+import ec.webmarket.restful.service.archivo.ArchivoHistorico;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Exporta las citas de un odontólogo como JSON delimitado por líneas (NDJSON).
+ * Las filas se leen con un {@code Stream<Cita>} que el driver entrega por bloques y se escriben
+ * una a una con el JsonGenerator de Jackson; cada entidad se separa del contexto de persistencia
+ * después de escribirla, de modo que la memoria usada no depende del número de citas.
+ * Cada línea tiene los mismos campos que {@link ec.webmarket.restful.dto.v1.CitaResumenDTO}.
+ * Si el rango llega a fechas archivadas, las citas de cita_archivo se mezclan en orden con las vigentes.
+ *
+ * Cada exportación ocupa una conexión y un permiso del bulkhead mientras el cliente lee la
+ * respuesta. Por eso solo corren {@code exportacion.max-concurrentes} a la vez, y cada una dura
+ * como mucho {@code exportacion.tiempo-maximo-ms} ({@link ExportacionConfig}).
+ */
+@Service
+public class ExportadorCitas {
+
+    /**
+     * Número de citas escritas entre cada vaciado del generador hacia la respuesta.
+     */
+    private static final int FILAS_POR_VACIADO = 500;
+
+    @Autowired
+    private CitaRepository citaRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ArchivoHistorico archivo;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final Semaphore exportaciones;
+
+    public ExportadorCitas(@Value("${exportacion.max-concurrentes:2}") int maxConcurrentes) {
+        this.exportaciones = new Semaphore(maxConcurrentes);
+    }
+
+    /**
+     * Reserva un lugar para una exportación antes de empezar a escribir la respuesta.
+     * @return Permiso que se libera al cerrarlo.
+     * @throws ServicioSaturadoException si ya corren {@code exportacion.max-concurrentes} exportaciones.
+     */
+    public Permiso reservar() {
+        if (!exportaciones.tryAcquire()) {
+            throw new ServicioSaturadoException("Hay demasiadas exportaciones en curso, intente más tarde");
+        }
+        AtomicBoolean liberado = new AtomicBoolean();
+        return () -> {
+            if (liberado.compareAndSet(false, true)) {
+                exportaciones.release();
+            }
+        };
+    }
+
+    /**
+     * Valida el rango de fechas antes de empezar a escribir la respuesta.
+     * @param desde Primer día del rango.
+     * @param hasta Último día del rango.
+     * @throws ApiException si el rango no es válido.
+     */
+    public void validarRango(LocalDate desde, LocalDate hasta) {
+        if (desde == null || hasta == null || hasta.isBefore(desde)) {
+            throw new ApiException("El rango de fechas no es válido");
+        }
+    }
+
+    /**
+     * Escribe en la salida las citas del odontólogo entre {@code desde} y {@code hasta}
+     * (ambos días incluidos), ordenadas por fecha y hora, una por línea.
+     * @param odontologoId ID del odontólogo.
+     * @param desde Primer día del rango.
+     * @param hasta Último día del rango.
+     * @param estado Estado de las citas a exportar, o null para todos.
+     * @param salida Flujo de salida; no se cierra.
+     * @return Número de citas escritas.
+     * @throws IOException si falla la escritura.
+     */
+    @Transactional(readOnly = true)
+    public long exportar(Long odontologoId, LocalDate desde, LocalDate hasta, String estado, OutputStream salida)
+            throws IOException {
+        validarRango(desde, hasta);
+        long filas = 0;
+        // El cursor se cierra al final, después de las consultas.
+        try (LecturaPorCursor.Ambito cursor = LecturaPorCursor.activar(entityManager);
+                JsonGenerator generador = objectMapper.getFactory().createGenerator(salida);
+                Stream<Cita> citas = citaRepository.streamByOdontologoId(odontologoId, desde.atStartOfDay(),
+                        hasta.plusDays(1).atStartOfDay(), estado);
+                Stream<Cita> archivadas = archivo.incluye(desde)
+                        ? archivo.citasPorOdontologo(odontologoId, desde.atStartOfDay(), hasta.plusDays(1).atStartOfDay(), estado)
+                        : Stream.empty()) {
+            generador.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            Iterator<Cita> it = ArchivoHistorico.mezclar(archivadas.iterator(), citas.iterator(), ArchivoHistorico.ORDEN_CITAS);
+            while (it.hasNext()) {
+                Cita cita = it.next();
+                escribir(generador, cita);
+                separar(cita);
+                if (++filas % FILAS_POR_VACIADO == 0) {
+                    generador.flush();
+                }
+            }
+        }
+        return filas;
+    }
+
+    private static void escribir(JsonGenerator generador, Cita cita) throws IOException {
+        generador.writeStartObject();
+        generador.writeNumberField("id", cita.getId());
+        generador.writeStringField("fechayHora", DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(cita.getFechayHora()));
+        generador.writeStringField("estado", cita.getEstado());
+        generador.writeStringField("motivo", cita.getMotivo());
+        if (cita.getHorario() != null) {
+            generador.writeNumberField("horarioId", cita.getHorario().getId());
+        } else {
+            generador.writeNullField("horarioId");
+        }
+        generador.writeNumberField("pacienteId", cita.getPaciente().getId());
+        generador.writeStringField("pacienteNombre", cita.getPaciente().getNombre());
+        generador.writeStringField("pacienteApellido", cita.getPaciente().getApellido());
+        generador.writeNumberField("odontologoId", cita.getOdontologo().getId());
+        generador.writeStringField("odontologoNombre", cita.getOdontologo().getNombre());
+        generador.writeStringField("odontologoApellido", cita.getOdontologo().getApellido());
+        generador.writeEndObject();
+        generador.writeRaw('\n');
+    }
+
+    /**
+     * Separa la cita y las asociaciones que cargó la consulta; el detach no se propaga por
+     * las asociaciones, así que cada una se separa explícitamente.
+     */
+    private void separar(Cita cita) {
+        entityManager.detach(cita);
+        entityManager.detach(cita.getPaciente());
+        entityManager.detach(cita.getOdontologo());
+        if (cita.getHorario() != null) {
+            entityManager.detach(cita.getHorario());
+        }
+    }
+
+    /**
+     * Lugar reservado con {@link #reservar()}.
+     */
+    @FunctionalInterface
+    public interface Permiso extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,221 @@
+package ec.webmarket.restful.service.mapper;
+
+import ec.webmarket.restful.domain.Cita;
+import ec.webmarket.restful.domain.Horario;
+import ec.webmarket.restful.domain.Odontologo;
+import ec.webmarket.restful.domain.Paciente;
+import ec.webmarket.restful.domain.Usuario;
+import ec.webmarket.restful.dto.v1.CitaDTO;
+import ec.webmarket.restful.dto.v1.HorarioDTO;
+import ec.webmarket.restful.dto.v1.OdontologoDTO;
+import ec.webmarket.restful.dto.v1.PacienteDTO;
+import ec.webmarket.restful.dto.v1.UsuarioDTO;
+
+/**
+ * Conversión entre entidades y DTOs de la versión 1 del API.
+ * Cada método copia los campos de forma explícita, sin reflexión, y recorre
+ * las asociaciones anidadas del mismo modo que lo hacía ModelMapper:
+ * un origen nulo produce un destino nulo.
+ */
+public final class DtoMapper {
+
+    private DtoMapper() {
+    }
+
+    /**
+     * Convierte una entidad Usuario en su DTO.
+     * @param domain Entidad Usuario.
+     * @return DTO de Usuario o null si la entidad es null.
+     */
+    public static UsuarioDTO toDto(Usuario domain) {
+        if (domain == null) {
+            return null;
+        }
+        UsuarioDTO dto = new UsuarioDTO();
+        dto.setId(domain.getId());
+        dto.setNombreUsuario(domain.getNombreUsuario());
+        dto.setClave(domain.getClave());
+        dto.setTipoUsuario(domain.getTipoUsuario());
+        return dto;
+    }
+
+    /**
+     * Convierte un DTO de usuario en su entidad.
+     * @param dto DTO de Usuario.
+     * @return Entidad Usuario o null si el DTO es null.
+     */
+    public static Usuario toDomain(UsuarioDTO dto) {
+        if (dto == null) {
+            return null;
+        }
+        Usuario domain = new Usuario();
+        domain.setId(dto.getId());
+        domain.setNombreUsuario(dto.getNombreUsuario());
+        domain.setClave(dto.getClave());
+        domain.setTipoUsuario(dto.getTipoUsuario());
+        return domain;
+    }
+
+    /**
+     * Convierte una entidad Paciente en su DTO.
+     * @param domain Entidad Paciente.
+     * @return DTO de Paciente o null si la entidad es null.
+     */
+    public static PacienteDTO toDto(Paciente domain) {
+        if (domain == null) {
+            return null;
+        }
+        PacienteDTO dto = new PacienteDTO();
+        dto.setId(domain.getId());
+        dto.setCedula(domain.getCedula());
+        dto.setNombre(domain.getNombre());
+        dto.setApellido(domain.getApellido());
+        dto.setTelefono(domain.getTelefono());
+        dto.setEmail(domain.getEmail());
+        dto.setFechaNacimiento(domain.getFechaNacimiento());
+        dto.setDireccion(domain.getDireccion());
+        dto.setUsuario(toDto(domain.getUsuario()));
+        return dto;
+    }
+
+    /**
+     * Convierte un DTO de paciente en su entidad.
+     * @param dto DTO de Paciente.
+     * @return Entidad Paciente o null si el DTO es null.
+     */
+    public static Paciente toDomain(PacienteDTO dto) {
+        if (dto == null) {
+            return null;
+        }
+        Paciente domain = new Paciente();
+        domain.setId(dto.getId());
+        domain.setCedula(dto.getCedula());
+        domain.setNombre(dto.getNombre());
+        domain.setApellido(dto.getApellido());
+        domain.setTelefono(dto.getTelefono());
+        domain.setEmail(dto.getEmail());
+        domain.setFechaNacimiento(dto.getFechaNacimiento());
+        domain.setDireccion(dto.getDireccion());
+        domain.setUsuario(toDomain(dto.getUsuario()));
+        return domain;
+    }
+
+    /**
+     * Convierte una entidad Odontologo en su DTO.
+     * La dirección no forma parte del DTO y no se copia.
+     * @param domain Entidad Odontologo.
+     * @return DTO de Odontologo o null si la entidad es null.
+     */
+    public static OdontologoDTO toDto(Odontologo domain) {
+        if (domain == null) {
+            return null;
+        }
+        OdontologoDTO dto = new OdontologoDTO();
+        dto.setId(domain.getId());
+        dto.setCedula(domain.getCedula());
+        dto.setNombre(domain.getNombre());
+        dto.setApellido(domain.getApellido());
+        dto.setTelefono(domain.getTelefono());
+        dto.setEmail(domain.getEmail());
+        dto.setUsuario(toDto(domain.getUsuario()));
+        return dto;
+    }
+
+    /**
+     * Convierte un DTO de odontólogo en su entidad.
+     * @param dto DTO de Odontologo.
+     * @return Entidad Odontologo o null si el DTO es null.
+     */
+    public static Odontologo toDomain(OdontologoDTO dto) {
+        if (dto == null) {
+            return null;
+        }
+        Odontologo domain = new Odontologo();
+        domain.setId(dto.getId());
+        domain.setCedula(dto.getCedula());
+        domain.setNombre(dto.getNombre());
+        domain.setApellido(dto.getApellido());
+        domain.setTelefono(dto.getTelefono());
+        domain.setEmail(dto.getEmail());
+        domain.setUsuario(toDomain(dto.getUsuario()));
+        return domain;
+    }
+
+    /**
+     * Convierte una entidad Horario en su DTO.
+     * @param domain Entidad Horario.
+     * @return DTO de Horario o null si la entidad es null.
+     */
+    public static HorarioDTO toDto(Horario domain) {
+        if (domain == null) {
+            return null;
+        }
+        HorarioDTO dto = new HorarioDTO();
+        dto.setId(domain.getId());
+        dto.setFecha(domain.getFecha());
+        dto.setHoraInicio(domain.getHoraInicio());
+        dto.setHorafinal(domain.getHorafinal());
+        dto.setDisponibilidad(domain.getDisponibilidad());
+        dto.setOdontologo(toDto(domain.getOdontologo()));
+        return dto;
+    }
+
+    /**
+     * Convierte un DTO de horario en su entidad.
+     * @param dto DTO de Horario.
+     * @return Entidad Horario o null si el DTO es null.
+     */
+    public static Horario toDomain(HorarioDTO dto) {
+        if (dto == null) {
+            return null;
+        }
+        Horario domain = new Horario();
+        domain.setId(dto.getId());
+        domain.setFecha(dto.getFecha());
+        domain.setHoraInicio(dto.getHoraInicio());
+        domain.setHorafinal(dto.getHorafinal());
+        domain.setDisponibilidad(dto.getDisponibilidad());
+        domain.setOdontologo(toDomain(dto.getOdontologo()));
+        return domain;
+    }
+
+    /**
+     * Convierte una entidad Cita en su DTO, incluyendo paciente, odontólogo y horario.
+     * @param domain Entidad Cita.
+     * @return DTO de Cita o null si la entidad es null.
+     */
+    public static CitaDTO toDto(Cita domain) {
+        if (domain == null) {
+            return null;
+        }
+        CitaDTO dto = new CitaDTO();
+        dto.setId(domain.getId());
+        dto.setPaciente(toDto(domain.getPaciente()));
+        dto.setOdontologo(toDto(domain.getOdontologo()));
+        dto.setHorario(toDto(domain.getHorario()));
+        dto.setFechayHora(domain.getFechayHora());
+        dto.setEstado(domain.getEstado());
+        dto.setMotivo(domain.getMotivo());
+        return dto;
+    }
+
+    /**
+     * Convierte un DTO de cita en su entidad, incluyendo paciente, odontólogo y horario.
+     * @param dto DTO de Cita.
+     * @return Entidad Cita o null si el DTO es null.
+     */
+    public static Cita toDomain(CitaDTO dto) {
+        if (dto == null) {
+            return null;
+        }
+        Cita domain = new Cita();
+        domain.setId(dto.getId());
+        domain.setPaciente(toDomain(dto.getPaciente()));
+        domain.setOdontologo(toDomain(dto.getOdontologo()));
+        domain.setHorario(toDomain(dto.getHorario()));
+        domain.setFechayHora(dto.getFechayHora());
+        domain.setEstado(dto.getEstado());
+        domain.setMotivo(dto.getMotivo());
+        return domain;
+    }
+}
@@ -0,0 +1,46 @@
+package ec.webmarket.restful.service.recordatorio;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Destino de prueba: agrega una línea por recordatorio al archivo {@code recordatorios.archivo},
+ * con los campos separados por tabuladores: envío, cita, paciente, odontólogo, fecha de la cita
+ * y anticipación.
+ */
+@Component
+@ConditionalOnProperty(name = "recordatorios.destino", havingValue = "archivo")
+public class DestinoArchivo implements DestinoRecordatorios {
+
+    private final Path archivo;
+
+    public DestinoArchivo(@Value("${recordatorios.archivo:target/recordatorios.log}") String archivo) {
+        this.archivo = Path.of(archivo);
+    }
+
+    @Override
+    public synchronized void enviar(Recordatorio recordatorio) {
+        String linea = String.join("\t", recordatorio.enviarEn().toString(),
+                String.valueOf(recordatorio.cita().getId()),
+                String.valueOf(recordatorio.cita().getPacienteId()),
+                String.valueOf(recordatorio.cita().getOdontologoId()),
+                recordatorio.cita().getFechayHora().toString(),
+                recordatorio.anticipacion().toString()) + System.lineSeparator();
+        try {
+            if (archivo.getParent() != null) {
+                Files.createDirectories(archivo.getParent());
+            }
+            Files.writeString(archivo, linea, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo escribir el recordatorio en " + archivo, e);
+        }
+    }
+}
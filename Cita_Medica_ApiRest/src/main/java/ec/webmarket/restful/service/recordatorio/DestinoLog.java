@@ -0,0 +1,23 @@
+package ec.webmarket.restful.service.recordatorio;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Destino por defecto: registra cada recordatorio en el log.
+ */
+@Component
+@ConditionalOnProperty(name = "recordatorios.destino", havingValue = "log", matchIfMissing = true)
+public class DestinoLog implements DestinoRecordatorios {
+
+    private static final Logger log = LoggerFactory.getLogger(DestinoLog.class);
+
+    @Override
+    public void enviar(Recordatorio recordatorio) {
+        log.info("Recordatorio de cita {} (paciente {}, odontólogo {}) para {}, {} antes",
+                recordatorio.cita().getId(), recordatorio.cita().getPacienteId(), recordatorio.cita().getOdontologoId(),
+                recordatorio.cita().getFechayHora(), recordatorio.anticipacion());
+    }
+}
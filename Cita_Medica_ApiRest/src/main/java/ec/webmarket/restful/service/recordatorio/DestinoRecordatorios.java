@@ -0,0 +1,14 @@
+package ec.webmarket.restful.service.recordatorio;
+
+/**
+ * Destino de los recordatorios vencidos (correo, SMS, cola de mensajes...).
+ * Se elige con {@code recordatorios.destino}; se llama desde el hilo del programador,
+ * una vez por recordatorio, y un error solo se registra.
+ */
+public interface DestinoRecordatorios {
+
+    /**
+     * Envía un recordatorio.
+     */
+    void enviar(Recordatorio recordatorio);
+}
@@ -0,0 +1,265 @@
+package ec.webmarket.restful.service.recordatorio;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import ec.webmarket.restful.dto.v1.CitaProximaDTO;
+import ec.webmarket.restful.persistence.CitaRepository;
+import ec.webmarket.restful.replica.ConsistenciaLectura;
+
+/**
+ * Programa los recordatorios de las citas próximas ({@code recordatorios.anticipaciones},
+ * por defecto 24 y 1 hora antes) en una {@link RuedaTemporal} en memoria, en lugar de
+ * consultar la tabla de citas cada minuto.
+ *
+ * Solo se mantienen en la rueda las citas de una ventana móvil ({@code recordatorios.ventana}):
+ * cada {@code recordatorios.recarga} se consulta el tramo nuevo de la ventana, y entre recargas
+ * las escrituras de citas (reservas, lotes, reprogramaciones y cancelaciones de MotorReservas)
+ * programan o cancelan los recordatorios después de confirmarse. Al arrancar se carga solo la
+ * ventana activa; los recordatorios cuya hora de envío pasó con la aplicación detenida no se envían.
+ *
+ * Un hilo avanza la rueda cada {@code recordatorios.tic-ms} y entrega los recordatorios
+ * vencidos al {@link DestinoRecordatorios} configurado, fuera del candado.
+ */
+@Component
+public class ProgramadorRecordatorios implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(ProgramadorRecordatorios.class);
+
+    @Autowired
+    private CitaRepository citaRepository;
+
+    @Autowired
+    private DestinoRecordatorios destino;
+
+    private final boolean habilitado;
+    private final List<Duration> anticipaciones;
+    private final Duration ventana;
+    private final Duration recarga;
+    private final long ticMs;
+    private final ZoneId zona = ZoneId.systemDefault();
+
+    // Estado protegido por el candado de this.
+    private final Map<Long, List<RuedaTemporal.Temporizador<Recordatorio>>> porCita = new HashMap<>();
+    private final Set<Long> modificadasDuranteCarga = new HashSet<>();
+    private RuedaTemporal<Recordatorio> rueda;
+    private LocalDateTime cargadoHasta;
+    private boolean cargando;
+
+    private ScheduledExecutorService hilo;
+
+    public ProgramadorRecordatorios(@Value("${recordatorios.habilitado:true}") boolean habilitado,
+            @Value("${recordatorios.anticipaciones:24h,1h}") List<Duration> anticipaciones,
+            @Value("${recordatorios.ventana:48h}") Duration ventana,
+            @Value("${recordatorios.recarga:1h}") Duration recarga,
+            @Value("${recordatorios.tic-ms:1000}") long ticMs) {
+        Duration mayor = Collections.max(anticipaciones);
+        if (ventana.minus(recarga).compareTo(mayor) < 0) {
+            // Una cita debe entrar en la ventana antes de su primer recordatorio.
+            throw new IllegalStateException("recordatorios.ventana debe ser al menos la mayor anticipación ("
+                    + mayor + ") más recordatorios.recarga");
+        }
+        this.habilitado = habilitado;
+        this.anticipaciones = List.copyOf(anticipaciones);
+        this.ventana = ventana;
+        this.recarga = recarga;
+        this.ticMs = ticMs;
+    }
+
+    /**
+     * Programa los recordatorios de una cita creada o modificada, reemplazando los anteriores.
+     * Si la cita queda fuera de la ventana cargada se programa con la recarga que la alcance.
+     */
+    public synchronized void programar(CitaProximaDTO cita) {
+        if (rueda == null) {
+            return;
+        }
+        if (cargando) {
+            modificadasDuranteCarga.add(cita.getId());
+        }
+        quitar(cita.getId());
+        if (!cita.getFechayHora().isAfter(cargadoHasta)) {
+            agregar(cita, System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * Cancela los recordatorios pendientes de una cita eliminada.
+     */
+    public synchronized void cancelar(Long citaId) {
+        if (rueda == null) {
+            return;
+        }
+        if (cargando) {
+            modificadasDuranteCarga.add(citaId);
+        }
+        quitar(citaId);
+    }
+
+    /**
+     * Recordatorios pendientes de una cita, en orden de envío.
+     */
+    public synchronized List<Recordatorio> pendientes(Long citaId) {
+        List<Recordatorio> pendientes = new ArrayList<>();
+        for (RuedaTemporal.Temporizador<Recordatorio> temporizador : porCita.getOrDefault(citaId, List.of())) {
+            pendientes.add(temporizador.getValor());
+        }
+        pendientes.sort((a, b) -> a.enviarEn().compareTo(b.enviarEn()));
+        return pendientes;
+    }
+
+    /**
+     * Número total de recordatorios pendientes.
+     */
+    public synchronized int getPendientes() {
+        return rueda == null ? 0 : rueda.getPendientes();
+    }
+
+    @Override
+    public synchronized void start() {
+        if (!habilitado) {
+            return;
+        }
+        long ahora = System.currentTimeMillis();
+        rueda = new RuedaTemporal<>(ahora / ticMs);
+        cargadoHasta = LocalDateTime.now(zona);
+        hilo = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("recordatorios").daemon().factory());
+        hilo.scheduleWithFixedDelay(this::recargarSinFallar, 0, recarga.toMillis(), TimeUnit.MILLISECONDS);
+        hilo.scheduleAtFixedRate(this::avanzar, ticMs, ticMs, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (hilo != null) {
+            hilo.shutdownNow();
+            hilo = null;
+        }
+        rueda = null;
+        porCita.clear();
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return hilo != null;
+    }
+
+    /**
+     * Carga el tramo de la ventana que todavía no está en la rueda. Las citas que cambian
+     * mientras corre la consulta ya quedaron programadas o canceladas por su escritura, y
+     * su fila leída se descarta.
+     */
+    void recargar() {
+        LocalDateTime desde;
+        LocalDateTime hasta = LocalDateTime.now(zona).plus(ventana);
+        synchronized (this) {
+            if (rueda == null || !hasta.isAfter(cargadoHasta)) {
+                return;
+            }
+            desde = cargadoHasta;
+            // Desde aquí las escrituras del tramo se programan solas.
+            cargadoHasta = hasta;
+            cargando = true;
+        }
+        List<CitaProximaDTO> citas = null;
+        try (ConsistenciaLectura.Ambito ambito = ConsistenciaLectura.primaria()) {
+            citas = citaRepository.findProximas(desde, hasta);
+        } finally {
+            synchronized (this) {
+                if (rueda != null) {
+                    if (citas == null) {
+                        cargadoHasta = desde;
+                    } else {
+                        long ahora = System.currentTimeMillis();
+                        for (CitaProximaDTO cita : citas) {
+                            if (!modificadasDuranteCarga.contains(cita.getId())) {
+                                quitar(cita.getId());
+                                agregar(cita, ahora);
+                            }
+                        }
+                    }
+                }
+                cargando = false;
+                modificadasDuranteCarga.clear();
+            }
+        }
+        log.debug("Recordatorios: {} citas cargadas entre {} y {}", citas.size(), desde, hasta);
+    }
+
+    private void recargarSinFallar() {
+        try {
+            recargar();
+        } catch (RuntimeException e) {
+            log.warn("No se pudo cargar la ventana de recordatorios; se reintenta en la próxima recarga", e);
+        }
+    }
+
+    private void avanzar() {
+        List<Recordatorio> vencidos;
+        synchronized (this) {
+            if (rueda == null) {
+                return;
+            }
+            vencidos = rueda.avanzarHasta(System.currentTimeMillis() / ticMs);
+            for (Recordatorio recordatorio : vencidos) {
+                Long citaId = recordatorio.cita().getId();
+                List<RuedaTemporal.Temporizador<Recordatorio>> temporizadores = porCita.get(citaId);
+                if (temporizadores != null) {
+                    temporizadores.removeIf(t -> t.getValor() == recordatorio);
+                    if (temporizadores.isEmpty()) {
+                        porCita.remove(citaId);
+                    }
+                }
+            }
+        }
+        for (Recordatorio recordatorio : vencidos) {
+            try {
+                destino.enviar(recordatorio);
+            } catch (RuntimeException e) {
+                log.warn("No se pudo enviar el recordatorio de la cita {}", recordatorio.cita().getId(), e);
+            }
+        }
+    }
+
+    /**
+     * Programa los recordatorios de la cita cuya hora de envío todavía no pasó.
+     */
+    private void agregar(CitaProximaDTO cita, long ahora) {
+        List<RuedaTemporal.Temporizador<Recordatorio>> temporizadores = new ArrayList<>(anticipaciones.size());
+        for (Duration anticipacion : anticipaciones) {
+            LocalDateTime enviarEn = cita.getFechayHora().minus(anticipacion);
+            long enviarMs = enviarEn.atZone(zona).toInstant().toEpochMilli();
+            if (enviarMs > ahora) {
+                long tic = Math.floorDiv(enviarMs + ticMs - 1, ticMs);
+                temporizadores.add(rueda.programar(tic, new Recordatorio(cita, anticipacion, enviarEn)));
+            }
+        }
+        if (!temporizadores.isEmpty()) {
+            porCita.put(cita.getId(), temporizadores);
+        }
+    }
+
+    private void quitar(Long citaId) {
+        List<RuedaTemporal.Temporizador<Recordatorio>> temporizadores = porCita.remove(citaId);
+        if (temporizadores != null) {
+            temporizadores.forEach(rueda::cancelar);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package ec.webmarket.restful.service.recordatorio;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import ec.webmarket.restful.dto.v1.CitaProximaDTO;
+
+/**
+ * Recordatorio de una cita próxima.
+ * @param cita Cita a recordar.
+ * @param anticipacion Tiempo antes de la cita en que se envía.
+ * @param enviarEn Fecha y hora de envío: la de la cita menos la anticipación.
+ */
+public record Recordatorio(CitaProximaDTO cita, Duration anticipacion, LocalDateTime enviarEn) {
+}
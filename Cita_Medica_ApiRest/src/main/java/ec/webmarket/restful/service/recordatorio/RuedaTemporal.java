@@ -0,0 +1,215 @@
+package ec.webmarket.restful.service.recordatorio;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rueda temporal jerárquica (Varghese y Lauck): {@value #NIVELES} niveles de {@value #RANURAS}
+ * ranuras cada uno. El nivel 0 avanza un tic por ranura; cada nivel superior cubre
+ * {@value #RANURAS} veces más tiempo por ranura. Programar y cancelar son O(1): un temporizador
+ * se enlaza o desenlaza de la lista doble de su ranura. Al completar una vuelta, la ranura que
+ * toca del nivel siguiente baja sus temporizadores a los niveles inferiores (cascada), de modo
+ * que cada temporizador se mueve a lo sumo una vez por nivel.
+ *
+ * Con tics de un segundo el alcance es de 64^4 segundos (unos 194 días); un vencimiento más
+ * lejano se guarda en la última ranura alcanzable y se vuelve a programar al llegar a ella.
+ * No es segura para hilos: quien la usa sincroniza los accesos.
+ *
+ * @param <T> Valor asociado a cada temporizador.
+ */
+public class RuedaTemporal<T> {
+
+    private static final int BITS = 6;
+    private static final int RANURAS = 1 << BITS;
+    private static final int MASCARA = RANURAS - 1;
+    private static final int NIVELES = 4;
+    private static final long ALCANCE = 1L << (BITS * NIVELES);
+
+    private final Ranura<T>[][] niveles;
+    private long tic;
+    private int pendientes;
+
+    /**
+     * Crea una rueda vacía.
+     * @param ticInicial Tic actual, por ejemplo el instante actual dividido por la duración del tic.
+     */
+    @SuppressWarnings("unchecked")
+    public RuedaTemporal(long ticInicial) {
+        this.tic = ticInicial;
+        this.niveles = new Ranura[NIVELES][RANURAS];
+        for (Ranura<T>[] nivel : niveles) {
+            for (int i = 0; i < RANURAS; i++) {
+                nivel[i] = new Ranura<>();
+            }
+        }
+    }
+
+    /**
+     * Programa un valor para el tic indicado; si ese tic ya pasó, vence en el próximo avance.
+     * @return Temporizador para cancelarlo.
+     */
+    public Temporizador<T> programar(long vence, T valor) {
+        Temporizador<T> temporizador = new Temporizador<>(vence, valor);
+        enlazar(temporizador, tic + 1);
+        pendientes++;
+        return temporizador;
+    }
+
+    /**
+     * Cancela un temporizador pendiente; no hace nada si ya venció o se canceló.
+     */
+    public void cancelar(Temporizador<T> temporizador) {
+        if (temporizador.ranura != null) {
+            temporizador.ranura.quitar(temporizador);
+            pendientes--;
+        }
+    }
+
+    /**
+     * Avanza la rueda hasta el tic indicado, inclusive.
+     * @return Valores vencidos, en orden de tic.
+     */
+    public List<T> avanzarHasta(long hasta) {
+        List<T> vencidos = new ArrayList<>();
+        while (tic < hasta) {
+            tic++;
+            int indice = (int) (tic & MASCARA);
+            if (indice == 0) {
+                cascada(1);
+            }
+            Ranura<T> ranura = niveles[0][indice];
+            for (Temporizador<T> t = ranura.vaciar(); t != null; ) {
+                Temporizador<T> siguiente = t.siguiente;
+                t.siguiente = null;
+                if (t.vence > tic) {
+                    // Vencimiento más allá del alcance: se guardó antes de tiempo.
+                    enlazar(t, tic + 1);
+                } else {
+                    pendientes--;
+                    vencidos.add(t.valor);
+                }
+                t = siguiente;
+            }
+        }
+        return vencidos;
+    }
+
+    /**
+     * Tic actual de la rueda.
+     */
+    public long getTic() {
+        return tic;
+    }
+
+    /**
+     * Número de temporizadores pendientes.
+     */
+    public int getPendientes() {
+        return pendientes;
+    }
+
+    /**
+     * Baja a los niveles inferiores los temporizadores de la ranura actual del nivel indicado,
+     * y sigue con el nivel superior si este también completó una vuelta.
+     */
+    private void cascada(int nivel) {
+        if (nivel >= NIVELES) {
+            return;
+        }
+        int indice = (int) ((tic >>> (BITS * nivel)) & MASCARA);
+        if (indice == 0) {
+            cascada(nivel + 1);
+        }
+        for (Temporizador<T> t = niveles[nivel][indice].vaciar(); t != null; ) {
+            Temporizador<T> siguiente = t.siguiente;
+            t.siguiente = null;
+            // La ranura del tic actual del nivel 0 todavía no se procesó.
+            enlazar(t, tic);
+            t = siguiente;
+        }
+    }
+
+    /**
+     * Enlaza el temporizador en la ranura de su vencimiento, o del tic mínimo si ya pasó.
+     */
+    private void enlazar(Temporizador<T> temporizador, long minimo) {
+        long vence = Math.min(Math.max(temporizador.vence, minimo), tic + ALCANCE - 1);
+        long delta = vence - tic;
+        int nivel = 0;
+        while (nivel < NIVELES - 1 && delta >= (1L << (BITS * (nivel + 1)))) {
+            nivel++;
+        }
+        niveles[nivel][(int) ((vence >>> (BITS * nivel)) & MASCARA)].agregar(temporizador);
+    }
+
+    /**
+     * Temporizador programado en la rueda.
+     */
+    public static final class Temporizador<T> {
+
+        private final long vence;
+        private final T valor;
+        private Ranura<T> ranura;
+        private Temporizador<T> anterior;
+        private Temporizador<T> siguiente;
+
+        private Temporizador(long vence, T valor) {
+            this.vence = vence;
+            this.valor = valor;
+        }
+
+        public long getVence() {
+            return vence;
+        }
+
+        public T getValor() {
+            return valor;
+        }
+    }
+
+    /**
+     * Lista doblemente enlazada de los temporizadores de una ranura.
+     */
+    private static final class Ranura<T> {
+
+        private Temporizador<T> primero;
+
+        void agregar(Temporizador<T> t) {
+            t.ranura = this;
+            t.anterior = null;
+            t.siguiente = primero;
+            if (primero != null) {
+                primero.anterior = t;
+            }
+            primero = t;
+        }
+
+        void quitar(Temporizador<T> t) {
+            if (t.anterior != null) {
+                t.anterior.siguiente = t.siguiente;
+            } else {
+                primero = t.siguiente;
+            }
+            if (t.siguiente != null) {
+                t.siguiente.anterior = t.anterior;
+            }
+            t.ranura = null;
+            t.anterior = null;
+            t.siguiente = null;
+        }
+
+        /**
+         * Desengancha todos los temporizadores y devuelve el primero; siguen enlazados por
+         * {@code siguiente} y quedan sin ranura.
+         */
+        Temporizador<T> vaciar() {
+            Temporizador<T> lista = primero;
+            primero = null;
+            for (Temporizador<T> t = lista; t != null; t = t.siguiente) {
+                t.ranura = null;
+                t.anterior = null;
+            }
+            return lista;
+        }
+    }
+}
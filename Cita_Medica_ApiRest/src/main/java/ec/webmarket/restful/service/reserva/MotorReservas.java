@@ -0,0 +1,407 @@
+package ec.webmarket.restful.service.reserva;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import ec.webmarket.restful.common.ApiException;
+import ec.webmarket.restful.common.ConflictException;
+import ec.webmarket.restful.domain.Cita;
+import ec.webmarket.restful.domain.Horario;
+import ec.webmarket.restful.domain.Paciente;
+import ec.webmarket.restful.dto.v1.CitaDTO;
+import ec.webmarket.restful.dto.v1.CitaProximaDTO;
+import ec.webmarket.restful.dto.v1.LoteCitasDTO;
+import ec.webmarket.restful.dto.v1.ResultadoCitaDTO;
+import ec.webmarket.restful.dto.v1.ResultadoLoteCitasDTO;
+import ec.webmarket.restful.persistence.CitaRepository;
+import ec.webmarket.restful.persistence.HorarioRepository;
+import ec.webmarket.restful.persistence.PacienteRepository;
+import ec.webmarket.restful.service.HorariosModificadosEvent;
+import ec.webmarket.restful.service.Transacciones;
+import ec.webmarket.restful.service.agenda.IndiceAgenda;
+import ec.webmarket.restful.service.agenda.ResumenDisponibilidad;
+import ec.webmarket.restful.service.mapper.DtoMapper;
+import ec.webmarket.restful.service.recordatorio.ProgramadorRecordatorios;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Motor de reservas de citas.
+ * Un horario se reclama con un único UPDATE condicional
+ * ({@code disponibilidad = false WHERE id = ? AND disponibilidad = true}) y la cita se
+ * inserta en la misma transacción, de modo que dos pacientes no pueden tomar el mismo
+ * horario. Las lecturas se hacen antes del UPDATE para que el bloqueo de fila solo
+ * dure hasta el INSERT y el commit. Los perdedores reciben {@link ConflictException} (HTTP 409).
+ *
+ * Los lotes ({@link #reservarLote}) usan un número fijo de sentencias sin importar cuántas
+ * citas traen: los horarios se bloquean y validan en una consulta, se reclaman con un solo
+ * UPDATE y las citas se insertan con un batch JDBC, porque {@code GenerationType.IDENTITY}
+ * impide que Hibernate agrupe los INSERT.
+ *
+ * Cada reserva, reprogramación o cancelación ajusta también el resumen diario de
+ * disponibilidad ({@link ResumenDisponibilidad}) en la misma transacción, después de tocar los horarios.
+ * Después de confirmarse, programa o cancela los recordatorios de la cita ({@link ProgramadorRecordatorios}).
+ */
+@Service
+public class MotorReservas {
+
+    /**
+     * Número máximo de citas por lote.
+     */
+    public static final int MAX_LOTE = 500;
+
+    private static final String INSERTAR_CITA = "insert into cita (fechay_hora, estado, motivo, horario_id, paciente_id, odontologo_id)"
+            + " values (?, ?, ?, ?, ?, ?)";
+
+    private static final String IDS_CITAS = "select horario_id, max(id) from cita where horario_id in (:horarioIds)"
+            + " group by horario_id";
+
+    private static final String NO_CREADA_POR_LOTE = "No se creó porque otras citas del lote no son válidas";
+
+    @Autowired
+    private HorarioRepository horarioRepository;
+
+    @Autowired
+    private CitaRepository citaRepository;
+
+    @Autowired
+    private PacienteRepository pacienteRepository;
+
+    @Autowired
+    private RegistroHorariosOcupados registro;
+
+    @Autowired
+    private IndiceAgenda indiceAgenda;
+
+    @Autowired
+    private ResumenDisponibilidad resumenDisponibilidad;
+
+    @Autowired
+    private ProgramadorRecordatorios recordatorios;
+
+    @Autowired
+    private ApplicationEventPublisher eventos;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Reserva el horario indicado en el DTO y crea la cita.
+     * La fecha y hora y el odontólogo de la cita se toman del horario reservado.
+     * @param dto DTO de la cita; requiere horario y paciente con ID.
+     * @return CitaDTO con los datos guardados.
+     * @throws ConflictException si el horario ya fue tomado.
+     */
+    @Transactional
+    public CitaDTO reservar(CitaDTO dto) {
+        Long horarioId = idHorario(dto);
+        if (registro.ocupado(horarioId)) {
+            throw horarioTomado();
+        }
+        Horario horario = horarioRepository.findById(horarioId)
+                .orElseThrow(() -> new ApiException("Horario no encontrado"));
+        Paciente paciente = pacienteRepository.findById(idPaciente(dto))
+                .orElseThrow(() -> new ApiException("Paciente no encontrado"));
+        entityManager.detach(horario);
+
+        long marca = registro.marca(horarioId);
+        if (horarioRepository.reclamar(horarioId) == 0) {
+            registro.rechazado(horarioId, marca);
+            throw horarioTomado();
+        }
+        horario.setDisponibilidad(false);
+        resumenDisponibilidad.ajustar(horario.getOdontologo().getId(), horario.getFecha(), -1, 0);
+
+        Cita cita = DtoMapper.toDomain(dto);
+        cita.setId(null);
+        cita.setPaciente(paciente);
+        cita.setHorario(horario);
+        cita.setOdontologo(horario.getOdontologo());
+        cita.setFechayHora(LocalDateTime.of(horario.getFecha(), horario.getHoraInicio()));
+        Cita guardada = citaRepository.save(cita);
+
+        Long odontologoId = horario.getOdontologo().getId();
+        CitaProximaDTO proxima = proxima(guardada);
+        Transacciones.despuesDeConfirmar(() -> {
+            registro.reclamado(horarioId);
+            indiceAgenda.marcarOcupado(odontologoId, horarioId, true);
+            recordatorios.programar(proxima);
+        });
+        eventos.publishEvent(HorariosModificadosEvent.de(horario));
+        return DtoMapper.toDto(guardada);
+    }
+
+    /**
+     * Reserva un lote de citas en una sola transacción. Una consulta comprueba los pacientes,
+     * otra carga y bloquea los horarios, un UPDATE los reclama todos y un batch JDBC inserta
+     * las citas; los ID generados se leen de vuelta por horario.
+     * En modo todo o nada, si alguna cita no es válida no se crea ninguna; en modo parcial se
+     * crean las válidas y el resto se informa con su error.
+     * @param lote Citas a reservar y modo del lote.
+     * @return Resultado de cada cita, en el orden recibido.
+     * @throws ApiException si el lote está vacío o supera {@link #MAX_LOTE} citas.
+     */
+    @Transactional
+    public ResultadoLoteCitasDTO reservarLote(LoteCitasDTO lote) {
+        List<CitaDTO> citas = lote.getCitas();
+        if (citas == null || citas.isEmpty()) {
+            throw new ApiException("El lote no contiene citas");
+        }
+        if (citas.size() > MAX_LOTE) {
+            throw new ApiException("El lote supera el máximo de " + MAX_LOTE + " citas");
+        }
+
+        String[] errores = new String[citas.size()];
+        Set<Long> solicitados = new HashSet<>();
+        Set<Long> horarioIds = new HashSet<>();
+        Set<Long> pacienteIds = new HashSet<>();
+        for (int i = 0; i < citas.size(); i++) {
+            errores[i] = validarEnLote(citas.get(i), solicitados);
+            if (errores[i] == null) {
+                horarioIds.add(citas.get(i).getHorario().getId());
+                pacienteIds.add(citas.get(i).getPaciente().getId());
+            }
+        }
+
+        Map<Long, Horario> horarios = new HashMap<>();
+        Set<Long> pacientes = new HashSet<>();
+        if (!horarioIds.isEmpty()) {
+            pacientes.addAll(pacienteRepository.findIdsExistentes(pacienteIds));
+            for (Horario horario : horarioRepository.findParaReservar(horarioIds)) {
+                horarios.put(horario.getId(), horario);
+            }
+        }
+        List<Integer> validas = new ArrayList<>();
+        for (int i = 0; i < citas.size(); i++) {
+            if (errores[i] != null) {
+                continue;
+            }
+            CitaDTO dto = citas.get(i);
+            Horario horario = horarios.get(dto.getHorario().getId());
+            if (horario == null) {
+                errores[i] = "Horario no encontrado";
+            } else if (!Boolean.TRUE.equals(horario.getDisponibilidad())) {
+                errores[i] = horarioTomado().getMessage();
+            } else if (!pacientes.contains(dto.getPaciente().getId())) {
+                errores[i] = "Paciente no encontrado";
+            } else {
+                validas.add(i);
+            }
+        }
+
+        List<ResultadoCitaDTO> resultados = new ArrayList<>(citas.size());
+        if (validas.size() < citas.size() && !lote.isParcial()) {
+            // No se escribe nada; los bloqueos de los horarios se liberan al terminar la transacción.
+            for (int i = 0; i < citas.size(); i++) {
+                resultados.add(new ResultadoCitaDTO(i, horarioIdDe(citas.get(i)), null,
+                        errores[i] != null ? errores[i] : NO_CREADA_POR_LOTE));
+            }
+            return new ResultadoLoteCitasDTO(false, 0, citas.size(), resultados);
+        }
+
+        Map<Long, Long> citaIds = validas.isEmpty() ? Map.of() : insertarLote(citas, validas, horarios);
+        for (int i = 0; i < citas.size(); i++) {
+            Long horarioId = horarioIdDe(citas.get(i));
+            resultados.add(new ResultadoCitaDTO(i, horarioId, errores[i] == null ? citaIds.get(horarioId) : null, errores[i]));
+        }
+        return new ResultadoLoteCitasDTO(lote.isParcial(), validas.size(), citas.size() - validas.size(), resultados);
+    }
+
+    /**
+     * Reclama los horarios de las citas válidas con un solo UPDATE e inserta las citas con un batch JDBC.
+     * @return ID de la cita creada por ID de horario.
+     */
+    private Map<Long, Long> insertarLote(List<CitaDTO> citas, List<Integer> validas, Map<Long, Horario> horarios) {
+        List<Horario> reclamados = new ArrayList<>(validas.size());
+        for (Integer i : validas) {
+            reclamados.add(horarios.get(citas.get(i).getHorario().getId()));
+        }
+        List<Long> ids = reclamados.stream().map(Horario::getId).toList();
+        if (horarioRepository.reclamarTodos(ids) != ids.size()) {
+            // Los horarios están bloqueados desde la consulta de validación; no debería ocurrir.
+            throw horarioTomado();
+        }
+        resumenDisponibilidad.ajustarTodos(reclamados.stream()
+                .map(horario -> new ResumenDisponibilidad.Ajuste(horario.getOdontologo().getId(), horario.getFecha(), -1, 0))
+                .toList());
+
+        jdbcTemplate.getJdbcTemplate().batchUpdate(INSERTAR_CITA, validas, MAX_LOTE, (ps, i) -> {
+            CitaDTO dto = citas.get(i);
+            Horario horario = horarios.get(dto.getHorario().getId());
+            ps.setObject(1, LocalDateTime.of(horario.getFecha(), horario.getHoraInicio()));
+            ps.setString(2, dto.getEstado());
+            ps.setString(3, dto.getMotivo());
+            ps.setLong(4, horario.getId());
+            ps.setLong(5, dto.getPaciente().getId());
+            ps.setLong(6, horario.getOdontologo().getId());
+        });
+        Map<Long, Long> citaIds = new HashMap<>();
+        jdbcTemplate.query(IDS_CITAS, Map.of("horarioIds", ids), rs -> {
+            citaIds.put(rs.getLong(1), rs.getLong(2));
+        });
+        List<CitaProximaDTO> proximas = new ArrayList<>(validas.size());
+        for (Integer i : validas) {
+            Horario horario = horarios.get(citas.get(i).getHorario().getId());
+            proximas.add(new CitaProximaDTO(citaIds.get(horario.getId()), LocalDateTime.of(horario.getFecha(), horario.getHoraInicio()),
+                    citas.get(i).getPaciente().getId(), horario.getOdontologo().getId()));
+        }
+
+        Transacciones.despuesDeConfirmar(() -> {
+            for (Horario horario : reclamados) {
+                registro.reclamado(horario.getId());
+                indiceAgenda.marcarOcupado(horario.getOdontologo().getId(), horario.getId(), true);
+            }
+            proximas.forEach(recordatorios::programar);
+        });
+        eventos.publishEvent(HorariosModificadosEvent.de(reclamados.toArray(new Horario[0])));
+        return citaIds;
+    }
+
+    /**
+     * Validación de una cita del lote que no requiere la base de datos.
+     * @param solicitados Horarios pedidos por citas anteriores del lote; se agrega el de esta cita.
+     * @return Mensaje de error, o null si la cita puede intentarse.
+     */
+    private String validarEnLote(CitaDTO dto, Set<Long> solicitados) {
+        if (dto == null || dto.getHorario() == null || dto.getHorario().getId() == null) {
+            return "La cita requiere un horario";
+        }
+        if (dto.getPaciente() == null || dto.getPaciente().getId() == null) {
+            return "La cita requiere un paciente";
+        }
+        if (dto.getEstado() == null || dto.getMotivo() == null) {
+            return "La cita requiere estado y motivo";
+        }
+        if (!solicitados.add(dto.getHorario().getId())) {
+            return "El horario se repite en el lote";
+        }
+        if (registro.ocupado(dto.getHorario().getId())) {
+            return horarioTomado().getMessage();
+        }
+        return null;
+    }
+
+    private static Long horarioIdDe(CitaDTO dto) {
+        return dto == null || dto.getHorario() == null ? null : dto.getHorario().getId();
+    }
+
+    /**
+     * Actualiza una cita. Si cambia de horario, reclama el nuevo y libera el anterior en la misma transacción.
+     * @param dto DTO de la cita a actualizar.
+     * @return CitaDTO con los datos guardados.
+     * @throws ConflictException si el nuevo horario ya fue tomado.
+     */
+    @Transactional
+    public CitaDTO reprogramar(CitaDTO dto) {
+        Cita cita = citaRepository.findById(dto.getId())
+                .orElseThrow(() -> new ApiException("Registro no encontrado"));
+        Long horarioId = idHorario(dto);
+        Horario anterior = cita.getHorario();
+        if (!anterior.getId().equals(horarioId)) {
+            if (registro.ocupado(horarioId)) {
+                throw horarioTomado();
+            }
+            Horario nuevo = horarioRepository.findById(horarioId)
+                    .orElseThrow(() -> new ApiException("Horario no encontrado"));
+            entityManager.detach(nuevo);
+            long marca = registro.marca(horarioId);
+            if (horarioRepository.reclamar(horarioId) == 0) {
+                registro.rechazado(horarioId, marca);
+                throw horarioTomado();
+            }
+            int liberados = horarioRepository.liberar(anterior.getId());
+            resumenDisponibilidad.ajustarTodos(List.of(
+                    new ResumenDisponibilidad.Ajuste(anterior.getOdontologo().getId(), anterior.getFecha(), liberados, 0),
+                    new ResumenDisponibilidad.Ajuste(nuevo.getOdontologo().getId(), nuevo.getFecha(), -1, 0)));
+            nuevo.setDisponibilidad(false);
+            cita.setHorario(nuevo);
+            cita.setOdontologo(nuevo.getOdontologo());
+            cita.setFechayHora(LocalDateTime.of(nuevo.getFecha(), nuevo.getHoraInicio()));
+
+            Long anteriorId = anterior.getId();
+            Long anteriorOdontologoId = anterior.getOdontologo().getId();
+            Long nuevoOdontologoId = nuevo.getOdontologo().getId();
+            Transacciones.despuesDeConfirmar(() -> {
+                registro.liberado(anteriorId);
+                registro.reclamado(horarioId);
+                indiceAgenda.marcarOcupado(anteriorOdontologoId, anteriorId, false);
+                indiceAgenda.marcarOcupado(nuevoOdontologoId, horarioId, true);
+            });
+            eventos.publishEvent(HorariosModificadosEvent.de(anterior, nuevo));
+        } else {
+            // Mismo horario: cambian estado, motivo o paciente, que también muestran las lecturas cacheadas.
+            eventos.publishEvent(HorariosModificadosEvent.de(anterior));
+        }
+        if (dto.getPaciente() != null && dto.getPaciente().getId() != null
+                && !dto.getPaciente().getId().equals(cita.getPaciente().getId())) {
+            cita.setPaciente(pacienteRepository.findById(dto.getPaciente().getId())
+                    .orElseThrow(() -> new ApiException("Paciente no encontrado")));
+        }
+        cita.setEstado(dto.getEstado());
+        cita.setMotivo(dto.getMotivo());
+        Cita guardada = citaRepository.save(cita);
+        CitaProximaDTO proxima = proxima(guardada);
+        Transacciones.despuesDeConfirmar(() -> recordatorios.programar(proxima));
+        return DtoMapper.toDto(guardada);
+    }
+
+    /**
+     * Elimina una cita y libera su horario en la misma transacción.
+     * @param citaId ID de la cita.
+     * @throws NoSuchElementException si la cita no existe.
+     */
+    @Transactional
+    public void cancelar(Long citaId) {
+        Cita cita = citaRepository.findById(citaId)
+                .orElseThrow(() -> new NoSuchElementException("Cita con ID " + citaId + " no encontrada"));
+        Long horarioId = cita.getHorario().getId();
+        Long odontologoId = cita.getHorario().getOdontologo().getId();
+        HorariosModificadosEvent evento = HorariosModificadosEvent.de(cita.getHorario());
+        citaRepository.delete(cita);
+        int liberados = horarioRepository.liberar(horarioId);
+        resumenDisponibilidad.ajustar(odontologoId, cita.getHorario().getFecha(), liberados, 0);
+        Transacciones.despuesDeConfirmar(() -> {
+            registro.liberado(horarioId);
+            indiceAgenda.marcarOcupado(odontologoId, horarioId, false);
+            recordatorios.cancelar(citaId);
+        });
+        eventos.publishEvent(evento);
+    }
+
+    private static CitaProximaDTO proxima(Cita cita) {
+        return new CitaProximaDTO(cita.getId(), cita.getFechayHora(), cita.getPaciente().getId(), cita.getOdontologo().getId());
+    }
+
+    private static Long idHorario(CitaDTO dto) {
+        if (dto.getHorario() == null || dto.getHorario().getId() == null) {
+            throw new ApiException("La cita requiere un horario");
+        }
+        return dto.getHorario().getId();
+    }
+
+    private static Long idPaciente(CitaDTO dto) {
+        if (dto.getPaciente() == null || dto.getPaciente().getId() == null) {
+            throw new ApiException("La cita requiere un paciente");
+        }
+        return dto.getPaciente().getId();
+    }
+
+    private static ConflictException horarioTomado() {
+        return new ConflictException("El horario ya fue reservado por otra cita");
+    }
+}
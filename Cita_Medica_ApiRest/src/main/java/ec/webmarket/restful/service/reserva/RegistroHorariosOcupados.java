@@ -0,0 +1,106 @@
+package ec.webmarket.restful.service.reserva;
+
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Registro en memoria de horarios que ya se sabe que están tomados, para rechazar una
+ * reserva sin ir a la base de datos. Está dividido en franjas (stripes) con su propio
+ * candado para que las reservas concurrentes de horarios distintos no compitan entre sí.
+ *
+ * El registro es solo una optimización: la base de datos sigue siendo la fuente de verdad.
+ * Puede olvidar horarios tomados (cada franja tiene capacidad limitada), pero nunca debe
+ * reportar como tomado un horario libre; por eso cada franja lleva un contador de
+ * liberaciones y un rechazo de la base solo se registra si no hubo liberaciones desde que
+ * se leyó la marca.
+ */
+@Component
+public class RegistroHorariosOcupados {
+
+    private static final int FRANJAS = 64;
+    private static final int CAPACIDAD_POR_FRANJA = 16_384;
+
+    private final Franja[] franjas = new Franja[FRANJAS];
+
+    public RegistroHorariosOcupados() {
+        for (int i = 0; i < FRANJAS; i++) {
+            franjas[i] = new Franja();
+        }
+    }
+
+    /**
+     * Indica si el horario se sabe tomado.
+     */
+    public boolean ocupado(Long horarioId) {
+        Franja franja = franja(horarioId);
+        synchronized (franja) {
+            return franja.ocupados.contains(horarioId);
+        }
+    }
+
+    /**
+     * Marca de la franja que debe leerse antes de intentar reclamar el horario en la base.
+     */
+    public long marca(Long horarioId) {
+        Franja franja = franja(horarioId);
+        synchronized (franja) {
+            return franja.liberaciones;
+        }
+    }
+
+    /**
+     * Registra un horario que la base rechazó por estar tomado, siempre que no se haya
+     * liberado ningún horario de la franja desde que se obtuvo la marca.
+     */
+    public void rechazado(Long horarioId, long marca) {
+        Franja franja = franja(horarioId);
+        synchronized (franja) {
+            if (franja.liberaciones == marca) {
+                franja.agregar(horarioId);
+            }
+        }
+    }
+
+    /**
+     * Registra un horario reclamado por una transacción confirmada.
+     */
+    public void reclamado(Long horarioId) {
+        Franja franja = franja(horarioId);
+        synchronized (franja) {
+            franja.agregar(horarioId);
+        }
+    }
+
+    /**
+     * Quita un horario liberado por una transacción confirmada.
+     */
+    public void liberado(Long horarioId) {
+        Franja franja = franja(horarioId);
+        synchronized (franja) {
+            franja.ocupados.remove(horarioId);
+            franja.liberaciones++;
+        }
+    }
+
+    private Franja franja(Long horarioId) {
+        int h = horarioId.hashCode();
+        h ^= (h >>> 16);
+        return franjas[h & (FRANJAS - 1)];
+    }
+
+    private static final class Franja {
+
+        private final LinkedHashSet<Long> ocupados = new LinkedHashSet<>();
+        private long liberaciones;
+
+        private void agregar(Long horarioId) {
+            if (ocupados.add(horarioId) && ocupados.size() > CAPACIDAD_POR_FRANJA) {
+                Iterator<Long> masAntiguo = ocupados.iterator();
+                masAntiguo.next();
+                masAntiguo.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package ec.com.webmarket.restful;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import ec.webmarket.restful.ApiResTfulExampleApplication;
+import ec.webmarket.restful.common.ApiConstants;
+import ec.webmarket.restful.common.ApiException;
+import ec.webmarket.restful.domain.Horario;
+import ec.webmarket.restful.domain.Odontologo;
+import ec.webmarket.restful.domain.Paciente;
+import ec.webmarket.restful.dto.v1.CitaDTO;
+import ec.webmarket.restful.dto.v1.HorarioDTO;
+import ec.webmarket.restful.dto.v1.PacienteDTO;
+import ec.webmarket.restful.persistence.CitaRepository;
+import ec.webmarket.restful.persistence.HorarioArchivoRepository;
+import ec.webmarket.restful.persistence.HorarioRepository;
+import ec.webmarket.restful.persistence.OdontologoRepository;
+import ec.webmarket.restful.persistence.PacienteRepository;
+import ec.webmarket.restful.service.agenda.ResumenDisponibilidad;
+import ec.webmarket.restful.service.archivo.ArchivadorHistorico;
+import ec.webmarket.restful.service.crud.CitaService;
+import ec.webmarket.restful.service.crud.HorarioService;
+import ec.webmarket.restful.service.exportacion.ExportadorCitas;
+
+/**
+ * Archivo de horarios y citas pasados: el archivador los mueve a horario_archivo y
+ * cita_archivo, y las consultas por fecha y los listados de citas con rango los siguen
+ * devolviendo junto con los vigentes.
+ */
+@ActiveProfiles("test")
+@SpringBootTest(classes = ApiResTfulExampleApplication.class)
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ArchivoHistoricoTests {
+
+    private static final LocalDate FECHA = LocalDate.of(2020, 3, 2);
+    private static final LocalDate FECHA_LISTADOS = LocalDate.of(2020, 4, 6);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private OdontologoRepository odontologoRepository;
+
+    @Autowired
+    private PacienteRepository pacienteRepository;
+
+    @Autowired
+    private HorarioRepository horarioRepository;
+
+    @Autowired
+    private HorarioArchivoRepository horarioArchivoRepository;
+
+    @Autowired
+    private CitaRepository citaRepository;
+
+    @Autowired
+    private CitaService citaService;
+
+    @Autowired
+    private HorarioService horarioService;
+
+    @Autowired
+    private ExportadorCitas exportadorCitas;
+
+    @Autowired
+    private ResumenDisponibilidad resumenDisponibilidad;
+
+    @Autowired
+    private ArchivadorHistorico archivador;
+
+    private Odontologo odontologo;
+    private Paciente paciente;
+
+    @BeforeAll
+    void cargarDatos() {
+        odontologo = odontologoRepository.save(DatosPrueba.odontologo());
+        paciente = pacienteRepository.save(DatosPrueba.paciente());
+    }
+
+    @Test
+    void archivaLoPasadoYLasConsultasPorFechaLoSiguenViendo() throws Exception {
+        Horario nueve = horarioRepository.save(horario(FECHA, LocalTime.of(9, 0)));
+        Horario nueveYMedia = horarioRepository.save(horario(FECHA, LocalTime.of(9, 30)));
+        Horario futuro = horarioRepository.save(horario(LocalDate.now().plusDays(3), LocalTime.of(9, 0)));
+        CitaDTO cita = citaService.create(cita(nueve.getId()));
+
+        ArchivadorHistorico.Resultado resultado = archivador.archivar(FECHA.plusDays(1), 10);
+        assertThat(resultado).isEqualTo(new ArchivadorHistorico.Resultado(2, 1));
+        assertThat(horarioRepository.findById(nueve.getId())).isEmpty();
+        assertThat(horarioRepository.findById(nueveYMedia.getId())).isEmpty();
+        assertThat(citaRepository.findById(cita.getId())).isEmpty();
+        assertThat(horarioRepository.findById(futuro.getId())).isPresent();
+        assertThat(horarioArchivoRepository.findById(nueve.getId())).isPresent();
+        assertThat(archivador.archivar(FECHA.plusDays(1), 10)).isEqualTo(new ArchivadorHistorico.Resultado(0, 0));
+
+        // Un horario de la misma fecha que sigue en la tabla vigente se mezcla en orden.
+        Horario diez = horarioRepository.save(horario(FECHA, LocalTime.of(10, 0)));
+
+        String url = ApiConstants.URI_API_V1_HORARIO + "/fecha/" + FECHA;
+        JsonNode primera = pagina(url + "?size=2");
+        assertThat(primera.path("elementos").findValuesAsText("id"))
+                .containsExactly(nueve.getId().toString(), nueveYMedia.getId().toString());
+        assertThat(primera.path("haySiguiente").asBoolean()).isTrue();
+        JsonNode segunda = pagina(url + "?size=2&cursor=" + primera.path("cursorSiguiente").asText());
+        assertThat(segunda.path("elementos").findValuesAsText("id")).containsExactly(diez.getId().toString());
+        assertThat(segunda.path("haySiguiente").asBoolean()).isFalse();
+
+        List<CitaDTO> citas = citaService.findByFechaYHora(LocalDateTime.of(FECHA, LocalTime.of(9, 0)));
+        assertThat(citas).hasSize(1);
+        assertThat(citas.get(0).getId()).isEqualTo(cita.getId());
+        assertThat(citas.get(0).getHorario().getId()).isEqualTo(nueve.getId());
+        assertThat(citas.get(0).getPaciente().getId()).isEqualTo(paciente.getId());
+
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        assertThat(exportadorCitas.exportar(odontologo.getId(), FECHA, FECHA, null, salida)).isEqualTo(1);
+        assertThat(salida.toString(StandardCharsets.UTF_8)).contains("\"id\":" + cita.getId());
+
+        // La reconstrucción del resumen diario incluye los horarios archivados.
+        resumenDisponibilidad.reconstruir();
+        assertThat(horarioService.findDisponibilidadDiaria(odontologo.getId(), FECHA, FECHA))
+                .singleElement().satisfies(dia -> assertThat(dia.getTotal()).isEqualTo(3));
+    }
+
+    @Test
+    void losListadosDeCitasConRangoIncluyenLasArchivadas() throws Exception {
+        Odontologo otroOdontologo = odontologoRepository.save(DatosPrueba.odontologo());
+        Horario nueve = horarioRepository.save(horario(otroOdontologo, FECHA_LISTADOS, LocalTime.of(9, 0)));
+        Horario diez = horarioRepository.save(horario(otroOdontologo, FECHA_LISTADOS, LocalTime.of(10, 0)));
+        CitaDTO archivadaNueve = citaService.create(cita(nueve.getId()));
+        CitaDTO archivadaDiez = citaService.create(cita(diez.getId()));
+        archivador.archivar(FECHA_LISTADOS.plusDays(1), 10);
+        assertThat(citaRepository.findById(archivadaNueve.getId())).isEmpty();
+
+        LocalDate proxima = LocalDate.now().plusDays(5);
+        Horario futuro = horarioRepository.save(horario(otroOdontologo, proxima, LocalTime.of(9, 0)));
+        CitaDTO vigente = citaService.create(cita(futuro.getId()));
+
+        String rango = "desde=" + FECHA_LISTADOS + "&hasta=" + proxima;
+        for (String ruta : new String[] { ApiConstants.URI_API_V1_CITA + "/paciente/" + paciente.getId(),
+                ApiConstants.URI_API_V1_CITA + "/odontologo/" + otroOdontologo.getId() }) {
+            // Sin rango solo se listan las citas vigentes.
+            assertThat(pagina(ruta).path("elementos").findValuesAsText("id")).contains(vigente.getId().toString())
+                    .doesNotContain(archivadaNueve.getId().toString(), archivadaDiez.getId().toString());
+
+            JsonNode primera = pagina(ruta + "?size=2&" + rango);
+            assertThat(primera.path("elementos").findValuesAsText("id"))
+                    .containsExactly(archivadaNueve.getId().toString(), archivadaDiez.getId().toString());
+            assertThat(primera.path("elementos").findValuesAsText("horarioId"))
+                    .containsExactly(nueve.getId().toString(), diez.getId().toString());
+            assertThat(primera.path("haySiguiente").asBoolean()).isTrue();
+            JsonNode segunda = pagina(ruta + "?size=2&" + rango + "&cursor=" + primera.path("cursorSiguiente").asText());
+            assertThat(segunda.path("elementos").findValuesAsText("id")).containsExactly(vigente.getId().toString());
+            assertThat(segunda.path("haySiguiente").asBoolean()).isFalse();
+
+            // Un rango incompleto se rechaza.
+            assertThatThrownBy(() -> mockMvc.perform(get(ruta + "?desde=" + FECHA_LISTADOS)))
+                    .hasCauseInstanceOf(ApiException.class);
+        }
+    }
+
+    private JsonNode pagina(String url) throws Exception {
+        String cuerpo = mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+        return objectMapper.readTree(cuerpo).path("result");
+    }
+
+    private Horario horario(LocalDate fecha, LocalTime inicio) {
+        return horario(odontologo, fecha, inicio);
+    }
+
+    private Horario horario(Odontologo odontologo, LocalDate fecha, LocalTime inicio) {
+        Horario horario = new Horario();
+        horario.setFecha(fecha);
+        horario.setHoraInicio(inicio);
+        horario.setHorafinal(inicio.plusMinutes(30));
+        horario.setDisponibilidad(true);
+        horario.setOdontologo(odontologo);
+        return horario;
+    }
+
+    private CitaDTO cita(Long horarioId) {
+        CitaDTO cita = new CitaDTO();
+        HorarioDTO horario = new HorarioDTO();
+        horario.setId(horarioId);
+        PacienteDTO pacienteDTO = new PacienteDTO();
+        pacienteDTO.setId(paciente.getId());
+        cita.setHorario(horario);
+        cita.setPaciente(pacienteDTO);
+        cita.setEstado("Pendiente");
+        cita.setMotivo("Archivo " + horarioId);
+        return cita;
+    }
+}
@@ -0,0 +1,140 @@
+package ec.com.webmarket.restful;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import ec.webmarket.restful.ApiResTfulExampleApplication;
+import ec.webmarket.restful.common.ApiConstants;
+import ec.webmarket.restful.common.ServicioSaturadoException;
+import ec.webmarket.restful.persistence.BulkheadBaseDatos;
+import ec.webmarket.restful.persistence.HorarioRepository;
+import ec.webmarket.restful.persistence.OdontologoRepository;
+
+/**
+ * Bulkhead de base de datos con un solo permiso: la espera agotada responde 503, el permiso es
+ * reentrante dentro del hilo y el que se toma en una transacción se libera al confirmar o al
+ * revertir.
+ */
+@ActiveProfiles("test")
+@SpringBootTest(classes = ApiResTfulExampleApplication.class, properties = {
+    // Base propia: este contexto recrea el esquema y no debe borrar la de las demás pruebas.
+    "spring.datasource.url=jdbc:h2:mem:bulkhead;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+    "spring.jpa.properties.hibernate.cache.region_prefix=bulkhead",
+    "spring.jpa.properties.hibernate.javax.cache.missing_cache_strategy=create",
+    "bulkhead.bd.max-concurrentes=1",
+    "bulkhead.bd.espera-maxima-ms=200",
+    // Sin tareas de fondo que tomen el único permiso.
+    "recordatorios.habilitado=false",
+    "archivo.habilitado=false"
+})
+@AutoConfigureMockMvc
+class BulkheadBaseDatosTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BulkheadBaseDatos bulkhead;
+
+    @Autowired
+    private OdontologoRepository odontologoRepository;
+
+    @Autowired
+    private HorarioRepository horarioRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void agotarLaEsperaResponde503() throws Exception {
+        CountDownLatch tomado = new CountDownLatch(1);
+        CountDownLatch soltar = new CountDownLatch(1);
+        CompletableFuture<Void> transaccion = CompletableFuture.runAsync(() ->
+                new TransactionTemplate(transactionManager).executeWithoutResult(estado -> {
+                    odontologoRepository.count();
+                    tomado.countDown();
+                    esperar(soltar);
+                }));
+        try {
+            assertThat(tomado.await(5, TimeUnit.SECONDS)).isTrue();
+            long rechazos = bulkhead.getRechazos();
+
+            assertThatThrownBy(() -> odontologoRepository.count()).isInstanceOf(ServicioSaturadoException.class);
+            mockMvc.perform(get(ApiConstants.URI_API_V1_ODONTOLOGO + "/" + Long.MAX_VALUE + "/citas"))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"))
+                    .andExpect(jsonPath("$.success").value(false));
+            assertThat(bulkhead.getRechazos()).isEqualTo(rechazos + 2);
+        } finally {
+            soltar.countDown();
+        }
+        transaccion.get(5, TimeUnit.SECONDS);
+
+        assertThat(bulkhead.getEnUso()).isZero();
+        odontologoRepository.count();
+    }
+
+    @Test
+    void unaLlamadaAnidadaNoTomaOtroPermiso() {
+        long adquisiciones = bulkhead.getAdquisiciones();
+        new TransactionTemplate(transactionManager).executeWithoutResult(estado -> {
+            odontologoRepository.count();
+            // Con un solo permiso, pedir otro agotaría la espera y lanzaría ServicioSaturadoException.
+            horarioRepository.count();
+            odontologoRepository.findAll();
+            assertThat(bulkhead.getEnUso()).isEqualTo(1);
+        });
+        assertThat(bulkhead.getAdquisiciones()).isEqualTo(adquisiciones + 1);
+        assertThat(bulkhead.getEnUso()).isZero();
+    }
+
+    @Test
+    void elPermisoDeUnaTransaccionSeLiberaAlConfirmarYAlRevertir() throws Exception {
+        new TransactionTemplate(transactionManager).executeWithoutResult(estado -> {
+            odontologoRepository.count();
+            assertThat(bulkhead.getEnUso()).isEqualTo(1);
+        });
+        assertThat(bulkhead.getEnUso()).isZero();
+
+        assertThatThrownBy(() -> new TransactionTemplate(transactionManager).executeWithoutResult(estado -> {
+            odontologoRepository.count();
+            throw new IllegalStateException("revertir");
+        })).isInstanceOf(IllegalStateException.class);
+        assertThat(bulkhead.getEnUso()).isZero();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(estado -> {
+            odontologoRepository.count();
+            estado.setRollbackOnly();
+        });
+        assertThat(bulkhead.getEnUso()).isZero();
+
+        // Otro hilo obtiene el permiso sin esperar: el hilo anterior no se quedó con él.
+        CompletableFuture.runAsync(() -> odontologoRepository.count()).get(5, TimeUnit.SECONDS);
+    }
+
+    private static void esperar(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
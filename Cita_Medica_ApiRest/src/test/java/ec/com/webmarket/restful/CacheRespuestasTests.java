@@ -0,0 +1,176 @@
+package ec.com.webmarket.restful;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import ec.webmarket.restful.ApiResTfulExampleApplication;
+import ec.webmarket.restful.common.ApiConstants;
+import ec.webmarket.restful.domain.Horario;
+import ec.webmarket.restful.domain.Odontologo;
+import ec.webmarket.restful.dto.v1.HorarioDTO;
+import ec.webmarket.restful.dto.v1.OdontologoDTO;
+import ec.webmarket.restful.persistence.HorarioRepository;
+import ec.webmarket.restful.persistence.OdontologoRepository;
+import ec.webmarket.restful.service.crud.HorarioService;
+import ec.webmarket.restful.service.crud.OdontologoService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * ETag y revalidación de la caché de respuestas: 304 mientras nada cambia, un ETag nuevo tras
+ * una escritura (incluso de un odontólogo, cuyo nombre muestran los listados de horarios) y
+ * {@code If-None-Match: *} solo para representaciones que existen.
+ */
+@ActiveProfiles("test")
+@SpringBootTest(classes = ApiResTfulExampleApplication.class)
+@AutoConfigureMockMvc
+class CacheRespuestasTests {
+
+    private static final LocalDate FECHA = LocalDate.of(2036, 4, 8);
+    private static final LocalDate FECHA_REVALIDACION = LocalDate.of(2036, 4, 9);
+    private static final LocalDate FECHA_COMODIN = LocalDate.of(2036, 4, 10);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OdontologoRepository odontologoRepository;
+
+    @Autowired
+    private HorarioRepository horarioRepository;
+
+    @Autowired
+    private OdontologoService odontologoService;
+
+    @Autowired
+    private HorarioService horarioService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Test
+    void respondeNoModificadoHastaQueUnaEscrituraCambiaElEtag() throws Exception {
+        Odontologo odontologo = odontologoRepository.save(DatosPrueba.odontologo());
+        guardarHorario(odontologo, FECHA_REVALIDACION, LocalTime.of(9, 0));
+        String ruta = ApiConstants.URI_API_V1_HORARIO + "/fecha/" + FECHA_REVALIDACION;
+
+        MvcResult primera = mockMvc.perform(get(ruta)).andExpect(status().isOk()).andReturn();
+        String etag = primera.getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).startsWith("\"").endsWith("\"");
+        assertThat(primera.getResponse().getHeader(HttpHeaders.CACHE_CONTROL)).isEqualTo("no-cache");
+
+        MvcResult revalidada = mockMvc.perform(get(ruta).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified()).andReturn();
+        assertThat(revalidada.getResponse().getHeader(HttpHeaders.ETAG)).isEqualTo(etag);
+        assertThat(revalidada.getResponse().getContentAsByteArray()).isEmpty();
+        mockMvc.perform(get(ruta).header(HttpHeaders.IF_NONE_MATCH, "W/" + etag)).andExpect(status().isNotModified());
+
+        HorarioDTO nuevo = new HorarioDTO();
+        nuevo.setFecha(FECHA_REVALIDACION);
+        nuevo.setHoraInicio(LocalTime.of(11, 0));
+        nuevo.setHorafinal(LocalTime.of(11, 30));
+        nuevo.setDisponibilidad(true);
+        OdontologoDTO odontologoDto = new OdontologoDTO();
+        odontologoDto.setId(odontologo.getId());
+        nuevo.setOdontologo(odontologoDto);
+        horarioService.create(nuevo);
+
+        MvcResult tras = mockMvc.perform(get(ruta).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk()).andReturn();
+        assertThat(tras.getResponse().getHeader(HttpHeaders.ETAG)).isNotNull().isNotEqualTo(etag);
+        assertThat(tras.getResponse().getContentAsString(StandardCharsets.UTF_8)).contains("11:00");
+    }
+
+    @Test
+    void elComodinSoloCoincideConUnaRepresentacionExistente() throws Exception {
+        // La ruta coincide con el patrón de la caché, pero la fecha no existe: la petición llega al
+        // controlador y falla en lugar de responder 304.
+        assertThatThrownBy(() -> mockMvc.perform(get(ApiConstants.URI_API_V1_HORARIO + "/fecha/2036-13-45")
+                .header(HttpHeaders.IF_NONE_MATCH, "*")))
+                .hasCauseInstanceOf(DateTimeParseException.class);
+
+        Odontologo odontologo = odontologoRepository.save(DatosPrueba.odontologo());
+        guardarHorario(odontologo, FECHA_COMODIN, LocalTime.of(9, 0));
+        String ruta = ApiConstants.URI_API_V1_HORARIO + "/fecha/" + FECHA_COMODIN;
+        // Sin entrada en la caché se ejecuta la petición; responde 200, así que el recurso existe.
+        MvcResult fallo = mockMvc.perform(get(ruta).header(HttpHeaders.IF_NONE_MATCH, "*"))
+                .andExpect(status().isNotModified()).andReturn();
+        assertThat(fallo.getResponse().getContentAsByteArray()).isEmpty();
+        assertThat(fallo.getResponse().getHeader(HttpHeaders.ETAG)).isNotNull();
+        // Ahora sale de la caché.
+        mockMvc.perform(get(ruta).header(HttpHeaders.IF_NONE_MATCH, "*")).andExpect(status().isNotModified());
+    }
+
+    @Test
+    void modificarUnOdontologoInvalidaLosListadosQueLoMuestran() throws Exception {
+        Odontologo odontologo = odontologoRepository.save(DatosPrueba.odontologo());
+        guardarHorario(odontologo, FECHA, LocalTime.of(10, 0));
+
+        List<String> rutas = List.of(
+                ApiConstants.URI_API_V1_HORARIO + "/fecha/" + FECHA,
+                ApiConstants.URI_API_V1_HORARIO + "/odontologo/" + odontologo.getId(),
+                ApiConstants.URI_API_V1_ODONTOLOGO + "/" + odontologo.getId() + "/citas");
+        List<String> etags = rutas.stream().map(ruta -> leer(ruta, null, odontologo.getNombre())).toList();
+
+        OdontologoDTO dto = odontologoService.findById(odontologo.getId()).orElseThrow();
+        dto.setNombre("Renombrado" + odontologo.getId());
+        new TransactionTemplate(transactionManager).executeWithoutResult(estado -> {
+            odontologoService.update(dto);
+            // OdontologoDTO no lleva la dirección: se repone antes de confirmar.
+            entityManager.find(Odontologo.class, odontologo.getId()).setDireccion(odontologo.getDireccion());
+        });
+
+        for (int i = 0; i < rutas.size(); i++) {
+            assertThat(leer(rutas.get(i), etags.get(i), dto.getNombre())).isNotEqualTo(etags.get(i));
+        }
+    }
+
+    private void guardarHorario(Odontologo odontologo, LocalDate fecha, LocalTime inicio) {
+        Horario horario = new Horario();
+        horario.setFecha(fecha);
+        horario.setHoraInicio(inicio);
+        horario.setHorafinal(inicio.plusMinutes(30));
+        horario.setDisponibilidad(true);
+        horario.setOdontologo(odontologo);
+        horarioRepository.save(horario);
+    }
+
+    /**
+     * GET con If-None-Match; exige 200 con el nombre indicado y devuelve el ETag.
+     */
+    private String leer(String ruta, String etag, String nombre) {
+        try {
+            var peticion = get(ruta);
+            if (etag != null) {
+                peticion.header(HttpHeaders.IF_NONE_MATCH, etag);
+            }
+            MvcResult resultado = mockMvc.perform(peticion).andExpect(status().isOk()).andReturn();
+            assertThat(resultado.getResponse().getContentAsString(StandardCharsets.UTF_8)).contains(nombre);
+            return resultado.getResponse().getHeader(HttpHeaders.ETAG);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
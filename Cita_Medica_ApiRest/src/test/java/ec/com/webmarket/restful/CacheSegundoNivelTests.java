@@ -0,0 +1,92 @@
+package ec.com.webmarket.restful;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import ec.webmarket.restful.ApiResTfulExampleApplication;
+import ec.webmarket.restful.domain.Paciente;
+import ec.webmarket.restful.domain.Usuario;
+import ec.webmarket.restful.persistence.PacienteRepository;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Caché de segundo nivel y de consultas con la configuración de producción (application.properties
+ * y ehcache.xml, que el perfil "test" no reemplaza): aciertos tras la primera carga, actualización
+ * y desalojo al escribir, e invalidación de las consultas cacheadas cuando se inserta una fila.
+ */
+@ActiveProfiles("test")
+@SpringBootTest(classes = ApiResTfulExampleApplication.class)
+class CacheSegundoNivelTests {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PacienteRepository pacienteRepository;
+
+    private Statistics estadisticas;
+    private Cache cache;
+
+    @BeforeEach
+    void limpiar() {
+        estadisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        cache = entityManagerFactory.getCache();
+        cache.evictAll();
+        estadisticas.clear();
+    }
+
+    @Test
+    void laSegundaLecturaSaleDeLaCache() {
+        Paciente paciente = pacienteRepository.save(DatosPrueba.paciente());
+        cache.evictAll();
+
+        assertThat(pacienteRepository.findById(paciente.getId())).isPresent();
+        assertThat(cache.contains(Paciente.class, paciente.getId())).isTrue();
+        assertThat(pacienteRepository.findById(paciente.getId())).isPresent();
+
+        assertThat(estadisticas.getDomainDataRegionStatistics("paciente").getHitCount()).isEqualTo(1);
+        // La clave del usuario no se queda en memoria.
+        assertThat(cache.contains(Usuario.class, paciente.getUsuario().getId())).isFalse();
+    }
+
+    @Test
+    void actualizarYBorrarNoDejanDatosViejos() {
+        Paciente paciente = pacienteRepository.save(DatosPrueba.paciente());
+        assertThat(pacienteRepository.findById(paciente.getId())).isPresent();
+
+        paciente.setNombre("Renombrado" + paciente.getId());
+        pacienteRepository.save(paciente);
+        long aciertos = estadisticas.getDomainDataRegionStatistics("paciente").getHitCount();
+        // READ_WRITE reemplaza la entrada al confirmar: la lectura sale de la caché con el nombre nuevo.
+        assertThat(pacienteRepository.findById(paciente.getId()))
+                .hasValueSatisfying(p -> assertThat(p.getNombre()).isEqualTo(paciente.getNombre()));
+        assertThat(estadisticas.getDomainDataRegionStatistics("paciente").getHitCount()).isEqualTo(aciertos + 1);
+
+        pacienteRepository.deleteById(paciente.getId());
+        aciertos = estadisticas.getDomainDataRegionStatistics("paciente").getHitCount();
+        assertThat(pacienteRepository.findById(paciente.getId())).isEmpty();
+        assertThat(estadisticas.getDomainDataRegionStatistics("paciente").getHitCount()).isEqualTo(aciertos);
+    }
+
+    @Test
+    void insertarInvalidaLasConsultasCacheadas() {
+        Paciente paciente = DatosPrueba.paciente();
+
+        assertThat(pacienteRepository.findByCedula(paciente.getCedula())).isEmpty();
+        assertThat(pacienteRepository.findByCedula(paciente.getCedula())).isEmpty();
+        assertThat(estadisticas.getQueryCacheHitCount()).isEqualTo(1);
+
+        pacienteRepository.save(paciente);
+        assertThat(pacienteRepository.findByCedula(paciente.getCedula()))
+                .hasValueSatisfying(p -> assertThat(p.getUsuario().getNombreUsuario()).isNotNull());
+        assertThat(estadisticas.getQueryCacheHitCount()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,40 @@
+package ec.com.webmarket.restful;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import ec.webmarket.restful.persistence.ContadorSentencias;
+
+/**
+ * {@link ContadorSentencias} que además guarda el SQL que prepara Hibernate en el hilo
+ * actual mientras hay una captura abierta. Se registra como statement_inspector en las pruebas.
+ */
+public class CapturaSentencias extends ContadorSentencias {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final ThreadLocal<List<String>> CAPTURA = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        List<String> captura = CAPTURA.get();
+        if (captura != null) {
+            captura.add(sql);
+        }
+        return super.inspect(sql);
+    }
+
+    /**
+     * Ejecuta la acción y devuelve el SQL que Hibernate preparó durante ella en este hilo.
+     */
+    static List<String> capturar(Runnable accion) {
+        List<String> captura = new ArrayList<>();
+        CAPTURA.set(captura);
+        try {
+            accion.run();
+        } finally {
+            CAPTURA.remove();
+        }
+        return captura;
+    }
+}
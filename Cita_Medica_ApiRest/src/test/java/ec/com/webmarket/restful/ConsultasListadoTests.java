@@ -0,0 +1,191 @@
+package ec.com.webmarket.restful;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.jayway.jsonpath.JsonPath;
+
+import ec.webmarket.restful.ApiResTfulExampleApplication;
+import ec.webmarket.restful.common.ApiConstants;
+import ec.webmarket.restful.domain.Cita;
+import ec.webmarket.restful.domain.Horario;
+import ec.webmarket.restful.domain.Odontologo;
+import ec.webmarket.restful.domain.Paciente;
+import ec.webmarket.restful.dto.v1.CitaDTO;
+import ec.webmarket.restful.dto.v1.HorarioDTO;
+import ec.webmarket.restful.persistence.CitaRepository;
+import ec.webmarket.restful.persistence.HorarioRepository;
+import ec.webmarket.restful.persistence.OdontologoRepository;
+import ec.webmarket.restful.persistence.PacienteRepository;
+import ec.webmarket.restful.service.crud.CitaService;
+import ec.webmarket.restful.service.crud.HorarioService;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Verifica que los listados ejecuten un número fijo de sentencias SQL sin importar
+ * cuántas filas devuelven (sin consultas N+1 por las asociaciones).
+ */
+@ActiveProfiles("test")
+@SpringBootTest(classes = ApiResTfulExampleApplication.class)
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ConsultasListadoTests {
+
+    private static final int POCAS = 2;
+    private static final int MUCHAS = 25;
+    private static final LocalDate DIA_POCAS = LocalDate.of(2030, 1, 7);
+    private static final LocalDate DIA_MUCHAS = LocalDate.of(2030, 1, 8);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private OdontologoRepository odontologoRepository;
+
+    @Autowired
+    private PacienteRepository pacienteRepository;
+
+    @Autowired
+    private HorarioRepository horarioRepository;
+
+    @Autowired
+    private CitaRepository citaRepository;
+
+    @Autowired
+    private HorarioService horarioService;
+
+    @Autowired
+    private CitaService citaService;
+
+    private Statistics estadisticas;
+    private Odontologo conPocas;
+    private Odontologo conMuchas;
+    private Paciente pacientePocas;
+    private Paciente pacienteMuchas;
+
+    @BeforeAll
+    void cargarDatos() {
+        estadisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        conPocas = odontologoRepository.save(DatosPrueba.odontologo());
+        conMuchas = odontologoRepository.save(DatosPrueba.odontologo());
+        pacientePocas = pacienteRepository.save(DatosPrueba.paciente());
+        pacienteMuchas = pacienteRepository.save(DatosPrueba.paciente());
+        agendar(conPocas, pacientePocas, DIA_POCAS, POCAS);
+        agendar(conMuchas, pacienteMuchas, DIA_MUCHAS, MUCHAS);
+    }
+
+    @Test
+    void endpointsDeListadoUsanSentenciasFijas() throws Exception {
+        String[][] rutas = {
+            { ApiConstants.URI_API_V1_CITA + "/paciente/" + pacientePocas.getId(),
+                ApiConstants.URI_API_V1_CITA + "/paciente/" + pacienteMuchas.getId() },
+            { ApiConstants.URI_API_V1_CITA + "/odontologo/" + conPocas.getId(),
+                ApiConstants.URI_API_V1_CITA + "/odontologo/" + conMuchas.getId() },
+            { ApiConstants.URI_API_V1_HORARIO + "/fecha/" + DIA_POCAS,
+                ApiConstants.URI_API_V1_HORARIO + "/fecha/" + DIA_MUCHAS },
+            { ApiConstants.URI_API_V1_HORARIO + "/odontologo/" + conPocas.getId(),
+                ApiConstants.URI_API_V1_HORARIO + "/odontologo/" + conMuchas.getId() },
+            { ApiConstants.URI_API_V1_ODONTOLOGO + "/" + conPocas.getId() + "/citas",
+                ApiConstants.URI_API_V1_ODONTOLOGO + "/" + conMuchas.getId() + "/citas" },
+        };
+        for (String[] par : rutas) {
+            long pocas = sentencias(() -> mockMvc.perform(get(par[0])).andExpect(status().isOk()));
+            long muchas = sentencias(() -> mockMvc.perform(get(par[1])).andExpect(status().isOk()));
+            assertThat(muchas).as(par[1]).isEqualTo(pocas).isLessThanOrEqualTo(1);
+        }
+    }
+
+    @Test
+    void findersDeEntidadesCarganAsociacionesEnUnaConsulta() throws Exception {
+        long horarios = sentencias(() -> {
+            List<HorarioDTO> lista = horarioService.findByOdontologoId(conMuchas.getId());
+            assertThat(lista).hasSize(MUCHAS);
+            assertThat(lista.get(0).getOdontologo().getUsuario().getNombreUsuario()).isNotNull();
+        });
+        assertThat(horarios).isEqualTo(1);
+
+        long citas = sentencias(() -> {
+            List<CitaDTO> lista = citaService.findByEstado("Estado " + conMuchas.getId() + "-0");
+            assertThat(lista).hasSize(1);
+            assertThat(lista.get(0).getPaciente().getUsuario().getNombreUsuario()).isNotNull();
+            assertThat(lista.get(0).getHorario().getOdontologo().getNombre()).isNotNull();
+        });
+        assertThat(citas).isEqualTo(1);
+
+        long porOdontologo = sentencias(() -> assertThat(citaRepository.findByOdontologoId(conMuchas.getId()))
+                .hasSize(MUCHAS)
+                .allSatisfy(c -> assertThat(c.getPaciente().getUsuario().getClave()).isNotNull()));
+        assertThat(porOdontologo).isEqualTo(1);
+    }
+
+    @Test
+    void cursorInvalidoOdeOtraFechaResponde400() throws Exception {
+        // Fechas propias: los listados de DIA_POCAS y DIA_MUCHAS quedarían en la caché de respuestas.
+        LocalDate origen = DIA_MUCHAS.plusDays(1);
+        agendar(conPocas, pacientePocas, origen, POCAS);
+        String pagina = mockMvc.perform(get(ApiConstants.URI_API_V1_HORARIO + "/fecha/" + origen).param("size", "1"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String cursor = JsonPath.read(pagina, "$.result.cursorSiguiente");
+
+        for (String invalido : List.of("no-es-base64!", cursor)) {
+            mockMvc.perform(get(ApiConstants.URI_API_V1_HORARIO + "/fecha/" + origen.plusDays(1)).param("cursor", invalido))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.success").value(false));
+        }
+    }
+
+    private long sentencias(Accion accion) throws Exception {
+        estadisticas.clear();
+        accion.ejecutar();
+        return estadisticas.getPrepareStatementCount();
+    }
+
+    @FunctionalInterface
+    private interface Accion {
+        void ejecutar() throws Exception;
+    }
+
+    private void agendar(Odontologo odontologo, Paciente paciente, LocalDate fecha, int cantidad) {
+        for (int i = 0; i < cantidad; i++) {
+            LocalTime inicio = LocalTime.of(8, 0).plusMinutes(15L * i);
+            Horario horario = new Horario();
+            horario.setFecha(fecha);
+            horario.setHoraInicio(inicio);
+            horario.setHorafinal(inicio.plusMinutes(15));
+            horario.setDisponibilidad(false);
+            horario.setOdontologo(odontologo);
+            horario = horarioRepository.save(horario);
+
+            Cita cita = new Cita();
+            cita.setPaciente(paciente);
+            cita.setOdontologo(odontologo);
+            cita.setHorario(horario);
+            cita.setFechayHora(LocalDateTime.of(fecha, inicio));
+            cita.setEstado("Estado " + odontologo.getId() + "-" + i);
+            cita.setMotivo("Motivo " + odontologo.getId() + "-" + i);
+            citaRepository.save(cita);
+        }
+    }
+}
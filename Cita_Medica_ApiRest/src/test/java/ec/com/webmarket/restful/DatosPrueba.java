@@ -0,0 +1,56 @@
+package ec.com.webmarket.restful;
+
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicLong;
+
+import ec.webmarket.restful.domain.Odontologo;
+import ec.webmarket.restful.domain.Paciente;
+import ec.webmarket.restful.domain.Usuario;
+
+/**
+ * Entidades de prueba sin guardar. Las pruebas comparten la base H2 en memoria, así que cada
+ * llamada usa un número nuevo para la cédula, el teléfono, el correo y el nombre de usuario,
+ * que son únicos en la base.
+ */
+final class DatosPrueba {
+
+    private static final AtomicLong SECUENCIA = new AtomicLong();
+
+    private DatosPrueba() {
+    }
+
+    static Odontologo odontologo() {
+        long n = SECUENCIA.incrementAndGet();
+        Odontologo odontologo = new Odontologo();
+        odontologo.setCedula(String.format("17%08d", n));
+        odontologo.setNombre("Odontologo" + n);
+        odontologo.setApellido("Apellido" + n);
+        odontologo.setTelefono(String.format("08%08d", n));
+        odontologo.setEmail("odontologo" + n + "@clinica.ec");
+        odontologo.setDireccion("Av. Amazonas N" + n);
+        odontologo.setUsuario(usuario("odontologo" + n, true));
+        return odontologo;
+    }
+
+    static Paciente paciente() {
+        long n = SECUENCIA.incrementAndGet();
+        Paciente paciente = new Paciente();
+        paciente.setCedula(String.format("09%08d", n));
+        paciente.setNombre("Paciente" + n);
+        paciente.setApellido("Apellido" + n);
+        paciente.setTelefono(String.format("09%08d", n));
+        paciente.setEmail("paciente" + n + "@correo.ec");
+        paciente.setFechaNacimiento(LocalDate.of(1990, 1, 1));
+        paciente.setDireccion("Calle " + n);
+        paciente.setUsuario(usuario("paciente" + n, false));
+        return paciente;
+    }
+
+    static Usuario usuario(String nombreUsuario, boolean odontologo) {
+        Usuario usuario = new Usuario();
+        usuario.setNombreUsuario(nombreUsuario);
+        usuario.setClave("clave");
+        usuario.setTipoUsuario(odontologo);
+        return usuario;
+    }
+}
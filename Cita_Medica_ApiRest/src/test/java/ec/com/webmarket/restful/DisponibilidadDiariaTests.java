@@ -0,0 +1,135 @@
+package ec.com.webmarket.restful;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import ec.webmarket.restful.ApiResTfulExampleApplication;
+import ec.webmarket.restful.common.ApiConstants;
+import ec.webmarket.restful.common.ApiException;
+import ec.webmarket.restful.domain.Odontologo;
+import ec.webmarket.restful.domain.Paciente;
+import ec.webmarket.restful.dto.v1.CitaDTO;
+import ec.webmarket.restful.dto.v1.HorarioDTO;
+import ec.webmarket.restful.dto.v1.HorarioResumenDTO;
+import ec.webmarket.restful.dto.v1.PacienteDTO;
+import ec.webmarket.restful.dto.v1.PlantillaHorarioDTO;
+import ec.webmarket.restful.persistence.OdontologoRepository;
+import ec.webmarket.restful.persistence.PacienteRepository;
+import ec.webmarket.restful.service.crud.CitaService;
+import ec.webmarket.restful.service.crud.HorarioService;
+
+/**
+ * Verifica que el resumen diario de disponibilidad sigue a cada escritura de horarios y citas
+ * y que GET /horario/odontologo/{id}/disponibilidad-diaria lo devuelve.
+ */
+@ActiveProfiles("test")
+@SpringBootTest(classes = ApiResTfulExampleApplication.class)
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class DisponibilidadDiariaTests {
+
+    private static final LocalDate LUNES = LocalDate.of(2033, 1, 3);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OdontologoRepository odontologoRepository;
+
+    @Autowired
+    private PacienteRepository pacienteRepository;
+
+    @Autowired
+    private HorarioService horarioService;
+
+    @Autowired
+    private CitaService citaService;
+
+    private Odontologo odontologo;
+    private Paciente paciente;
+
+    @BeforeAll
+    void cargarDatos() {
+        odontologo = odontologoRepository.save(DatosPrueba.odontologo());
+        paciente = pacienteRepository.save(DatosPrueba.paciente());
+    }
+
+    @Test
+    void resumenSigueLasEscrituras() throws Exception {
+        // Lunes a miércoles, cuatro horarios de 30 minutos por día.
+        PlantillaHorarioDTO plantilla = new PlantillaHorarioDTO();
+        plantilla.setOdontologoId(odontologo.getId());
+        plantilla.setDias(List.of(DayOfWeek.MONDAY, DayOfWeek.TUESDAY, DayOfWeek.WEDNESDAY));
+        plantilla.setHoraInicio(LocalTime.of(9, 0));
+        plantilla.setHoraFin(LocalTime.of(11, 0));
+        plantilla.setDuracionMinutos(30);
+        plantilla.setFechaDesde(LUNES);
+        plantilla.setFechaHasta(LUNES.plusDays(2));
+        horarioService.generarDesdePlantilla(plantilla);
+
+        List<HorarioResumenDTO> horarios = horarioService.findResumenByOdontologoId(odontologo.getId());
+        HorarioResumenDTO lunes = horarios.get(0);
+        HorarioResumenDTO martes = horarios.get(4);
+        HorarioResumenDTO martesEliminado = horarios.get(5);
+        HorarioResumenDTO miercoles = horarios.get(8);
+
+        CitaDTO cancelada = citaService.create(cita(lunes.getId()));
+        citaService.delete(cancelada.getId());
+        citaService.create(cita(miercoles.getId()));
+        mockMvc.perform(put(ApiConstants.URI_API_V1_HORARIO + "/" + martes.getId() + "/bloquear")).andExpect(status().isOk());
+        HorarioDTO eliminar = new HorarioDTO();
+        eliminar.setId(martesEliminado.getId());
+        horarioService.delete(eliminar);
+
+        mockMvc.perform(get(ApiConstants.URI_API_V1_HORARIO + "/odontologo/" + odontologo.getId() + "/disponibilidad-diaria")
+                .param("desde", LUNES.minusDays(2).toString()).param("hasta", LUNES.plusDays(7).toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.result.length()").value(3))
+                .andExpect(jsonPath("$.result[0].fecha").value(LUNES.toString()))
+                .andExpect(jsonPath("$.result[0].libres").value(4))
+                .andExpect(jsonPath("$.result[0].total").value(4))
+                .andExpect(jsonPath("$.result[1].libres").value(2))
+                .andExpect(jsonPath("$.result[1].total").value(3))
+                .andExpect(jsonPath("$.result[2].fecha").value(LUNES.plusDays(2).toString()))
+                .andExpect(jsonPath("$.result[2].libres").value(3))
+                .andExpect(jsonPath("$.result[2].total").value(4));
+    }
+
+    @Test
+    void rangoLimitadoANoventaDias() {
+        assertThat(horarioService.findDisponibilidadDiaria(odontologo.getId(), LUNES, LUNES.plusDays(89))).isNotNull();
+        assertThatThrownBy(() -> horarioService.findDisponibilidadDiaria(odontologo.getId(), LUNES, LUNES.plusDays(90)))
+                .isInstanceOf(ApiException.class);
+    }
+
+    private CitaDTO cita(Long horarioId) {
+        CitaDTO cita = new CitaDTO();
+        HorarioDTO horario = new HorarioDTO();
+        horario.setId(horarioId);
+        PacienteDTO pacienteDTO = new PacienteDTO();
+        pacienteDTO.setId(paciente.getId());
+        cita.setHorario(horario);
+        cita.setPaciente(pacienteDTO);
+        cita.setEstado("Pendiente");
+        cita.setMotivo("Resumen " + horarioId);
+        return cita;
+    }
+}
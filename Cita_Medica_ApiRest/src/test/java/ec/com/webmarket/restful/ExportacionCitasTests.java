@@ -0,0 +1,79 @@
+package ec.com.webmarket.restful;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import ec.webmarket.restful.ApiResTfulExampleApplication;
+import ec.webmarket.restful.common.ApiConstants;
+import ec.webmarket.restful.persistence.OdontologoRepository;
+import ec.webmarket.restful.service.exportacion.ExportadorCitas;
+
+/**
+ * Límites de la exportación NDJSON: cuántas corren a la vez y cuánto puede durar cada una.
+ */
+@ActiveProfiles("test")
+@SpringBootTest(classes = ApiResTfulExampleApplication.class, properties = {
+    // Base propia: este contexto recrea el esquema y no debe borrar la de las demás pruebas.
+    "spring.datasource.url=jdbc:h2:mem:exportacion;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+    // Con otra base no puede compartir las regiones de ehcache.xml (un solo CacheManager por JVM).
+    "spring.jpa.properties.hibernate.cache.region_prefix=exportacion",
+    "spring.jpa.properties.hibernate.javax.cache.missing_cache_strategy=create",
+    "exportacion.max-concurrentes=1",
+    "exportacion.tiempo-maximo-ms=1234"
+})
+@AutoConfigureMockMvc
+class ExportacionCitasTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ExportadorCitas exportadorCitas;
+
+    @Autowired
+    private OdontologoRepository odontologoRepository;
+
+    @Test
+    void rechazaLaExportacionSiNoHayLugar() throws Exception {
+        Long odontologoId = odontologoRepository.save(DatosPrueba.odontologo()).getId();
+        try (ExportadorCitas.Permiso ocupado = exportadorCitas.reservar()) {
+            mockMvc.perform(exportar(odontologoId))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+        }
+
+        // Al terminar, la exportación devuelve su lugar.
+        for (int i = 0; i < 2; i++) {
+            MvcResult resultado = mockMvc.perform(exportar(odontologoId)).andExpect(request().asyncStarted()).andReturn();
+            mockMvc.perform(asyncDispatch(resultado)).andExpect(status().isOk());
+        }
+    }
+
+    @Test
+    void soloLaExportacionUsaSuTiempoMaximo() throws Exception {
+        Long odontologoId = odontologoRepository.save(DatosPrueba.odontologo()).getId();
+        MvcResult resultado = mockMvc.perform(exportar(odontologoId)).andExpect(request().asyncStarted()).andReturn();
+        assertThat(resultado.getRequest().getAsyncContext().getTimeout()).isEqualTo(1234);
+        mockMvc.perform(asyncDispatch(resultado)).andExpect(status().isOk());
+    }
+
+    private static MockHttpServletRequestBuilder exportar(Long odontologoId) {
+        return get(ApiConstants.URI_API_V1_CITA + "/odontologo/" + odontologoId + "/exportar")
+                .param("desde", "2033-01-01")
+                .param("hasta", "2033-01-31");
+    }
+}
@@ -0,0 +1,131 @@
+package ec.com.webmarket.restful;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+
+import ec.webmarket.restful.ApiResTfulExampleApplication;
+import ec.webmarket.restful.common.ApiConstants;
+import ec.webmarket.restful.common.FormatosRespuesta;
+import ec.webmarket.restful.domain.Odontologo;
+import ec.webmarket.restful.persistence.OdontologoRepository;
+
+/**
+ * Negociación de CBOR y Smile con la cabecera Accept: mismo contenido que JSON, peticiones en
+ * formato binario, y caché de respuestas y ETag separados por formato.
+ */
+@ActiveProfiles("test")
+@SpringBootTest(classes = ApiResTfulExampleApplication.class)
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class FormatosBinariosTests {
+
+    private static final LocalDate FECHA = LocalDate.of(2035, 5, 7);
+
+    private final ObjectMapper json = new ObjectMapper();
+    private final ObjectMapper cbor = new ObjectMapper(new CBORFactory());
+    private final ObjectMapper smile = new ObjectMapper(FormatosRespuesta.smileFactory());
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OdontologoRepository odontologoRepository;
+
+    private Odontologo odontologo;
+
+    @BeforeAll
+    void cargarDatos() {
+        odontologo = odontologoRepository.save(DatosPrueba.odontologo());
+    }
+
+    @Test
+    void creaEnCborYConsultaEnLosTresFormatos() throws Exception {
+        byte[] horario = cbor.writeValueAsBytes(Map.of(
+                "fecha", FECHA.toString(),
+                "horaInicio", "10:00:00",
+                "horafinal", "10:30:00",
+                "disponibilidad", true,
+                "odontologo", Map.of("id", odontologo.getId())));
+        MvcResult creado = mockMvc.perform(post(ApiConstants.URI_API_V1_HORARIO)
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .accept(FormatosRespuesta.SMILE)
+                        .content(horario))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, FormatosRespuesta.SMILE.toString()))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT))
+                .andReturn();
+        JsonNode respuesta = smile.readTree(creado.getResponse().getContentAsByteArray());
+        assertThat(respuesta.path("success").asBoolean()).isTrue();
+        assertThat(respuesta.path("result").path("fecha").asText()).isEqualTo(FECHA.toString());
+        assertThat(respuesta.path("result").path("horaInicio").asText()).isEqualTo("10:00:00");
+
+        String url = ApiConstants.URI_API_V1_HORARIO + "/disponibilidad/true?size=500";
+        JsonNode enJson = json.readTree(consultar(url, MediaType.APPLICATION_JSON).getResponse().getContentAsByteArray());
+        JsonNode enCbor = cbor.readTree(consultar(url, MediaType.APPLICATION_CBOR).getResponse().getContentAsByteArray());
+        JsonNode enSmile = smile.readTree(consultar(url, FormatosRespuesta.SMILE).getResponse().getContentAsByteArray());
+        assertThat(enCbor).isEqualTo(enJson);
+        assertThat(enSmile).isEqualTo(enJson);
+    }
+
+    @Test
+    void cacheYEtagSeparadosPorFormato() throws Exception {
+        String url = ApiConstants.URI_API_V1_HORARIO + "/fecha/" + FECHA;
+
+        MvcResult enJson = consultar(url, MediaType.APPLICATION_JSON);
+        MvcResult enSmile = consultar(url, FormatosRespuesta.SMILE);
+        assertThat(enSmile.getResponse().getHeader("X-Cache")).isEqualTo("MISS");
+        assertThat(smile.readTree(enSmile.getResponse().getContentAsByteArray()))
+                .isEqualTo(json.readTree(enJson.getResponse().getContentAsByteArray()));
+
+        String etagJson = enJson.getResponse().getHeader(HttpHeaders.ETAG);
+        String etagSmile = enSmile.getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etagSmile).isNotNull().isNotEqualTo(etagJson);
+
+        MvcResult repetida = consultar(url, FormatosRespuesta.SMILE);
+        assertThat(repetida.getResponse().getHeader("X-Cache")).isEqualTo("HIT");
+        assertThat(repetida.getResponse().getContentAsByteArray()).isEqualTo(enSmile.getResponse().getContentAsByteArray());
+
+        // El ETag de JSON no valida la representación Smile, y el de Smile sí.
+        mockMvc.perform(get(url).accept(FormatosRespuesta.SMILE).header(HttpHeaders.IF_NONE_MATCH, etagJson))
+                .andExpect(status().isOk());
+        mockMvc.perform(get(url).accept(FormatosRespuesta.SMILE).header(HttpHeaders.IF_NONE_MATCH, etagSmile))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT));
+
+        // Sin Accept sigue respondiendo JSON.
+        mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(header().string(HttpHeaders.ETAG, etagJson));
+    }
+
+    private MvcResult consultar(String url, MediaType formato) throws Exception {
+        return mockMvc.perform(get(url).accept(formato))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, formato.toString()))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT))
+                .andReturn();
+    }
+}
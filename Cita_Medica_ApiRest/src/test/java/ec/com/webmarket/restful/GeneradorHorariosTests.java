@@ -0,0 +1,172 @@
+package ec.com.webmarket.restful;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import ec.webmarket.restful.ApiResTfulExampleApplication;
+import ec.webmarket.restful.common.ApiException;
+import ec.webmarket.restful.domain.Horario;
+import ec.webmarket.restful.domain.Odontologo;
+import ec.webmarket.restful.dto.v1.CitaDTO;
+import ec.webmarket.restful.dto.v1.FranjaLibreDTO;
+import ec.webmarket.restful.dto.v1.HorarioDTO;
+import ec.webmarket.restful.dto.v1.PacienteDTO;
+import ec.webmarket.restful.dto.v1.PlantillaHorarioDTO;
+import ec.webmarket.restful.dto.v1.ResultadoPlantillaDTO;
+import ec.webmarket.restful.persistence.HorarioRepository;
+import ec.webmarket.restful.persistence.OdontologoRepository;
+import ec.webmarket.restful.persistence.PacienteRepository;
+import ec.webmarket.restful.service.agenda.GeneradorHorarios;
+import ec.webmarket.restful.service.agenda.IndiceAgenda;
+import ec.webmarket.restful.service.crud.CitaService;
+
+/**
+ * Generación de horarios desde una plantilla semanal: cuántos horarios crea, que una plantilla
+ * que choca con la agenda no deja filas, que el índice de agenda queda con los ID insertados y
+ * el límite de {@link GeneradorHorarios#MAX_HORARIOS}.
+ */
+@ActiveProfiles("test")
+@SpringBootTest(classes = ApiResTfulExampleApplication.class)
+class GeneradorHorariosTests {
+
+    /** Lunes. */
+    private static final LocalDate DESDE = LocalDate.of(2038, 3, 1);
+
+    @Autowired
+    private GeneradorHorarios generador;
+
+    @Autowired
+    private OdontologoRepository odontologoRepository;
+
+    @Autowired
+    private PacienteRepository pacienteRepository;
+
+    @Autowired
+    private HorarioRepository horarioRepository;
+
+    @Autowired
+    private IndiceAgenda indiceAgenda;
+
+    @Autowired
+    private CitaService citaService;
+
+    @Test
+    void expandeLaPlantillaEnLosHorariosEsperados() {
+        Long odontologoId = odontologoRepository.save(DatosPrueba.odontologo()).getId();
+
+        // Lunes, miércoles y viernes de dos semanas, de 9:00 a 12:00 en turnos de 30 minutos: 6 x 6.
+        ResultadoPlantillaDTO resultado = generador.generar(plantilla(odontologoId,
+                List.of(DayOfWeek.MONDAY, DayOfWeek.WEDNESDAY, DayOfWeek.FRIDAY), DESDE, DESDE.plusDays(13)));
+
+        assertThat(resultado.getCreados()).isEqualTo(36);
+        List<Horario> horarios = horarioRepository.findByOdontologo_Id(odontologoId);
+        assertThat(horarios).hasSize(36);
+        assertThat(horarios).extracting(Horario::getFecha).extracting(LocalDate::getDayOfWeek)
+                .containsOnly(DayOfWeek.MONDAY, DayOfWeek.WEDNESDAY, DayOfWeek.FRIDAY);
+        assertThat(horarios).allSatisfy(h -> {
+            assertThat(h.getDisponibilidad()).isTrue();
+            assertThat(h.getHorafinal()).isEqualTo(h.getHoraInicio().plusMinutes(30));
+        });
+    }
+
+    @Test
+    void elIndiceQuedaConLosIdInsertados() {
+        Long odontologoId = odontologoRepository.save(DatosPrueba.odontologo()).getId();
+        generador.generar(plantilla(odontologoId, List.of(DayOfWeek.MONDAY), DESDE, DESDE));
+        // Un horario libre solo figura en las franjas si el índice ya le asignó su ID.
+        assertThat(indiceAgenda.franjasLibres(odontologoId, DESDE, DESDE))
+                .containsExactly(franja(LocalTime.of(9, 0), LocalTime.of(12, 0)));
+
+        Horario diezYMedia = horarioRepository.findByOdontologo_Id(odontologoId).stream()
+                .filter(h -> h.getHoraInicio().equals(LocalTime.of(10, 30)))
+                .findFirst().orElseThrow();
+        citaService.create(cita(diezYMedia.getId()));
+
+        // La cita marca ocupado el horario por su ID; si el índice tuviera otro, la franja no se partiría.
+        assertThat(indiceAgenda.franjasLibres(odontologoId, DESDE, DESDE)).containsExactly(
+                franja(LocalTime.of(9, 0), LocalTime.of(10, 30)),
+                franja(LocalTime.of(11, 0), LocalTime.of(12, 0)));
+    }
+
+    @Test
+    void unaPlantillaQueChocaConLaAgendaNoDejaFilas() {
+        Odontologo odontologo = odontologoRepository.save(DatosPrueba.odontologo());
+        Horario existente = new Horario();
+        existente.setFecha(DESDE.plusDays(2));
+        existente.setHoraInicio(LocalTime.of(11, 15));
+        existente.setHorafinal(LocalTime.of(11, 45));
+        existente.setDisponibilidad(true);
+        existente.setOdontologo(odontologo);
+        horarioRepository.save(existente);
+
+        assertThatThrownBy(() -> generador.generar(plantilla(odontologo.getId(),
+                List.of(DayOfWeek.MONDAY, DayOfWeek.WEDNESDAY), DESDE, DESDE.plusDays(6))))
+                .isInstanceOf(ApiException.class);
+
+        assertThat(horarioRepository.findByOdontologo_Id(odontologo.getId()))
+                .extracting(Horario::getId).containsExactly(existente.getId());
+        // Las reservas del lote se deshicieron: el lunes sigue libre para otra plantilla.
+        assertThat(generador.generar(plantilla(odontologo.getId(), List.of(DayOfWeek.MONDAY), DESDE, DESDE))
+                .getCreados()).isEqualTo(6);
+    }
+
+    @Test
+    void respetaElLimiteDeHorarios() {
+        Long odontologoId = odontologoRepository.save(DatosPrueba.odontologo()).getId();
+        List<DayOfWeek> todos = List.of(DayOfWeek.values());
+        // 100 turnos de un minuto por día.
+        PlantillaHorarioDTO enElLimite = plantilla(odontologoId, todos, DESDE, DESDE.plusDays(199));
+        enElLimite.setHoraFin(LocalTime.of(10, 40));
+        enElLimite.setDuracionMinutos(1);
+        PlantillaHorarioDTO sobreElLimite = plantilla(odontologoId, todos, DESDE.plusDays(200), DESDE.plusDays(400));
+        sobreElLimite.setHoraFin(LocalTime.of(10, 40));
+        sobreElLimite.setDuracionMinutos(1);
+
+        assertThatThrownBy(() -> generador.generar(sobreElLimite))
+                .isInstanceOf(ApiException.class)
+                .hasMessageContaining(String.valueOf(GeneradorHorarios.MAX_HORARIOS));
+        assertThat(horarioRepository.findByOdontologo_Id(odontologoId)).isEmpty();
+
+        assertThat(generador.generar(enElLimite).getCreados()).isEqualTo(GeneradorHorarios.MAX_HORARIOS);
+    }
+
+    private static PlantillaHorarioDTO plantilla(Long odontologoId, List<DayOfWeek> dias, LocalDate desde, LocalDate hasta) {
+        PlantillaHorarioDTO plantilla = new PlantillaHorarioDTO();
+        plantilla.setOdontologoId(odontologoId);
+        plantilla.setDias(dias);
+        plantilla.setHoraInicio(LocalTime.of(9, 0));
+        plantilla.setHoraFin(LocalTime.of(12, 0));
+        plantilla.setDuracionMinutos(30);
+        plantilla.setFechaDesde(desde);
+        plantilla.setFechaHasta(hasta);
+        return plantilla;
+    }
+
+    private CitaDTO cita(Long horarioId) {
+        CitaDTO cita = new CitaDTO();
+        HorarioDTO horario = new HorarioDTO();
+        horario.setId(horarioId);
+        cita.setHorario(horario);
+        PacienteDTO paciente = new PacienteDTO();
+        paciente.setId(pacienteRepository.save(DatosPrueba.paciente()).getId());
+        cita.setPaciente(paciente);
+        cita.setEstado("Pendiente");
+        cita.setMotivo("Control");
+        return cita;
+    }
+
+    private static FranjaLibreDTO franja(LocalTime inicio, LocalTime fin) {
+        return new FranjaLibreDTO(LocalDateTime.of(DESDE, inicio), LocalDateTime.of(DESDE, fin));
+    }
+}
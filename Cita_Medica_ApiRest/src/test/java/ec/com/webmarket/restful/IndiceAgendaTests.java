@@ -0,0 +1,149 @@
+package ec.com.webmarket.restful;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import ec.webmarket.restful.ApiResTfulExampleApplication;
+import ec.webmarket.restful.common.ApiException;
+import ec.webmarket.restful.domain.Horario;
+import ec.webmarket.restful.domain.Odontologo;
+import ec.webmarket.restful.dto.v1.FranjaLibreDTO;
+import ec.webmarket.restful.persistence.HorarioRepository;
+import ec.webmarket.restful.persistence.OdontologoRepository;
+import ec.webmarket.restful.service.agenda.IndiceAgenda;
+import ec.webmarket.restful.service.archivo.ArchivadorHistorico;
+
+/**
+ * Índice de agenda en memoria: solapamientos, horarios contiguos, franjas libres y que solo
+ * conserve las agendas de odontólogos con horarios vigentes.
+ */
+@ActiveProfiles("test")
+@SpringBootTest(classes = ApiResTfulExampleApplication.class)
+class IndiceAgendaTests {
+
+    private static final LocalDate FECHA = LocalDate.of(2037, 5, 4);
+    private static final LocalDate FECHA_PASADA = LocalDate.of(2019, 5, 6);
+
+    @Autowired
+    private IndiceAgenda indiceAgenda;
+
+    @Autowired
+    private OdontologoRepository odontologoRepository;
+
+    @Autowired
+    private HorarioRepository horarioRepository;
+
+    @Autowired
+    private ArchivadorHistorico archivador;
+
+    @Test
+    void rechazaLosHorariosQueSeSolapan() {
+        Long odontologoId = odontologoRepository.save(DatosPrueba.odontologo()).getId();
+        guardar(odontologoId, FECHA, LocalTime.of(9, 0), true);
+
+        assertThatThrownBy(() -> indiceAgenda.reservar(odontologoId, null, FECHA, LocalTime.of(9, 15), LocalTime.of(9, 45)))
+                .isInstanceOf(ApiException.class);
+        assertThatThrownBy(() -> indiceAgenda.reservar(odontologoId, null, FECHA, LocalTime.of(8, 45), LocalTime.of(9, 15)))
+                .isInstanceOf(ApiException.class);
+        assertThatThrownBy(() -> indiceAgenda.reservar(odontologoId, null, FECHA, LocalTime.of(9, 0), LocalTime.of(9, 30)))
+                .isInstanceOf(ApiException.class);
+        assertThatThrownBy(() -> indiceAgenda.reservar(odontologoId, null, FECHA, LocalTime.of(8, 0), LocalTime.of(10, 0)))
+                .isInstanceOf(ApiException.class);
+        assertThatThrownBy(() -> indiceAgenda.reservar(odontologoId, null, FECHA, LocalTime.of(10, 0), LocalTime.of(10, 0)))
+                .isInstanceOf(ApiException.class);
+    }
+
+    @Test
+    void aceptaHorariosQueEmpiezanDondeTerminaOtro() {
+        Long odontologoId = odontologoRepository.save(DatosPrueba.odontologo()).getId();
+        guardar(odontologoId, FECHA, LocalTime.of(9, 0), true);
+
+        IndiceAgenda.Reserva despues = indiceAgenda.reservar(odontologoId, null, FECHA, LocalTime.of(9, 30), LocalTime.of(10, 0));
+        IndiceAgenda.Reserva antes = indiceAgenda.reservar(odontologoId, null, FECHA, LocalTime.of(8, 30), LocalTime.of(9, 0));
+        // El mismo intervalo ya está reservado, aunque todavía no se confirme.
+        assertThatThrownBy(() -> indiceAgenda.reservar(odontologoId, null, FECHA, LocalTime.of(9, 30), LocalTime.of(10, 0)))
+                .isInstanceOf(ApiException.class);
+
+        indiceAgenda.cancelar(despues);
+        indiceAgenda.cancelar(antes);
+        indiceAgenda.cancelar(indiceAgenda.reservar(odontologoId, null, FECHA, LocalTime.of(9, 30), LocalTime.of(10, 0)));
+    }
+
+    @Test
+    void uneLosHorariosLibresContiguosEnUnaFranja() {
+        Long odontologoId = odontologoRepository.save(DatosPrueba.odontologo()).getId();
+        guardar(odontologoId, FECHA, LocalTime.of(9, 0), true);
+        guardar(odontologoId, FECHA, LocalTime.of(9, 30), true);
+        guardar(odontologoId, FECHA, LocalTime.of(10, 0), true);
+        guardar(odontologoId, FECHA, LocalTime.of(10, 30), false);
+        Horario onceYMedia = guardar(odontologoId, FECHA, LocalTime.of(11, 30), true);
+        guardar(odontologoId, FECHA, LocalTime.of(12, 0), true);
+        guardar(odontologoId, FECHA.plusDays(1), LocalTime.of(9, 0), true);
+
+        assertThat(indiceAgenda.franjasLibres(odontologoId, FECHA, FECHA)).containsExactly(
+                franja(FECHA, LocalTime.of(9, 0), LocalTime.of(10, 30)),
+                franja(FECHA, LocalTime.of(11, 30), LocalTime.of(12, 30)));
+
+        // Una cita parte la franja y al cancelarse se vuelve a unir.
+        indiceAgenda.marcarOcupado(odontologoId, onceYMedia.getId(), true);
+        assertThat(indiceAgenda.franjasLibres(odontologoId, FECHA, FECHA)).containsExactly(
+                franja(FECHA, LocalTime.of(9, 0), LocalTime.of(10, 30)),
+                franja(FECHA, LocalTime.of(12, 0), LocalTime.of(12, 30)));
+        indiceAgenda.marcarOcupado(odontologoId, onceYMedia.getId(), false);
+        assertThat(indiceAgenda.franjasLibres(odontologoId, FECHA, FECHA.plusDays(1))).containsExactly(
+                franja(FECHA, LocalTime.of(9, 0), LocalTime.of(10, 30)),
+                franja(FECHA, LocalTime.of(11, 30), LocalTime.of(12, 30)),
+                franja(FECHA.plusDays(1), LocalTime.of(9, 0), LocalTime.of(9, 30)));
+    }
+
+    @Test
+    void noConservaAgendasVacias() {
+        int antes = indiceAgenda.getOdontologos();
+        // Un ID que no existe, como los que puede enviar un cliente.
+        assertThat(indiceAgenda.franjasLibres(Long.MAX_VALUE, FECHA, FECHA)).isEmpty();
+        assertThat(indiceAgenda.getOdontologos()).isLessThanOrEqualTo(antes);
+
+        Long odontologoId = odontologoRepository.save(DatosPrueba.odontologo()).getId();
+        IndiceAgenda.Reserva reserva = indiceAgenda.reservar(odontologoId, null, FECHA, LocalTime.of(9, 0), LocalTime.of(9, 30));
+        assertThat(indiceAgenda.getOdontologos()).isGreaterThan(0);
+        indiceAgenda.cancelar(reserva);
+        assertThat(indiceAgenda.getOdontologos()).isLessThanOrEqualTo(antes);
+    }
+
+    @Test
+    void descartaLaAgendaCuandoSeArchivanSusHorarios() {
+        Long odontologoId = odontologoRepository.save(DatosPrueba.odontologo()).getId();
+        guardar(odontologoId, FECHA_PASADA, LocalTime.of(9, 0), true);
+        assertThat(indiceAgenda.franjasLibres(odontologoId, FECHA_PASADA, FECHA_PASADA)).hasSize(1);
+        int cargadas = indiceAgenda.getOdontologos();
+
+        assertThat(archivador.archivar(FECHA_PASADA.plusDays(1), 10).horarios()).isGreaterThanOrEqualTo(1);
+
+        assertThat(indiceAgenda.getOdontologos()).isLessThan(cargadas);
+        assertThat(indiceAgenda.franjasLibres(odontologoId, FECHA_PASADA, FECHA_PASADA)).isEmpty();
+    }
+
+    private Horario guardar(Long odontologoId, LocalDate fecha, LocalTime inicio, boolean disponible) {
+        Horario horario = new Horario();
+        horario.setFecha(fecha);
+        horario.setHoraInicio(inicio);
+        horario.setHorafinal(inicio.plusMinutes(30));
+        horario.setDisponibilidad(disponible);
+        horario.setOdontologo(odontologoRepository.getReferenceById(odontologoId));
+        return horarioRepository.save(horario);
+    }
+
+    private static FranjaLibreDTO franja(LocalDate fecha, LocalTime inicio, LocalTime fin) {
+        return new FranjaLibreDTO(LocalDateTime.of(fecha, inicio), LocalDateTime.of(fecha, fin));
+    }
+}
@@ -0,0 +1,25 @@
+package ec.com.webmarket.restful;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Número máximo de sentencias SQL que puede ejecutar el test anotado.
+ * Lo verifica {@link SentenciasSqlExtension} al terminar el test.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@interface MaximoSentencias {
+
+    /**
+     * Sentencias permitidas.
+     */
+    int value();
+
+    /**
+     * Endpoint que cubre el test, como "GET /api/v1.0/cita/paciente/{pacienteId}".
+     */
+    String endpoint();
+}
@@ -0,0 +1,192 @@
+package ec.com.webmarket.restful;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import ec.webmarket.restful.ApiResTfulExampleApplication;
+import ec.webmarket.restful.domain.Horario;
+import ec.webmarket.restful.domain.Odontologo;
+import ec.webmarket.restful.persistence.CitaArchivoRepository;
+import ec.webmarket.restful.persistence.CitaRepository;
+import ec.webmarket.restful.persistence.DisponibilidadDiariaRepository;
+import ec.webmarket.restful.persistence.HorarioArchivoRepository;
+import ec.webmarket.restful.persistence.HorarioRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Ejecuta cada consulta declarada en CitaRepository, HorarioRepository,
+ * DisponibilidadDiariaRepository y los repositorios de archivo, captura el SQL que
+ * genera Hibernate y falla si el plan de H2 ({@code EXPLAIN}) recorre alguna tabla completa.
+ * Se omiten las sentencias {@code @Modifying} y la búsqueda por ejemplo, cuyo filtro depende
+ * del ejemplo recibido.
+ */
+@ActiveProfiles("test")
+@SpringBootTest(classes = ApiResTfulExampleApplication.class)
+class PlanesConsultaTests {
+
+    private static final String RECORRIDO_COMPLETO = "tableScan";
+
+    @Autowired
+    private CitaRepository citaRepository;
+
+    @Autowired
+    private HorarioRepository horarioRepository;
+
+    @Autowired
+    private DisponibilidadDiariaRepository disponibilidadDiariaRepository;
+
+    @Autowired
+    private HorarioArchivoRepository horarioArchivoRepository;
+
+    @Autowired
+    private CitaArchivoRepository citaArchivoRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Test
+    void consultasDeCitaUsanIndices() throws Exception {
+        verificar(citaRepository, CitaRepository.class);
+    }
+
+    @Test
+    void consultasDeHorarioUsanIndices() throws Exception {
+        verificar(horarioRepository, HorarioRepository.class);
+    }
+
+    @Test
+    void consultasDeDisponibilidadDiariaUsanIndices() throws Exception {
+        verificar(disponibilidadDiariaRepository, DisponibilidadDiariaRepository.class);
+    }
+
+    @Test
+    void consultasDeArchivoUsanIndices() throws Exception {
+        verificar(horarioArchivoRepository, HorarioArchivoRepository.class);
+        verificar(citaArchivoRepository, CitaArchivoRepository.class);
+    }
+
+    private void verificar(Object repositorio, Class<?> tipo) throws SQLException {
+        for (Method metodo : tipo.getDeclaredMethods()) {
+            if (!esConsulta(metodo)) {
+                continue;
+            }
+            List<String> sentencias = CapturaSentencias.capturar(() -> ejecutar(repositorio, metodo));
+            assertThat(sentencias).as("SQL de %s", metodo.getName()).isNotEmpty();
+            for (String sql : sentencias) {
+                assertThat(plan(sql)).as("Plan de %s: %s", metodo.getName(), sql)
+                        .doesNotContainIgnoringCase(RECORRIDO_COMPLETO);
+            }
+        }
+    }
+
+    private static boolean esConsulta(Method metodo) {
+        return !metodo.isDefault() && !metodo.isSynthetic() && !Modifier.isStatic(metodo.getModifiers())
+                && !metodo.isAnnotationPresent(Modifying.class)
+                && Arrays.stream(metodo.getParameterTypes()).noneMatch(Example.class::isAssignableFrom);
+    }
+
+    /**
+     * Invoca el método con argumentos de ejemplo dentro de una transacción que se revierte;
+     * el plan no depende de los valores.
+     */
+    private void ejecutar(Object repositorio, Method metodo) {
+        TransactionTemplate transaccion = new TransactionTemplate(transactionManager);
+        transaccion.executeWithoutResult(estado -> {
+            estado.setRollbackOnly();
+            Object[] argumentos = Arrays.stream(metodo.getParameterTypes()).map(this::argumento).toArray();
+            try {
+                Object resultado = metodo.invoke(repositorio, argumentos);
+                if (resultado instanceof Stream<?> flujo) {
+                    try (flujo) {
+                        flujo.forEach(fila -> { });
+                    }
+                }
+            } catch (InvocationTargetException | IllegalAccessException e) {
+                fail("No se pudo ejecutar " + metodo.getName(), e);
+            }
+        });
+    }
+
+    private Object argumento(Class<?> tipo) {
+        if (tipo == Long.class || tipo == long.class) {
+            return 1L;
+        }
+        if (tipo == Boolean.class || tipo == boolean.class) {
+            return true;
+        }
+        if (tipo == String.class) {
+            return "Pendiente";
+        }
+        if (tipo == LocalDate.class) {
+            return LocalDate.of(2030, 1, 7);
+        }
+        if (tipo == LocalTime.class) {
+            return LocalTime.of(9, 0);
+        }
+        if (tipo == LocalDateTime.class) {
+            return LocalDateTime.of(2030, 1, 7, 9, 0);
+        }
+        if (tipo == Pageable.class) {
+            return PageRequest.of(0, 10);
+        }
+        if (Collection.class.isAssignableFrom(tipo)) {
+            return List.of(1L, 2L);
+        }
+        if (tipo == Horario.class || tipo == Odontologo.class) {
+            return entityManager.getReference(tipo, 1L);
+        }
+        throw new IllegalArgumentException("Sin argumento de ejemplo para " + tipo.getName());
+    }
+
+    private String plan(String sql) throws SQLException {
+        try (Connection conexion = dataSource.getConnection();
+                PreparedStatement explain = conexion.prepareStatement("explain " + sql)) {
+            int parametros = explain.getParameterMetaData().getParameterCount();
+            for (int i = 1; i <= parametros; i++) {
+                explain.setObject(i, null);
+            }
+            try (ResultSet rs = explain.executeQuery()) {
+                StringBuilder plan = new StringBuilder();
+                while (rs.next()) {
+                    plan.append(rs.getString(1)).append('\n');
+                }
+                return plan.toString();
+            }
+        }
+    }
+}
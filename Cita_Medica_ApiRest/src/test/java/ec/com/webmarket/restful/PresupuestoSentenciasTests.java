@@ -0,0 +1,200 @@
+package ec.com.webmarket.restful;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.lang.reflect.Method;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import ec.webmarket.restful.ApiResTfulExampleApplication;
+import ec.webmarket.restful.common.ApiConstants;
+import ec.webmarket.restful.domain.Cita;
+import ec.webmarket.restful.domain.Horario;
+import ec.webmarket.restful.domain.Odontologo;
+import ec.webmarket.restful.domain.Paciente;
+import ec.webmarket.restful.domain.Usuario;
+import ec.webmarket.restful.persistence.CitaRepository;
+import ec.webmarket.restful.persistence.HorarioRepository;
+import ec.webmarket.restful.persistence.OdontologoRepository;
+import ec.webmarket.restful.persistence.PacienteRepository;
+import ec.webmarket.restful.persistence.PresupuestoSentenciasInterceptor;
+
+/**
+ * Presupuesto de sentencias SQL de cada endpoint de lectura. Cada test cubre un endpoint y
+ * declara su máximo con {@link MaximoSentencias}; un N+1 en el grafo
+ * Cita → Horario → Odontologo → Usuario hace que el test correspondiente falle.
+ * {@link #todosLosEndpointsDeLecturaTienenPresupuesto()} obliga a agregar un test por cada
+ * endpoint GET nuevo.
+ */
+@ActiveProfiles("test")
+@SpringBootTest(classes = ApiResTfulExampleApplication.class)
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@ExtendWith(SentenciasSqlExtension.class)
+class PresupuestoSentenciasTests {
+
+    private static final String EXPORTAR = "GET " + ApiConstants.URI_API_V1_CITA + "/odontologo/{odontologoId}/exportar";
+
+    /**
+     * Endpoints que no se miden por petición: la exportación escribe la respuesta en otro hilo.
+     */
+    private static final Set<String> SIN_PRESUPUESTO = Set.of(EXPORTAR);
+
+    private static final LocalDate FECHA = LocalDate.of(2031, 3, 3);
+    private static final int CITAS = 3;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    @Qualifier("requestMappingHandlerMapping")
+    private RequestMappingHandlerMapping handlerMapping;
+
+    @Autowired
+    private PresupuestoSentenciasInterceptor presupuesto;
+
+    @Autowired
+    private OdontologoRepository odontologoRepository;
+
+    @Autowired
+    private PacienteRepository pacienteRepository;
+
+    @Autowired
+    private HorarioRepository horarioRepository;
+
+    @Autowired
+    private CitaRepository citaRepository;
+
+    private Odontologo odontologo;
+    private Paciente paciente;
+
+    @BeforeAll
+    void cargarDatos() {
+        odontologo = odontologoRepository.save(DatosPrueba.odontologo());
+        paciente = pacienteRepository.save(DatosPrueba.paciente());
+        for (int i = 0; i <= CITAS; i++) {
+            LocalTime inicio = LocalTime.of(9, 0).plusMinutes(30L * i);
+            Horario horario = new Horario();
+            horario.setFecha(FECHA);
+            horario.setHoraInicio(inicio);
+            horario.setHorafinal(inicio.plusMinutes(30));
+            horario.setDisponibilidad(i == CITAS);
+            horario.setOdontologo(odontologo);
+            horario = horarioRepository.save(horario);
+            if (i < CITAS) {
+                Cita cita = new Cita();
+                cita.setPaciente(paciente);
+                cita.setOdontologo(odontologo);
+                cita.setHorario(horario);
+                cita.setFechayHora(LocalDateTime.of(FECHA, inicio));
+                cita.setEstado("Presupuesto " + i);
+                cita.setMotivo("Presupuesto " + i);
+                citaRepository.save(cita);
+            }
+        }
+    }
+
+    @Test
+    @MaximoSentencias(value = 1, endpoint = "GET " + ApiConstants.URI_API_V1_CITA + "/paciente/{pacienteId}")
+    void citasPorPaciente() throws Exception {
+        mockMvc.perform(get(ApiConstants.URI_API_V1_CITA + "/paciente/" + paciente.getId())).andExpect(status().isOk());
+    }
+
+    @Test
+    @MaximoSentencias(value = 1, endpoint = "GET " + ApiConstants.URI_API_V1_CITA + "/odontologo/{odontologoId}")
+    void citasPorOdontologo() throws Exception {
+        mockMvc.perform(get(ApiConstants.URI_API_V1_CITA + "/odontologo/" + odontologo.getId())).andExpect(status().isOk());
+    }
+
+    @Test
+    @MaximoSentencias(value = 1, endpoint = "GET " + ApiConstants.URI_API_V1_ODONTOLOGO + "/{odontologoId}/citas")
+    void citasDelOdontologo() throws Exception {
+        mockMvc.perform(get(ApiConstants.URI_API_V1_ODONTOLOGO + "/" + odontologo.getId() + "/citas"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @MaximoSentencias(value = 1, endpoint = "GET " + ApiConstants.URI_API_V1_HORARIO + "/disponibilidad/{estado}")
+    void horariosPorDisponibilidad() throws Exception {
+        mockMvc.perform(get(ApiConstants.URI_API_V1_HORARIO + "/disponibilidad/true")).andExpect(status().isOk());
+    }
+
+    @Test
+    @MaximoSentencias(value = 1, endpoint = "GET " + ApiConstants.URI_API_V1_HORARIO + "/odontologo/{odontologoId}")
+    void horariosPorOdontologo() throws Exception {
+        mockMvc.perform(get(ApiConstants.URI_API_V1_HORARIO + "/odontologo/" + odontologo.getId()))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @MaximoSentencias(value = 2, endpoint = "GET " + ApiConstants.URI_API_V1_HORARIO + "/odontologo/{odontologoId}/libre")
+    void franjasLibres() throws Exception {
+        // La primera consulta de un odontólogo carga su agenda en memoria: citas ocupadas y horarios.
+        mockMvc.perform(get(ApiConstants.URI_API_V1_HORARIO + "/odontologo/" + odontologo.getId() + "/libre")
+                .param("desde", FECHA.toString()).param("hasta", FECHA.toString()))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @MaximoSentencias(value = 1, endpoint = "GET " + ApiConstants.URI_API_V1_HORARIO + "/odontologo/{odontologoId}/disponibilidad-diaria")
+    void disponibilidadDiaria() throws Exception {
+        mockMvc.perform(get(ApiConstants.URI_API_V1_HORARIO + "/odontologo/" + odontologo.getId() + "/disponibilidad-diaria")
+                .param("desde", FECHA.toString()).param("hasta", FECHA.plusDays(89).toString()))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @MaximoSentencias(value = 1, endpoint = "GET " + ApiConstants.URI_API_V1_HORARIO + "/fecha/{fecha}")
+    void horariosPorFecha() throws Exception {
+        mockMvc.perform(get(ApiConstants.URI_API_V1_HORARIO + "/fecha/" + FECHA)).andExpect(status().isOk());
+    }
+
+    @Test
+    void todosLosEndpointsDeLecturaTienenPresupuesto() throws Exception {
+        Map<String, MaximoSentencias> cubiertos = Arrays.stream(getClass().getDeclaredMethods())
+                .map(m -> m.getAnnotation(MaximoSentencias.class))
+                .filter(a -> a != null)
+                .collect(Collectors.toMap(MaximoSentencias::endpoint, Function.identity()));
+
+        for (Map.Entry<RequestMappingInfo, HandlerMethod> entrada : handlerMapping.getHandlerMethods().entrySet()) {
+            RequestMappingInfo info = entrada.getKey();
+            if (!info.getMethodsCondition().getMethods().contains(RequestMethod.GET)) {
+                continue;
+            }
+            for (String ruta : info.getPatternValues()) {
+                String endpoint = "GET " + ruta;
+                if (!ruta.startsWith(ApiConstants.URI_API_V1) || SIN_PRESUPUESTO.contains(endpoint)) {
+                    continue;
+                }
+                MaximoSentencias maximo = cubiertos.get(endpoint);
+                Method metodo = entrada.getValue().getMethod();
+                assertThat(maximo).as("Test con @MaximoSentencias para %s (%s)", endpoint, metodo.getName()).isNotNull();
+                assertThat(maximo.value()).as("Presupuesto de producción de %s", endpoint)
+                        .isLessThanOrEqualTo(presupuesto.presupuesto(entrada.getValue()));
+            }
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package ec.com.webmarket.restful;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import ec.webmarket.restful.ApiResTfulExampleApplication;
+import ec.webmarket.restful.domain.Horario;
+import ec.webmarket.restful.domain.Odontologo;
+import ec.webmarket.restful.domain.Paciente;
+import ec.webmarket.restful.dto.v1.CitaDTO;
+import ec.webmarket.restful.dto.v1.HorarioDTO;
+import ec.webmarket.restful.dto.v1.PacienteDTO;
+import ec.webmarket.restful.persistence.HorarioRepository;
+import ec.webmarket.restful.persistence.OdontologoRepository;
+import ec.webmarket.restful.persistence.PacienteRepository;
+import ec.webmarket.restful.service.crud.CitaService;
+import ec.webmarket.restful.service.recordatorio.ProgramadorRecordatorios;
+import ec.webmarket.restful.service.recordatorio.Recordatorio;
+import ec.webmarket.restful.service.recordatorio.RuedaTemporal;
+
+/**
+ * Rueda temporal de los recordatorios y su mantenimiento con las escrituras de citas.
+ */
+@ActiveProfiles("test")
+@SpringBootTest(classes = ApiResTfulExampleApplication.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class RecordatoriosTests {
+
+    @Autowired
+    private OdontologoRepository odontologoRepository;
+
+    @Autowired
+    private PacienteRepository pacienteRepository;
+
+    @Autowired
+    private HorarioRepository horarioRepository;
+
+    @Autowired
+    private CitaService citaService;
+
+    @Autowired
+    private ProgramadorRecordatorios programador;
+
+    private Odontologo odontologo;
+    private Paciente paciente;
+
+    @BeforeAll
+    void cargarDatos() {
+        odontologo = odontologoRepository.save(DatosPrueba.odontologo());
+        paciente = pacienteRepository.save(DatosPrueba.paciente());
+    }
+
+    @Test
+    void ruedaVenceEnOrdenYCancela() {
+        RuedaTemporal<Long> rueda = new RuedaTemporal<>(1_000);
+        // Vencimientos en los cuatro niveles, incluido uno que cruza varias cascadas.
+        long[] vencimientos = {1_001, 1_063, 1_064, 1_200, 5_000, 1_000 + 64 * 64 * 64 + 7};
+        for (long vence : vencimientos) {
+            rueda.programar(vence, vence);
+        }
+        RuedaTemporal.Temporizador<Long> cancelado = rueda.programar(1_100, 1_100L);
+        rueda.programar(900, 900L);
+        rueda.cancelar(cancelado);
+        rueda.cancelar(cancelado);
+        assertThat(rueda.getPendientes()).isEqualTo(vencimientos.length + 1);
+
+        List<Long> vencidos = new ArrayList<>();
+        List<Long> ticsDeVencimiento = new ArrayList<>();
+        for (long tic = 1_001; tic <= vencimientos[vencimientos.length - 1]; tic++) {
+            for (Long valor : rueda.avanzarHasta(tic)) {
+                vencidos.add(valor);
+                ticsDeVencimiento.add(tic);
+            }
+        }
+        // El vencimiento pasado (900) sale en el primer avance.
+        assertThat(vencidos).containsExactly(900L, 1_001L, 1_063L, 1_064L, 1_200L, 5_000L, 1_000L + 64 * 64 * 64 + 7);
+        assertThat(ticsDeVencimiento).containsExactly(1_001L, 1_001L, 1_063L, 1_064L, 1_200L, 5_000L, 1_000L + 64 * 64 * 64 + 7);
+        assertThat(rueda.getPendientes()).isZero();
+    }
+
+    @Test
+    void ruedaReprogramaVencimientosFueraDeAlcance() {
+        RuedaTemporal<String> rueda = new RuedaTemporal<>(0);
+        long lejano = (1L << 24) + 100;
+        rueda.programar(lejano, "lejano");
+        assertThat(rueda.avanzarHasta(lejano - 1)).isEmpty();
+        assertThat(rueda.avanzarHasta(lejano)).containsExactly("lejano");
+    }
+
+    @Test
+    void escriturasDeCitasProgramanYCancelanRecordatorios() {
+        // Dentro de la ventana de 48 h y con los dos recordatorios todavía por enviar.
+        LocalDateTime inicio = LocalDateTime.now().plusHours(30).truncatedTo(ChronoUnit.HOURS);
+        Horario horario = new Horario();
+        horario.setFecha(inicio.toLocalDate());
+        horario.setHoraInicio(inicio.toLocalTime());
+        horario.setHorafinal(inicio.toLocalTime().plusMinutes(30));
+        horario.setDisponibilidad(true);
+        horario.setOdontologo(odontologo);
+        horario = horarioRepository.save(horario);
+
+        CitaDTO cita = citaService.create(cita(horario.getId()));
+        List<Recordatorio> pendientes = programador.pendientes(cita.getId());
+        assertThat(pendientes).extracting(Recordatorio::anticipacion).containsExactly(Duration.ofHours(24), Duration.ofHours(1));
+        assertThat(pendientes).extracting(Recordatorio::enviarEn).containsExactly(inicio.minusHours(24), inicio.minusHours(1));
+
+        citaService.delete(cita.getId());
+        assertThat(programador.pendientes(cita.getId())).isEmpty();
+    }
+
+    private CitaDTO cita(Long horarioId) {
+        CitaDTO cita = new CitaDTO();
+        HorarioDTO horario = new HorarioDTO();
+        horario.setId(horarioId);
+        PacienteDTO pacienteDTO = new PacienteDTO();
+        pacienteDTO.setId(paciente.getId());
+        cita.setHorario(horario);
+        cita.setPaciente(pacienteDTO);
+        cita.setEstado("Pendiente");
+        cita.setMotivo("Recordatorio " + horarioId);
+        return cita;
+    }
+}
@@ -0,0 +1,170 @@
+package ec.com.webmarket.restful;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import ec.webmarket.restful.ApiResTfulExampleApplication;
+import ec.webmarket.restful.common.ApiConstants;
+import ec.webmarket.restful.domain.Horario;
+import ec.webmarket.restful.domain.Odontologo;
+import ec.webmarket.restful.domain.Paciente;
+import ec.webmarket.restful.persistence.HorarioRepository;
+import ec.webmarket.restful.persistence.OdontologoRepository;
+import ec.webmarket.restful.persistence.PacienteRepository;
+import ec.webmarket.restful.replica.LecturaPropiaFilter;
+
+/**
+ * Enrutamiento de lecturas a la réplica con dos bases H2 en memoria: "primaria" y "replica".
+ * La réplica solo recibe los datos cuando el test llama a {@link #replicar()}, que simula una
+ * replicación atrasada copiando la primaria completa.
+ */
+@ActiveProfiles("test")
+@SpringBootTest(classes = ApiResTfulExampleApplication.class, properties = {
+    "spring.datasource.url=jdbc:h2:mem:primaria;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+    "replica.url=jdbc:h2:mem:replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+    "replica.username=sa",
+    "replica.password=",
+    "replica.retraso-maximo-ms=60000",
+    // Caché de segundo nivel y de consultas con regiones propias, separadas de las otras pruebas.
+    "spring.jpa.properties.jakarta.persistence.sharedCache.mode=ENABLE_SELECTIVE",
+    "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+    "spring.jpa.properties.hibernate.cache.use_query_cache=true",
+    "spring.jpa.properties.hibernate.cache.region.factory_class=ec.webmarket.restful.replica.FabricaRegionesCache",
+    "spring.jpa.properties.hibernate.javax.cache.provider=org.ehcache.jsr107.EhcacheCachingProvider",
+    "spring.jpa.properties.hibernate.cache.region_prefix=replica",
+    "spring.jpa.properties.hibernate.javax.cache.missing_cache_strategy=create"
+})
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ReplicaLecturaTests {
+
+    private static final LocalDate FECHA = LocalDate.of(2034, 2, 6);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    @Qualifier("dataSourceReplica")
+    private DataSource dataSourceReplica;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private OdontologoRepository odontologoRepository;
+
+    @Autowired
+    private PacienteRepository pacienteRepository;
+
+    @Autowired
+    private HorarioRepository horarioRepository;
+
+    private Paciente paciente;
+    private Horario horario;
+
+    @BeforeAll
+    void cargarDatos() {
+        Odontologo odontologo = odontologoRepository.save(DatosPrueba.odontologo());
+        paciente = pacienteRepository.save(DatosPrueba.paciente());
+        horario = new Horario();
+        horario.setFecha(FECHA);
+        horario.setHoraInicio(LocalTime.of(9, 0));
+        horario.setHorafinal(LocalTime.of(9, 30));
+        horario.setDisponibilidad(true);
+        horario.setOdontologo(odontologo);
+        horario = horarioRepository.save(horario);
+        replicar();
+    }
+
+    @Test
+    void lecturasVanALaReplicaSalvoLaLecturaPropia() throws Exception {
+        String cuerpo = objectMapper.writeValueAsString(Map.of(
+                "horario", Map.of("id", horario.getId()),
+                "paciente", Map.of("id", paciente.getId()),
+                "estado", "Pendiente",
+                "motivo", "Replica"));
+        String token = mockMvc.perform(post(ApiConstants.URI_API_V1_CITA).contentType(MediaType.APPLICATION_JSON).content(cuerpo))
+                .andExpect(status().isCreated())
+                .andExpect(header().exists(LecturaPropiaFilter.CABECERA))
+                .andReturn().getResponse().getHeader(LecturaPropiaFilter.CABECERA);
+
+        // La réplica todavía no recibe la cita.
+        citasDelPaciente(null).andExpect(jsonPath("$.result.elementos.length()").value(0));
+        citasDelPaciente(Long.toString(System.currentTimeMillis() - 120_000))
+                .andExpect(jsonPath("$.result.elementos.length()").value(0));
+        // Con la cabecera de la escritura, la lectura se hace en la primaria.
+        citasDelPaciente(token).andExpect(jsonPath("$.result.elementos.length()").value(1));
+
+        replicar();
+        citasDelPaciente(null).andExpect(jsonPath("$.result.elementos.length()").value(1));
+    }
+
+    @Test
+    void lasLecturasDeLaReplicaNoLlenanLaCache() {
+        Paciente nuevo = pacienteRepository.save(DatosPrueba.paciente());
+
+        // La réplica no tiene al paciente; ese "no existe" no debe quedar en la caché de consultas.
+        assertThat(enLectura(() -> pacienteRepository.findByCedula(nuevo.getCedula()))).isEmpty();
+        replicar();
+        assertThat(enLectura(() -> pacienteRepository.findByCedula(nuevo.getCedula()))).isPresent();
+    }
+
+    private <T> T enLectura(Supplier<T> lectura) {
+        TransactionTemplate transaccion = new TransactionTemplate(transactionManager);
+        transaccion.setReadOnly(true);
+        return transaccion.execute(estado -> lectura.get());
+    }
+
+    private ResultActions citasDelPaciente(String lecturaPropia) throws Exception {
+        var peticion = get(ApiConstants.URI_API_V1_CITA + "/paciente/" + paciente.getId());
+        if (lecturaPropia != null) {
+            peticion.header(LecturaPropiaFilter.CABECERA, lecturaPropia);
+        }
+        return mockMvc.perform(peticion).andExpect(status().isOk());
+    }
+
+    /**
+     * Copia esquema y datos de la primaria a la réplica con SCRIPT de H2.
+     */
+    private void replicar() {
+        List<String> script = jdbcTemplate.queryForList("script", String.class);
+        JdbcTemplate replica = new JdbcTemplate(dataSourceReplica);
+        replica.execute("drop all objects");
+        script.forEach(replica::execute);
+    }
+}
@@ -0,0 +1,212 @@
+package ec.com.webmarket.restful;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import ec.webmarket.restful.ApiResTfulExampleApplication;
+import ec.webmarket.restful.common.ApiConstants;
+import ec.webmarket.restful.common.ConflictException;
+import ec.webmarket.restful.domain.Horario;
+import ec.webmarket.restful.domain.Odontologo;
+import ec.webmarket.restful.domain.Paciente;
+import ec.webmarket.restful.dto.v1.CitaDTO;
+import ec.webmarket.restful.dto.v1.HorarioDTO;
+import ec.webmarket.restful.dto.v1.PacienteDTO;
+import ec.webmarket.restful.persistence.CitaRepository;
+import ec.webmarket.restful.persistence.HorarioRepository;
+import ec.webmarket.restful.persistence.OdontologoRepository;
+import ec.webmarket.restful.persistence.PacienteRepository;
+import ec.webmarket.restful.service.crud.CitaService;
+import ec.webmarket.restful.service.reserva.RegistroHorariosOcupados;
+
+/**
+ * Reserva de un horario con MotorReservas: con reservas simultáneas gana una sola y las demás
+ * reciben 409, y el registro de horarios ocupados olvida el horario al cancelar o reprogramar
+ * la cita, de modo que se puede volver a reservar.
+ */
+@ActiveProfiles("test")
+@SpringBootTest(classes = ApiResTfulExampleApplication.class)
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ReservaConcurrenteTests {
+
+    private static final LocalDate FECHA = LocalDate.of(2035, 9, 3);
+    private static final int HILOS = 8;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private OdontologoRepository odontologoRepository;
+
+    @Autowired
+    private PacienteRepository pacienteRepository;
+
+    @Autowired
+    private HorarioRepository horarioRepository;
+
+    @Autowired
+    private CitaRepository citaRepository;
+
+    @Autowired
+    private CitaService citaService;
+
+    @Autowired
+    private RegistroHorariosOcupados registro;
+
+    private Odontologo odontologo;
+    private Paciente paciente;
+    private LocalTime siguienteInicio = LocalTime.of(8, 0);
+
+    @BeforeAll
+    void cargarDatos() {
+        odontologo = odontologoRepository.save(DatosPrueba.odontologo());
+        paciente = pacienteRepository.save(DatosPrueba.paciente());
+    }
+
+    @Test
+    void reservasSimultaneasDelMismoHorarioCreanUnaSolaCita() throws Exception {
+        Horario horario = horario();
+        CountDownLatch salida = new CountDownLatch(1);
+        ExecutorService hilos = Executors.newFixedThreadPool(HILOS);
+        List<Future<Boolean>> resultados = new ArrayList<>();
+        try {
+            for (int i = 0; i < HILOS; i++) {
+                resultados.add(hilos.submit(() -> {
+                    salida.await();
+                    try {
+                        citaService.create(cita(horario.getId()));
+                        return true;
+                    } catch (ConflictException e) {
+                        return false;
+                    }
+                }));
+            }
+            salida.countDown();
+            int creadas = 0;
+            for (Future<Boolean> resultado : resultados) {
+                // Cualquier otra excepción hace fallar la prueba aquí.
+                if (resultado.get()) {
+                    creadas++;
+                }
+            }
+            assertThat(creadas).isEqualTo(1);
+        } finally {
+            hilos.shutdownNow();
+        }
+
+        assertThat(citaRepository.findByOdontologoId(odontologo.getId()))
+                .filteredOn(c -> c.getHorario().getId().equals(horario.getId()))
+                .hasSize(1);
+        assertThat(horarioRepository.findById(horario.getId()).orElseThrow().getDisponibilidad()).isFalse();
+    }
+
+    @Test
+    void unHorarioTomadoResponde409() throws Exception {
+        Horario horario = horario();
+
+        crear(horario.getId()).andExpect(status().isCreated()).andExpect(jsonPath("$.success").value(true));
+        crear(horario.getId())
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.success").value(false))
+                .andExpect(jsonPath("$.result").value("El horario ya fue reservado por otra cita"));
+    }
+
+    @Test
+    void cancelarLaCitaPermiteVolverAReservarElHorario() throws Exception {
+        Horario horario = horario();
+        Long citaId = idCita(crear(horario.getId()).andExpect(status().isCreated()));
+        assertThat(registro.ocupado(horario.getId())).isTrue();
+        // Rechazo rápido desde el registro, sin llegar a la base.
+        crear(horario.getId()).andExpect(status().isConflict());
+
+        mockMvc.perform(delete(ApiConstants.URI_API_V1_CITA + "/" + citaId)).andExpect(status().isOk());
+        assertThat(registro.ocupado(horario.getId())).isFalse();
+
+        crear(horario.getId()).andExpect(status().isCreated());
+    }
+
+    @Test
+    void reprogramarLiberaElHorarioAnterior() throws Exception {
+        Horario anterior = horario();
+        Horario nuevo = horario();
+        CitaDTO cita = citaService.create(cita(anterior.getId()));
+
+        cita.getHorario().setId(nuevo.getId());
+        citaService.update(cita);
+        assertThat(registro.ocupado(anterior.getId())).isFalse();
+        assertThat(registro.ocupado(nuevo.getId())).isTrue();
+
+        assertThat(citaService.create(cita(anterior.getId())).getHorario().getId()).isEqualTo(anterior.getId());
+        assertThatThrownBy(() -> citaService.create(cita(nuevo.getId()))).isInstanceOf(ConflictException.class);
+    }
+
+    private ResultActions crear(Long horarioId) throws Exception {
+        String cuerpo = objectMapper.writeValueAsString(Map.of(
+                "horario", Map.of("id", horarioId),
+                "paciente", Map.of("id", paciente.getId()),
+                "estado", "Pendiente",
+                "motivo", "Control"));
+        return mockMvc.perform(post(ApiConstants.URI_API_V1_CITA).contentType(MediaType.APPLICATION_JSON).content(cuerpo));
+    }
+
+    private Long idCita(ResultActions resultado) throws Exception {
+        JsonNode respuesta = objectMapper.readTree(resultado.andReturn().getResponse().getContentAsString());
+        return respuesta.path("result").path("id").asLong();
+    }
+
+    private CitaDTO cita(Long horarioId) {
+        CitaDTO cita = new CitaDTO();
+        HorarioDTO horario = new HorarioDTO();
+        horario.setId(horarioId);
+        cita.setHorario(horario);
+        PacienteDTO pacienteDto = new PacienteDTO();
+        pacienteDto.setId(paciente.getId());
+        cita.setPaciente(pacienteDto);
+        cita.setEstado("Pendiente");
+        cita.setMotivo("Control");
+        return cita;
+    }
+
+    private synchronized Horario horario() {
+        Horario horario = new Horario();
+        horario.setFecha(FECHA);
+        horario.setHoraInicio(siguienteInicio);
+        horario.setHorafinal(siguienteInicio.plusMinutes(30));
+        horario.setDisponibilidad(true);
+        horario.setOdontologo(odontologo);
+        siguienteInicio = siguienteInicio.plusMinutes(30);
+        return horarioRepository.save(horario);
+    }
+}
@@ -0,0 +1,191 @@
+package ec.com.webmarket.restful;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import ec.webmarket.restful.ApiResTfulExampleApplication;
+import ec.webmarket.restful.common.ApiConstants;
+import ec.webmarket.restful.domain.Cita;
+import ec.webmarket.restful.domain.Horario;
+import ec.webmarket.restful.domain.Odontologo;
+import ec.webmarket.restful.domain.Paciente;
+import ec.webmarket.restful.persistence.CitaRepository;
+import ec.webmarket.restful.persistence.HorarioRepository;
+import ec.webmarket.restful.persistence.OdontologoRepository;
+import ec.webmarket.restful.persistence.PacienteRepository;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Verifica POST /cita/batch: los modos todo o nada y parcial, y que el número de
+ * sentencias no crece con el tamaño del lote.
+ */
+@ActiveProfiles("test")
+@SpringBootTest(classes = ApiResTfulExampleApplication.class)
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ReservaLoteTests {
+
+    private static final String URI_LOTE = ApiConstants.URI_API_V1_CITA + "/batch";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private OdontologoRepository odontologoRepository;
+
+    @Autowired
+    private PacienteRepository pacienteRepository;
+
+    @Autowired
+    private HorarioRepository horarioRepository;
+
+    @Autowired
+    private CitaRepository citaRepository;
+
+    private Statistics estadisticas;
+    private Odontologo odontologo;
+    private Paciente paciente;
+    private LocalDate dia = LocalDate.of(2032, 6, 7);
+    private long secuencia;
+
+    @BeforeAll
+    void cargarDatos() {
+        estadisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        odontologo = odontologoRepository.save(DatosPrueba.odontologo());
+        paciente = pacienteRepository.save(DatosPrueba.paciente());
+    }
+
+    @Test
+    void todoONadaNoCreaNingunaSiUnaFalla() throws Exception {
+        List<Horario> horarios = horarios(3);
+        tomar(horarios.get(1));
+
+        lote(false, horarios)
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.result.creadas").value(0))
+                .andExpect(jsonPath("$.result.rechazadas").value(3))
+                .andExpect(jsonPath("$.result.resultados[1].error").value("El horario ya fue reservado por otra cita"))
+                .andExpect(jsonPath("$.result.resultados[0].citaId").doesNotExist());
+
+        assertThat(horarioRepository.findById(horarios.get(0).getId()).orElseThrow().getDisponibilidad()).isTrue();
+        assertThat(horarioRepository.findById(horarios.get(2).getId()).orElseThrow().getDisponibilidad()).isTrue();
+    }
+
+    @Test
+    void parcialCreaLasCitasValidas() throws Exception {
+        List<Horario> horarios = horarios(3);
+        tomar(horarios.get(1));
+
+        lote(true, horarios)
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.result.creadas").value(2))
+                .andExpect(jsonPath("$.result.rechazadas").value(1))
+                .andExpect(jsonPath("$.result.resultados[0].citaId").isNumber())
+                .andExpect(jsonPath("$.result.resultados[1].citaId").doesNotExist())
+                .andExpect(jsonPath("$.result.resultados[2].citaId").isNumber());
+
+        for (Horario horario : List.of(horarios.get(0), horarios.get(2))) {
+            assertThat(horarioRepository.findById(horario.getId()).orElseThrow().getDisponibilidad()).isFalse();
+        }
+        List<Cita> citas = citaRepository.findByOdontologoId(odontologo.getId());
+        assertThat(citas).extracting(c -> c.getHorario().getId())
+                .contains(horarios.get(0).getId(), horarios.get(2).getId());
+        assertThat(citas).filteredOn(c -> c.getHorario().getId().equals(horarios.get(0).getId()))
+                .singleElement()
+                .satisfies(c -> {
+                    assertThat(c.getPaciente().getId()).isEqualTo(paciente.getId());
+                    assertThat(c.getFechayHora()).isEqualTo(LocalDateTime.of(horarios.get(0).getFecha(), horarios.get(0).getHoraInicio()));
+                });
+    }
+
+    @Test
+    void horarioRepetidoSeRechaza() throws Exception {
+        List<Horario> horarios = horarios(1);
+
+        lote(true, List.of(horarios.get(0), horarios.get(0)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.result.creadas").value(1))
+                .andExpect(jsonPath("$.result.resultados[1].error").value("El horario se repite en el lote"));
+    }
+
+    @Test
+    void sentenciasNoCrecenConElLote() throws Exception {
+        List<Horario> pocos = horarios(2);
+        List<Horario> muchos = horarios(20);
+
+        estadisticas.clear();
+        lote(false, pocos).andExpect(status().isCreated());
+        long conPocos = estadisticas.getPrepareStatementCount();
+
+        estadisticas.clear();
+        lote(false, muchos).andExpect(status().isCreated()).andExpect(jsonPath("$.result.creadas").value(20));
+        long conMuchos = estadisticas.getPrepareStatementCount();
+
+        assertThat(conMuchos).isEqualTo(conPocos);
+    }
+
+    private ResultActions lote(boolean parcial, List<Horario> horarios) throws Exception {
+        List<Map<String, Object>> citas = new ArrayList<>();
+        for (Horario horario : horarios) {
+            long n = ++secuencia;
+            citas.add(Map.of(
+                    "horario", Map.of("id", horario.getId()),
+                    "paciente", Map.of("id", paciente.getId()),
+                    "estado", "Lote " + n,
+                    "motivo", "Tratamiento " + n));
+        }
+        String cuerpo = objectMapper.writeValueAsString(Map.of("parcial", parcial, "citas", citas));
+        return mockMvc.perform(post(URI_LOTE).contentType(MediaType.APPLICATION_JSON).content(cuerpo));
+    }
+
+    private List<Horario> horarios(int cantidad) {
+        List<Horario> horarios = new ArrayList<>();
+        for (int i = 0; i < cantidad; i++) {
+            LocalTime inicio = LocalTime.of(8, 0).plusMinutes(15L * i);
+            Horario horario = new Horario();
+            horario.setFecha(dia);
+            horario.setHoraInicio(inicio);
+            horario.setHorafinal(inicio.plusMinutes(15));
+            horario.setDisponibilidad(true);
+            horario.setOdontologo(odontologo);
+            horarios.add(horarioRepository.save(horario));
+        }
+        dia = dia.plusDays(1);
+        return horarios;
+    }
+
+    private void tomar(Horario horario) {
+        horario.setDisponibilidad(false);
+        horarioRepository.save(horario);
+    }
+}
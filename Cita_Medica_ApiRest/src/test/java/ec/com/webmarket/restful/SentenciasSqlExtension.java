@@ -0,0 +1,34 @@
+package ec.com.webmarket.restful;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.support.AnnotationSupport;
+
+import ec.webmarket.restful.persistence.ContadorSentencias;
+
+/**
+ * Cuenta las sentencias SQL que ejecuta cada test y falla si supera el máximo de su
+ * {@link MaximoSentencias}. Usa el mismo {@link ContadorSentencias} que el presupuesto
+ * por petición, por lo que MockMvc debe ejecutarse en el hilo del test.
+ */
+class SentenciasSqlExtension implements BeforeEachCallback, AfterEachCallback {
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(SentenciasSqlExtension.class);
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        context.getStore(NAMESPACE).put(context.getUniqueId(), ContadorSentencias.actual());
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        long inicio = context.getStore(NAMESPACE).remove(context.getUniqueId(), Long.class);
+        long sentencias = ContadorSentencias.actual() - inicio;
+        AnnotationSupport.findAnnotation(context.getRequiredTestMethod(), MaximoSentencias.class)
+                .ifPresent(maximo -> assertThat(sentencias).as("Sentencias SQL de %s", maximo.endpoint())
+                        .isLessThanOrEqualTo(maximo.value()));
+    }
+}
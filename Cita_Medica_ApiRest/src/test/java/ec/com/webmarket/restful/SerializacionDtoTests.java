@@ -0,0 +1,229 @@
+package ec.com.webmarket.restful;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import ec.webmarket.restful.ApiResTfulExampleApplication;
+import ec.webmarket.restful.dto.v1.CitaDTO;
+import ec.webmarket.restful.dto.v1.CitaResumenDTO;
+import ec.webmarket.restful.dto.v1.DisponibilidadDiaDTO;
+import ec.webmarket.restful.dto.v1.FranjaLibreDTO;
+import ec.webmarket.restful.dto.v1.HorarioDTO;
+import ec.webmarket.restful.dto.v1.HorarioResumenDTO;
+import ec.webmarket.restful.dto.v1.OdontologoDTO;
+import ec.webmarket.restful.dto.v1.PacienteDTO;
+import ec.webmarket.restful.dto.v1.PaginaDTO;
+import ec.webmarket.restful.dto.v1.UsuarioDTO;
+import ec.webmarket.restful.dto.v1.json.ModuloJsonV1;
+import ec.webmarket.restful.security.ApiResponseDTO;
+
+/**
+ * Compara la serialización de los DTO v1 con los archivos de src/test/resources/golden, que
+ * se generaron con la serialización por reflexión de Jackson antes de {@link ModuloJsonV1}.
+ * El ObjectMapper de la aplicación (con el módulo) y uno sin el módulo deben producir
+ * exactamente los mismos bytes, y leer los archivos debe devolver los mismos objetos.
+ */
+@ActiveProfiles("test")
+@SpringBootTest(classes = ApiResTfulExampleApplication.class)
+class SerializacionDtoTests {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final ObjectMapper reflexion = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS,
+                    SerializationFeature.WRITE_DURATIONS_AS_TIMESTAMPS)
+            .build();
+
+    @Test
+    void elMapperDeLaAplicacionUsaElModulo() {
+        assertThat(objectMapper.getRegisteredModuleIds()).contains(new ModuloJsonV1().getTypeId());
+        assertThat(reflexion.getRegisteredModuleIds()).doesNotContain(new ModuloJsonV1().getTypeId());
+    }
+
+    @Test
+    void citas() throws IOException {
+        comparar("citas.json", new ApiResponseDTO<>(true, List.of(citaCompleta(), citaIncompleta())));
+        ApiResponseDTO<List<CitaDTO>> leida = objectMapper.readValue(golden("citas.json"), new TypeReference<>() {
+        });
+        assertThat(leida.isSuccess()).isTrue();
+        assertThat(leida.getResult()).containsExactly(citaCompleta(), citaIncompleta());
+    }
+
+    @Test
+    void horarioConOdontologo() throws IOException {
+        comparar("horario.json", new ApiResponseDTO<>(true, horario()));
+        ApiResponseDTO<HorarioDTO> leido = objectMapper.readValue(golden("horario.json"), new TypeReference<>() {
+        });
+        assertThat(leido.getResult()).isEqualTo(horario());
+    }
+
+    @Test
+    void paginas() throws IOException {
+        comparar("pagina-horarios.json", new ApiResponseDTO<>(true, paginaHorarios()));
+        comparar("pagina-citas.json", new ApiResponseDTO<>(true, paginaCitas()));
+    }
+
+    @Test
+    void disponibilidadYFranjas() throws IOException {
+        comparar("disponibilidad.json", new ApiResponseDTO<>(true, disponibilidad()));
+        comparar("franjas.json", new ApiResponseDTO<>(true, franjas()));
+    }
+
+    @Test
+    void error() throws IOException {
+        comparar("error.json", new ApiResponseDTO<>(false, "No existe la cita con id 7 \"pendiente\""));
+    }
+
+    private void comparar(String archivo, Object valor) throws IOException {
+        byte[] esperado = golden(archivo);
+        byte[] obtenido = objectMapper.writeValueAsBytes(valor);
+        // Primero como texto, para que una diferencia se lea en el reporte.
+        assertThat(new String(obtenido, StandardCharsets.UTF_8)).isEqualTo(new String(esperado, StandardCharsets.UTF_8));
+        assertThat(obtenido).isEqualTo(esperado);
+        assertThat(reflexion.writeValueAsBytes(valor)).isEqualTo(esperado);
+    }
+
+    private byte[] golden(String archivo) throws IOException {
+        try (InputStream entrada = getClass().getResourceAsStream("/golden/" + archivo)) {
+            assertThat(entrada).as(archivo).isNotNull();
+            return entrada.readAllBytes();
+        }
+    }
+
+    private static UsuarioDTO usuario() {
+        UsuarioDTO usuario = new UsuarioDTO();
+        usuario.setId(41L);
+        usuario.setNombreUsuario("mnuñez");
+        usuario.setClave(null);
+        usuario.setTipoUsuario(false);
+        return usuario;
+    }
+
+    private static PacienteDTO paciente() {
+        PacienteDTO paciente = new PacienteDTO();
+        paciente.setId(12L);
+        paciente.setCedula("0999000001");
+        paciente.setNombre("María José");
+        paciente.setApellido("Núñez \"Majo\"");
+        paciente.setTelefono("0999000001");
+        paciente.setEmail("majo@correo.ec");
+        paciente.setFechaNacimiento(LocalDate.of(1990, 2, 3));
+        paciente.setDireccion("Calle 10 de Agosto\nPiso 2\t<b>");
+        paciente.setUsuario(usuario());
+        return paciente;
+    }
+
+    private static OdontologoDTO odontologo() {
+        OdontologoDTO odontologo = new OdontologoDTO();
+        odontologo.setId(3L);
+        odontologo.setCedula("1799000001");
+        odontologo.setNombre("Andrés");
+        odontologo.setApellido("Ortega\\Ávila");
+        odontologo.setTelefono(null);
+        odontologo.setEmail("aortega@clinica.ec");
+        odontologo.setUsuario(null);
+        return odontologo;
+    }
+
+    private static HorarioDTO horario() {
+        HorarioDTO horario = new HorarioDTO();
+        horario.setId(9876543210L);
+        horario.setFecha(LocalDate.of(2035, 5, 7));
+        horario.setHoraInicio(LocalTime.of(9, 0));
+        horario.setHorafinal(LocalTime.of(9, 30, 15, 250_000_000));
+        horario.setDisponibilidad(false);
+        horario.setOdontologo(odontologo());
+        return horario;
+    }
+
+    private static CitaDTO citaCompleta() {
+        CitaDTO cita = new CitaDTO();
+        cita.setId(1L);
+        cita.setPaciente(paciente());
+        cita.setOdontologo(odontologo());
+        cita.setHorario(horario());
+        cita.setFechayHora(LocalDateTime.of(2035, 5, 7, 9, 0));
+        cita.setEstado("Pendiente");
+        cita.setMotivo("Limpieza y revisión — control € 😀");
+        return cita;
+    }
+
+    private static CitaDTO citaIncompleta() {
+        CitaDTO cita = new CitaDTO();
+        cita.setId(2L);
+        cita.setFechayHora(LocalDateTime.of(2035, 12, 31, 23, 59, 59, 1_000));
+        cita.setEstado("Cancelada");
+        return cita;
+    }
+
+    private static PaginaDTO<HorarioResumenDTO> paginaHorarios() {
+        HorarioResumenDTO libre = new HorarioResumenDTO();
+        libre.setId(5L);
+        libre.setFecha(LocalDate.of(2035, 5, 7));
+        libre.setHoraInicio(LocalTime.of(8, 0));
+        libre.setHorafinal(LocalTime.of(8, 30));
+        libre.setDisponibilidad(true);
+        libre.setOdontologoId(3L);
+        libre.setOdontologoNombre("Andrés");
+        libre.setOdontologoApellido("Ortega");
+        HorarioResumenDTO vacio = new HorarioResumenDTO();
+        vacio.setId(6L);
+        return new PaginaDTO<>(List.of(libre, vacio), "eyJpZCI6Nn0", true);
+    }
+
+    private static PaginaDTO<CitaResumenDTO> paginaCitas() {
+        CitaResumenDTO cita = new CitaResumenDTO();
+        cita.setId(1L);
+        cita.setFechayHora(LocalDateTime.of(2035, 5, 7, 9, 0));
+        cita.setEstado("Pendiente");
+        cita.setMotivo(null);
+        cita.setHorarioId(9876543210L);
+        cita.setPacienteId(12L);
+        cita.setPacienteNombre("María José");
+        cita.setPacienteApellido("Núñez");
+        cita.setOdontologoId(3L);
+        cita.setOdontologoNombre("Andrés");
+        cita.setOdontologoApellido("Ortega");
+        return new PaginaDTO<>(List.of(cita), null, false);
+    }
+
+    private static List<DisponibilidadDiaDTO> disponibilidad() {
+        DisponibilidadDiaDTO dia = new DisponibilidadDiaDTO();
+        dia.setFecha(LocalDate.of(2035, 5, 7));
+        dia.setLibres(14);
+        dia.setTotal(16);
+        DisponibilidadDiaDTO lleno = new DisponibilidadDiaDTO();
+        lleno.setFecha(LocalDate.of(2035, 5, 8));
+        lleno.setLibres(0);
+        lleno.setTotal(16);
+        return List.of(dia, lleno);
+    }
+
+    private static List<FranjaLibreDTO> franjas() {
+        FranjaLibreDTO manana = new FranjaLibreDTO();
+        manana.setInicio(LocalDateTime.of(2035, 5, 7, 8, 0));
+        manana.setFin(LocalDateTime.of(2035, 5, 7, 9, 0));
+        FranjaLibreDTO tarde = new FranjaLibreDTO();
+        tarde.setInicio(LocalDateTime.of(2035, 5, 7, 14, 30));
+        tarde.setFin(LocalDateTime.of(2035, 5, 7, 18, 0, 0, 500_000_000));
+        return List.of(manana, tarde);
+    }
+}
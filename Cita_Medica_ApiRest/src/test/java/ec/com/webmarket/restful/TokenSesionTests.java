@@ -0,0 +1,174 @@
+package ec.com.webmarket.restful;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import ec.webmarket.restful.ApiResTfulExampleApplication;
+import ec.webmarket.restful.common.ApiConstants;
+import ec.webmarket.restful.domain.Usuario;
+import ec.webmarket.restful.dto.v1.UsuarioDTO;
+import ec.webmarket.restful.persistence.UsuarioRepository;
+import ec.webmarket.restful.security.TokenService;
+
+/**
+ * Tokens de sesión: el login no devuelve la clave, se rechazan con 401 los tokens alterados,
+ * expirados o revocados y las cabeceras mal formadas, y el cambio de clave y la asignación de
+ * rol dependen de quién llama.
+ */
+@ActiveProfiles("test")
+@SpringBootTest(classes = ApiResTfulExampleApplication.class)
+@AutoConfigureMockMvc
+class TokenSesionTests {
+
+    private static final String URI_USUARIO = ApiConstants.URI_API_V1_USUARIO;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Value("${token.secreto}")
+    private String secreto;
+
+    @Test
+    void elLoginDevuelveElTokenSinLaClave() throws Exception {
+        Usuario usuario = usuarioRepository.save(DatosPrueba.usuario("sesion" + System.nanoTime(), false));
+
+        JsonNode sesion = login(usuario);
+        assertThat(sesion.path("token").asText()).isNotBlank();
+        assertThat(sesion.path("usuarioId").asLong()).isEqualTo(usuario.getId());
+        assertThat(sesion.has("clave")).isFalse();
+        assertThat(sesion.toString()).doesNotContain(usuario.getClave());
+
+        mockMvc.perform(post(URI_USUARIO + "/login")
+                .param("nombreUsuario", usuario.getNombreUsuario()).param("clave", "otra"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void rechazaUnTokenConLaFirmaAlterada() throws Exception {
+        Usuario usuario = usuarioRepository.save(DatosPrueba.usuario("sesion" + System.nanoTime(), false));
+        String token = login(usuario).path("token").asText();
+        conToken(token).andExpect(status().isOk());
+
+        String[] partes = token.split("\\.");
+        // Otra carga (el usuario 1, odontólogo) con la firma original.
+        String carga = new String(Base64.getUrlDecoder().decode(partes[0]), StandardCharsets.US_ASCII)
+                .replaceFirst("^[0-9]+:0", "1:1");
+        String otraCarga = Base64.getUrlEncoder().withoutPadding().encodeToString(carga.getBytes(StandardCharsets.US_ASCII));
+        conToken(otraCarga + "." + partes[1]).andExpect(status().isUnauthorized());
+
+        // La carga original con un byte de la firma cambiado.
+        byte[] firma = Base64.getUrlDecoder().decode(partes[1]);
+        firma[0] ^= 1;
+        conToken(partes[0] + "." + Base64.getUrlEncoder().withoutPadding().encodeToString(firma))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.success").value(false));
+    }
+
+    @Test
+    void rechazaUnTokenExpirado() throws Exception {
+        Usuario usuario = usuarioRepository.save(DatosPrueba.usuario("sesion" + System.nanoTime(), false));
+        UsuarioDTO dto = new UsuarioDTO();
+        dto.setId(usuario.getId());
+        dto.setNombreUsuario(usuario.getNombreUsuario());
+        dto.setTipoUsuario(false);
+        // Misma clave que la aplicación y duración cero: la firma es válida, pero ya expiró.
+        String expirado = new TokenService(secreto, 0).emitir(dto).getToken();
+
+        conToken(expirado).andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void rechazaLasCabecerasMalFormadas() throws Exception {
+        String ruta = ApiConstants.URI_API_V1_ODONTOLOGO + "/" + Long.MAX_VALUE + "/citas";
+        for (String cabecera : new String[] { "Basic dXN1YXJpbzpjbGF2ZQ==", "Bearer", "Bearer ", "Bearer sinpunto",
+                "Bearer !!!.???", "Bearer a.b.c" }) {
+            mockMvc.perform(get(ruta).header(HttpHeaders.AUTHORIZATION, cabecera))
+                    .andExpect(status().isUnauthorized());
+        }
+        // Sin cabecera la petición sigue siendo anónima (token.requerido=false).
+        mockMvc.perform(get(ruta)).andExpect(status().isOk());
+    }
+
+    @Test
+    void cambiarLaClaveExigeSerElUsuarioYRevocaSusTokens() throws Exception {
+        Usuario usuario = usuarioRepository.save(DatosPrueba.usuario("sesion" + System.nanoTime(), false));
+        Usuario otro = usuarioRepository.save(DatosPrueba.usuario("sesion" + System.nanoTime(), false));
+        String token = login(usuario).path("token").asText();
+        String tokenOtro = login(otro).path("token").asText();
+        String ruta = URI_USUARIO + "/updatePassword/" + usuario.getId();
+
+        mockMvc.perform(put(ruta).param("newPassword", "nueva")).andExpect(status().isUnauthorized());
+        mockMvc.perform(put(ruta).param("newPassword", "nueva").header(HttpHeaders.AUTHORIZATION, "Bearer " + tokenOtro))
+                .andExpect(status().isForbidden());
+        assertThat(usuarioRepository.findById(usuario.getId()).orElseThrow().getClave()).isEqualTo("clave");
+
+        mockMvc.perform(put(ruta).param("newPassword", "nueva").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk());
+        assertThat(usuarioRepository.findById(usuario.getId()).orElseThrow().getClave()).isEqualTo("nueva");
+        conToken(token).andExpect(status().isUnauthorized());
+        conToken(tokenOtro).andExpect(status().isOk());
+    }
+
+    @Test
+    void asignarUnRolExigeUnOdontologoYRevocaLosTokensDelUsuario() throws Exception {
+        Usuario odontologo = usuarioRepository.save(DatosPrueba.usuario("sesion" + System.nanoTime(), true));
+        Usuario paciente = usuarioRepository.save(DatosPrueba.usuario("sesion" + System.nanoTime(), false));
+        String tokenOdontologo = login(odontologo).path("token").asText();
+        String tokenPaciente = login(paciente).path("token").asText();
+        String ruta = URI_USUARIO + "/assignRole/" + paciente.getId();
+
+        mockMvc.perform(put(ruta).param("tipoUsuario", "true")).andExpect(status().isUnauthorized());
+        mockMvc.perform(put(ruta).param("tipoUsuario", "true").header(HttpHeaders.AUTHORIZATION, "Bearer " + tokenPaciente))
+                .andExpect(status().isForbidden());
+        assertThat(usuarioRepository.findById(paciente.getId()).orElseThrow().getTipoUsuario()).isFalse();
+
+        mockMvc.perform(put(ruta).param("tipoUsuario", "true").header(HttpHeaders.AUTHORIZATION, "Bearer " + tokenOdontologo))
+                .andExpect(status().isOk());
+        assertThat(usuarioRepository.findById(paciente.getId()).orElseThrow().getTipoUsuario()).isTrue();
+        // El token del paciente lleva el rol anterior.
+        conToken(tokenPaciente).andExpect(status().isUnauthorized());
+        conToken(tokenOdontologo).andExpect(status().isOk());
+    }
+
+    private JsonNode login(Usuario usuario) throws Exception {
+        String cuerpo = mockMvc.perform(post(URI_USUARIO + "/login")
+                .param("nombreUsuario", usuario.getNombreUsuario()).param("clave", usuario.getClave()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+        return objectMapper.readTree(cuerpo);
+    }
+
+    /**
+     * Lectura cualquiera con el token en la cabecera Authorization.
+     */
+    private ResultActions conToken(String token) throws Exception {
+        return mockMvc.perform(get(ApiConstants.URI_API_V1_ODONTOLOGO + "/" + Long.MAX_VALUE + "/citas")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token));
+    }
+}